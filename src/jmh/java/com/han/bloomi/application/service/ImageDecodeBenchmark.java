@@ -0,0 +1,146 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.coobird.thumbnailator.Thumbnails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 최적화: 전체 디코딩(기존 ImageIO.read) vs 헤더 우선 + 서브샘플링 디코딩(현재 ImageProcessor) 비교
+ *
+ * 코퍼스는 BLOOMI_BENCH_PHOTOS 환경 변수에 지정한 디렉터리의 jpg 파일(휴대폰 사진)을 사용하고,
+ * 지정하지 않으면 휴대폰 카메라 해상도(12MP 가로/세로, 8MP, FHD)의 합성 사진을 만들어 사용합니다.
+ * 한 번의 측정에서 코퍼스 전체를 처리합니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ImageDecodeBenchmark -Pjmh.profilers=gc
+ * (gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량을 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageDecodeBenchmark {
+    private static final String CORPUS_ENV = "BLOOMI_BENCH_PHOTOS";
+    private static final int MAX_WIDTH = 1920;
+    private static final int MAX_HEIGHT = 1080;
+    private static final double QUALITY = 0.85;
+
+    private final ImageProcessor imageProcessor = new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+            new DecodeAdmissionController(new ImageDecodeProperties(), new DeadlineHolder(), new SimpleMeterRegistry()));
+    private List<MultipartFile> corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        corpus = new ArrayList<>();
+        String corpusDir = System.getenv(CORPUS_ENV);
+        if (corpusDir != null && !corpusDir.isBlank()) {
+            try (Stream<Path> files = Files.list(Path.of(corpusDir))) {
+                for (Path file : files.filter(ImageDecodeBenchmark::isJpeg).sorted().toList()) {
+                    corpus.add(new MockMultipartFile("image", file.getFileName().toString(), "image/jpeg",
+                            Files.readAllBytes(file)));
+                }
+            }
+        }
+        if (corpus.isEmpty()) {
+            corpus.add(syntheticPhoto("12mp-landscape.jpg", 4032, 3024));
+            corpus.add(syntheticPhoto("12mp-portrait.jpg", 3024, 4032));
+            corpus.add(syntheticPhoto("8mp.jpg", 3264, 2448));
+            corpus.add(syntheticPhoto("fhd.jpg", 1920, 1080));
+        }
+    }
+
+    @Benchmark
+    public void fullDecode(Blackhole blackhole) throws IOException {
+        for (MultipartFile photo : corpus) {
+            blackhole.consume(fullDecodeOptimize(photo));
+        }
+    }
+
+    @Benchmark
+    public void subsampledDecode(Blackhole blackhole) throws IOException {
+        for (MultipartFile photo : corpus) {
+            blackhole.consume(imageProcessor.optimize(photo));
+        }
+    }
+
+    /**
+     * 변경 전 ImageProcessor.optimize 경로 (전체 디코딩 후 축소)
+     */
+    private static byte[] fullDecodeOptimize(MultipartFile photo) throws IOException {
+        BufferedImage image = ImageIO.read(photo.getInputStream());
+        if (image.getWidth() <= MAX_WIDTH && image.getHeight() <= MAX_HEIGHT && photo.getSize() <= 1024 * 1024) {
+            return photo.getBytes();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Thumbnails.of(image)
+                .size(MAX_WIDTH, MAX_HEIGHT)
+                .outputFormat("jpg")
+                .outputQuality(QUALITY)
+                .toOutputStream(output);
+        return output.toByteArray();
+    }
+
+    private static boolean isJpeg(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".jpg") || name.endsWith(".jpeg");
+    }
+
+    /**
+     * 그라디언트 + 노이즈로 실제 사진과 비슷한 압축률(수 MB)을 갖는 JPEG 생성
+     */
+    private static MultipartFile syntheticPhoto(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(width * 31L + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = clamp(200 * x / width + 30 + random.nextInt(24));
+                int g = clamp(160 * y / height + 60 + random.nextInt(24));
+                int b = clamp(120 + 60 * ((x / 97 + y / 89) % 2) + random.nextInt(24));
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.92f);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new MockMultipartFile("image", name, "image/jpeg", new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,88 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageProcessor 기준 성능: 해상도/포맷별 optimize(보관용) 및 process(보관용 + Vision용)
+ *
+ * 휴대폰 카메라 해상도(FHD, 8MP, 12MP)의 합성 사진을 JPEG/PNG로 만들어 사용합니다.
+ * PNG는 JPEG 업로드와 달리 바이트 예산 초과로 항상 재인코딩 경로를 탑니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ImageProcessorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageProcessorBenchmark {
+
+    @Param({"1920x1080", "3264x2448", "4032x3024"})
+    private String resolution;
+
+    @Param({"jpg", "png"})
+    private String format;
+
+    private final ImageProcessor imageProcessor = new ImageProcessor(new VisionImageProperties(),
+            new ImageEncodingProperties(),
+            new DecodeAdmissionController(new ImageDecodeProperties(), new DeadlineHolder(), new SimpleMeterRegistry()));
+    private MultipartFile photo;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        photo = syntheticPhoto(Integer.parseInt(size[0]), Integer.parseInt(size[1]), format);
+    }
+
+    @Benchmark
+    public MultipartFile optimize() throws IOException {
+        return imageProcessor.optimize(photo);
+    }
+
+    @Benchmark
+    public ImageDerivatives process() throws IOException {
+        return imageProcessor.process(photo);
+    }
+
+    /**
+     * 그라디언트 + 노이즈로 실제 사진과 비슷한 압축률을 갖는 이미지 생성
+     */
+    private static MultipartFile syntheticPhoto(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(width * 31L + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = clamp(200 * x / width + 30 + random.nextInt(24));
+                int g = clamp(160 * y / height + 60 + random.nextInt(24));
+                int b = clamp(120 + 60 * ((x / 97 + y / 89) % 2) + random.nextInt(24));
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        String contentType = "png".equals(format) ? "image/png" : "image/jpeg";
+        return new MockMultipartFile("image", "meal." + format, contentType, output.toByteArray());
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,311 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealBatchRequest;
+import com.han.bloomi.api.dto.AnalyzeMealBatchResponse;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.deadline.DeadlineProperties;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.MealRecord;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.domain.model.user.Membership;
+import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import com.han.bloomi.domain.port.ImageStorage;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import com.han.bloomi.domain.port.UserRepository;
+import com.han.bloomi.domain.port.VisionPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 분석 vs 단건 분석 N회 순차 호출 처리량 비교
+ *
+ * S3 업로드와 Vision 호출은 고정 지연을 가진 스텁으로 대체하고,
+ * 이미지 최적화는 실제 {@link ImageProcessor}로 수행합니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=MealBatchAnalyzeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MealBatchAnalyzeBenchmark {
+    private static final String USER_ID = "bench-user";
+    private static final String TRACE_ID = "bench";
+
+    @Param({"4", "8"})
+    public int items;
+
+    @Param({"4"})
+    public int parallelism;
+
+    @Param({"50"})
+    public long latencyMs;
+
+    private ExecutorService executor;
+    private MealAnalyzeService mealAnalyzeService;
+    private MealBatchAnalyzeService batchService;
+    private List<AnalyzeMealRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        UserRepository userRepository = new UnlimitedUserRepository();
+        DailyQuotaService dailyQuotaService = new DailyQuotaService(userRepository);
+        TraceIdHolder traceIdHolder = new TraceIdHolder();
+        DeadlineHolder deadlineHolder = new DeadlineHolder();
+
+        ImageUploadProperties uploadProperties = new ImageUploadProperties();
+        uploadProperties.setContentAddressed(false);
+        ImageUploadService imageUploadService = new ImageUploadService(new DelayedImageStorage(latencyMs),
+                new NoopImageReferenceRepository(), new ImageContentHasher(), uploadProperties);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VisionRequestCoalescer coalescer = new VisionRequestCoalescer(new DelayedVisionPort(latencyMs),
+                new ImageContentHasher(), traceIdHolder, deadlineHolder, executor, meterRegistry);
+
+        ImageProcessor imageProcessor = new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+                new DecodeAdmissionController(new ImageDecodeProperties(), deadlineHolder, meterRegistry));
+        // 썸네일은 응답 이후 백그라운드 작업이므로 측정에서 제외
+        ThumbnailProperties thumbnailProperties = new ThumbnailProperties();
+        thumbnailProperties.setEnabled(false);
+        MealRecordRepository mealRecordRepository = new NoopMealRecordRepository();
+        MealThumbnailService thumbnailService = new MealThumbnailService(imageProcessor, imageUploadService,
+                mealRecordRepository, thumbnailProperties, traceIdHolder, null, meterRegistry);
+
+        mealAnalyzeService = new MealAnalyzeService(coalescer, name -> Optional.empty(), mealRecordRepository,
+                dailyQuotaService, null, traceIdHolder, deadlineHolder, new DeadlineProperties(), imageUploadService,
+                imageProcessor, thumbnailService, executor, meterRegistry);
+
+        MealBatchProperties batchProperties = new MealBatchProperties();
+        batchProperties.setMaxItems(items);
+        batchProperties.setParallelism(parallelism);
+        batchService = new MealBatchAnalyzeService(mealAnalyzeService, dailyQuotaService, null, traceIdHolder,
+                deadlineHolder, executor, batchProperties);
+
+        byte[] jpeg = sampleJpeg();
+        requests = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            MultipartFile image = new MockMultipartFile("image", "meal-" + i + ".jpg", "image/jpeg", jpeg);
+            requests.add(new AnalyzeMealRequest(image, "식단 " + i, null, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public List<MealAnalysis> sequential() {
+        List<MealAnalysis> results = new ArrayList<>(items);
+        for (AnalyzeMealRequest request : requests) {
+            results.add(mealAnalyzeService.analyzeMeal(USER_ID, TRACE_ID, request));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public AnalyzeMealBatchResponse batch() {
+        return batchService.analyze(USER_ID, TRACE_ID, new AnalyzeMealBatchRequest(requests));
+    }
+
+    private static byte[] sampleJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(230, 200, 160));
+        graphics.fillRect(0, 0, 1600, 1200);
+        graphics.setColor(new Color(120, 160, 60));
+        graphics.fillOval(400, 300, 800, 600);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record DelayedVisionPort(long latencyMs) implements VisionPort {
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request) {
+            sleep(latencyMs);
+            return MealAnalysis.of(request.name(), 500.0, Macros.of(60, 30, 15), Serving.of("g", 300),
+                    List.of(), 0.9, "균형 잡힌 식단입니다.");
+        }
+    }
+
+    private record DelayedImageStorage(long latencyMs) implements ImageStorage {
+        @Override
+        public String upload(MultipartFile image, String path) {
+            sleep(latencyMs);
+            return urlOf(path);
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return false;
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return "https://images.bench/" + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return "https://images.bench/" + path + "?expires=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+        }
+    }
+
+    private static class NoopImageReferenceRepository implements ImageReferenceRepository {
+        @Override
+        public int acquire(String imageUrl) {
+            return 1;
+        }
+
+        @Override
+        public int release(String imageUrl) {
+            return 0;
+        }
+
+        @Override
+        public List<String> findUnreferenced(Duration retention, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public boolean markDeleting(String imageUrl, Duration retention) {
+            return false;
+        }
+
+        @Override
+        public void unmarkDeleting(String imageUrl) {
+        }
+
+        @Override
+        public void removeDeleting(String imageUrl) {
+        }
+    }
+
+    private static class NoopMealRecordRepository implements MealRecordRepository {
+        @Override
+        public MealRecord save(MealRecord record) {
+            return record;
+        }
+
+        @Override
+        public Optional<MealRecord> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<MealRecord> findByUserId(String userId) {
+            return List.of();
+        }
+
+        @Override
+        public List<MealRecord> findByUserIdAndAnalyzedAt(String userId, LocalDate analyzedAt) {
+            return List.of();
+        }
+
+        @Override
+        public List<MealRecord> findByUserIdAndAnalyzedAtBetween(String userId, LocalDate startDate, LocalDate endDate) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<MealRecord> deleteById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean updateThumbnail(String id, String thumbnailUrl, String placeholder) {
+            return false;
+        }
+    }
+
+    /**
+     * 한도 제한이 없는 멤버십 사용자 하나만 가진 저장소
+     */
+    private static class UnlimitedUserRepository implements UserRepository {
+        private final User user = User.of(USER_ID, "bench@example.com", "bench", null, "google", "bench", Membership.TIER3);
+
+        @Override
+        public User save(User user) {
+            return user;
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            return Optional.of(user);
+        }
+
+        @Override
+        public Optional<User> findByProviderAndProviderId(String provider, String providerId) {
+            return Optional.of(user);
+        }
+
+        @Override
+        public Optional<User> findById(String id) {
+            return Optional.of(user);
+        }
+
+        @Override
+        public User delete(String id) {
+            return user;
+        }
+
+        @Override
+        public boolean incrementDailyRequestCount(String userId, int count, int dailyLimit) {
+            return true;
+        }
+
+        @Override
+        public void decrementDailyRequestCount(String userId, int count) {
+        }
+
+        @Override
+        public void resetAllDailyRequestCounts() {
+        }
+    }
+}
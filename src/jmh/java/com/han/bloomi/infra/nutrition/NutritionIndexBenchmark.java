@@ -0,0 +1,45 @@
+package com.han.bloomi.infra.nutrition;
+
+import com.han.bloomi.domain.model.NutritionMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 식품 성분표 조회 기준치 (정확히 일치 / 정규화 필요 / 오타 / 미등록 음식)
+ * 미등록 음식은 오타 검색과 접두어 검색을 모두 거치므로 가장 느린 경로입니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=NutritionIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NutritionIndexBenchmark {
+    private final TrieNutritionIndex index = new TrieNutritionIndex(new NutritionIndexProperties());
+
+    @Benchmark
+    public Optional<NutritionMatch> exact() {
+        return index.lookup("닭가슴살");
+    }
+
+    @Benchmark
+    public Optional<NutritionMatch> normalized() {
+        return index.lookup("김치 찌개 (1인분) 300g");
+    }
+
+    @Benchmark
+    public Optional<NutritionMatch> typo() {
+        return index.lookup("닭가슴쌀");
+    }
+
+    @Benchmark
+    public Optional<NutritionMatch> miss() {
+        return index.lookup("마라탕");
+    }
+}
@@ -0,0 +1,48 @@
+package com.han.bloomi.infra.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider 기준치: 매 요청 인증 필터가 수행하는 검증/파싱과 토큰 발급
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtTokenProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("bloomi-benchmark-secret-key-at-least-256-bits-long");
+        jwtTokenProvider = new JwtTokenProvider(properties);
+        accessToken = jwtTokenProvider.createAccessToken("user-1", "user@bloomi.test");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String getUserId() {
+        return jwtTokenProvider.getUserId(accessToken);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTokenProvider.createAccessToken("user-1", "user@bloomi.test");
+    }
+}
@@ -0,0 +1,37 @@
+package com.han.bloomi.infra.vision;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PromptFactory.createPrompt 기준치 (사용자 입력 없음 / 음식명 + 중량 + 메모 입력)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=PromptFactoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PromptFactoryBenchmark {
+    private final PromptFactory promptFactory = new PromptFactory();
+    private final MockMultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1});
+    private final MealAnalysisRequest imageOnly = MealAnalysisRequest.of(image, null, null, null);
+    private final MealAnalysisRequest withDetails = MealAnalysisRequest.of(image, "비빔밥", 450.0, "고추장 적게");
+
+    @Benchmark
+    public VisionPrompt imageOnly() {
+        return promptFactory.createPrompt(imageOnly);
+    }
+
+    @Benchmark
+    public VisionPrompt withDetails() {
+        return promptFactory.createPrompt(withDetails);
+    }
+}
@@ -0,0 +1,122 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.OptimizedMultipartFile;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
+import com.han.bloomi.infra.vision.http.VisionHttpProperties;
+import com.han.bloomi.infra.vision.openai.dto.OpenAiRequest;
+import com.han.bloomi.infra.vision.openai.dto.OpenAiResponse;
+import com.han.bloomi.infra.vision.openai.dto.VisionAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 연동 경로의 CPU/할당 기준치
+ * - Base64 인코딩 (ImageEncoder.encodeToBase64)
+ * - 요청 직렬화 (OpenAiVisionClient와 같은 구성의 OpenAiRequest + Jackson)
+ * - 응답 파싱 (OpenAiResponse → content → VisionAnalysisResult)
+ * - 도메인 변환 (OpenAiResponseMapper.toDomain)
+ *
+ * 이미지는 Vision용 파생본 크기(약 200KB)를 사용합니다. 큰 이미지의 요청 본문 비교는 OpenAiRequestBodyBenchmark 참고.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=OpenAiCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenAiCodecBenchmark {
+    private static final int IMAGE_SIZE = 200 * 1024;
+    private static final VisionPrompt PROMPT = new VisionPrompt("음식 사진을 분석해서 JSON으로 답해주세요.", "추가 정보:\n- 중량/용량: 300.0g\n");
+    private static final String CONTENT = """
+            {"name":"닭가슴살, 현미밥, 샐러드","calories":612.5,\
+            "macros":{"carbs":68.2,"protein":48.1,"fat":14.3},\
+            "serving":{"unit":"g","amount":450},\
+            "items":[{"name":"닭가슴살","amount":150,"unit":"g","calories":248},\
+            {"name":"현미밥","amount":210,"unit":"g","calories":310},\
+            {"name":"샐러드","amount":90,"unit":"g","calories":54.5}],\
+            "confidence":0.82,"advice":"단백질 비율이 좋으니 채소를 조금 더 곁들여 보세요."}""";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ImageEncoder imageEncoder = new ImageEncoder();
+    private final OpenAiResponseMapper mapper = new OpenAiResponseMapper();
+    private final OpenAiProperties properties = new OpenAiProperties();
+    private OpenAiHttpClient httpClient;
+    private OptimizedMultipartFile image;
+    private byte[] responseBody;
+    private VisionAnalysisResult result;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] bytes = new byte[IMAGE_SIZE];
+        new Random(42).nextBytes(bytes);
+        image = new OptimizedMultipartFile("image", "meal.jpg", "image/jpeg", bytes);
+
+        httpClient = new OpenAiHttpClient(properties, objectMapper,
+                new VisionHttpClientFactory(new VisionHttpProperties(), ObservationRegistry.NOOP, new SimpleMeterRegistry(),
+                        new DeadlineHolder()));
+
+        OpenAiResponse response = OpenAiResponse.builder()
+                .id("chatcmpl-bench")
+                .object("chat.completion")
+                .created(1_700_000_000L)
+                .model("gpt-4o")
+                .choices(List.of(OpenAiResponse.Choice.builder()
+                        .index(0)
+                        .message(new OpenAiResponse.Message("assistant", CONTENT))
+                        .finishReason("stop")
+                        .build()))
+                .usage(new OpenAiResponse.Usage(1105, 162, 1267, null))
+                .build();
+        responseBody = objectMapper.writeValueAsBytes(response);
+        result = objectMapper.readValue(CONTENT, VisionAnalysisResult.class);
+    }
+
+    @Benchmark
+    public String encodeToBase64() {
+        return imageEncoder.encodeToBase64(image);
+    }
+
+    @Benchmark
+    public void serializeRequest() throws IOException {
+        // OpenAiVisionClient와 같은 구성: system 지시문 + user(텍스트, 이미지), JSON 응답 형식
+        OpenAiRequest request = OpenAiRequest.builder()
+                .model(properties.getModel())
+                .messages(List.of(OpenAiRequest.Message.system(PROMPT.system()), OpenAiRequest.Message.user(List.of(
+                        OpenAiRequest.Content.text(PROMPT.user()),
+                        OpenAiRequest.Content.image(image, properties.getImageDetail())))))
+                .maxTokens(properties.getMaxTokens())
+                .temperature(properties.getTemperature())
+                .responseFormat(OpenAiRequest.ResponseFormat.json())
+                .build();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), request);
+    }
+
+    @Benchmark
+    public VisionAnalysisResult parseResponse() throws IOException {
+        OpenAiResponse response = objectMapper.readValue(responseBody, OpenAiResponse.class);
+        return httpClient.parseContent(response.getContent(), VisionAnalysisResult.class);
+    }
+
+    @Benchmark
+    public MealAnalysis toDomain() {
+        return mapper.toDomain(result);
+    }
+}
@@ -0,0 +1,78 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.OptimizedMultipartFile;
+import com.han.bloomi.infra.vision.openai.dto.OpenAiRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 요청 본문 쓰기: 기존 방식(전체 Base64 문자열 + data URL 문자열 생성) vs 스트리밍 Base64 직렬화 비교
+ *
+ * 최적화된 이미지(약 1.5MB)를 요청 본문으로 쓰는 비용만 측정하도록 출력은 버립니다.
+ * 기존 방식은 변경 전 ImageEncoder.encodeToBase64 + ImageUrl.of 와 같은 순서로 문자열을 만듭니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=OpenAiRequestBodyBenchmark -Pjmh.profilers=gc
+ * (gc 프로파일러의 gc.alloc.rate.norm 으로 요청당 할당량을 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenAiRequestBodyBenchmark {
+    private static final int IMAGE_SIZE = 1536 * 1024;
+    private static final String PROMPT = "이 음식 사진을 분석해서 JSON으로 답해주세요.";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private OptimizedMultipartFile image;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] bytes = new byte[IMAGE_SIZE];
+        new Random(42).nextBytes(bytes);
+        image = new OptimizedMultipartFile("image", "meal.jpg", "image/jpeg", bytes);
+    }
+
+    @Benchmark
+    public void eagerBase64() throws IOException {
+        String base64Image = Base64.getEncoder().encodeToString(image.getBytes());
+        String dataUrl = "data:image/jpeg;base64," + base64Image;
+        Map<String, Object> body = Map.of(
+                "model", "gpt-4o",
+                "messages", List.of(Map.of(
+                        "role", "user",
+                        "content", List.of(
+                                Map.of("type", "text", "text", PROMPT),
+                                Map.of("type", "image_url", "image_url", Map.of("url", dataUrl, "detail", "auto"))))),
+                "max_tokens", 1000,
+                "temperature", 0.3);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+    }
+
+    @Benchmark
+    public void streamingBase64() throws IOException {
+        OpenAiRequest body = OpenAiRequest.builder()
+                .model("gpt-4o")
+                .messages(List.of(OpenAiRequest.Message.user(List.of(
+                        OpenAiRequest.Content.text(PROMPT),
+                        OpenAiRequest.Content.image(image, "auto")))))
+                .maxTokens(1000)
+                .temperature(0.3)
+                .build();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+    }
+}
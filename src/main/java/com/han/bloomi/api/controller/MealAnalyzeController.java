@@ -1,9 +1,15 @@
 package com.han.bloomi.api.controller;
 
+import com.han.bloomi.api.dto.AnalysisJobResponse;
+import com.han.bloomi.api.dto.AnalyzeMealBatchRequest;
+import com.han.bloomi.api.dto.AnalyzeMealBatchResponse;
 import com.han.bloomi.api.dto.AnalyzeMealRequest;
 import com.han.bloomi.api.dto.AnalyzeMealResponse;
 import com.han.bloomi.api.dto.MonthlyMealStatisticsResponse;
+import com.han.bloomi.application.service.AnalysisJobService;
 import com.han.bloomi.application.service.MealAnalyzeService;
+import com.han.bloomi.application.service.MealAnalyzeStreamService;
+import com.han.bloomi.application.service.MealBatchAnalyzeService;
 import com.han.bloomi.common.response.CustomApiResponse;
 import com.han.bloomi.common.swagger.ApiCommonResponses;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,8 +22,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -30,6 +38,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MealAnalyzeController {
     private final MealAnalyzeService service;
+    private final AnalysisJobService analysisJobService;
+    private final MealAnalyzeStreamService streamService;
+    private final MealBatchAnalyzeService batchService;
 
     @Operation(summary = "식단 이미지 분석", description = "업로드한 음식 이미지를 분석하여 칼로리와 영양 성분을 추정합니다. 이미지는 필수이며, 음식명/중량/메모는 선택사항입니다.", security = @SecurityRequirement(name = "bearerAuth"))
     @RequestBody(content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE, schema = @Schema(implementation = AnalyzeMealRequest.class)))
@@ -47,6 +58,69 @@ public class MealAnalyzeController {
         return CustomApiResponse.success("Meal analysis completed", response);
     }
 
+    @Operation(summary = "식단 이미지 배치 분석", description = "여러 이미지를 한 번에 분석합니다. 항목별 음식명/중량/메모를 받을 수 있으며(items[0].image, items[0].name ...), 항목별 결과 또는 에러를 요청 순서대로 반환합니다. 일일 한도는 배치 전체에 대해 한 번에 확인하고, 실패한 항목은 차감하지 않습니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @RequestBody(content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE, schema = @Schema(implementation = AnalyzeMealBatchRequest.class)))
+    @ApiResponse(responseCode = "200", description = "배치 처리 완료", content = @Content(schema = @Schema(implementation = AnalyzeMealBatchResponse.class)))
+    @ApiCommonResponses.AuthenticatedFileUpload
+    @PostMapping(value = "/analyze/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CustomApiResponse<AnalyzeMealBatchResponse> analyzeBatch(@ModelAttribute AnalyzeMealBatchRequest request) {
+        log.info("Received analyzeBatch request - items: {}", request.getItems() != null ? request.getItems().size() : 0);
+
+        AnalyzeMealBatchResponse response = batchService.analyze(request);
+        return CustomApiResponse.success("Batch meal analysis completed", response);
+    }
+
+    @Operation(summary = "식단 이미지 비동기 분석", description = "이미지 업로드만 받고 분석 작업을 큐에 등록한 뒤 작업 ID를 즉시 반환합니다. 결과는 작업 조회 또는 SSE 스트림으로 받습니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @RequestBody(content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE, schema = @Schema(implementation = AnalyzeMealRequest.class)))
+    @ApiResponse(responseCode = "202", description = "작업 접수", content = @Content(schema = @Schema(implementation = AnalysisJobResponse.class)))
+    @ApiResponse(responseCode = "503", description = "작업 큐 포화")
+    @ApiCommonResponses.AuthenticatedFileUpload
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(value = "/analyze/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CustomApiResponse<AnalysisJobResponse> analyzeAsync(@ModelAttribute AnalyzeMealRequest request) {
+        log.info("Received async analyze request - image: {}, name: {}, weight: {}",
+                request.getImage() != null ? request.getImage().getOriginalFilename() : null,
+                request.getName(),
+                request.getWeight());
+
+        AnalysisJobResponse response = analysisJobService.submit(request);
+        return CustomApiResponse.success("Meal analysis job accepted", response);
+    }
+
+    @Operation(summary = "식단 이미지 스트리밍 분석", description = "분석 결과를 SSE로 스트리밍합니다. 완성된 필드부터 'field' 이벤트로 전달하고, 최종 결과는 'result', 실패 시 'error' 이벤트로 전달합니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @RequestBody(content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE, schema = @Schema(implementation = AnalyzeMealRequest.class)))
+    @ApiResponse(responseCode = "200", description = "스트림 시작")
+    @ApiResponse(responseCode = "503", description = "작업 큐 포화")
+    @ApiCommonResponses.AuthenticatedFileUpload
+    @PostMapping(value = "/analyze/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(@ModelAttribute AnalyzeMealRequest request) {
+        log.info("Received stream analyze request - image: {}, name: {}, weight: {}",
+                request.getImage() != null ? request.getImage().getOriginalFilename() : null,
+                request.getName(),
+                request.getWeight());
+
+        return streamService.analyze(request);
+    }
+
+    @Operation(summary = "분석 작업 조회", description = "비동기 분석 작업의 상태와 결과를 조회합니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = AnalysisJobResponse.class)))
+    @ApiCommonResponses.AuthenticatedApi
+    @GetMapping("/jobs/{jobId}")
+    public CustomApiResponse<AnalysisJobResponse> getJob(@PathVariable String jobId) {
+        log.info("Received getJob request - jobId: {}", jobId);
+        AnalysisJobResponse response = analysisJobService.getJob(jobId);
+        return CustomApiResponse.success("Analysis job retrieved", response);
+    }
+
+    @Operation(summary = "분석 작업 SSE 구독", description = "작업 상태가 바뀔 때마다 'job' 이벤트를 전송하며, 작업이 종료(DONE/FAILED)되면 스트림을 닫습니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "구독 성공")
+    @ApiCommonResponses.AuthenticatedApi
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeJob(@PathVariable String jobId) {
+        log.info("Received subscribeJob request - jobId: {}", jobId);
+        return analysisJobService.subscribe(jobId);
+    }
+
     @Operation(summary = "식단 상세 조회", description = "특정 식단을 상세 조회합니다.", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "200", description = "조회성공")
     @ApiCommonResponses.AuthRequired
@@ -57,6 +131,15 @@ public class MealAnalyzeController {
         return CustomApiResponse.success("Meal analysis completed", response);
     }
 
+    @Operation(summary = "식단 삭제", description = "식단 기록을 삭제합니다. 다른 기록과 공유 중인 이미지는 유지됩니다.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "삭제 성공")
+    @ApiCommonResponses.AuthRequired
+    @DeleteMapping("/detail/{id}")
+    public CustomApiResponse<Void> delete(@PathVariable String id) {
+        log.info("Received delete request - id: {}", id);
+        service.deleteMeal(id);
+        return CustomApiResponse.success("Meal record deleted successfully");
+    }
 
     @Operation(summary = "날짜별 식단 조회", description = "특정 날짜의 모든 식단 기록을 조회합니다.", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "200", description = "조회 성공")
@@ -0,0 +1,38 @@
+package com.han.bloomi.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.han.bloomi.domain.model.AnalysisJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "비동기 식단 분석 작업 상태")
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AnalysisJobResponse(
+    @Schema(description = "작업 ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    String jobId,
+
+    @Schema(description = "작업 상태 (QUEUED, RUNNING, DONE, FAILED)", example = "RUNNING")
+    AnalysisJobStatus status,
+
+    @Schema(description = "분석 결과 (DONE 상태에서만 제공)")
+    AnalyzeMealResponse result,
+
+    @Schema(description = "에러 코드 (FAILED 상태에서만 제공)", example = "VISION_TIMEOUT")
+    String errorCode,
+
+    @Schema(description = "에러 상세 (FAILED 상태에서만 제공)")
+    String errorMessage,
+
+    @Schema(description = "요청 추적 ID", example = "2b6f-a3c1")
+    String traceId,
+
+    @Schema(description = "작업 생성일시", example = "2025-11-03T10:30:00")
+    LocalDateTime createdAt,
+
+    @Schema(description = "마지막 상태 변경일시", example = "2025-11-03T10:30:05")
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,31 @@
+package com.han.bloomi.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "배치 식단 분석 항목 결과")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AnalyzeMealBatchItemResponse(
+    @Schema(description = "요청 항목 순번 (0부터)", example = "0")
+    int index,
+
+    @Schema(description = "분석 성공 여부", example = "true")
+    boolean success,
+
+    @Schema(description = "분석 결과 (성공한 항목만 제공)")
+    AnalyzeMealResponse result,
+
+    @Schema(description = "에러 코드 (실패한 항목만 제공)", example = "VISION_TIMEOUT")
+    String errorCode,
+
+    @Schema(description = "에러 상세 (실패한 항목만 제공)")
+    String errorMessage
+) {
+    public static AnalyzeMealBatchItemResponse success(int index, AnalyzeMealResponse result) {
+        return new AnalyzeMealBatchItemResponse(index, true, result, null, null);
+    }
+
+    public static AnalyzeMealBatchItemResponse failure(int index, String errorCode, String errorMessage) {
+        return new AnalyzeMealBatchItemResponse(index, false, null, errorCode, errorMessage);
+    }
+}
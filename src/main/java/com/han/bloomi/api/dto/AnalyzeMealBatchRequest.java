@@ -0,0 +1,25 @@
+package com.han.bloomi.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 배치 식단 분석 요청
+ * multipart 필드명: items[0].image, items[0].name, items[0].weight, items[0].notes, items[1].image ...
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "배치 식단 분석 요청")
+public class AnalyzeMealBatchRequest {
+
+    @Schema(description = "분석할 식단 목록 (이미지별 음식명/중량/메모)", required = true)
+    private List<AnalyzeMealRequest> items = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.han.bloomi.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "배치 식단 분석 결과")
+public record AnalyzeMealBatchResponse(
+    @Schema(description = "항목별 결과 (요청 순서 유지)")
+    List<AnalyzeMealBatchItemResponse> items,
+
+    @Schema(description = "성공한 항목 수", example = "3")
+    int succeeded,
+
+    @Schema(description = "실패한 항목 수 (일일 한도에서 차감되지 않음)", example = "1")
+    int failed,
+
+    @Schema(description = "요청 추적 ID", example = "2b6f-a3c1")
+    String traceId
+) {
+}
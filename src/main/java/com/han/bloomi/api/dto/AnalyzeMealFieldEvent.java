@@ -0,0 +1,13 @@
+package com.han.bloomi.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "스트리밍 분석 중 완성된 필드 이벤트")
+public record AnalyzeMealFieldEvent(
+    @Schema(description = "필드명 (name, calories, macros, serving, item, items, confidence, advice)", example = "calories")
+    String field,
+
+    @Schema(description = "필드 값", example = "523.0")
+    Object value
+) {
+}
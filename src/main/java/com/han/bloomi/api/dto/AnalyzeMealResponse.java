@@ -1,5 +1,6 @@
 package com.han.bloomi.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
@@ -30,6 +31,15 @@ public record AnalyzeMealResponse(
     @Schema(description = "영양 조언", example = "단백질 비율이 좋아요. 소금은 줄이세요.")
     String advice,
 
+    @Schema(description = "원본 이미지 URL (저장된 기록 조회 시)", example = "https://bloomi-images.s3.ap-northeast-2.amazonaws.com/meals/sha256/3f/3fa2.jpg")
+    @JsonInclude(JsonInclude.Include.NON_NULL) String imageUrl,
+
+    @Schema(description = "목록용 썸네일 URL (생성 전이면 없음)", example = "https://bloomi-images.s3.ap-northeast-2.amazonaws.com/thumbnails/sha256/9c/9c1e.jpg")
+    @JsonInclude(JsonInclude.Include.NON_NULL) String thumbnailUrl,
+
+    @Schema(description = "이미지 로딩 전 표시할 BlurHash 플레이스홀더 (생성 전이면 없음)", example = "LEHV6nWB2yk8pyo0adR*.7kCMdnj")
+    @JsonInclude(JsonInclude.Include.NON_NULL) String placeholder,
+
     @Schema(description = "요청 추적 ID", example = "2b6f-a3c1")
     @JsonProperty("traceId") String traceId
 ) {
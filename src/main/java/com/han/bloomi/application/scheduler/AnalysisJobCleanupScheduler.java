@@ -0,0 +1,26 @@
+package com.han.bloomi.application.scheduler;
+
+import com.han.bloomi.application.service.AnalysisJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 종료된 비동기 분석 작업 정리 스케줄러
+ * 1분마다 보관 시간이 지난 DONE/FAILED 작업을 저장소에서 삭제합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobCleanupScheduler {
+    private final AnalysisJobService analysisJobService;
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedJobs() {
+        int purged = analysisJobService.purgeFinishedJobs();
+        if (purged > 0) {
+            log.info("Purged {} finished analysis jobs", purged);
+        }
+    }
+}
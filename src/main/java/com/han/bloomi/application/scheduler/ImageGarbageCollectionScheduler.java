@@ -0,0 +1,26 @@
+package com.han.bloomi.application.scheduler;
+
+import com.han.bloomi.application.service.ImageUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 참조되지 않는 이미지 정리 스케줄러
+ * 10분마다 참조가 0인 채로 보관 시간이 지난 이미지를 저장소에서 삭제합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageGarbageCollectionScheduler {
+    private final ImageUploadService imageUploadService;
+
+    @Scheduled(fixedDelay = 600000)
+    public void collectUnreferencedImages() {
+        int deleted = imageUploadService.collectUnreferencedImages();
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced images", deleted);
+        }
+    }
+}
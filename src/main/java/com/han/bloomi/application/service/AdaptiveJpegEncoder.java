@@ -0,0 +1,152 @@
+package com.han.bloomi.application.service;
+
+import net.coobird.thumbnailator.Thumbnails;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * 목표 바이트 안에 들어오도록 JPEG 품질을 이진 탐색하는 인코더
+ *
+ * 1. 시작 품질로 인코딩해 예산 안이면 그대로 사용합니다. (대부분의 사진은 한 번에 끝남)
+ * 2. 넘치면 [최저 품질, 시작 품질] 구간을 이진 탐색해 예산 안에서 가장 높은 품질을 찾습니다.
+ * 3. 최저 품질로도 넘치면 이미 축소된 래스터를 scaleStep 배율로 한 번 더 줄여 다시 탐색합니다.
+ *
+ * 시도 사이에는 같은 래스터와 JPEG writer를 재사용하고, 출력 버퍼는 두 개를 번갈아 씁니다.
+ * 모든 시도가 예산을 넘으면 가장 작은 결과를 반환합니다.
+ */
+class AdaptiveJpegEncoder {
+    private static final int OUTPUT_BUFFER_SIZE = 512 * 1024; // 1920x1080, 품질 85% JPEG 기준 여유 있는 초기 크기
+
+    private final ImageEncodingProperties properties;
+
+    AdaptiveJpegEncoder(ImageEncodingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param image        이미 목표 해상도로 축소된 RGB 래스터
+     * @param maxBytes     출력 바이트 예산
+     * @param startQuality 예산 안이면 사용할 기본 품질
+     */
+    Result encode(BufferedImage image, long maxBytes, double startQuality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            Attempts attempts = new Attempts(writer);
+            BufferedImage current = image;
+            for (int step = 0; ; step++) {
+                if (attempts.fits(current, startQuality, maxBytes)) {
+                    return attempts.result();
+                }
+                double minQuality = Math.min(properties.getMinQuality(), startQuality);
+                if (attempts.fits(current, minQuality, maxBytes)) {
+                    bisect(attempts, current, minQuality, startQuality, maxBytes);
+                    return attempts.result();
+                }
+                if (step >= properties.getMaxScaleSteps()) {
+                    return attempts.result();
+                }
+                current = Thumbnails.of(current)
+                        .scale(properties.getScaleStep())
+                        .imageType(BufferedImage.TYPE_INT_RGB)
+                        .asBufferedImage();
+            }
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * low는 예산 안, high는 예산 초과인 품질. 남은 시도 횟수 안에서 예산 안의 최고 품질을 찾습니다.
+     */
+    private void bisect(Attempts attempts, BufferedImage image, double low, double high, long maxBytes)
+            throws IOException {
+        // 시작/최저 품질 두 번은 이미 시도했습니다.
+        for (int i = 2; i < properties.getMaxAttempts(); i++) {
+            double mid = (low + high) / 2;
+            if (attempts.fits(image, mid, maxBytes)) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+    }
+
+    /**
+     * 인코딩 시도 상태: 예산 안의 최선 결과(없으면 가장 작은 결과)를 유지합니다.
+     */
+    private static final class Attempts {
+        private final ImageWriter writer;
+        private OptimizedMultipartFile.Buffer best = new OptimizedMultipartFile.Buffer(OUTPUT_BUFFER_SIZE);
+        private OptimizedMultipartFile.Buffer scratch = new OptimizedMultipartFile.Buffer(OUTPUT_BUFFER_SIZE);
+        private boolean hasBest;
+        private boolean bestFits;
+        private double bestQuality;
+        private int bestWidth;
+        private int bestHeight;
+        private int count;
+
+        private Attempts(ImageWriter writer) {
+            this.writer = writer;
+        }
+
+        boolean fits(BufferedImage image, double quality, long maxBytes) throws IOException {
+            scratch.reset();
+            write(image, quality);
+            count++;
+
+            boolean fits = scratch.size() <= maxBytes;
+            // 예산 안이면 품질이 더 높은 결과를, 아직 예산 안 결과가 없으면 더 작은 결과를 유지
+            boolean better = !hasBest
+                    || (fits && (!bestFits || quality > bestQuality))
+                    || (!fits && !bestFits && scratch.size() < best.size());
+            if (better) {
+                OptimizedMultipartFile.Buffer previous = best;
+                best = scratch;
+                scratch = previous;
+                hasBest = true;
+                bestFits = fits;
+                bestQuality = quality;
+                bestWidth = image.getWidth();
+                bestHeight = image.getHeight();
+            }
+            return fits;
+        }
+
+        Result result() {
+            return new Result(best, bestQuality, bestWidth, bestHeight, bestFits, count);
+        }
+
+        private void write(BufferedImage image, double quality) throws IOException {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality((float) quality);
+            try (ImageOutputStream output = new MemoryCacheImageOutputStream(scratch)) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.setOutput(null);
+            }
+        }
+    }
+
+    /**
+     * 인코딩 결과
+     *
+     * @param output   JPEG 바이트
+     * @param quality  사용한 품질
+     * @param width    결과 너비
+     * @param height   결과 높이
+     * @param fits     예산 안에 들어왔는지 여부
+     * @param attempts 인코딩 시도 횟수
+     */
+    record Result(OptimizedMultipartFile.Buffer output, double quality, int width, int height,
+                  boolean fits, int attempts) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 분석 작업 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.analyze.job")
+public class AnalysisJobProperties {
+    /**
+     * 분석 워커 스레드 수
+     */
+    private int workerThreads = 8;
+
+    /**
+     * 대기 큐 크기 (초과 시 503 응답)
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * SSE 연결 타임아웃 (밀리초)
+     */
+    private long sseTimeoutMs = 60000;
+
+    /**
+     * 종료된 작업 보관 시간 (분)
+     */
+    private long retentionMinutes = 10;
+}
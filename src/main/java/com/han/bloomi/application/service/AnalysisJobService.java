@@ -0,0 +1,178 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalysisJobResponse;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.AnalysisJob;
+import com.han.bloomi.domain.port.AnalysisJobStore;
+import com.han.bloomi.infra.security.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 비동기 식단 분석 작업 서비스
+ *
+ * 업로드만 받아 작업을 큐에 넣고 즉시 작업 ID를 반환합니다.
+ * 클라이언트는 폴링(GET /jobs/{id}) 또는 SSE 스트림으로 결과를 받습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+    private static final String SSE_EVENT_NAME = "job";
+
+    private final MealAnalyzeService mealAnalyzeService;
+    private final DailyQuotaService dailyQuotaService;
+    private final AnalysisJobStore jobStore;
+    private final ThreadPoolTaskExecutor analysisJobExecutor;
+    private final AnalysisJobProperties properties;
+    private final CurrentUserService currentUserService;
+    private final TraceIdHolder traceIdHolder;
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    /**
+     * 분석 작업 접수
+     *
+     * @param request 분석 요청 (이미지는 요청 종료 후 삭제되므로 메모리로 복사해 둡니다)
+     * @return QUEUED 상태의 작업
+     */
+    public AnalysisJobResponse submit(AnalyzeMealRequest request) {
+        String traceId = traceIdHolder.current();
+        String userId = currentUserService.getCurrentUserId();
+
+        // 한도 초과는 큐에 넣기 전에 바로 거절
+        dailyQuotaService.verifyAvailable(userId);
+
+        AnalyzeMealRequest detached = AnalyzeRequests.detach(request);
+        AnalysisJob job = jobStore.save(AnalysisJob.queued(UUID.randomUUID().toString(), userId, traceId));
+
+        try {
+            analysisJobExecutor.execute(() -> run(job.id(), detached));
+        } catch (TaskRejectedException e) {
+            log.warn("[{}] Analysis job queue is full - jobId: {}", traceId, job.id());
+            jobStore.save(job.failed(ErrorCode.ANALYSIS_QUEUE_FULL.getCode(), ErrorCode.ANALYSIS_QUEUE_FULL.getMessage()));
+            throw new BusinessException(ErrorCode.ANALYSIS_QUEUE_FULL,
+                    String.format("Queue capacity %d exceeded", properties.getQueueCapacity()));
+        }
+
+        log.info("[{}] Analysis job queued - jobId: {}, userId: {}", traceId, job.id(), userId);
+        return toResponse(job);
+    }
+
+    /**
+     * 작업 상태 조회 (본인 작업만 조회 가능)
+     */
+    public AnalysisJobResponse getJob(String jobId) {
+        return toResponse(findOwnedJob(jobId));
+    }
+
+    /**
+     * 작업 상태 SSE 구독
+     * 현재 상태를 즉시 전송하고, 이후 상태가 바뀔 때마다 전송합니다. 작업이 종료되면 스트림도 종료됩니다.
+     */
+    public SseEmitter subscribe(String jobId) {
+        findOwnedJob(jobId);
+
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeoutMs());
+        List<SseEmitter> jobEmitters = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        jobEmitters.add(emitter);
+        emitter.onCompletion(() -> removeEmitter(jobId, emitter));
+        emitter.onTimeout(() -> removeEmitter(jobId, emitter));
+        emitter.onError(e -> removeEmitter(jobId, emitter));
+
+        // 등록 이후 상태를 다시 읽어 전송하므로, 등록 직전에 바뀐 상태도 놓치지 않습니다.
+        jobStore.findById(jobId).ifPresent(job -> send(emitter, job));
+        return emitter;
+    }
+
+    /**
+     * 종료 후 보관 시간이 지난 작업 정리
+     */
+    public int purgeFinishedJobs() {
+        return jobStore.deleteFinishedBefore(LocalDateTime.now().minusMinutes(properties.getRetentionMinutes()));
+    }
+
+    private void run(String jobId, AnalyzeMealRequest request) {
+        AnalysisJob job = jobStore.findById(jobId).orElseThrow();
+        traceIdHolder.set(job.traceId());
+        try {
+            update(job.running());
+            update(job.done(mealAnalyzeService.analyzeMeal(job.userId(), job.traceId(), request)));
+            log.info("[{}] Analysis job completed - jobId: {}", job.traceId(), jobId);
+        } catch (BusinessException e) {
+            log.warn("[{}] Analysis job failed - jobId: {}, code: {}", job.traceId(), jobId, e.getErrorCode().getCode());
+            update(job.failed(e.getErrorCode().getCode(), e.getDetail() != null ? e.getDetail() : e.getMessage()));
+        } catch (Exception e) {
+            log.error("[{}] Analysis job failed unexpectedly - jobId: {}", job.traceId(), jobId, e);
+            update(job.failed(ErrorCode.INTERNAL_SERVER_ERROR.getCode(), ErrorCode.INTERNAL_SERVER_ERROR.getMessage()));
+        } finally {
+            traceIdHolder.clear();
+        }
+    }
+
+    private void update(AnalysisJob job) {
+        jobStore.save(job);
+        List<SseEmitter> jobEmitters = emitters.get(job.id());
+        if (jobEmitters != null) {
+            jobEmitters.forEach(emitter -> send(emitter, job));
+        }
+    }
+
+    private void send(SseEmitter emitter, AnalysisJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(job.id() + ":" + job.status())
+                    .name(SSE_EVENT_NAME)
+                    .data(toResponse(job)));
+            if (job.status().isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 - 작업은 계속 진행되며 폴링으로 결과 조회 가능
+            log.debug("SSE send failed - jobId: {}, reason: {}", job.id(), e.getMessage());
+            removeEmitter(job.id(), emitter);
+        }
+    }
+
+    private void removeEmitter(String jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private AnalysisJob findOwnedJob(String jobId) {
+        String userId = currentUserService.getCurrentUserId();
+        return jobStore.findById(jobId)
+                .filter(job -> job.isOwnedBy(userId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.ANALYSIS_JOB_NOT_FOUND, "작업을 찾을 수 없습니다."));
+    }
+
+    private AnalysisJobResponse toResponse(AnalysisJob job) {
+        return AnalysisJobResponse.builder()
+                .jobId(job.id())
+                .status(job.status())
+                .result(job.result() != null ? mealAnalyzeService.toResponse(job.result(), job.traceId()) : null)
+                .errorCode(job.errorCode())
+                .errorMessage(job.errorMessage())
+                .traceId(job.traceId())
+                .createdAt(job.createdAt())
+                .updatedAt(job.updatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * 요청 스레드 밖에서 분석하는 요청(비동기 작업, 스트리밍)을 위한 도우미
+ */
+final class AnalyzeRequests {
+    private AnalyzeRequests() {
+    }
+
+    /**
+     * 요청이 끝나면 업로드 임시 파일이 삭제되므로 이미지를 메모리로 복사한 요청을 만듭니다.
+     *
+     * @throws BusinessException 이미지가 없거나(MISSING_REQUIRED_FIELD) 읽을 수 없는 경우(INVALID_IMAGE_FORMAT)
+     */
+    static AnalyzeMealRequest detach(AnalyzeMealRequest request) {
+        MultipartFile image = request.getImage();
+        if (image == null || image.isEmpty()) {
+            throw new BusinessException(ErrorCode.MISSING_REQUIRED_FIELD, "Image file is required");
+        }
+        try {
+            return new AnalyzeMealRequest(OptimizedMultipartFile.copyOf(image),
+                    request.getName(), request.getWeight(), request.getNotes());
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INVALID_IMAGE_FORMAT, "Failed to read image file", e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.han.bloomi.application.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * BlurHash 인코더 (https://blurha.sh)
+ *
+ * 이미지를 DCT 성분 몇 개로 요약한 짧은 문자열(4x3 성분 기준 28자)로, 앱이 실제 이미지를 받기 전에
+ * 흐린 미리보기(LQIP)를 그릴 수 있게 합니다. 성분 계산 비용이 픽셀 수에 비례하므로 썸네일 크기의 이미지를 넘겨야 합니다.
+ */
+public final class BlurHash {
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    /**
+     * @param image       인코딩할 이미지
+     * @param componentsX 가로 성분 수 (1~9)
+     * @param componentsY 세로 성분 수 (1~9)
+     */
+    public static String encode(BufferedImage image, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("BlurHash components must be between 1 and 9");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        // 픽셀마다 sRGB → linear 변환은 한 번만
+        double[] red = new double[pixels.length];
+        double[] green = new double[pixels.length];
+        double[] blue = new double[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            red[i] = srgbToLinear((pixels[i] >> 16) & 0xff);
+            green[i] = srgbToLinear((pixels[i] >> 8) & 0xff);
+            blue[i] = srgbToLinear(pixels[i] & 0xff);
+        }
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                factors[j * componentsX + i] = basisFactor(red, green, blue, width, height, i, j);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double value : factors[k]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(value));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            encode83(hash, quantisedMaximum, 1);
+        } else {
+            maximumValue = 1;
+            encode83(hash, 0, 1);
+        }
+
+        encode83(hash, encodeDc(factors[0]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            encode83(hash, encodeAc(factors[k], maximumValue), 2);
+        }
+        return hash.toString();
+    }
+
+    private static double[] basisFactor(double[] red, double[] green, double[] blue,
+                                        int width, int height, int i, int j) {
+        double normalisation = (i == 0 && j == 0) ? 1 : 2;
+        double r = 0;
+        double g = 0;
+        double b = 0;
+        for (int y = 0; y < height; y++) {
+            double basisY = Math.cos(Math.PI * j * y / height);
+            for (int x = 0; x < width; x++) {
+                double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                int index = y * width + x;
+                r += basis * red[index];
+                g += basis * green[index];
+                b += basis * blue[index];
+            }
+        }
+        double scale = 1.0 / (width * height);
+        return new double[]{r * scale, g * scale, b * scale};
+    }
+
+    private static int encodeDc(double[] value) {
+        return (linearToSrgb(value[0]) << 16) + (linearToSrgb(value[1]) << 8) + linearToSrgb(value[2]);
+    }
+
+    private static int encodeAc(double[] value, double maximumValue) {
+        int quantR = quantiseAc(value[0] / maximumValue);
+        int quantG = quantiseAc(value[1] / maximumValue);
+        int quantB = quantiseAc(value[2] / maximumValue);
+        return quantR * 19 * 19 + quantG * 19 + quantB;
+    }
+
+    private static int quantiseAc(double value) {
+        double signedSqrt = Math.copySign(Math.sqrt(Math.abs(value)), value);
+        return (int) Math.max(0, Math.min(18, Math.floor(signedSqrt * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static void encode83(StringBuilder hash, int value, int length) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / (int) Math.pow(83, length - i)) % 83;
+            hash.append(BASE83.charAt(digit));
+        }
+    }
+}
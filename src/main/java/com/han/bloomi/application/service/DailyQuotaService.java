@@ -0,0 +1,103 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 일일 분석 요청 한도를 관리하는 서비스
+ *
+ * 외부 API 호출 동안 DB 커넥션을 잡고 있지 않도록, 한도 확인/차감은 분석 전에 짧은 트랜잭션으로 처리하고
+ * 분석이 실패하면 차감분을 되돌립니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyQuotaService {
+    private final UserRepository userRepository;
+
+    /**
+     * 일일 한도를 확인하고 요청 1회를 선차감합니다.
+     *
+     * @param userId 사용자 ID
+     * @throws BusinessException 사용자가 없거나 한도를 초과한 경우
+     */
+    @Transactional
+    public void reserve(String userId) {
+        reserve(userId, 1);
+    }
+
+    /**
+     * 일일 한도를 확인하고 요청 count회를 한 번에 선차감합니다. (배치 분석)
+     * 남은 횟수가 count보다 적으면 일부만 처리하지 않고 전체를 거절합니다.
+     * 확인과 차감은 조건부 UPDATE 한 번으로 처리하므로 동시 요청이 함께 한도를 넘지 않습니다.
+     *
+     * @param userId 사용자 ID
+     * @param count  차감할 횟수
+     * @throws BusinessException 사용자가 없거나 남은 횟수가 부족한 경우
+     */
+    @Transactional
+    public void reserve(String userId, int count) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+
+        if (!userRepository.incrementDailyRequestCount(userId, count, user.dailyLimit())) {
+            log.warn("Daily limit exceeded - userId: {}, membership: {}, requested: {}",
+                    userId, user.membership(), count);
+            throw new BusinessException(ErrorCode.DAILY_LIMIT_EXCEEDED,
+                    String.format("User %s requested %d analyses but the daily limit %d would be exceeded",
+                            userId, count, user.dailyLimit()));
+        }
+    }
+
+    /**
+     * 차감 없이 일일 한도만 확인합니다.
+     * 비동기 작업 접수 시 큐에 넣기 전에 빠르게 거절하는 용도입니다. (실제 차감은 {@link #reserve(String)}에서 다시 확인)
+     *
+     * @param userId 사용자 ID
+     * @throws BusinessException 사용자가 없거나 한도를 초과한 경우
+     */
+    @Transactional(readOnly = true)
+    public void verifyAvailable(String userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+
+        if (user.hasExceededDailyLimit()) {
+            log.warn("Daily limit exceeded - userId: {}, membership: {}, dailyRequestCount: {}",
+                    userId, user.membership(), user.dailyRequestCount());
+            throw new BusinessException(ErrorCode.DAILY_LIMIT_EXCEEDED,
+                    String.format("User %s has exceeded daily limit (count: %d)", userId, user.dailyRequestCount()));
+        }
+    }
+
+    /**
+     * 선차감한 요청 1회를 되돌립니다.
+     *
+     * @param userId 사용자 ID
+     */
+    @Transactional
+    public void release(String userId) {
+        userRepository.decrementDailyRequestCount(userId, 1);
+        log.info("Daily request count released for user: {}", userId);
+    }
+
+    /**
+     * 선차감한 요청 count회를 되돌립니다.
+     *
+     * @param userId 사용자 ID
+     * @param count  되돌릴 횟수
+     */
+    @Transactional
+    public void release(String userId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        userRepository.decrementDailyRequestCount(userId, count);
+        log.info("Daily request count released for user: {}, count: {}", userId, count);
+    }
+}
@@ -0,0 +1,122 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 디코딩 메모리 허용 제어 컴포넌트
+ *
+ * 큰 이미지 여러 장을 동시에 디코딩하면 힙이 순간적으로 부풀어 긴 GC 정지나 OOM이 날 수 있습니다.
+ * 디코딩 전에 헤더 크기로 필요한 픽셀 메모리를 추정하고, 힙 예산 세마포어(KB 단위)에서 그만큼 확보한 뒤에만 디코딩합니다.
+ * 예산이 부족하면 잠시 기다리고, 그래도 확보하지 못하면 IMAGE_PROCESSING_BUSY로 거절합니다.
+ * 예산보다 큰 단일 이미지는 예산 전체를 확보해 혼자 디코딩합니다.
+ */
+@Slf4j
+@Component
+public class DecodeAdmissionController {
+    private static final String METRIC_NAME = "bloomi.image.decode";
+
+    private final ImageDecodeProperties properties;
+    private final DeadlineHolder deadlineHolder;
+    private final int budgetKb;
+    private final Semaphore budget;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public DecodeAdmissionController(ImageDecodeProperties properties, DeadlineHolder deadlineHolder,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.deadlineHolder = deadlineHolder;
+        long budgetBytes = properties.getHeapBudget() != null
+                ? properties.getHeapBudget().toBytes()
+                : (long) (Runtime.getRuntime().maxMemory() * properties.getHeapBudgetRatio());
+        this.budgetKb = Math.clamp(budgetBytes / 1024, 1, Integer.MAX_VALUE);
+        this.budget = new Semaphore(budgetKb, true);
+
+        int totalKb = budgetKb;
+        Gauge.builder(METRIC_NAME + ".budget.used", budget, semaphore -> usedBytes(totalKb, semaphore))
+                .description("Estimated decoded pixel memory currently admitted")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_NAME + ".wait")
+                .description("Time spent waiting for decode memory budget")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Image decodes rejected for lack of memory budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 추정 메모리만큼 예산을 확보합니다. 반환된 Permit을 닫으면 예산이 반납됩니다.
+     *
+     * @param estimatedBytes 디코딩에 필요한 추정 메모리
+     * @throws BusinessException 대기 시간 안에 예산을 확보하지 못한 경우 (IMAGE_PROCESSING_BUSY)
+     */
+    public Permit acquire(long estimatedBytes) {
+        if (!properties.isEnabled()) {
+            return new Permit(0);
+        }
+        int permits = Math.clamp((estimatedBytes + 1023) / 1024, 1, budgetKb);
+        if (budget.tryAcquire(permits)) {
+            return new Permit(permits);
+        }
+
+        Duration maxWait = deadlineHolder.current().cap(properties.getMaxWait());
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = budget.tryAcquire(permits, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.IMAGE_PROCESSING_BUSY, "Interrupted while waiting for decode budget", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Image decode rejected - requested: {}KB, available: {}KB / {}KB",
+                    permits, budget.availablePermits(), budgetKb);
+            throw new BusinessException(ErrorCode.IMAGE_PROCESSING_BUSY);
+        }
+        return new Permit(permits);
+    }
+
+    long usedBytes() {
+        return usedBytes(budgetKb, budget);
+    }
+
+    private static long usedBytes(int budgetKb, Semaphore budget) {
+        return (long) (budgetKb - budget.availablePermits()) * 1024;
+    }
+
+    /**
+     * 확보한 디코딩 예산 (한 번만 반납)
+     */
+    public final class Permit implements AutoCloseable {
+        private int permits;
+
+        private Permit(int permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (permits > 0) {
+                budget.release(permits);
+                permits = 0;
+            }
+        }
+    }
+}
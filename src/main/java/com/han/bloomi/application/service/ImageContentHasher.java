@@ -0,0 +1,41 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 이미지 바이트의 SHA-256 해시를 계산하는 컴포넌트
+ * 전체 바이트를 복사하지 않고 스트림을 읽으면서 계산합니다.
+ */
+@Component
+public class ImageContentHasher {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * @param image 해시를 계산할 이미지
+     * @return 소문자 16진수 SHA-256 (64자)
+     */
+    public String sha256Hex(MultipartFile image) {
+        try (InputStream input = image.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INVALID_IMAGE_FORMAT, "Failed to read image file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 이미지 디코딩 메모리 허용 제어 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.image.decode")
+public class ImageDecodeProperties {
+    /**
+     * 허용 제어 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 동시에 디코딩 중인 픽셀 메모리의 상한
+     * 지정하지 않으면 최대 힙 크기 x heapBudgetRatio 를 사용합니다.
+     */
+    private DataSize heapBudget;
+
+    /**
+     * heapBudget을 지정하지 않았을 때 최대 힙 크기 대비 비율 (0~1)
+     */
+    private double heapBudgetRatio = 0.25;
+
+    /**
+     * 예산이 부족할 때 대기할 최대 시간 (초과 시 거절, 요청 마감 시각이 더 이르면 그 시각까지)
+     */
+    private Duration maxWait = Duration.ofSeconds(1);
+}
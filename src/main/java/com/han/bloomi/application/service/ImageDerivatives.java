@@ -0,0 +1,18 @@
+package com.han.bloomi.application.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 한 번의 디코딩으로 만든 이미지 파생본
+ *
+ * @param archival S3에 보관할 이미지 (최대 1920x1080)
+ * @param vision   Vision API에 보낼 저해상도 이미지
+ */
+public record ImageDerivatives(MultipartFile archival, MultipartFile vision) {
+    /**
+     * 최적화 없이 원본을 그대로 보관/분석에 사용
+     */
+    public static ImageDerivatives original(MultipartFile image) {
+        return new ImageDerivatives(image, image);
+    }
+}
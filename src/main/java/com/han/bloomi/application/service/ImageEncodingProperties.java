@@ -0,0 +1,41 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 목표 크기 기반 JPEG 인코딩 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.image.encoding")
+public class ImageEncodingProperties {
+    /**
+     * 보관용 이미지의 최대 바이트 (원본이 이보다 크면 최적화하고, 결과도 이 안에 맞춤)
+     */
+    private DataSize archivalMaxBytes = DataSize.ofMegabytes(1);
+
+    /**
+     * 크기를 맞추기 위해 낮출 수 있는 최저 JPEG 품질 (0~1)
+     */
+    private double minQuality = 0.5;
+
+    /**
+     * 한 배율에서 품질 이진 탐색으로 인코딩을 시도하는 최대 횟수
+     */
+    private int maxAttempts = 6;
+
+    /**
+     * 최저 품질로도 넘칠 때 이미지를 줄이는 배율 (0~1)
+     */
+    private double scaleStep = 0.8;
+
+    /**
+     * 배율을 줄이는 최대 횟수 (0이면 크기를 줄이지 않음)
+     */
+    private int maxScaleSteps = 2;
+}
@@ -1,20 +1,32 @@
 package com.han.bloomi.application.service;
 
+import com.han.bloomi.common.exception.BusinessException;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Iterator;
 
 /**
  * 이미지 최적화 서비스
- * - 리사이즈: 최대 1920x1080 (비율 유지)
- * - 압축: JPEG 품질 85%
+ * - 보관용: 최대 1920x1080 (비율 유지), JPEG 품질 85%, 최대 {@link ImageEncodingProperties#getArchivalMaxBytes()}
+ * - Vision용: 긴 변 최대 {@link VisionImageProperties#getMaxDimension()}, 설정된 JPEG 품질/최대 바이트
  * - 목표: S3 저장 비용 절감 + Vision API 속도/비용 최적화
+ *
+ * 전체 디코딩(12MP 사진 기준 약 48MB 힙) 대신 ImageReader로 헤더의 크기부터 읽고,
+ * 변경이 필요 없으면 디코딩하지 않습니다. 리사이즈가 필요하면 목표 크기에 가깝게
+ * 소스 서브샘플링으로 한 번만 디코딩한 뒤, 같은 디코딩 결과에서 두 파생본을 만듭니다.
+ * 각 파생본은 바이트 예산을 넘으면 {@link AdaptiveJpegEncoder}로 품질(필요하면 배율)을 낮춰 예산에 맞춥니다.
+ *
+ * 디코딩 전에 헤더 크기로 추정한 픽셀 메모리만큼 {@link DecodeAdmissionController}에서 힙 예산을 확보합니다.
+ * 예산을 확보하지 못하면 원본으로 대체하지 않고 IMAGE_PROCESSING_BUSY로 실패합니다.
  */
 @Slf4j
 @Service
@@ -22,72 +34,202 @@ public class ImageProcessor {
     private static final int MAX_WIDTH = 1920;
     private static final int MAX_HEIGHT = 1080;
     private static final double QUALITY = 0.85;
-    private static final long MAX_FILE_SIZE = 1024 * 1024; // 1MB
+    private static final int BYTES_PER_PIXEL = 4; // ARGB
+
+    static {
+        // 업로드 이미지는 이미 메모리/임시 파일에 있으므로 ImageIO의 디스크 캐시는 불필요한 I/O만 추가합니다.
+        ImageIO.setUseCache(false);
+    }
+
+    private final VisionImageProperties visionProperties;
+    private final ImageEncodingProperties encodingProperties;
+    private final DecodeAdmissionController decodeAdmission;
+    private final AdaptiveJpegEncoder encoder;
+
+    public ImageProcessor(VisionImageProperties visionProperties, ImageEncodingProperties encodingProperties,
+                          DecodeAdmissionController decodeAdmission) {
+        this.visionProperties = visionProperties;
+        this.encodingProperties = encodingProperties;
+        this.decodeAdmission = decodeAdmission;
+        this.encoder = new AdaptiveJpegEncoder(encodingProperties);
+    }
 
     /**
-     * 이미지를 최적화합니다 (리사이즈 + 압축)
+     * 보관용 이미지만 최적화합니다 (리사이즈 + 압축)
      * @param originalFile 원본 이미지
      * @return 최적화된 이미지
      */
     public MultipartFile optimize(MultipartFile originalFile) throws IOException {
+        return process(originalFile).archival();
+    }
+
+    /**
+     * 한 번의 디코딩으로 보관용/Vision용 파생본을 만듭니다.
+     * 이미지를 읽을 수 없으면 두 파생본 모두 원본을 사용합니다.
+     * @param originalFile 원본 이미지
+     * @return 보관용/Vision용 이미지
+     */
+    public ImageDerivatives process(MultipartFile originalFile) throws IOException {
         long originalSize = originalFile.getSize();
+        int visionMax = visionProperties.getMaxDimension();
+        long archivalMaxBytes = encodingProperties.getArchivalMaxBytes().toBytes();
+        long visionMaxBytes = visionProperties.getMaxBytes().toBytes();
 
-        // 1. 원본 이미지 읽기
-        BufferedImage originalImage;
-        try {
-            originalImage = ImageIO.read(originalFile.getInputStream());
-            if (originalImage == null) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(originalFile.getInputStream())) {
+            ImageReader reader = input != null ? firstReader(input) : null;
+            if (reader == null) {
                 log.warn("Failed to read image, returning original: {}", originalFile.getOriginalFilename());
-                return originalFile;
+                return ImageDerivatives.original(originalFile);
             }
+
+            try {
+                // 1. 헤더에서 크기만 읽기 (픽셀 디코딩 없음)
+                reader.setInput(input, true, true);
+                int originalWidth = reader.getWidth(0);
+                int originalHeight = reader.getHeight(0);
+
+                // 2. 파생본별 최적화 필요 여부 확인
+                boolean archivalNeeded = originalWidth > MAX_WIDTH || originalHeight > MAX_HEIGHT
+                        || originalSize > archivalMaxBytes;
+                boolean visionNeeded = Math.max(originalWidth, originalHeight) > visionMax
+                        || originalSize > visionMaxBytes;
+                if (!archivalNeeded && !visionNeeded) {
+                    log.info("Image already optimized: {}x{}, size: {}KB",
+                            originalWidth, originalHeight, originalSize / 1024);
+                    return ImageDerivatives.original(originalFile);
+                }
+
+                // 3. 필요한 가장 큰 파생본 크기 이상을 유지하는 범위에서 서브샘플링 디코딩
+                int subsampling = archivalNeeded
+                        ? subsamplingFactor(originalWidth, originalHeight)
+                        : subsamplingFactor(originalWidth, originalHeight, visionMax, visionMax);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                MultipartFile archival;
+                MultipartFile vision;
+                DecodeAdmissionController.Permit permit = decodeAdmission.acquire(
+                        estimateDecodeBytes(originalWidth, originalHeight, subsampling));
+                try {
+                    BufferedImage decoded = reader.read(0, param);
+
+                    // 4. 같은 디코딩 결과에서 파생본 생성
+                    archival = archivalNeeded
+                            ? compress(originalFile, decoded, MAX_WIDTH, MAX_HEIGHT, QUALITY, archivalMaxBytes)
+                            : originalFile;
+                    vision = visionNeeded
+                            ? compress(originalFile, decoded, visionMax, visionMax,
+                                    visionProperties.getQuality(), visionMaxBytes)
+                            : archival;
+                } finally {
+                    permit.close();
+                }
+
+                log.info("Image optimized: {}x{} ({}KB, subsampling 1/{}) -> archival {}KB, vision {}KB",
+                        originalWidth, originalHeight, originalSize / 1024, subsampling,
+                        archival.getSize() / 1024, vision.getSize() / 1024);
+                return new ImageDerivatives(archival, vision);
+            } finally {
+                reader.dispose();
+            }
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error reading image, returning original", e);
-            return originalFile;
+            log.error("Error optimizing image, returning original", e);
+            return ImageDerivatives.original(originalFile);
         }
+    }
 
-        int originalWidth = originalImage.getWidth();
-        int originalHeight = originalImage.getHeight();
+    /**
+     * 목표 크기보다 작아지지 않는 범위에서 서브샘플링 디코딩만 합니다. (썸네일처럼 작은 이미지를 만들 때)
+     * 디코딩 동안 {@link DecodeAdmissionController}의 힙 예산을 확보합니다.
+     * @return 디코딩된 이미지, 읽을 수 없는 이미지면 null
+     */
+    public BufferedImage decode(MultipartFile image, int maxWidth, int maxHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.getInputStream())) {
+            ImageReader reader = input != null ? firstReader(input) : null;
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int subsampling = subsamplingFactor(width, height, maxWidth, maxHeight);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                DecodeAdmissionController.Permit permit = decodeAdmission.acquire(
+                        estimateDecodeBytes(width, height, subsampling));
+                try {
+                    return reader.read(0, param);
+                } finally {
+                    permit.close();
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 디코딩 후에도 목표 크기(MAX_WIDTH x MAX_HEIGHT에 맞춘 크기)보다 작아지지 않는 최대 서브샘플링 배율
+     */
+    static int subsamplingFactor(int width, int height) {
+        return subsamplingFactor(width, height, MAX_WIDTH, MAX_HEIGHT);
+    }
 
-        // 2. 최적화 필요 여부 확인
-        if (originalWidth <= MAX_WIDTH && originalHeight <= MAX_HEIGHT
-            && originalSize <= MAX_FILE_SIZE) {
-            log.info("Image already optimized: {}x{}, size: {}KB",
-                    originalWidth, originalHeight, originalSize / 1024);
-            return originalFile;
+    static int subsamplingFactor(int width, int height, int maxWidth, int maxHeight) {
+        double scale = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        if (scale >= 1) {
+            return 1;
         }
+        return Math.max(1, (int) Math.floor(1 / scale));
+    }
 
-        // 3. 리사이즈 + 압축
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            Thumbnails.of(originalImage)
-                    .size(MAX_WIDTH, MAX_HEIGHT)  // 최대 크기 (비율 유지)
-                    .outputFormat("jpg")
-                    .outputQuality(QUALITY)
-                    .toOutputStream(outputStream);
-
-            byte[] optimizedBytes = outputStream.toByteArray();
-            long optimizedSize = optimizedBytes.length;
-
-            log.info("Image optimized: {}x{} ({}KB) -> optimized ({}KB), reduction: {}%",
-                    originalWidth, originalHeight,
-                    originalSize / 1024, optimizedSize / 1024,
-                    (int) (100 - (optimizedSize * 100.0 / originalSize)));
-
-            // 4. MultipartFile로 변환
-            String originalFilename = originalFile.getOriginalFilename();
-            String optimizedFilename = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(0, originalFilename.lastIndexOf(".")) + ".jpg"
-                    : "optimized.jpg";
-
-            return new OptimizedMultipartFile(
-                    originalFile.getName(),
-                    optimizedFilename,
-                    "image/jpeg",
-                    optimizedBytes
-            );
-        } catch (Exception e) {
-            log.error("Error optimizing image, returning original", e);
-            return originalFile;
+    /**
+     * 서브샘플링 디코딩에 필요한 힙 메모리 추정치
+     * 디코딩된 래스터(가로 x 세로 x 4바이트)와, 리사이즈 중 만들어지는 중간/결과 이미지(래스터 크기 이하)를 더한 값입니다.
+     */
+    static long estimateDecodeBytes(int width, int height, int subsampling) {
+        long decodedWidth = (width + subsampling - 1) / subsampling;
+        long decodedHeight = (height + subsampling - 1) / subsampling;
+        return decodedWidth * decodedHeight * BYTES_PER_PIXEL * 2;
+    }
+
+    private MultipartFile compress(MultipartFile originalFile, BufferedImage decoded, int maxWidth, int maxHeight,
+                                   double quality, long maxBytes) throws IOException {
+        // 고품질 리사이즈 (한 번만 수행하고 인코딩 시도 사이에 재사용)
+        BufferedImage scaled = Thumbnails.of(decoded)
+                .size(maxWidth, maxHeight)  // 최대 크기 (비율 유지)
+                .imageType(BufferedImage.TYPE_INT_RGB)
+                .asBufferedImage();
+
+        // 바이트 예산에 맞춰 압축 (출력 버퍼를 복사 없이 그대로 파일 내용으로 사용)
+        AdaptiveJpegEncoder.Result encoded = encoder.encode(scaled, maxBytes, quality);
+        if (!encoded.fits()) {
+            log.warn("Image exceeds byte budget after {} attempts: {}KB > {}KB",
+                    encoded.attempts(), encoded.output().size() / 1024, maxBytes / 1024);
+        } else if (encoded.attempts() > 1) {
+            log.debug("Adaptive JPEG: {}x{}, quality {}, {}KB after {} attempts",
+                    encoded.width(), encoded.height(), String.format("%.2f", encoded.quality()),
+                    encoded.output().size() / 1024, encoded.attempts());
         }
+
+        // MultipartFile로 변환
+        String originalFilename = originalFile.getOriginalFilename();
+        String optimizedFilename = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(0, originalFilename.lastIndexOf(".")) + ".jpg"
+                : "optimized.jpg";
+
+        return encoded.output().toFile(
+                originalFile.getName(),
+                optimizedFilename,
+                "image/jpeg"
+        );
+    }
+
+    private static ImageReader firstReader(ImageInputStream input) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        return readers.hasNext() ? readers.next() : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 이미지 업로드 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.image.upload")
+public class ImageUploadProperties {
+    /**
+     * 콘텐츠 주소 저장 모드 사용 여부
+     * true이면 이미지 내용의 SHA-256으로 저장 경로를 만들고, 같은 내용은 한 번만 업로드합니다.
+     */
+    private boolean contentAddressed = true;
+
+    /**
+     * 참조가 0이 된 이미지를 삭제하기 전까지 보관하는 시간
+     */
+    private Duration unreferencedRetention = Duration.ofHours(6);
+
+    /**
+     * GC 한 주기에 삭제하는 최대 이미지 수
+     */
+    private int gcBatchSize = 100;
+}
@@ -1,11 +1,13 @@
 package com.han.bloomi.application.service;
 
+import com.han.bloomi.domain.port.ImageReferenceRepository;
 import com.han.bloomi.domain.port.ImageStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
@@ -13,15 +15,26 @@ import java.util.UUID;
 /**
  * 이미지 업로드 공통 서비스
  * S3 업로드 로직을 캡슐화하여 재사용 가능하게 함
+ *
+ * 콘텐츠 주소 저장 모드에서는 이미지 내용의 SHA-256으로 경로를 만들어 같은 내용을 한 번만 저장하고,
+ * 식단 기록은 참조 카운트로 공유 이미지를 참조합니다.
+ *
+ * 업로드는 존재 확인/PUT 전에 참조를 먼저 잡고 그 참조를 호출자에게 넘깁니다. 호출자는 기록에 연결하거나
+ * {@link #discardImage}로 돌려줘야 합니다. 해제는 카운트만 줄이고, 참조가 0인 채로 보관 시간이 지난 이미지는
+ * {@link #collectUnreferencedImages}가 삭제 중으로 표시한 뒤 지우므로, 다른 요청이 막 재사용한 객체를 지우지 않습니다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageUploadService {
     private final ImageStorage imageStorage;
+    private final ImageReferenceRepository imageReferenceRepository;
+    private final ImageContentHasher contentHasher;
+    private final ImageUploadProperties properties;
 
     /**
      * 식단 이미지 업로드
+     * 반환된 URL에는 참조 1개가 잡혀 있습니다. (기록에 연결하지 않으면 discardImage로 해제)
      *
      * @param image    업로드할 이미지
      * @param userId   사용자 ID
@@ -29,8 +42,32 @@ public class ImageUploadService {
      * @return 업로드된 이미지 URL
      */
     public String uploadImage(MultipartFile image, String userId, String category) {
-        String imagePath = generateImagePath(userId, category, image.getOriginalFilename());
-        String imageUrl = imageStorage.upload(image, imagePath);
+        boolean contentAddressed = properties.isContentAddressed();
+        String imagePath = contentAddressed
+                ? generateContentAddressedPath(category, contentHasher.sha256Hex(image), image.getOriginalFilename())
+                : generateImagePath(userId, category, image.getOriginalFilename());
+        String imageUrl = imageStorage.urlOf(imagePath);
+
+        // 존재 확인/PUT 전에 참조를 먼저 잡아 GC가 이 객체를 지우지 못하게 합니다. 업로드에 실패하면 돌려줍니다.
+        if (imageReferenceRepository.acquire(imageUrl) == 0) {
+            // GC가 같은 내용의 객체를 지우는 중이면 재사용하지 않고 고유 경로로 올립니다.
+            log.info("Image is being collected, uploading to a unique path - url: {}", imageUrl);
+            contentAddressed = false;
+            imagePath = generateImagePath(userId, category, image.getOriginalFilename());
+            imageUrl = imageStorage.urlOf(imagePath);
+            imageReferenceRepository.acquire(imageUrl);
+        }
+        try {
+            // 콘텐츠 주소 모드에서 같은 경로의 객체가 이미 있으면 PUT을 생략합니다.
+            if (contentAddressed && imageStorage.exists(imagePath)) {
+                log.info("Image already stored, upload skipped - category: {}, url: {}", category, imageUrl);
+                return imageUrl;
+            }
+            imageStorage.upload(image, imagePath);
+        } catch (RuntimeException e) {
+            imageReferenceRepository.release(imageUrl);
+            throw e;
+        }
         log.info("Image uploaded - userId: {}, category: {}, url: {}", userId, category, imageUrl);
         return imageUrl;
     }
@@ -49,6 +86,61 @@ public class ImageUploadService {
         return uploadImage(image, userId, "profiles");
     }
 
+    /**
+     * 식단 기록이 삭제되어 이미지 참조를 해제합니다.
+     * 남은 참조가 없으면 보관 시간이 지난 뒤 GC가 저장소에서 삭제합니다.
+     */
+    public void releaseImage(String imageUrl) {
+        int remaining = imageReferenceRepository.release(imageUrl);
+        log.info("Image released - url: {}, refCount: {}", imageUrl, remaining);
+    }
+
+    /**
+     * 아직 어떤 기록에도 연결하지 않은 업로드의 참조를 돌려줍니다. (분석 실패, 저장 실패 등)
+     * 같은 내용을 동시에 올린 다른 요청이 사용 중일 수 있으므로 바로 지우지 않고 GC에 맡깁니다.
+     */
+    public void discardImage(String imageUrl) {
+        int remaining = imageReferenceRepository.release(imageUrl);
+        log.info("Image discarded - url: {}, refCount: {}", imageUrl, remaining);
+    }
+
+    /**
+     * 참조가 0인 채로 보관 시간이 지난 이미지를 삭제합니다. (스케줄러에서 주기적으로 호출)
+     * 행을 삭제 중으로 표시한 뒤 트랜잭션 밖에서 객체를 지우고 행을 삭제합니다. 표시된 동안 같은 이미지를 올리는
+     * 요청은 고유 경로로 업로드하며, 행 삭제 전에 중단되면 다음 주기에 다시 지웁니다. (객체 삭제는 반복해도 무해)
+     *
+     * @return 삭제한 이미지 수
+     */
+    public int collectUnreferencedImages() {
+        Duration retention = properties.getUnreferencedRetention();
+        int deleted = 0;
+        for (String imageUrl : imageReferenceRepository.findUnreferenced(retention, properties.getGcBatchSize())) {
+            try {
+                if (collectImage(imageUrl, retention)) {
+                    deleted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete unreferenced image, will retry - url: {}: {}", imageUrl, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private boolean collectImage(String imageUrl, Duration retention) {
+        if (!imageReferenceRepository.markDeleting(imageUrl, retention)) {
+            return false;
+        }
+        try {
+            deleteImage(imageUrl);
+        } catch (RuntimeException e) {
+            // 객체가 남아 있으므로 표시를 풀어 다시 참조할 수 있게 하고, 다음 주기에 재시도합니다.
+            imageReferenceRepository.unmarkDeleting(imageUrl);
+            throw e;
+        }
+        imageReferenceRepository.removeDeleting(imageUrl);
+        return true;
+    }
+
     /**
      * 이미지 삭제
      *
@@ -59,6 +151,15 @@ public class ImageUploadService {
         log.info("Image deleted - url: {}", imageUrl);
     }
 
+    /**
+     * 콘텐츠 주소 경로 생성
+     * 패턴: {category}/sha256/{hash 앞 2자리}/{hash}.{ext}
+     * 예: meals/sha256/3f/3fa2...c9.jpg
+     */
+    private String generateContentAddressedPath(String category, String sha256, String originalFilename) {
+        return String.format("%s/sha256/%s/%s%s", category, sha256.substring(0, 2), sha256, getFileExtension(originalFilename));
+    }
+
     /**
      * 이미지 경로 생성
      * 패턴: {category}/{userId}/{yyyy/MM/dd}/{uuid}.{ext}
@@ -3,6 +3,9 @@ package com.han.bloomi.application.service;
 import com.han.bloomi.api.dto.AnalyzeMealRequest;
 import com.han.bloomi.api.dto.AnalyzeMealResponse;
 import com.han.bloomi.api.dto.MonthlyMealStatisticsResponse;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.deadline.DeadlineProperties;
 import com.han.bloomi.common.error.ErrorCode;
 import com.han.bloomi.common.exception.BusinessException;
 import com.han.bloomi.common.trace.TraceIdHolder;
@@ -10,101 +13,245 @@ import com.han.bloomi.domain.model.FoodItem;
 import com.han.bloomi.domain.model.MealAnalysis;
 import com.han.bloomi.domain.model.MealAnalysisRequest;
 import com.han.bloomi.domain.model.MealRecord;
-import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
 import com.han.bloomi.domain.port.MealRecordRepository;
-import com.han.bloomi.domain.port.UserRepository;
-import com.han.bloomi.domain.port.VisionPort;
+import com.han.bloomi.domain.port.NutritionIndex;
 import com.han.bloomi.infra.security.CurrentUserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MealAnalyzeService {
-    private final VisionPort visionPort;
+    private static final String PHASE_METRIC = "bloomi.analyze.phase";
+    private static final String PHASE_RESERVE = "reserve";
+    private static final String PHASE_EXTERNAL = "external";
+    private static final String PHASE_PERSIST = "persist";
+    private static final String NUTRITION_INDEX_METRIC = "bloomi.analyze.nutrition_index";
+
+    private final VisionRequestCoalescer visionRequestCoalescer;
+    private final NutritionIndex nutritionIndex;
     private final MealRecordRepository mealRecordRepository;
-    private final UserRepository userRepository;
+    private final DailyQuotaService dailyQuotaService;
     private final CurrentUserService currentUserService;
     private final TraceIdHolder traceIdHolder;
+    private final DeadlineHolder deadlineHolder;
+    private final DeadlineProperties deadlineProperties;
     private final ImageUploadService imageUploadService;
     private final ImageProcessor imageProcessor;
+    private final MealThumbnailService mealThumbnailService;
+    private final ExecutorService analyzeTaskExecutor;
+    private final MeterRegistry meterRegistry;
 
-    @Transactional
+    /**
+     * 식단 이미지 분석 (현재 인증된 사용자 기준)
+     */
     public AnalyzeMealResponse analyze(AnalyzeMealRequest request) {
         String traceId = traceIdHolder.current();
         String userId = currentUserService.getCurrentUserId();
-        log.info("[{}] Starting meal analysis - userId: {}, image: {}", traceId, userId, request.getImage().getOriginalFilename());
 
-        // 0. 일일 요청 제한 체크
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        MealAnalysis analysis = analyzeMeal(userId, traceId, request);
+        return toResponse(analysis, traceId);
+    }
 
-        if (user.hasExceededDailyLimit()) {
-            log.warn("[{}] Daily limit exceeded - userId: {}, membership: {}, dailyRequestCount: {}",
-                    traceId, userId, user.membership(), user.dailyRequestCount());
-            throw new BusinessException(ErrorCode.DAILY_LIMIT_EXCEEDED,
-                    String.format("User %s has exceeded daily limit (count: %d)", userId, user.dailyRequestCount()));
-        }
+    /**
+     * 식단 이미지 분석
+     * SecurityContext에 의존하지 않으므로 비동기 워커 스레드에서도 호출할 수 있습니다.
+     *
+     * DB 커넥션은 한도 선차감(reserve)과 결과 저장(persist) 단계에서만 짧게 사용합니다.
+     * 이미지 최적화, S3 업로드, Vision 호출(external) 동안에는 트랜잭션/커넥션을 잡지 않습니다.
+     *
+     * 현재 스레드에 요청 마감 시각이 있으면 각 단계가 남은 시간 안에서만 실행되고,
+     * 시간이 다 되면 남은 단계를 건너뛰고 DEADLINE_EXCEEDED로 실패합니다.
+     */
+    MealAnalysis analyzeMeal(String userId, String traceId, AnalyzeMealRequest request) {
+        return analyzeMeal(userId, traceId, request, null);
+    }
 
-        // 1. 이미지 최적화 (리사이즈 + 압축)
-        MultipartFile optimizedImage;
+    /**
+     * 식단 이미지 분석 (스트리밍)
+     * listener가 주어지면 Vision 응답의 완성된 필드가 도착하는 대로 전달합니다.
+     */
+    MealAnalysis analyzeMeal(String userId, String traceId, AnalyzeMealRequest request,
+                             MealAnalysisStreamListener listener) {
+        log.info("[{}] Starting meal analysis - userId: {}, image: {}", traceId, userId, request.getImage().getOriginalFilename());
+
+        // 0. 일일 요청 한도 확인 및 선차감
+        recordPhase(PHASE_RESERVE, true, () -> {
+            dailyQuotaService.reserve(userId);
+            return null;
+        });
+
+        MealAnalysis analysis;
         try {
-            optimizedImage = imageProcessor.optimize(request.getImage());
-            log.info("[{}] Image optimized", traceId);
-        } catch (Exception e) {
-            log.error("[{}] Image optimization failed, using original", traceId, e);
-            optimizedImage = request.getImage();
+            analysis = analyzeReserved(userId, traceId, request, listener);
+        } catch (RuntimeException e) {
+            dailyQuotaService.release(userId);
+            throw e;
         }
 
-        // 2. S3에 이미지 업로드
-        String imageUrl = imageUploadService.uploadMealImage(optimizedImage, userId);
-        log.info("[{}] Image uploaded to S3: {}", traceId, imageUrl);
+        log.info("[{}] Meal analysis completed successfully", traceId);
+        return analysis;
+    }
 
-        // 3. Vision API로 분석
-        MealAnalysisRequest domainRequest = MealAnalysisRequest.of(
-                optimizedImage,
-                request.getName(),
-                request.getWeight(),
-                request.getNotes()
-        );
-        MealAnalysis analysis = visionPort.analyze(domainRequest);
-        log.info("[{}] Vision analysis completed - calories: {}", traceId, analysis.calories());
+    /**
+     * 한도가 이미 선차감된 요청의 분석/저장 단계
+     * 실패 시 한도 반환은 호출자가 책임집니다. (배치 분석은 실패한 항목 수만큼 한 번에 반환)
+     */
+    MealAnalysis analyzeReserved(String userId, String traceId, AnalyzeMealRequest request,
+                                 MealAnalysisStreamListener listener) {
+        Deadline deadline = deadlineHolder.current();
+
+        // 1~3. 이미지 최적화, 업로드, Vision 분석 (DB 커넥션 없음)
+        ExternalResult external = recordPhase(PHASE_EXTERNAL, false,
+                () -> runExternalCalls(request, userId, traceId, deadline, listener));
 
-        // 3. DB에 분석 결과 저장 (도메인 로직)
-        String recordId = UUID.randomUUID().toString();
+        // 클라이언트가 이미 포기한 요청이면 저장하지 않고 업로드한 이미지를 정리합니다.
+        if (deadline.isExpired()) {
+            log.warn("[{}] Deadline exceeded before persist, discarding result", traceId);
+            imageUploadService.discardImage(external.imageUrl());
+            throw Deadline.exceeded("persist");
+        }
+
+        // 4. DB에 분석 결과 저장 (도메인 로직)
         MealRecord mealRecord = MealRecord.of(
-                recordId,
+                UUID.randomUUID().toString(),
                 userId,
-                imageUrl,
-                analysis,
+                external.imageUrl(),
+                external.analysis(),
                 request.getName(),
                 request.getWeight(),
                 request.getNotes()
         );
-        mealRecordRepository.save(mealRecord);
-        log.info("[{}] Meal record saved to DB - recordId: {}", traceId, recordId);
+        // 업로드 시 잡은 이미지 참조를 기록에 넘깁니다. 저장에 실패하면 참조를 돌려줍니다.
+        try {
+            recordPhase(PHASE_PERSIST, true, () -> mealRecordRepository.save(mealRecord));
+        } catch (RuntimeException e) {
+            imageUploadService.discardImage(mealRecord.imageUrl());
+            throw e;
+        }
+        log.info("[{}] Meal record saved to DB - recordId: {}", traceId, mealRecord.id());
+
+        // 5. 목록용 썸네일/플레이스홀더는 응답을 기다리게 하지 않도록 백그라운드에서 생성
+        mealThumbnailService.generateAsync(mealRecord.id(), userId, external.storedImage());
+        return external.analysis();
+    }
 
-        // 4. 요청 카운트 증가
-        userRepository.incrementDailyRequestCount(userId);
-        log.info("[{}] Daily request count incremented for user: {}", traceId, userId);
+    /**
+     * 외부 I/O 단계: 이미지 최적화 후 S3 업로드와 Vision 분석을 병렬로 실행합니다.
+     * 음식명과 중량이 있고 로컬 식품 성분표에서 확실히 찾을 수 있으면 Vision 분석 대신 성분표 값을 사용합니다.
+     */
+    private ExternalResult runExternalCalls(AnalyzeMealRequest request, String userId, String traceId,
+                                            Deadline deadline, MealAnalysisStreamListener listener) {
+        deadline.check("image optimization");
 
-        // 5. API 응답 생성
-        AnalyzeMealResponse response = toResponse(analysis, traceId);
-        log.info("[{}] Meal analysis completed successfully", traceId);
-        return response;
+        // 0. 음식명 + 중량 요청은 로컬 식품 성분표에서 먼저 찾음 (찾으면 Vision 분석/Vision용 파생본 생략)
+        Optional<MealAnalysis> indexed = lookupNutritionIndex(request, traceId);
+
+        // 1. 이미지 최적화 (보관용/Vision용 파생본)
+        // 남은 시간이 부족하면 원본으로 Vision을 호출해도 제시간에 끝나지 않으므로 외부 호출 전에 실패 처리
+        if (deadline.remaining().compareTo(deadlineProperties.getMinOptimizeBudget()) < 0) {
+            log.warn("[{}] Remaining budget too low for analysis: {}ms", traceId, deadline.remaining().toMillis());
+            throw Deadline.exceeded("image optimization");
+        }
+        ImageDerivatives images;
+        try {
+            images = indexed.isPresent()
+                    ? ImageDerivatives.original(imageProcessor.optimize(request.getImage()))
+                    : imageProcessor.process(request.getImage());
+            log.info("[{}] Image optimized", traceId);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("[{}] Image optimization failed, using original", traceId, e);
+            images = ImageDerivatives.original(request.getImage());
+        }
+        deadline.check("upload");
+
+        // 2. S3 업로드(보관용)와 Vision 분석(Vision용)은 서로 독립적이므로 병렬로 실행
+        MultipartFile imageToUpload = images.archival();
+        Future<String> upload = analyzeTaskExecutor.submit(
+                () -> uploadMealImage(imageToUpload, userId, traceId, deadline));
+
+        // 3. 성분표에서 찾았으면 업로드만 기다리고, 아니면 Vision API로 분석
+        if (indexed.isPresent()) {
+            return new ExternalResult(indexed.get(), awaitUpload(upload, traceId, deadline), imageToUpload);
+        }
+        MealAnalysisRequest domainRequest = MealAnalysisRequest.builder()
+                .image(images.vision())
+                .name(request.getName())
+                .weight(request.getWeight())
+                .notes(request.getNotes())
+                .userId(userId)
+                .build();
+        MealAnalysis analysis;
+        try {
+            analysis = visionRequestCoalescer.analyze(userId, traceId, domainRequest, listener);
+        } catch (RuntimeException e) {
+            discardUpload(upload, traceId);
+            throw e;
+        }
+        log.info("[{}] Vision analysis completed - calories: {}", traceId, analysis.calories());
+
+        return new ExternalResult(analysis, awaitUpload(upload, traceId, deadline), imageToUpload);
     }
 
+    /**
+     * 음식명과 중량이 모두 있는 요청을 로컬 식품 성분표에서 찾습니다.
+     * 매칭 신뢰도 판단은 {@link NutritionIndex} 구현체가 하며, 찾지 못하면 Vision 분석으로 넘어갑니다.
+     */
+    private Optional<MealAnalysis> lookupNutritionIndex(AnalyzeMealRequest request, String traceId) {
+        String name = request.getName();
+        Double weight = request.getWeight();
+        if (name == null || name.isBlank() || weight == null || weight <= 0) {
+            return Optional.empty();
+        }
+
+        Optional<MealAnalysis> analysis = nutritionIndex.lookup(name).map(match -> {
+            log.info("[{}] Nutrition index hit - input: {}, food: {}, confidence: {}",
+                    traceId, name, match.facts().name(), match.confidence());
+            return match.toAnalysis(weight);
+        });
+        Counter.builder(NUTRITION_INDEX_METRIC)
+                .description("Name + weight requests answered by the local nutrition index")
+                .tag("result", analysis.isPresent() ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+        return analysis;
+    }
+
+    /**
+     * 분석 단계별 소요 시간을 기록합니다.
+     * connection 태그로 해당 단계가 DB 커넥션을 점유하는지 구분합니다.
+     */
+    private <T> T recordPhase(String phase, boolean holdsConnection, Supplier<T> action) {
+        return Timer.builder(PHASE_METRIC)
+                .description("Meal analyze phase duration")
+                .tag("phase", phase)
+                .tag("connection", holdsConnection ? "held" : "none")
+                .register(meterRegistry)
+                .record(action);
+    }
 
     public AnalyzeMealResponse findMeal(String id) {
         String traceId = traceIdHolder.current();
@@ -117,6 +264,27 @@ public class MealAnalyzeService {
         return toResponseFromRecord(record, traceId);
     }
 
+    /**
+     * 식단 기록 삭제 (본인 기록만 삭제 가능)
+     * 이미지(썸네일 포함)는 참조 카운트를 해제하고, 다른 기록이 공유하지 않을 때만 삭제됩니다.
+     */
+    public void deleteMeal(String id) {
+        String traceId = traceIdHolder.current();
+        String userId = currentUserService.getCurrentUserId();
+
+        MealRecord record = mealRecordRepository.findById(id)
+                .filter(found -> found.userId().equals(userId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_MEAL_ID, "식단을 찾을 수 없습니다."));
+
+        // 조회 이후 썸네일이 붙었을 수 있으므로 삭제 시점의 기록으로 이미지를 해제합니다.
+        mealRecordRepository.deleteById(record.id()).ifPresent(deleted -> {
+            imageUploadService.releaseImage(deleted.imageUrl());
+            if (deleted.thumbnailUrl() != null) {
+                imageUploadService.releaseImage(deleted.thumbnailUrl());
+            }
+        });
+        log.info("[{}] Meal record deleted - recordId: {}, userId: {}", traceId, id, userId);
+    }
 
     // 일별 조회
     public List<AnalyzeMealResponse> findDailyMealsByDate(LocalDate date) {
@@ -161,7 +329,73 @@ public class MealAnalyzeService {
                 .build();
     }
 
-    private AnalyzeMealResponse toResponse(MealAnalysis analysis, String traceId) {
+    /**
+     * 업로드 스레드에서 실행되는 S3 업로드 작업
+     * Vision 실패로 취소(interrupt)된 경우 업로드된 이미지를 바로 정리합니다.
+     */
+    private String uploadMealImage(MultipartFile image, String userId, String traceId, Deadline deadline) {
+        traceIdHolder.set(traceId);
+        deadlineHolder.set(deadline);
+        try {
+            String imageUrl = imageUploadService.uploadMealImage(image, userId);
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("[{}] Upload finished after cancellation, discarding: {}", traceId, imageUrl);
+                imageUploadService.discardImage(imageUrl);
+            } else {
+                log.info("[{}] Image uploaded to S3: {}", traceId, imageUrl);
+            }
+            return imageUrl;
+        } finally {
+            traceIdHolder.clear();
+            deadlineHolder.clear();
+        }
+    }
+
+    private String awaitUpload(Future<String> upload, String traceId, Deadline deadline) {
+        try {
+            return upload.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("[{}] Deadline exceeded while uploading image, cancelling upload", traceId);
+            // 대기가 끝난 직후 업로드가 완료되었을 수 있으므로 취소 대신 참조까지 돌려줍니다.
+            discardUpload(upload, traceId);
+            throw Deadline.exceeded("upload completion");
+        } catch (ExecutionException e) {
+            log.error("[{}] Image upload failed", traceId, e.getCause());
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Image upload failed", e.getCause());
+        } catch (InterruptedException e) {
+            discardUpload(upload, traceId);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Interrupted while uploading image", e);
+        }
+    }
+
+    /**
+     * 분석 실패/마감 초과 시 병렬로 진행 중인 업로드를 취소하고, 이미 완료된 경우 이미지 참조를 돌려줍니다.
+     */
+    private void discardUpload(Future<String> upload, String traceId) {
+        if (upload.cancel(true)) {
+            log.info("[{}] Image upload cancelled", traceId);
+            return;
+        }
+        try {
+            String imageUrl = upload.get();
+            imageUploadService.discardImage(imageUrl);
+            log.info("[{}] Uploaded image discarded: {}", traceId, imageUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 업로드 자체가 실패했거나 참조 해제에 실패한 경우 - 원래 예외를 우선 전달
+            log.warn("[{}] Failed to clean up uploaded image: {}", traceId, e.getMessage());
+        }
+    }
+
+    private record ExternalResult(MealAnalysis analysis, String imageUrl, MultipartFile storedImage) {
+    }
+
+    AnalyzeMealResponse toResponse(MealAnalysis analysis, String traceId) {
         return AnalyzeMealResponse.builder()
                 .name(analysis.name())
                 .calories(analysis.calories())
@@ -197,6 +431,9 @@ public class MealAnalyzeService {
                 .items(List.of()) // 저장된 레코드에는 개별 음식 항목 정보가 없음
                 .confidence(record.confidence())
                 .advice(record.advice())
+                .imageUrl(record.imageUrl())
+                .thumbnailUrl(record.thumbnailUrl())
+                .placeholder(record.placeholder())
                 .traceId(traceId)
                 .build();
     }
@@ -0,0 +1,150 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealFieldEvent;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.error.ErrorResponse;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.infra.security.CurrentUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 스트리밍 식단 분석 서비스
+ *
+ * Vision 응답을 스트리밍으로 받아 완성된 필드(name, calories, macros, items 등)를
+ * 응답 완료 전에 SSE로 클라이언트에 전달합니다.
+ *
+ * 이벤트 순서: field* → result | error
+ *
+ * 분석은 Vision 응답을 기다리는 동안 스레드를 오래 잡고 있으므로, 비동기 분석 작업 풀과 나누어
+ * 가상 스레드 executor에서 실행하고 동시에 열린 스트림 수만 제한합니다. (초과 시 ANALYSIS_QUEUE_FULL)
+ *
+ * 클라이언트 연결이 끊기거나 SSE가 타임아웃되면 분석 작업을 인터럽트해 Vision 호출까지 취소합니다.
+ * 분석 마감 시각은 요청 헤더/엔드포인트 설정과 SSE 타임아웃 중 이른 쪽입니다.
+ */
+@Slf4j
+@Service
+public class MealAnalyzeStreamService {
+    private static final String FIELD_EVENT = "field";
+    private static final String RESULT_EVENT = "result";
+    private static final String ERROR_EVENT = "error";
+
+    private final MealAnalyzeService mealAnalyzeService;
+    private final DailyQuotaService dailyQuotaService;
+    private final ExecutorService analyzeTaskExecutor;
+    private final MealStreamProperties properties;
+    private final CurrentUserService currentUserService;
+    private final TraceIdHolder traceIdHolder;
+    private final DeadlineHolder deadlineHolder;
+    private final Semaphore openStreams;
+
+    public MealAnalyzeStreamService(MealAnalyzeService mealAnalyzeService, DailyQuotaService dailyQuotaService,
+                                    ExecutorService analyzeTaskExecutor, MealStreamProperties properties,
+                                    CurrentUserService currentUserService, TraceIdHolder traceIdHolder,
+                                    DeadlineHolder deadlineHolder) {
+        this.mealAnalyzeService = mealAnalyzeService;
+        this.dailyQuotaService = dailyQuotaService;
+        this.analyzeTaskExecutor = analyzeTaskExecutor;
+        this.properties = properties;
+        this.currentUserService = currentUserService;
+        this.traceIdHolder = traceIdHolder;
+        this.deadlineHolder = deadlineHolder;
+        this.openStreams = new Semaphore(properties.getMaxConcurrentStreams());
+    }
+
+    public SseEmitter analyze(AnalyzeMealRequest request) {
+        String traceId = traceIdHolder.current();
+        String userId = currentUserService.getCurrentUserId();
+
+        dailyQuotaService.verifyAvailable(userId);
+        AnalyzeMealRequest detached = AnalyzeRequests.detach(request);
+
+        Deadline sseDeadline = Deadline.after(Duration.ofMillis(properties.getSseTimeoutMs()));
+        Deadline requestDeadline = deadlineHolder.current();
+        Deadline deadline = requestDeadline.remainingNanos() < sseDeadline.remainingNanos() ? requestDeadline : sseDeadline;
+
+        if (!openStreams.tryAcquire()) {
+            log.warn("[{}] Stream analysis rejected, too many open streams", traceId);
+            throw new BusinessException(ErrorCode.ANALYSIS_QUEUE_FULL,
+                    String.format("Concurrent stream limit %d exceeded", properties.getMaxConcurrentStreams()));
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeoutMs());
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = analyzeTaskExecutor.submit(() -> {
+                if (started.compareAndSet(false, true)) {
+                    run(emitter, userId, traceId, deadline, detached);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            openStreams.release();
+            throw new BusinessException(ErrorCode.ANALYSIS_QUEUE_FULL, "Stream analysis executor is shut down");
+        }
+        emitter.onTimeout(() -> cancel(task, started, traceId, "timeout"));
+        emitter.onError(e -> cancel(task, started, traceId, "client disconnected"));
+        return emitter;
+    }
+
+    private void run(SseEmitter emitter, String userId, String traceId, Deadline deadline, AnalyzeMealRequest request) {
+        traceIdHolder.set(traceId);
+        deadlineHolder.set(deadline);
+        try {
+            MealAnalysis analysis = mealAnalyzeService.analyzeMeal(userId, traceId, request,
+                    (field, value) -> send(emitter, FIELD_EVENT, new AnalyzeMealFieldEvent(field, value)));
+            send(emitter, RESULT_EVENT, mealAnalyzeService.toResponse(analysis, traceId));
+            emitter.complete();
+        } catch (BusinessException e) {
+            log.warn("[{}] Stream analysis failed: {}", traceId, e.getErrorCode().getCode());
+            sendError(emitter, ErrorResponse.of(e.getErrorCode(), traceId, e.getDetail()));
+        } catch (Exception e) {
+            log.error("[{}] Stream analysis failed unexpectedly", traceId, e);
+            sendError(emitter, ErrorResponse.of(ErrorCode.INTERNAL_SERVER_ERROR, traceId));
+        } finally {
+            traceIdHolder.clear();
+            deadlineHolder.clear();
+            openStreams.release();
+        }
+    }
+
+    private void cancel(Future<?> task, AtomicBoolean started, String traceId, String reason) {
+        if (task.cancel(true)) {
+            log.info("[{}] Stream analysis cancelled: {}", traceId, reason);
+        }
+        // 시작 전에 취소되면 run이 실행되지 않으므로 스트림 자리를 여기서 돌려줍니다.
+        if (started.compareAndSet(false, true)) {
+            openStreams.release();
+        }
+    }
+
+    private void sendError(SseEmitter emitter, ErrorResponse error) {
+        try {
+            send(emitter, ERROR_EVENT, error);
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // 클라이언트가 이미 연결을 끊은 경우
+        }
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException e) {
+            throw new IllegalStateException("SSE client disconnected", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealBatchItemResponse;
+import com.han.bloomi.api.dto.AnalyzeMealBatchRequest;
+import com.han.bloomi.api.dto.AnalyzeMealBatchResponse;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.infra.security.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 식단 분석 서비스
+ *
+ * 하루치 식단을 한 번에 올리는 경우를 위해 여러 이미지를 한 요청으로 받아
+ * 최대 parallelism개씩 동시에 최적화/업로드/분석합니다.
+ *
+ * 일일 한도는 배치 전체에 대해 한 번에 확인/차감하고, 실패한 항목 수만큼 마지막에 한 번에 되돌립니다.
+ * 항목 하나가 실패해도 나머지 항목은 계속 처리하며 항목별 결과/에러를 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MealBatchAnalyzeService {
+    private final MealAnalyzeService mealAnalyzeService;
+    private final DailyQuotaService dailyQuotaService;
+    private final CurrentUserService currentUserService;
+    private final TraceIdHolder traceIdHolder;
+    private final DeadlineHolder deadlineHolder;
+    private final ExecutorService analyzeTaskExecutor;
+    private final MealBatchProperties properties;
+
+    /**
+     * 배치 식단 분석 (현재 인증된 사용자 기준)
+     */
+    public AnalyzeMealBatchResponse analyze(AnalyzeMealBatchRequest request) {
+        return analyze(currentUserService.getCurrentUserId(), traceIdHolder.current(), request);
+    }
+
+    AnalyzeMealBatchResponse analyze(String userId, String traceId, AnalyzeMealBatchRequest request) {
+        List<AnalyzeMealRequest> items = validate(request);
+        log.info("[{}] Starting batch meal analysis - userId: {}, items: {}", traceId, userId, items.size());
+
+        dailyQuotaService.reserve(userId, items.size());
+
+        Deadline deadline = deadlineHolder.current();
+        Semaphore permits = new Semaphore(properties.getParallelism());
+        List<Future<AnalyzeMealBatchItemResponse>> futures = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            futures.add(analyzeTaskExecutor.submit(
+                    () -> analyzeItem(index, items.get(index), userId, traceId, deadline, permits)));
+        }
+
+        List<AnalyzeMealBatchItemResponse> results = new ArrayList<>(items.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(i, futures.get(i), traceId));
+        }
+
+        int failed = (int) results.stream().filter(result -> !result.success()).count();
+        dailyQuotaService.release(userId, failed);
+
+        log.info("[{}] Batch meal analysis completed - succeeded: {}, failed: {}",
+                traceId, results.size() - failed, failed);
+        return new AnalyzeMealBatchResponse(results, results.size() - failed, failed, traceId);
+    }
+
+    private AnalyzeMealBatchItemResponse analyzeItem(int index, AnalyzeMealRequest item, String userId,
+                                                     String traceId, Deadline deadline, Semaphore permits) {
+        traceIdHolder.set(traceId);
+        deadlineHolder.set(deadline);
+        try {
+            // 마감이 지나면 대기 중인 항목은 시작하지 않습니다.
+            if (!permits.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw Deadline.exceeded("batch item " + index);
+            }
+            try {
+                MealAnalysis analysis = mealAnalyzeService.analyzeReserved(userId, traceId, item, null);
+                return AnalyzeMealBatchItemResponse.success(index, mealAnalyzeService.toResponse(analysis, traceId));
+            } finally {
+                permits.release();
+            }
+        } catch (BusinessException e) {
+            log.warn("[{}] Batch item {} failed: {}", traceId, index, e.getErrorCode().getCode());
+            return AnalyzeMealBatchItemResponse.failure(index, e.getErrorCode().getCode(),
+                    e.getDetail() != null ? e.getDetail() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return internalFailure(index);
+        } catch (Exception e) {
+            log.error("[{}] Batch item {} failed unexpectedly", traceId, index, e);
+            return internalFailure(index);
+        } finally {
+            traceIdHolder.clear();
+            deadlineHolder.clear();
+        }
+    }
+
+    private AnalyzeMealBatchItemResponse await(int index, Future<AnalyzeMealBatchItemResponse> future, String traceId) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return internalFailure(index);
+        } catch (ExecutionException e) {
+            log.error("[{}] Batch item {} failed unexpectedly", traceId, index, e.getCause());
+            return internalFailure(index);
+        }
+    }
+
+    private AnalyzeMealBatchItemResponse internalFailure(int index) {
+        return AnalyzeMealBatchItemResponse.failure(index, ErrorCode.INTERNAL_SERVER_ERROR.getCode(),
+                ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
+    }
+
+    /**
+     * 한도를 차감하기 전에 배치 전체를 검증합니다.
+     */
+    private List<AnalyzeMealRequest> validate(AnalyzeMealBatchRequest request) {
+        List<AnalyzeMealRequest> items = request.getItems() != null ? request.getItems() : List.of();
+        if (items.isEmpty()) {
+            throw new BusinessException(ErrorCode.MISSING_REQUIRED_FIELD, "At least one item is required");
+        }
+        if (items.size() > properties.getMaxItems()) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST,
+                    String.format("Batch size %d exceeds limit %d", items.size(), properties.getMaxItems()));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            AnalyzeMealRequest item = items.get(i);
+            if (item == null || item.getImage() == null || item.getImage().isEmpty()) {
+                throw new BusinessException(ErrorCode.MISSING_REQUIRED_FIELD,
+                        String.format("Image file is required for item %d", i));
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,25 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 식단 분석 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.analyze.batch")
+public class MealBatchProperties {
+    /**
+     * 한 번에 받을 수 있는 최대 이미지 수
+     */
+    private int maxItems = 10;
+
+    /**
+     * 배치 하나에서 동시에 분석할 최대 이미지 수
+     */
+    private int parallelism = 4;
+}
@@ -0,0 +1,25 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스트리밍 식단 분석 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.analyze.stream")
+public class MealStreamProperties {
+    /**
+     * 동시에 열어 둘 수 있는 최대 분석 스트림 수 (초과 시 503 응답)
+     */
+    private int maxConcurrentStreams = 32;
+
+    /**
+     * SSE 연결 타임아웃 (밀리초)
+     */
+    private long sseTimeoutMs = 60000;
+}
@@ -0,0 +1,140 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * 식단 목록용 썸네일/플레이스홀더 생성 서비스
+ *
+ * 식단 기록이 저장된 뒤 백그라운드 워커에서 작은 썸네일과 BlurHash 문자열을 만들어 기록에 추가합니다.
+ * 분석 응답을 기다리게 하지 않으며, 실패하거나 큐가 가득 차면 건너뜁니다. (목록은 원본 이미지 URL로 대체 가능)
+ *
+ * 썸네일도 일반 이미지처럼 업로드되고 참조 카운트로 관리되므로, 식단 기록 삭제 시 함께 해제해야 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MealThumbnailService {
+    private static final String METRIC_NAME = "bloomi.image.thumbnail";
+    private static final String CATEGORY = "thumbnails";
+    private static final int OUTPUT_BUFFER_SIZE = 32 * 1024;
+
+    private final ImageProcessor imageProcessor;
+    private final ImageUploadService imageUploadService;
+    private final MealRecordRepository mealRecordRepository;
+    private final ThumbnailProperties properties;
+    private final TraceIdHolder traceIdHolder;
+    private final ThreadPoolTaskExecutor thumbnailTaskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 썸네일 생성을 백그라운드 워커에 맡깁니다.
+     *
+     * @param recordId 썸네일을 추가할 식단 기록 ID
+     * @param userId   사용자 ID
+     * @param image    저장된(보관용) 이미지
+     */
+    public void generateAsync(String recordId, String userId, MultipartFile image) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String traceId = traceIdHolder.current();
+        MultipartFile detached;
+        try {
+            detached = detach(image);
+        } catch (IOException e) {
+            log.warn("[{}] Failed to read image for thumbnail - recordId: {}", traceId, recordId, e);
+            count("failed");
+            return;
+        }
+
+        try {
+            thumbnailTaskExecutor.execute(() -> run(recordId, userId, detached, traceId));
+        } catch (TaskRejectedException e) {
+            log.warn("[{}] Thumbnail queue is full, skipping - recordId: {}", traceId, recordId);
+            count("rejected");
+        }
+    }
+
+    private void run(String recordId, String userId, MultipartFile image, String traceId) {
+        traceIdHolder.set(traceId);
+        try {
+            generate(recordId, userId, image);
+        } catch (Exception e) {
+            log.warn("[{}] Thumbnail generation failed - recordId: {}", traceId, recordId, e);
+            count("failed");
+        } finally {
+            traceIdHolder.clear();
+        }
+    }
+
+    /**
+     * 썸네일과 BlurHash를 만들어 기록에 추가합니다.
+     * 그 사이 기록이 삭제되었으면 업로드한 썸네일의 참조를 되돌립니다.
+     */
+    void generate(String recordId, String userId, MultipartFile image) throws IOException {
+        int maxDimension = properties.getMaxDimension();
+        BufferedImage decoded = imageProcessor.decode(image, maxDimension, maxDimension);
+        if (decoded == null) {
+            log.warn("Unreadable image, skipping thumbnail - recordId: {}", recordId);
+            count("failed");
+            return;
+        }
+
+        BufferedImage thumbnail = Thumbnails.of(decoded)
+                .size(maxDimension, maxDimension)  // 최대 크기 (비율 유지)
+                .imageType(BufferedImage.TYPE_INT_RGB)
+                .asBufferedImage();
+        String placeholder = BlurHash.encode(thumbnail,
+                properties.getBlurHashComponentsX(), properties.getBlurHashComponentsY());
+
+        OptimizedMultipartFile.Buffer output = new OptimizedMultipartFile.Buffer(OUTPUT_BUFFER_SIZE);
+        Thumbnails.of(thumbnail)
+                .scale(1)
+                .outputFormat("jpg")
+                .outputQuality(properties.getQuality())
+                .toOutputStream(output);
+
+        String thumbnailUrl = imageUploadService.uploadImage(
+                output.toFile(image.getName(), "thumbnail.jpg", "image/jpeg"), userId, CATEGORY);
+        if (!mealRecordRepository.updateThumbnail(recordId, thumbnailUrl, placeholder)) {
+            log.info("Meal record deleted before thumbnail was attached - recordId: {}", recordId);
+            imageUploadService.releaseImage(thumbnailUrl);
+            return;
+        }
+
+        log.info("Thumbnail attached - recordId: {}, size: {}x{} ({}KB), placeholder: {}",
+                recordId, thumbnail.getWidth(), thumbnail.getHeight(), output.size() / 1024, placeholder);
+        count("generated");
+    }
+
+    /**
+     * 요청 종료 후에는 업로드 임시 파일이 삭제되므로 메모리로 복사해 둡니다. (이미 메모리에 있으면 그대로 사용)
+     */
+    private MultipartFile detach(MultipartFile image) throws IOException {
+        if (image instanceof OptimizedMultipartFile) {
+            return image;
+        }
+        return new OptimizedMultipartFile(image.getName(), image.getOriginalFilename(),
+                image.getContentType(), image.getBytes());
+    }
+
+    private void count(String result) {
+        Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -3,10 +3,12 @@ package com.han.bloomi.application.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 /**
  * 최적화된 이미지를 담는 MultipartFile 구현체
@@ -17,12 +19,26 @@ public class OptimizedMultipartFile implements MultipartFile {
     private final String originalFilename;
     private final String contentType;
     private final byte[] content;
+    private final int length;
 
     public OptimizedMultipartFile(String name, String originalFilename, String contentType, byte[] content) {
+        this(name, originalFilename, contentType, content, content.length);
+    }
+
+    private OptimizedMultipartFile(String name, String originalFilename, String contentType, byte[] content, int length) {
         this.name = name;
         this.originalFilename = originalFilename;
         this.contentType = contentType;
         this.content = content;
+        this.length = length;
+    }
+
+    /**
+     * 원본 MultipartFile의 내용을 메모리로 복사합니다.
+     * 요청이 끝나면 삭제되는 서블릿 임시 파일을 비동기 작업에서 사용하기 위한 용도입니다.
+     */
+    public static OptimizedMultipartFile copyOf(MultipartFile file) throws IOException {
+        return new OptimizedMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), file.getBytes());
     }
 
     @Override
@@ -42,28 +58,41 @@ public class OptimizedMultipartFile implements MultipartFile {
 
     @Override
     public boolean isEmpty() {
-        return content == null || content.length == 0;
+        return content == null || length == 0;
     }
 
     @Override
     public long getSize() {
-        return content.length;
+        return length;
     }
 
     @Override
     public byte[] getBytes() {
-        return content;
+        return length == content.length ? content : Arrays.copyOf(content, length);
     }
 
     @Override
     public InputStream getInputStream() {
-        return new ByteArrayInputStream(content);
+        return new ByteArrayInputStream(content, 0, length);
     }
 
     @Override
     public void transferTo(File dest) throws IOException, IllegalStateException {
         try (FileOutputStream fos = new FileOutputStream(dest)) {
-            fos.write(content);
+            fos.write(content, 0, length);
+        }
+    }
+
+    /**
+     * 쓰기 버퍼를 복사하지 않고(toByteArray 없이) 그대로 파일 내용으로 넘기는 출력 스트림
+     */
+    public static class Buffer extends ByteArrayOutputStream {
+        public Buffer(int initialSize) {
+            super(initialSize);
+        }
+
+        public OptimizedMultipartFile toFile(String name, String originalFilename, String contentType) {
+            return new OptimizedMultipartFile(name, originalFilename, contentType, buf, count);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 식단 목록용 썸네일/플레이스홀더 생성 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.image.thumbnail")
+public class ThumbnailProperties {
+    /**
+     * 썸네일 생성 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 썸네일 긴 변 최대 픽셀 (비율 유지)
+     */
+    private int maxDimension = 256;
+
+    /**
+     * 썸네일 JPEG 품질 (0~1)
+     */
+    private double quality = 0.7;
+
+    /**
+     * BlurHash 가로/세로 성분 수 (1~9)
+     */
+    private int blurHashComponentsX = 4;
+    private int blurHashComponentsY = 3;
+
+    /**
+     * 썸네일 생성 워커 스레드 수
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 대기 큐 크기 (초과 시 해당 기록의 썸네일 생성을 건너뜀)
+     */
+    private int queueCapacity = 200;
+}
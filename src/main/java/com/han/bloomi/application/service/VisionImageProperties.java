@@ -0,0 +1,32 @@
+package com.han.bloomi.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Vision 분석용 이미지 파생본 설정 프로퍼티
+ * 보관용(S3) 이미지와 별도로, Vision API에는 더 작은 이미지를 보내 이미지 토큰과 업로드 시간을 줄입니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.image.vision")
+public class VisionImageProperties {
+    /**
+     * Vision 파생본의 긴 변 최대 픽셀 (비율 유지)
+     */
+    private int maxDimension = 768;
+
+    /**
+     * Vision 파생본의 JPEG 품질 (0~1, 크기 예산을 넘으면 이 값부터 낮춤)
+     */
+    private double quality = 0.8;
+
+    /**
+     * Vision 파생본의 최대 바이트
+     */
+    private DataSize maxBytes = DataSize.ofKilobytes(256);
+}
@@ -0,0 +1,165 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.concurrent.SingleFlight;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
+import com.han.bloomi.domain.port.VisionPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 동일한 Vision 분석 요청을 하나로 합치는 컴포넌트
+ *
+ * 타임아웃 후 클라이언트가 재시도했는데 첫 요청이 아직 진행 중이면 같은 이미지로 OpenAI를 두 번 호출하게 됩니다.
+ * (사용자 ID, 이미지 SHA-256, 힌트)가 같은 요청이 동시에 들어오면 진행 중인 호출의 결과를 함께 기다립니다.
+ *
+ * 스트리밍 요청과 일반 요청은 서로 합치지 않습니다. 스트리밍 호출의 필드 이벤트는 대기 중인 모든 요청에 전달하며,
+ * 한 요청의 리스너가 실패해도(SSE 연결 종료 등) 공유 호출과 다른 요청에는 영향을 주지 않습니다.
+ * 늦게 합류한 스트리밍 요청은 합류 이후의 필드 이벤트와 최종 결과를 받습니다.
+ *
+ * 공유 호출은 대기 중인 요청 중 가장 늦은 마감 시각으로 실행하고, 각 요청은 자신의 마감 시각까지만 기다립니다.
+ * 대기 중인 스레드가 인터럽트되거나 요청 마감 시각이 지나면 해당 호출자만 빠지고,
+ * 다른 대기자가 남아 있으면 호출은 계속됩니다. 마지막 대기자가 빠지면 Vision 호출도 취소됩니다.
+ */
+@Slf4j
+@Component
+public class VisionRequestCoalescer {
+    private static final String METRIC_NAME = "bloomi.vision.coalesce";
+
+    private final VisionPort visionPort;
+    private final ImageContentHasher contentHasher;
+    private final TraceIdHolder traceIdHolder;
+    private final DeadlineHolder deadlineHolder;
+    private final SingleFlight<Key, MealAnalysis> singleFlight;
+    private final ConcurrentHashMap<Key, SharedCall> sharedCalls = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter joined;
+
+    public VisionRequestCoalescer(VisionPort visionPort, ImageContentHasher contentHasher, TraceIdHolder traceIdHolder,
+                                  DeadlineHolder deadlineHolder, ExecutorService analyzeTaskExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.visionPort = visionPort;
+        this.contentHasher = contentHasher;
+        this.traceIdHolder = traceIdHolder;
+        this.deadlineHolder = deadlineHolder;
+        this.singleFlight = new SingleFlight<>(analyzeTaskExecutor);
+        this.leaders = Counter.builder(METRIC_NAME + ".requests").tag("result", "leader").register(meterRegistry);
+        this.joined = Counter.builder(METRIC_NAME + ".requests").tag("result", "joined").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in_flight", singleFlight, SingleFlight::inFlight).register(meterRegistry);
+    }
+
+    /**
+     * Vision 분석 (동일 요청이 진행 중이면 합류)
+     *
+     * @param listener 스트리밍 리스너 (없으면 null)
+     */
+    public MealAnalysis analyze(String userId, String traceId, MealAnalysisRequest request,
+                                MealAnalysisStreamListener listener) {
+        boolean streaming = listener != null;
+        Key key = new Key(userId, contentHasher.sha256Hex(request.image()), request.hintKey(), streaming);
+        Deadline deadline = deadlineHolder.current();
+        Waiter waiter = new Waiter(traceId, deadline, listener);
+
+        SharedCall shared = sharedCalls.compute(key, (k, existing) -> {
+            SharedCall call = existing != null ? existing : new SharedCall();
+            call.waiters.add(waiter);
+            return call;
+        });
+        try {
+            SingleFlight.Joined<MealAnalysis> joinedCall = singleFlight.join(key,
+                    () -> call(traceId, shared, request, streaming));
+            if (joinedCall.leader()) {
+                leaders.increment();
+            } else {
+                joined.increment();
+                log.info("[{}] Joined in-flight vision analysis for identical request", traceId);
+            }
+            return await(joinedCall, traceId, deadline);
+        } finally {
+            sharedCalls.computeIfPresent(key, (k, call) -> {
+                call.waiters.remove(waiter);
+                return call.waiters.isEmpty() ? null : call;
+            });
+        }
+    }
+
+    private MealAnalysis await(SingleFlight.Joined<MealAnalysis> joinedCall, String traceId, Deadline deadline) {
+        try {
+            return joinedCall.future().get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            joinedCall.future().cancel(true);
+            log.warn("[{}] Deadline exceeded while waiting for vision analysis", traceId);
+            throw Deadline.exceeded("vision analysis completion");
+        } catch (InterruptedException e) {
+            joinedCall.future().cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Interrupted while waiting for vision analysis", e);
+        } catch (CancellationException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Vision analysis cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Vision analysis failed", e.getCause());
+        }
+    }
+
+    /**
+     * 워커 스레드에서 Vision을 호출합니다.
+     * 프로바이더 호출 타임아웃이 대기 중인 요청 중 가장 늦은 마감 시각을 따르도록 공유 마감 시각을 넘깁니다.
+     */
+    private MealAnalysis call(String traceId, SharedCall shared, MealAnalysisRequest request, boolean streaming) {
+        traceIdHolder.set(traceId);
+        deadlineHolder.set(shared.deadline);
+        try {
+            return streaming ? visionPort.analyze(request, shared::onField) : visionPort.analyze(request);
+        } finally {
+            deadlineHolder.clear();
+            traceIdHolder.clear();
+        }
+    }
+
+    private record Key(String userId, String sha256, String hints, boolean streaming) {
+    }
+
+    private record Waiter(String traceId, Deadline deadline, MealAnalysisStreamListener listener) {
+    }
+
+    /**
+     * 같은 키로 기다리는 요청들 (공유 호출의 마감 시각과 필드 이벤트 전달 대상)
+     */
+    private static final class SharedCall {
+        private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+        private final Deadline deadline = Deadline.latestOf(
+                () -> waiters.stream().map(Waiter::deadline).toList());
+
+        private void onField(String field, Object value) {
+            for (Waiter waiter : waiters) {
+                try {
+                    waiter.listener().onField(field, value);
+                } catch (RuntimeException e) {
+                    // 이 요청의 클라이언트만 끊긴 경우 - 공유 호출은 다른 요청을 위해 계속합니다.
+                    log.debug("[{}] Stream listener failed, skipping: {}", waiter.traceId(), e.getMessage());
+                }
+            }
+        }
+    }
+}
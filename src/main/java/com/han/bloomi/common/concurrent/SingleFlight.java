@@ -0,0 +1,132 @@
+package com.han.bloomi.common.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 호출을 하나로 합치는 single-flight 실행기
+ *
+ * 키당 진행 중인 호출(flight)은 하나이며, 같은 키의 호출자는 새 호출을 시작하지 않고 진행 중인 결과를 기다립니다.
+ * 호출자마다 별도의 future를 받으므로 한 호출자가 취소해도 다른 대기자는 영향을 받지 않고,
+ * 마지막 대기자까지 취소하면 그때 실제 호출을 중단합니다.
+ *
+ * 호출이 끝나면 flight는 즉시 제거되므로 결과를 캐시하지는 않습니다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 결과 타입
+ */
+public class SingleFlight<K, V> {
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor 실제 호출을 실행할 executor (호출자 스레드와 분리해야 호출자별 취소가 가능합니다)
+     */
+    public SingleFlight(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 키에 대한 호출에 참여합니다.
+     *
+     * @param key  합칠 기준 키
+     * @param call 진행 중인 호출이 없을 때 실행할 작업
+     * @return 호출자 전용 future (cancel 시 이 호출자만 대기에서 빠집니다)
+     */
+    public Joined<V> join(K key, Supplier<V> call) {
+        Flight<V> created = new Flight<>();
+        Flight<V> flight = flights.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.waiters++;
+                return existing;
+            }
+            return created;
+        });
+
+        boolean leader = flight == created;
+        if (leader) {
+            start(key, flight, call);
+        }
+
+        CompletableFuture<V> waiter = new CompletableFuture<>();
+        flight.result.whenComplete((value, error) -> {
+            if (error != null) {
+                waiter.completeExceptionally(error);
+            } else {
+                waiter.complete(value);
+            }
+        });
+        waiter.whenComplete((value, error) -> {
+            if (waiter.isCancelled()) {
+                leave(key, flight);
+            }
+        });
+        return new Joined<>(waiter, leader);
+    }
+
+    /**
+     * 현재 진행 중인 호출 수
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<V> call) {
+        flight.task = executor.submit(() -> {
+            try {
+                flight.result.complete(call.get());
+            } catch (Throwable e) {
+                flight.result.completeExceptionally(e);
+            } finally {
+                flights.remove(key, flight);
+            }
+        });
+        // 작업 등록 전에 모든 대기자가 취소한 경우
+        if (flight.result.isCancelled()) {
+            flight.task.cancel(true);
+        }
+    }
+
+    /**
+     * 대기자 하나가 빠집니다. 남은 대기자가 없으면 실제 호출을 취소합니다.
+     */
+    private void leave(K key, Flight<V> flight) {
+        flights.computeIfPresent(key, (k, current) -> {
+            if (current != flight) {
+                return current;
+            }
+            current.waiters--;
+            if (current.waiters > 0) {
+                return current;
+            }
+            current.cancel();
+            return null;
+        });
+    }
+
+    /**
+     * 호출 참여 결과
+     *
+     * @param future 호출자 전용 future
+     * @param leader 이 호출자가 실제 호출을 시작했는지 여부
+     */
+    public record Joined<V>(CompletableFuture<V> future, boolean leader) {
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private int waiters = 1; // flights.compute 안에서만 변경
+
+        private void cancel() {
+            result.cancel(false);
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.han.bloomi.common.config;
+
+import com.han.bloomi.application.service.AnalysisJobProperties;
+import com.han.bloomi.application.service.ThumbnailProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 비동기 작업용 Executor 설정
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 식단 분석 중 I/O 대기 작업(S3 업로드 등)을 병렬로 실행하기 위한 Executor
+     * 작업 대부분이 네트워크 대기이므로 가상 스레드를 사용합니다.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService analyzeTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("analyze-", 0).factory());
+    }
+
+    /**
+     * 비동기 분석 작업(analyze/async)을 실행하는 워커 풀
+     * 큐가 가득 차면 TaskRejectedException이 발생하며, 호출 측에서 503으로 변환합니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisJobExecutor(AnalysisJobProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 식단 기록 저장 후 썸네일/BlurHash를 만드는 워커 풀
+     * 이미지 디코딩/인코딩은 CPU 작업이므로 작은 고정 풀을 사용하고, 큐가 가득 차면 생성을 건너뜁니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailTaskExecutor(ThumbnailProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,117 @@
+package com.han.bloomi.common.deadline;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위 마감 시각
+ *
+ * 각 단계는 자신의 기본 타임아웃과 남은 시간 중 작은 값을 타임아웃으로 사용하고({@link #cap(Duration)}),
+ * 시작 전에 이미 시간이 다 됐으면 {@link #check(String)}으로 단계를 건너뜁니다.
+ * 마감이 없는 요청(비동기 작업 등)은 {@link #none()}을 사용합니다.
+ * 여러 요청이 함께 기다리는 작업은 {@link #latestOf(Supplier)}로 남은 요청 중 가장 늦은 마감 시각을 따릅니다.
+ */
+public final class Deadline {
+    private static final Deadline NONE = new Deadline(0, false, null);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+    private final Supplier<? extends Collection<Deadline>> waiters;
+
+    private Deadline(long expiresAtNanos, boolean bounded, Supplier<? extends Collection<Deadline>> waiters) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+        this.waiters = waiters;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true, null);
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * 여러 요청이 결과를 함께 기다리는 작업의 마감 시각
+     * 조회할 때마다 그 시점에 남아 있는 요청 중 가장 늦은 마감 시각을 따르므로, 늦게 합류한 요청이 마감을 늘릴 수 있습니다.
+     * (남은 요청이 없으면 마감 없음)
+     *
+     * @param waiters 현재 기다리는 요청들의 마감 시각
+     */
+    public static Deadline latestOf(Supplier<? extends Collection<Deadline>> waiters) {
+        return new Deadline(0, false, waiters);
+    }
+
+    public boolean isBounded() {
+        return resolve().bounded;
+    }
+
+    public boolean isExpired() {
+        Deadline deadline = resolve();
+        return deadline.bounded && System.nanoTime() - deadline.expiresAtNanos >= 0;
+    }
+
+    /**
+     * 남은 시간 (마감이 없으면 Long.MAX_VALUE 나노초, 지났으면 0)
+     */
+    public long remainingNanos() {
+        Deadline deadline = resolve();
+        if (!deadline.bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadline.expiresAtNanos - System.nanoTime());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    /**
+     * 단계 기본 타임아웃과 남은 시간 중 작은 값
+     */
+    public Duration cap(Duration stageTimeout) {
+        if (!isBounded()) {
+            return stageTimeout;
+        }
+        Duration remaining = remaining();
+        return remaining.compareTo(stageTimeout) < 0 ? remaining : stageTimeout;
+    }
+
+    /**
+     * 마감이 지났으면 다음 단계를 시작하지 않도록 예외를 던집니다.
+     *
+     * @param stage 시작하려던 단계 이름 (로그/응답 detail 용)
+     * @throws BusinessException DEADLINE_EXCEEDED
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw exceeded(stage);
+        }
+    }
+
+    public static BusinessException exceeded(String stage) {
+        return new BusinessException(ErrorCode.DEADLINE_EXCEEDED, "Request deadline exceeded before " + stage);
+    }
+
+    private Deadline resolve() {
+        if (waiters == null) {
+            return this;
+        }
+        Deadline latest = null;
+        for (Deadline waiter : waiters.get()) {
+            Deadline deadline = waiter.resolve();
+            if (!deadline.bounded) {
+                return deadline;
+            }
+            if (latest == null || deadline.expiresAtNanos - latest.expiresAtNanos > 0) {
+                latest = deadline;
+            }
+        }
+        return latest != null ? latest : NONE;
+    }
+}
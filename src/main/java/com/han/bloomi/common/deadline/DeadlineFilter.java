@@ -0,0 +1,79 @@
+package com.han.bloomi.common.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 요청 마감 시각 설정 필터
+ *
+ * X-Request-Timeout 헤더(밀리초)가 있으면 그 값을, 없으면 엔드포인트별 기본값을 마감으로 사용합니다.
+ * 클라이언트가 기다리는 시간보다 오래 서버가 일하지 않도록 각 분석 단계가 이 값을 읽어 타임아웃을 정합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final DeadlineHolder deadlineHolder;
+    private final DeadlineProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration timeout = resolveTimeout(request);
+        if (timeout == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            deadlineHolder.set(Deadline.after(timeout));
+            filterChain.doFilter(request, response);
+        } finally {
+            deadlineHolder.clear();
+        }
+    }
+
+    Duration resolveTimeout(HttpServletRequest request) {
+        Duration timeout = parseHeader(request.getHeader(TIMEOUT_HEADER));
+        if (timeout == null) {
+            timeout = endpointTimeout(request.getRequestURI());
+        }
+        if (timeout == null) {
+            return null;
+        }
+        return timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout;
+    }
+
+    private Duration endpointTimeout(String path) {
+        for (Map.Entry<String, Duration> entry : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Duration parseHeader(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.han.bloomi.common.deadline;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 스레드의 요청 마감 시각 보관소
+ *
+ * TraceIdHolder와 마찬가지로 워커 스레드로 작업을 넘길 때는 호출자가 값을 꺼내 다시 설정해야 합니다.
+ */
+@Component
+public class DeadlineHolder {
+    private static final ThreadLocal<Deadline> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * 현재 마감 시각 (설정되지 않았으면 마감 없음)
+     */
+    public Deadline current() {
+        Deadline deadline = DEADLINE.get();
+        return deadline != null ? deadline : Deadline.none();
+    }
+
+    public void set(Deadline deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    public void clear() {
+        DEADLINE.remove();
+    }
+}
@@ -0,0 +1,36 @@
+package com.han.bloomi.common.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 마감 시각 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.deadline")
+public class DeadlineProperties {
+    /**
+     * 클라이언트가 지정한 타임아웃의 상한 (헤더 값이 이보다 크면 이 값으로 제한)
+     */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 엔드포인트별 기본 타임아웃 (Ant 패턴 → 타임아웃). 헤더가 없을 때 사용합니다.
+     * 일치하는 패턴이 없고 헤더도 없으면 마감 없이 처리합니다.
+     */
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+
+    /**
+     * 이미지 최적화 시작 시점에 남은 시간이 이보다 적으면 외부 호출 없이 DEADLINE_EXCEEDED로 실패합니다.
+     * (원본 그대로 Vision을 호출하면 요청이 더 커져 마감 안에 끝나기 어려움)
+     */
+    private Duration minOptimizeBudget = Duration.ofSeconds(2);
+}
@@ -15,6 +15,7 @@ public enum ErrorCode {
 
     // 404 Not Found
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "User not found"),
+    ANALYSIS_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "ANALYSIS_JOB_NOT_FOUND", "Analysis job not found"),
 
     // 413 Payload Too Large
     PAYLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE", "Image size exceeds limit"),
@@ -29,11 +30,20 @@ public enum ErrorCode {
     // 500 Internal Server Error
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Internal server error"),
 
+    // 503 Service Unavailable
+    ANALYSIS_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "ANALYSIS_QUEUE_FULL", "분석 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    VISION_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "VISION_OVERLOADED", "분석 서버가 혼잡합니다. 잠시 후 다시 시도해주세요."),
+    VISION_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "VISION_UNAVAILABLE", "분석 서비스를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    IMAGE_PROCESSING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "IMAGE_PROCESSING_BUSY", "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+
     // 502 Bad Gateway
     VISION_API_ERROR(HttpStatus.BAD_GATEWAY, "VISION_API_ERROR", "Vision API error occurred"),
     VISION_TIMEOUT(HttpStatus.BAD_GATEWAY, "VISION_TIMEOUT", "Provider timeout"),
     VISION_INVALID_RESPONSE(HttpStatus.BAD_GATEWAY, "VISION_INVALID_RESPONSE", "Invalid response from vision provider"),
-    VISION_NO_MEAL(HttpStatus.BAD_REQUEST, "VISION_NO_MEAL", "음식 사진이 아닙니다.")
+    VISION_NO_MEAL(HttpStatus.BAD_REQUEST, "VISION_NO_MEAL", "음식 사진이 아닙니다."),
+
+    // 504 Gateway Timeout
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT, "DEADLINE_EXCEEDED", "요청 처리 시간이 초과되었습니다.")
     ;
 
     private final HttpStatus httpStatus;
@@ -3,15 +3,39 @@ package com.han.bloomi.common.exception;
 import com.han.bloomi.common.error.ErrorCode;
 
 public class VisionException extends BusinessException {
+    /**
+     * 프로바이더 측 장애(5xx, 429, 타임아웃) 여부
+     * 요청 자체의 문제(4xx, 음식 사진 아님 등)와 구분하여 회로 차단/다른 프로바이더로의 전환에 사용합니다.
+     */
+    private final boolean upstreamFailure;
+
     public VisionException(ErrorCode errorCode) {
-        super(errorCode);
+        this(errorCode, null);
     }
 
     public VisionException(ErrorCode errorCode, String detail) {
         super(errorCode, detail);
+        this.upstreamFailure = false;
     }
 
     public VisionException(ErrorCode errorCode, String detail, Throwable cause) {
         super(errorCode, detail, cause);
+        this.upstreamFailure = false;
+    }
+
+    private VisionException(ErrorCode errorCode, String detail, boolean upstreamFailure) {
+        super(errorCode, detail);
+        this.upstreamFailure = upstreamFailure;
+    }
+
+    /**
+     * 프로바이더 측 장애로 인한 예외 생성
+     */
+    public static VisionException upstream(ErrorCode errorCode, String detail) {
+        return new VisionException(errorCode, detail, true);
+    }
+
+    public boolean isUpstreamFailure() {
+        return upstreamFailure || getErrorCode() == ErrorCode.VISION_TIMEOUT;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.han.bloomi.domain.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 식단 분석 작업 도메인 모델
+ * 상태 전이: QUEUED → RUNNING → DONE | FAILED
+ */
+@Builder(toBuilder = true)
+public record AnalysisJob(
+    String id,                  // 작업 ID (UUID)
+    String userId,              // 요청 사용자 ID
+    String traceId,             // 요청 추적 ID
+    AnalysisJobStatus status,   // 작업 상태
+    MealAnalysis result,        // 분석 결과 (DONE)
+    String errorCode,           // 에러 코드 (FAILED)
+    String errorMessage,        // 에러 상세 (FAILED)
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static AnalysisJob queued(String id, String userId, String traceId) {
+        LocalDateTime now = LocalDateTime.now();
+        return AnalysisJob.builder()
+                .id(id)
+                .userId(userId)
+                .traceId(traceId)
+                .status(AnalysisJobStatus.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public AnalysisJob running() {
+        return toBuilder()
+                .status(AnalysisJobStatus.RUNNING)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public AnalysisJob done(MealAnalysis result) {
+        return toBuilder()
+                .status(AnalysisJobStatus.DONE)
+                .result(result)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public AnalysisJob failed(String errorCode, String errorMessage) {
+        return toBuilder()
+                .status(AnalysisJobStatus.FAILED)
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public boolean isOwnedBy(String userId) {
+        return this.userId.equals(userId);
+    }
+}
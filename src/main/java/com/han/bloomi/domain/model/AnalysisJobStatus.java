@@ -0,0 +1,15 @@
+package com.han.bloomi.domain.model;
+
+/**
+ * 비동기 식단 분석 작업 상태
+ */
+public enum AnalysisJobStatus {
+    QUEUED,     // 작업 큐 대기 중
+    RUNNING,    // 분석 진행 중
+    DONE,       // 분석 완료
+    FAILED;     // 분석 실패
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
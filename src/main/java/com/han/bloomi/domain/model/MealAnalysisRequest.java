@@ -3,15 +3,24 @@ package com.han.bloomi.domain.model;
 import lombok.Builder;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Locale;
+
 /**
  * Vision API에 전달할 식사 분석 요청 정보
+ *
+ * imageUrl이 있으면 Vision 프로바이더가 이미지를 직접 내려받을 수 있는 (만료되는) URL이며,
+ * 클라이언트는 이미지 바이트 대신 이 URL을 보냅니다. 이미지 바이트는 캐시/중복 판단에 계속 사용됩니다.
+ *
+ * userId는 Vision 호출의 토큰/비용 사용량을 집계할 사용자이며, 분석 결과에는 영향을 주지 않습니다.
  */
-@Builder
+@Builder(toBuilder = true)
 public record MealAnalysisRequest(
     MultipartFile image,
     String name,
     Double weight,
-    String notes
+    String notes,
+    String imageUrl,
+    String userId
 ) {
     public static MealAnalysisRequest of(MultipartFile image, String name, Double weight, String notes) {
         return MealAnalysisRequest.builder()
@@ -22,6 +31,17 @@ public record MealAnalysisRequest(
                 .build();
     }
 
+    /**
+     * 같은 요청에 Vision 프로바이더용 이미지 URL을 붙입니다.
+     */
+    public MealAnalysisRequest withImageUrl(String imageUrl) {
+        return toBuilder().imageUrl(imageUrl).build();
+    }
+
+    public boolean hasImageUrl() {
+        return imageUrl != null && !imageUrl.isBlank();
+    }
+
     public boolean hasHint() {
         return name != null || weight != null || notes != null;
     }
@@ -33,4 +53,16 @@ public record MealAnalysisRequest(
     public boolean hasWeight() {
         return weight != null && weight > 0;
     }
+
+    /**
+     * 분석 결과에 영향을 주는 힌트(음식명/중량/메모)를 정규화한 키
+     * 같은 이미지라도 힌트가 다르면 결과가 달라지므로 캐시/중복 호출 판단에 함께 사용합니다.
+     */
+    public String hintKey() {
+        return normalize(name) + "|" + (hasWeight() ? weight : "") + "|" + normalize(notes);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
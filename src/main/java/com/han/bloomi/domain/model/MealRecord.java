@@ -14,6 +14,8 @@ public record MealRecord(
     String id,                  // 기록 ID (UUID)
     String userId,              // 사용자 ID
     String imageUrl,            // S3 이미지 URL
+    String thumbnailUrl,        // 목록용 썸네일 URL (비동기 생성, 없을 수 있음)
+    String placeholder,         // 목록용 BlurHash 플레이스홀더 (비동기 생성, 없을 수 있음)
     String name,                // 음식명 (AI 추정 또는 사용자 입력)
     double calories,            // 총 칼로리
     Macros macros,              // 3대 영양소
@@ -0,0 +1,59 @@
+package com.han.bloomi.domain.model;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * 식품 성분표의 한 항목 (100g 또는 100ml 기준 영양 성분)
+ */
+@Builder
+public record NutritionFacts(
+    String name,
+    String unit,
+    double calories,
+    double carbs,
+    double protein,
+    double fat
+) {
+    private static final double BASE_AMOUNT = 100.0;
+
+    public static NutritionFacts of(String name, String unit, double calories, double carbs, double protein, double fat) {
+        return NutritionFacts.builder()
+                .name(name)
+                .unit(unit)
+                .calories(calories)
+                .carbs(carbs)
+                .protein(protein)
+                .fat(fat)
+                .build();
+    }
+
+    /**
+     * 섭취량에 맞춰 환산한 분석 결과를 만듭니다.
+     *
+     * @param amount     섭취량 (g 또는 ml)
+     * @param confidence 음식명 매칭 신뢰도
+     */
+    public MealAnalysis toAnalysis(double amount, double confidence) {
+        double ratio = amount / BASE_AMOUNT;
+        double totalCalories = round(calories * ratio);
+        return MealAnalysis.of(
+                name,
+                totalCalories,
+                Macros.of(round(carbs * ratio), round(protein * ratio), round(fat * ratio)),
+                Serving.of(unit, amount),
+                List.of(FoodItem.of(name, amount, unit, totalCalories)),
+                confidence,
+                String.format("식품 성분표 기준 %s %s%s의 영양 정보입니다.", name, formatAmount(amount), unit)
+        );
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static String formatAmount(double amount) {
+        return amount == Math.rint(amount) ? String.valueOf((long) amount) : String.valueOf(amount);
+    }
+}
@@ -0,0 +1,16 @@
+package com.han.bloomi.domain.model;
+
+/**
+ * 음식명으로 식품 성분표를 조회한 결과
+ *
+ * @param facts      매칭된 식품의 영양 성분
+ * @param confidence 매칭 신뢰도 (정확히 일치하면 1.0, 오타/접두어 매칭이면 그보다 낮음)
+ */
+public record NutritionMatch(
+    NutritionFacts facts,
+    double confidence
+) {
+    public MealAnalysis toAnalysis(double amount) {
+        return facts.toAnalysis(amount, confidence);
+    }
+}
@@ -0,0 +1,43 @@
+package com.han.bloomi.domain.model;
+
+import lombok.Builder;
+
+/**
+ * 사용자/프로바이더/모델별 Vision 호출 사용량
+ *
+ * @param userId           사용자 ID
+ * @param provider         Vision 프로바이더 (openai, anthropic)
+ * @param model            모델명
+ * @param requests         호출 수
+ * @param promptTokens     입력 토큰 수 (이미지 토큰 포함)
+ * @param completionTokens 출력 토큰 수
+ * @param imageTokens      입력 토큰 중 이미지 토큰 추정치
+ * @param estimatedCost    가격표 기준 추정 비용 (USD)
+ */
+@Builder
+public record VisionUsage(
+    String userId,
+    String provider,
+    String model,
+    long requests,
+    long promptTokens,
+    long completionTokens,
+    long imageTokens,
+    double estimatedCost
+) {
+    /**
+     * 같은 사용자/프로바이더/모델의 사용량을 더합니다.
+     */
+    public VisionUsage plus(VisionUsage other) {
+        return VisionUsage.builder()
+                .userId(userId)
+                .provider(provider)
+                .model(model)
+                .requests(requests + other.requests)
+                .promptTokens(promptTokens + other.promptTokens)
+                .completionTokens(completionTokens + other.completionTokens)
+                .imageTokens(imageTokens + other.imageTokens)
+                .estimatedCost(estimatedCost + other.estimatedCost)
+                .build();
+    }
+}
@@ -113,12 +113,29 @@ public record User(
      * FREE 멤버십: 하루 3회 제한
      */
     public boolean hasExceededDailyLimit() {
+        return remainingDailyRequests() <= 0;
+    }
+
+    /**
+     * 오늘 남은 요청 횟수를 반환합니다.
+     * FREE 외 멤버십은 현재 제한이 없으므로 Integer.MAX_VALUE를 반환합니다.
+     */
+    public int remainingDailyRequests() {
         if (this.membership == Membership.FREE) {
             LocalDateTime now = LocalDateTime.now();
             boolean isSameDay = this.lastRequestDate != null &&
                               this.lastRequestDate.toLocalDate().equals(now.toLocalDate());
-            return isSameDay && this.dailyRequestCount >= 3;
+            int used = isSameDay ? this.dailyRequestCount : 0;
+            return Math.max(0, dailyLimit() - used);
         }
-        return false; // PREMIUM은 제한 없음
+        return Integer.MAX_VALUE; // PREMIUM은 제한 없음
+    }
+
+    /**
+     * 일일 요청 한도를 반환합니다.
+     * FREE 외 멤버십은 현재 제한이 없으므로 Integer.MAX_VALUE를 반환합니다.
+     */
+    public int dailyLimit() {
+        return this.membership == Membership.FREE ? this.membership.getDailyLimit() : Integer.MAX_VALUE;
     }
 }
@@ -0,0 +1,30 @@
+package com.han.bloomi.domain.port;
+
+import com.han.bloomi.domain.model.AnalysisJob;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 비동기 분석 작업 상태 저장소 포트
+ * 기본 구현은 In-Memory이며, 다중 인스턴스 환경에서는 Redis/DB 구현체로 교체합니다.
+ */
+public interface AnalysisJobStore {
+    /**
+     * 작업 저장 (생성 또는 상태 갱신)
+     */
+    AnalysisJob save(AnalysisJob job);
+
+    /**
+     * ID로 작업 조회
+     */
+    Optional<AnalysisJob> findById(String id);
+
+    /**
+     * 기준 시각 이전에 종료(DONE/FAILED)된 작업 삭제
+     *
+     * @param threshold 기준 시각
+     * @return 삭제된 작업 수
+     */
+    int deleteFinishedBefore(LocalDateTime threshold);
+}
@@ -0,0 +1,66 @@
+package com.han.bloomi.domain.port;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 이미지 참조 카운트 저장소 포트
+ * 콘텐츠 주소 저장 모드에서는 여러 식단 기록이 같은 이미지를 공유하므로,
+ * 참조가 모두 사라진 이미지만 삭제하기 위해 참조 수를 관리합니다.
+ * 참조가 0이 되어도 행은 남겨 두고, 일정 시간 뒤 GC가 객체와 함께 삭제합니다.
+ *
+ * GC는 행을 삭제 중으로 표시 → 저장소 객체 삭제 → 표시된 행 삭제 순서로 진행하며,
+ * 각 단계는 짧은 트랜잭션이라 객체 삭제 동안 행 잠금을 잡고 있지 않습니다.
+ */
+public interface ImageReferenceRepository {
+    /**
+     * 이미지 참조를 1 증가시킵니다. (없으면 1로 생성)
+     * GC가 삭제 중으로 표시한 이미지에는 참조를 붙이지 않고 0을 반환합니다.
+     *
+     * @param imageUrl 이미지 URL
+     * @return 증가 후 참조 수 (0이면 삭제 중이라 참조를 잡지 못함)
+     */
+    int acquire(String imageUrl);
+
+    /**
+     * 이미지 참조를 1 감소시킵니다.
+     *
+     * @param imageUrl 이미지 URL
+     * @return 감소 후 남은 참조 수 (0이면 더 이상 사용하는 기록이 없음)
+     */
+    int release(String imageUrl);
+
+    /**
+     * 참조가 0인 상태로 보관 시간 동안 변경이 없는 이미지 URL을 찾습니다. (GC 후보)
+     * 기준 시각은 저장소 시계로 계산하며, 삭제가 중단된 채 남은 삭제 중 이미지도 포함합니다.
+     *
+     * @param retention 참조가 0이 된 뒤 보관하는 시간
+     * @param limit     최대 개수
+     * @return 이미지 URL 목록 (오래된 순)
+     */
+    List<String> findUnreferenced(Duration retention, int limit);
+
+    /**
+     * 참조가 여전히 0이고 보관 시간이 지났으면 삭제 중으로 표시합니다.
+     * 표시된 뒤에는 acquire가 참조를 붙이지 못하므로, 지우는 중인 객체를 다른 업로드가 재사용하지 않습니다.
+     *
+     * @param imageUrl  이미지 URL
+     * @param retention 참조가 0이 된 뒤 보관하는 시간
+     * @return 표시했으면 true, 그 사이 다시 참조되었으면 false
+     */
+    boolean markDeleting(String imageUrl, Duration retention);
+
+    /**
+     * 저장소 객체 삭제에 실패했을 때 삭제 중 표시를 풀어 다시 참조할 수 있게 합니다.
+     *
+     * @param imageUrl 이미지 URL
+     */
+    void unmarkDeleting(String imageUrl);
+
+    /**
+     * 저장소 객체를 지운 뒤 삭제 중으로 표시된 행을 삭제합니다.
+     *
+     * @param imageUrl 이미지 URL
+     */
+    void removeDeleting(String imageUrl);
+}
@@ -2,6 +2,8 @@ package com.han.bloomi.domain.port;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+
 /**
  * 이미지 저장소 포트
  * S3, GCS, Azure Blob 등 다양한 구현체로 교체 가능
@@ -16,6 +18,31 @@ public interface ImageStorage {
      */
     String upload(MultipartFile image, String path);
 
+    /**
+     * 저장 경로에 이미지가 이미 있는지 확인
+     *
+     * @param path 저장 경로
+     * @return 존재 여부
+     */
+    boolean exists(String path);
+
+    /**
+     * 저장 경로의 공개 URL
+     *
+     * @param path 저장 경로
+     * @return 공개 URL
+     */
+    String urlOf(String path);
+
+    /**
+     * 저장 경로의 이미지를 인증 없이 내려받을 수 있는 만료되는 URL (예: S3 presigned GET URL)
+     *
+     * @param path 저장 경로
+     * @param ttl  URL 유효 시간
+     * @return 만료되는 다운로드 URL
+     */
+    String presignedUrl(String path, Duration ttl);
+
     /**
      * 이미지 삭제
      *
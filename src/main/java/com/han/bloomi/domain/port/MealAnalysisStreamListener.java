@@ -0,0 +1,18 @@
+package com.han.bloomi.domain.port;
+
+/**
+ * 스트리밍 분석 중 완성된 필드를 전달받는 리스너
+ *
+ * Vision 응답이 모두 도착하기 전에 name, calories, macros 등 완성된 필드부터 클라이언트에 전달하기 위해 사용합니다.
+ */
+@FunctionalInterface
+public interface MealAnalysisStreamListener {
+    /**
+     * 분석 결과의 필드 하나가 완성되었을 때 호출됩니다.
+     * items 배열은 항목 하나가 완성될 때마다 "item" 필드로도 전달됩니다.
+     *
+     * @param field 필드명 (name, calories, macros, serving, item, items, confidence, advice)
+     * @param value 필드 값 (JSON으로 직렬화 가능한 객체)
+     */
+    void onField(String field, Object value);
+}
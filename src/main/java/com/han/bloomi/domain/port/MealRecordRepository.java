@@ -35,8 +35,18 @@ public interface MealRecordRepository {
      */
     List<MealRecord> findByUserIdAndAnalyzedAtBetween(String userId, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * 썸네일 URL과 플레이스홀더 추가
+     *
+     * @return 기록이 있어 갱신되었으면 true
+     */
+    boolean updateThumbnail(String id, String thumbnailUrl, String placeholder);
+
     /**
      * 식단 기록 삭제
+     * 썸네일 추가와 동시에 실행되어도 놓치지 않도록 행을 잠근 뒤 삭제하고, 삭제 시점의 기록을 반환합니다.
+     *
+     * @return 삭제된 기록 (없으면 empty)
      */
-    void deleteById(String id);
+    Optional<MealRecord> deleteById(String id);
 }
\ No newline at end of file
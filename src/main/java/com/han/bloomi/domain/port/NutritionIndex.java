@@ -0,0 +1,21 @@
+package com.han.bloomi.domain.port;
+
+import com.han.bloomi.domain.model.NutritionMatch;
+
+import java.util.Optional;
+
+/**
+ * 음식명으로 식품 성분표를 조회하는 도메인 포트
+ *
+ * 사용자가 음식명과 중량을 입력한 요청은 Vision API 없이 성분표만으로 답할 수 있습니다.
+ * 구현체는 표기 차이(띄어쓰기, 수량 표기, 오타)를 흡수해 매칭하고, 충분히 확실한 매칭만 반환해야 합니다.
+ */
+public interface NutritionIndex {
+    /**
+     * 음식명에 해당하는 식품을 찾습니다.
+     *
+     * @param foodName 사용자가 입력한 음식명
+     * @return 신뢰도가 기준 이상인 매칭, 없거나 여러 식품과 모호하게 매칭되면 empty
+     */
+    Optional<NutritionMatch> lookup(String foodName);
+}
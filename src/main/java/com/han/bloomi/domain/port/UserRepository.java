@@ -37,11 +37,23 @@ public interface UserRepository {
     User delete(String id);
 
     /**
-     * 일일 요청 카운트를 증가시킵니다.
+     * 증가 후에도 일일 한도 이하인 경우에만 일일 요청 카운트를 count만큼 증가시킵니다.
+     * 한도 확인과 증가를 조건부 UPDATE 한 번으로 처리하므로 동시 요청이 함께 한도를 넘지 않습니다.
+     * 마지막 요청이 오늘이 아니면 0부터 셉니다.
+     * @param userId     사용자 ID
+     * @param count      증가시킬 횟수
+     * @param dailyLimit 일일 한도
+     * @return 증가했으면 true, 한도를 넘거나 사용자가 없으면 false
+     */
+    boolean incrementDailyRequestCount(String userId, int count, int dailyLimit);
+
+    /**
+     * 일일 요청 카운트를 count만큼 감소시킵니다. (0 미만으로 내려가지 않음)
+     * 선차감한 요청이 실패했을 때 차감분을 되돌리는 용도이며, 날짜가 바뀌었으면 아무것도 하지 않습니다.
      * @param userId 사용자 ID
-     * @return 업데이트된 사용자
+     * @param count  감소시킬 횟수
      */
-    User incrementDailyRequestCount(String userId);
+    void decrementDailyRequestCount(String userId, int count);
 
     /**
      * 모든 사용자의 일일 요청 카운트를 0으로 리셋합니다.
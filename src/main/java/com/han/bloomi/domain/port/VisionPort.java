@@ -20,4 +20,17 @@ public interface VisionPort {
      * @throws com.han.bloomi.common.exception.VisionException Vision API 호출 중 오류 발생 시
      */
     MealAnalysis analyze(MealAnalysisRequest request);
+
+    /**
+     * 분석 결과를 스트리밍으로 받으면서 식사를 분석합니다.
+     * 필드가 완성될 때마다 리스너가 호출되며, 최종 결과는 반환값으로 전달됩니다.
+     *
+     * @param request  이미지, 음식명, 중량 등의 분석 요청 정보
+     * @param listener 완성된 필드를 전달받을 리스너
+     * @return Vision API로부터 분석된 식사 정보
+     * @throws com.han.bloomi.common.exception.VisionException Vision API 호출 중 오류 발생 시
+     */
+    default MealAnalysis analyze(MealAnalysisRequest request, MealAnalysisStreamListener listener) {
+        return analyze(request);
+    }
 }
\ No newline at end of file
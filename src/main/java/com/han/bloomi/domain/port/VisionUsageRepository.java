@@ -0,0 +1,18 @@
+package com.han.bloomi.domain.port;
+
+import com.han.bloomi.domain.model.VisionUsage;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일간 Vision 사용량 저장소 포트
+ */
+public interface VisionUsageRepository {
+    /**
+     * 사용량을 (사용자, 날짜, 프로바이더, 모델) 행에 더합니다. (없으면 생성)
+     *
+     * @param date  사용 날짜
+     * @param usage 더할 사용량
+     */
+    void add(LocalDate date, VisionUsage usage);
+}
@@ -0,0 +1,39 @@
+package com.han.bloomi.infra.job;
+
+import com.han.bloomi.domain.model.AnalysisJob;
+import com.han.bloomi.domain.port.AnalysisJobStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-Memory 분석 작업 저장소 (기본 구현)
+ * 단일 인스턴스 기준이며, 재시작 시 작업 상태는 유실됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "bloomi.analyze.job.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAnalysisJobStore implements AnalysisJobStore {
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public AnalysisJob save(AnalysisJob job) {
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    @Override
+    public Optional<AnalysisJob> findById(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @Override
+    public int deleteFinishedBefore(LocalDateTime threshold) {
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.status().isFinished() && job.updatedAt().isBefore(threshold));
+        return before - jobs.size();
+    }
+}
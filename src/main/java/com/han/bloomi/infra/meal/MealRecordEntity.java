@@ -31,6 +31,13 @@ public class MealRecordEntity {
     @Column(nullable = false)
     private String imageUrl;
 
+    // 목록용 썸네일/플레이스홀더 (저장 후 비동기로 채워짐)
+    @Column(length = 1024)
+    private String thumbnailUrl;
+
+    @Column(length = 64)
+    private String placeholder;
+
     @Column(nullable = false)
     private String name;
 
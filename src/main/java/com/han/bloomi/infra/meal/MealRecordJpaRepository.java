@@ -1,9 +1,15 @@
 package com.han.bloomi.infra.meal;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 식단 기록 JPA Repository
@@ -12,4 +18,13 @@ public interface MealRecordJpaRepository extends JpaRepository<MealRecordEntity,
     List<MealRecordEntity> findByUser_Id(String userId);
     List<MealRecordEntity> findByUser_IdAndAnalyzedAt(String userId, LocalDate analyzedAt);
     List<MealRecordEntity> findByUser_IdAndAnalyzedAtBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from MealRecordEntity m where m.id = :id")
+    Optional<MealRecordEntity> findForUpdateById(@Param("id") String id);
+
+    @Modifying
+    @Query("update MealRecordEntity m set m.thumbnailUrl = :thumbnailUrl, m.placeholder = :placeholder where m.id = :id")
+    int updateThumbnail(@Param("id") String id, @Param("thumbnailUrl") String thumbnailUrl,
+                        @Param("placeholder") String placeholder);
 }
\ No newline at end of file
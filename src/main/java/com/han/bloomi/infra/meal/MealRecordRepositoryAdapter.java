@@ -10,6 +10,7 @@ import com.han.bloomi.infra.user.UserEntity;
 import com.han.bloomi.infra.user.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,11 +21,13 @@ import java.util.Optional;
  */
 @Repository
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class MealRecordRepositoryAdapter implements MealRecordRepository {
     private final MealRecordJpaRepository jpaRepository;
     private final UserJpaRepository userJpaRepository;
 
     @Override
+    @Transactional
     public MealRecord save(MealRecord record) {
         // userId로 UserEntity 조회
         UserEntity user = userJpaRepository.findById(record.userId())
@@ -80,8 +83,21 @@ public class MealRecordRepositoryAdapter implements MealRecordRepository {
     }
 
     @Override
-    public void deleteById(String id) {
-        jpaRepository.deleteById(id);
+    @Transactional
+    public boolean updateThumbnail(String id, String thumbnailUrl, String placeholder) {
+        return jpaRepository.updateThumbnail(id, thumbnailUrl, placeholder) > 0;
+    }
+
+    @Override
+    @Transactional
+    public Optional<MealRecord> deleteById(String id) {
+        // SELECT ... FOR UPDATE: 썸네일 갱신(UPDATE)과 서로 기다리게 되어, 먼저 붙은 썸네일은 여기서 보이고
+        // 삭제 후의 갱신은 0건이 됩니다.
+        return jpaRepository.findForUpdateById(id).map(entity -> {
+            MealRecord deleted = toDomain(entity);
+            jpaRepository.delete(entity);
+            return deleted;
+        });
     }
 
     private MealRecord toDomain(MealRecordEntity entity) {
@@ -89,6 +105,8 @@ public class MealRecordRepositoryAdapter implements MealRecordRepository {
                 .id(entity.getId())
                 .userId(entity.getUser().getId())
                 .imageUrl(entity.getImageUrl())
+                .thumbnailUrl(entity.getThumbnailUrl())
+                .placeholder(entity.getPlaceholder())
                 .name(entity.getName())
                 .calories(entity.getCalories())
                 .macros(new Macros(entity.getCarbs(), entity.getProtein(), entity.getFat()))
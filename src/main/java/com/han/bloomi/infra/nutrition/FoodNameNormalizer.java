@@ -0,0 +1,34 @@
+package com.han.bloomi.infra.nutrition;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 음식명을 인덱스 키로 정규화합니다.
+ *
+ * 1. NFKC 정규화와 소문자 변환 (전각 문자, 호환용 자모 "ㅅ" 등을 표준 형태로)
+ * 2. 괄호 안 부연 설명과 수량 표기 제거 ("닭가슴살(삶은) 150g" -> "닭가슴살")
+ * 3. 공백/구두점 제거 ("김치 찌개" -> "김치찌개")
+ * 4. 한글 음절을 자모로 분해 ("살" -> "ㅅㅏㄹ")
+ *
+ * 자모로 분해해 두면 편집 거리가 음절이 아닌 자모 단위로 계산되어
+ * "닭가슴쌀"처럼 받침/자음 하나가 다른 오타는 가깝게, 전혀 다른 음절은 멀게 평가됩니다.
+ */
+final class FoodNameNormalizer {
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^)]*\\)|\\[[^]]*]");
+    private static final Pattern QUANTITY = Pattern.compile(
+            "\\d+(?:\\.\\d+)?\\s*(?:kg|g|ml|l|kcal|그램|인분|개|조각|공기|그릇|컵|잔|장)?");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]");
+
+    private FoodNameNormalizer() {
+    }
+
+    static String normalize(String name) {
+        String text = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        text = PARENTHESES.matcher(text).replaceAll("");
+        text = QUANTITY.matcher(text).replaceAll("");
+        text = NON_WORD.matcher(text).replaceAll("");
+        return Normalizer.normalize(text, Normalizer.Form.NFD);
+    }
+}
@@ -0,0 +1,133 @@
+package com.han.bloomi.infra.nutrition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정규화된 음식명(자모 문자열) 트라이
+ *
+ * - 정확히 일치: 키 길이만큼 노드를 따라감
+ * - 접두어 검색: 접두어 노드 아래의 값을 짧은 키부터 수집
+ * - 오타 검색: 노드를 내려가며 편집 거리(Levenshtein) 행을 한 줄씩 계산하고,
+ *   행의 최솟값이 허용 거리를 넘는 가지는 더 내려가지 않습니다.
+ *
+ * 시작 시 한 번 만들고 이후에는 읽기만 하므로 동기화하지 않습니다.
+ */
+final class FoodNameTrie<T> {
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * @return 새로 추가되었으면 true, 같은 키가 이미 있으면 기존 값을 유지하고 false
+     */
+    boolean put(String key, T value) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        node.depth = key.length();
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    T get(String key) {
+        Node<T> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * 접두어로 시작하는 키의 값을 짧은 키부터 최대 limit개 반환합니다.
+     */
+    List<Match<T>> withPrefix(String prefix, int limit) {
+        List<Match<T>> matches = new ArrayList<>();
+        Node<T> start = find(prefix);
+        if (start == null) {
+            return matches;
+        }
+        ArrayDeque<Node<T>> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty() && matches.size() < limit) {
+            Node<T> node = queue.poll();
+            if (node.value != null) {
+                matches.add(new Match<>(node.value, node.depth, node.depth - prefix.length()));
+            }
+            queue.addAll(node.children.values());
+        }
+        return matches;
+    }
+
+    /**
+     * 편집 거리가 maxDistance 이하인 키의 값을 모두 반환합니다.
+     */
+    List<Match<T>> search(String key, int maxDistance) {
+        List<Match<T>> matches = new ArrayList<>();
+        int[] firstRow = new int[key.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (root.value != null && firstRow[key.length()] <= maxDistance) {
+            matches.add(new Match<>(root.value, 0, firstRow[key.length()]));
+        }
+        for (Map.Entry<Character, Node<T>> child : root.children.entrySet()) {
+            search(child.getValue(), child.getKey(), key, firstRow, maxDistance, matches);
+        }
+        return matches;
+    }
+
+    private void search(Node<T> node, char c, String key, int[] previousRow, int maxDistance,
+                        List<Match<T>> matches) {
+        int columns = key.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int insert = row[i - 1] + 1;
+            int delete = previousRow[i] + 1;
+            int replace = previousRow[i - 1] + (key.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(insert, Math.min(delete, replace));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+
+        if (node.value != null && row[columns - 1] <= maxDistance) {
+            matches.add(new Match<>(node.value, node.depth, row[columns - 1]));
+        }
+        if (rowMin <= maxDistance) {
+            for (Map.Entry<Character, Node<T>> child : node.children.entrySet()) {
+                search(child.getValue(), child.getKey(), key, row, maxDistance, matches);
+            }
+        }
+    }
+
+    private Node<T> find(String key) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * @param value     키에 저장된 값
+     * @param keyLength 매칭된 키의 길이
+     * @param distance  검색어와의 편집 거리 (접두어 검색이면 남은 글자 수)
+     */
+    record Match<T>(T value, int keyLength, int distance) {
+    }
+
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>(4);
+        private T value;
+        private int depth;
+    }
+}
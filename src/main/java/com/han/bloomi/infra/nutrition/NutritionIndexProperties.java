@@ -0,0 +1,38 @@
+package com.han.bloomi.infra.nutrition;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 식품 성분표 인덱스 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.nutrition")
+public class NutritionIndexProperties {
+    /**
+     * 사용 여부 (false면 음식명/중량이 있어도 항상 Vision API로 분석)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 성분표 CSV 위치 (애플리케이션 시작 시 한 번 읽음)
+     */
+    private Resource dataset = new ClassPathResource("nutrition/foods.csv");
+
+    /**
+     * Vision 호출을 건너뛰기 위한 최소 매칭 신뢰도
+     * 신뢰도는 1 - (자모 단위 편집 거리 / 이름 길이)이며, 기본값은 긴 이름의 자모 한 글자 오타까지 허용합니다.
+     */
+    private double minConfidence = 0.9;
+
+    /**
+     * 오타 매칭에 허용할 최대 편집 거리 (자모 단위)
+     */
+    private int maxEditDistance = 2;
+}
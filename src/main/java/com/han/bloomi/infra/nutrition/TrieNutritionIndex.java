@@ -0,0 +1,152 @@
+package com.han.bloomi.infra.nutrition;
+
+import com.han.bloomi.domain.model.NutritionFacts;
+import com.han.bloomi.domain.model.NutritionMatch;
+import com.han.bloomi.domain.port.NutritionIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 번들된 식품 성분표 CSV로 만든 음식명 트라이 기반 {@link NutritionIndex}
+ *
+ * 애플리케이션 시작 시 성분표를 한 번 읽어 대표 이름과 별칭을 모두 트라이에 넣습니다.
+ * 조회는 정확히 일치 -> 오타(편집 거리) -> 접두어 순서로 시도하며,
+ * 신뢰도가 기준 미만이거나 서로 다른 식품이 같은 신뢰도로 매칭되면 Vision 분석에 맡깁니다.
+ *
+ * CSV 형식: name,aliases,unit,calories,carbs,protein,fat (100g 또는 100ml 기준, 별칭은 '|'로 구분, '#'으로 시작하면 주석)
+ */
+@Slf4j
+@Component
+public class TrieNutritionIndex implements NutritionIndex {
+    private static final Pattern MULTIPLE_ITEMS = Pattern.compile("[,+/&·]|\\s(?:와|과|및|그리고)\\s");
+    private static final int PREFIX_CANDIDATES = 8;
+    private static final int COLUMNS = 7;
+
+    private final NutritionIndexProperties properties;
+    private final FoodNameTrie<NutritionFacts> trie = new FoodNameTrie<>();
+
+    public TrieNutritionIndex(NutritionIndexProperties properties) {
+        this.properties = properties;
+        if (!properties.isEnabled()) {
+            log.info("Nutrition index disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        int foods = load(properties.getDataset());
+        log.info("Nutrition index loaded - foods: {}, keys: {}, took {}ms",
+                foods, trie.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Optional<NutritionMatch> lookup(String foodName) {
+        // 여러 음식이 함께 입력되면 중량을 나눌 수 없으므로 Vision 분석에 맡깁니다.
+        if (foodName == null || trie.size() == 0 || MULTIPLE_ITEMS.matcher(foodName).find()) {
+            return Optional.empty();
+        }
+        String key = FoodNameNormalizer.normalize(foodName);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        NutritionFacts exact = trie.get(key);
+        if (exact != null) {
+            return Optional.of(new NutritionMatch(exact, 1.0));
+        }
+        return best(trie.search(key, properties.getMaxEditDistance()), key.length())
+                .or(() -> best(trie.withPrefix(key, PREFIX_CANDIDATES), key.length()))
+                .filter(match -> match.confidence() >= properties.getMinConfidence());
+    }
+
+    /**
+     * 신뢰도가 가장 높은 후보를 고릅니다. 다른 식품이 같은 신뢰도로 매칭되면 모호하므로 empty를 반환합니다.
+     * (별칭은 대표 이름과 같은 NutritionFacts를 가리키므로 같은 식품으로 취급)
+     */
+    private static Optional<NutritionMatch> best(List<FoodNameTrie.Match<NutritionFacts>> candidates, int queryLength) {
+        NutritionFacts best = null;
+        double bestConfidence = -1;
+        boolean ambiguous = false;
+        for (FoodNameTrie.Match<NutritionFacts> candidate : candidates) {
+            double confidence = confidence(candidate, queryLength);
+            if (confidence > bestConfidence) {
+                best = candidate.value();
+                bestConfidence = confidence;
+                ambiguous = false;
+            } else if (confidence == bestConfidence && candidate.value() != best) {
+                ambiguous = true;
+            }
+        }
+        if (best == null || ambiguous) {
+            return Optional.empty();
+        }
+        return Optional.of(new NutritionMatch(best, bestConfidence));
+    }
+
+    /**
+     * 1 - (편집 거리 / 긴 쪽 길이). 짧은 이름일수록 한 글자 차이의 비중이 커져 신뢰도가 낮아집니다.
+     */
+    static double confidence(FoodNameTrie.Match<?> match, int queryLength) {
+        int length = Math.max(match.keyLength(), queryLength);
+        return length == 0 ? 0 : 1.0 - (double) match.distance() / length;
+    }
+
+    private int load(Resource dataset) {
+        int foods = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dataset.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    if (line.startsWith("name,")) {
+                        continue;
+                    }
+                }
+                String[] columns = line.split(",", -1);
+                if (columns.length != COLUMNS) {
+                    throw new IllegalStateException("Invalid nutrition dataset line " + lineNumber + ": " + line);
+                }
+                NutritionFacts facts = NutritionFacts.of(
+                        columns[0].strip(),
+                        columns[2].strip(),
+                        Double.parseDouble(columns[3].strip()),
+                        Double.parseDouble(columns[4].strip()),
+                        Double.parseDouble(columns[5].strip()),
+                        Double.parseDouble(columns[6].strip())
+                );
+                index(facts.name(), facts);
+                for (String alias : columns[1].split("\\|")) {
+                    if (!alias.isBlank()) {
+                        index(alias, facts);
+                    }
+                }
+                foods++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load nutrition dataset: " + dataset, e);
+        }
+        return foods;
+    }
+
+    private void index(String name, NutritionFacts facts) {
+        String key = FoodNameNormalizer.normalize(name);
+        if (!key.isEmpty() && !trie.put(key, facts) && trie.get(key) != facts) {
+            log.warn("Duplicate nutrition dataset key ignored: {} ({})", name, facts.name());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.han.bloomi.infra.storage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 참조 카운트 엔티티
+ * 값 변경은 동시성 때문에 {@link ImageReferenceJpaRepository}의 원자적 쿼리로만 수행합니다.
+ */
+@Entity
+@Table(name = "image_references")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ImageReferenceEntity {
+    @Id
+    @Column(name = "image_url", length = 1024)
+    private String imageUrl;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,74 @@
+package com.han.bloomi.infra.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이미지 참조 카운트 JPA Repository
+ * ref_count = -1은 GC가 객체를 삭제 중인 행입니다. (참조를 새로 붙일 수 없음)
+ */
+public interface ImageReferenceJpaRepository extends JpaRepository<ImageReferenceEntity, String> {
+
+    /**
+     * 참조를 1 늘립니다. 삭제 중(-1)인 행은 건드리지 않고 0을 반환합니다.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO image_references (image_url, ref_count, created_at, updated_at)
+            VALUES (:imageUrl, 1, now(), now())
+            ON CONFLICT (image_url)
+            DO UPDATE SET ref_count = image_references.ref_count + 1, updated_at = now()
+            WHERE image_references.ref_count >= 0
+            """, nativeQuery = true)
+    int increment(@Param("imageUrl") String imageUrl);
+
+    @Modifying
+    @Query(value = """
+            UPDATE image_references
+            SET ref_count = ref_count - 1, updated_at = now()
+            WHERE image_url = :imageUrl AND ref_count > 0
+            """, nativeQuery = true)
+    int decrement(@Param("imageUrl") String imageUrl);
+
+    @Query(value = "SELECT ref_count FROM image_references WHERE image_url = :imageUrl", nativeQuery = true)
+    Optional<Integer> findRefCount(@Param("imageUrl") String imageUrl);
+
+    /**
+     * 보관 시간이 지난 GC 후보를 찾습니다. 기준 시각은 updated_at과 같은 DB 시계로 계산합니다.
+     * 객체 삭제 도중 중단된 삭제 중(-1) 행도 다시 후보가 됩니다.
+     */
+    @Query(value = """
+            SELECT image_url FROM image_references
+            WHERE ref_count <= 0 AND updated_at < now() - make_interval(secs => :retentionSeconds)
+            ORDER BY updated_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findUnreferenced(@Param("retentionSeconds") long retentionSeconds, @Param("limit") int limit);
+
+    /**
+     * 참조가 없고 보관 시간이 지난 행을 삭제 중(-1)으로 표시합니다.
+     * updated_at은 그대로 두어, 객체 삭제가 중단되어도 다음 GC가 바로 다시 처리합니다.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE image_references
+            SET ref_count = -1
+            WHERE image_url = :imageUrl AND ref_count <= 0
+              AND updated_at < now() - make_interval(secs => :retentionSeconds)
+            """, nativeQuery = true)
+    int markDeleting(@Param("imageUrl") String imageUrl, @Param("retentionSeconds") long retentionSeconds);
+
+    @Modifying
+    @Query(value = "UPDATE image_references SET ref_count = 0 WHERE image_url = :imageUrl AND ref_count = -1",
+            nativeQuery = true)
+    int unmarkDeleting(@Param("imageUrl") String imageUrl);
+
+    @Modifying
+    @Query(value = "DELETE FROM image_references WHERE image_url = :imageUrl AND ref_count = -1", nativeQuery = true)
+    int deleteMarked(@Param("imageUrl") String imageUrl);
+}
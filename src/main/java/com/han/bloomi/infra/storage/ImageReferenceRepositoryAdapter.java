@@ -0,0 +1,60 @@
+package com.han.bloomi.infra.storage;
+
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 이미지 참조 카운트 저장소 어댑터
+ * 증가/감소는 행 단위 원자적 UPDATE로 처리하므로 동시 요청에도 카운트가 어긋나지 않습니다.
+ * GC용 표시/해제/삭제도 각각 짧은 단일 문장 트랜잭션이며, 저장소 객체 삭제 동안 잠금을 잡고 있지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImageReferenceRepositoryAdapter implements ImageReferenceRepository {
+    private final ImageReferenceJpaRepository jpaRepository;
+
+    @Override
+    @Transactional
+    public int acquire(String imageUrl) {
+        if (jpaRepository.increment(imageUrl) == 0) {
+            return 0;
+        }
+        return jpaRepository.findRefCount(imageUrl).orElse(0);
+    }
+
+    @Override
+    @Transactional
+    public int release(String imageUrl) {
+        jpaRepository.decrement(imageUrl);
+        return Math.max(0, jpaRepository.findRefCount(imageUrl).orElse(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findUnreferenced(Duration retention, int limit) {
+        return jpaRepository.findUnreferenced(retention.toSeconds(), limit);
+    }
+
+    @Override
+    @Transactional
+    public boolean markDeleting(String imageUrl, Duration retention) {
+        return jpaRepository.markDeleting(imageUrl, retention.toSeconds()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void unmarkDeleting(String imageUrl) {
+        jpaRepository.unmarkDeleting(imageUrl);
+    }
+
+    @Override
+    @Transactional
+    public void removeDeleting(String imageUrl) {
+        jpaRepository.deleteMarked(imageUrl);
+    }
+}
@@ -7,9 +7,14 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
 
 /**
  * S3 클라이언트 설정
+ * endpoint를 지정하면 S3 호환 저장소(MinIO, LocalStack 등)를 path-style 주소로 사용합니다.
  */
 @Configuration
 @RequiredArgsConstructor
@@ -18,14 +23,46 @@ public class S3Config {
 
     @Bean
     public S3Client s3Client() {
+        var builder = S3Client.builder()
+                .region(Region.of(s3Properties.getRegion()))
+                .credentialsProvider(credentialsProvider());
+        if (hasEndpoint()) {
+            builder.endpointOverride(URI.create(s3Properties.getEndpoint()))
+                    .serviceConfiguration(pathStyle());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 만료되는 다운로드 URL 서명용 (네트워크 호출 없음)
+     */
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(s3Properties.getRegion()))
+                .credentialsProvider(credentialsProvider());
+        if (hasEndpoint()) {
+            builder.endpointOverride(URI.create(s3Properties.getEndpoint()))
+                    .serviceConfiguration(pathStyle());
+        }
+        return builder.build();
+    }
+
+    private StaticCredentialsProvider credentialsProvider() {
         AwsBasicCredentials credentials = AwsBasicCredentials.create(
                 s3Properties.getAccessKey(),
                 s3Properties.getSecretKey()
         );
+        return StaticCredentialsProvider.create(credentials);
+    }
 
-        return S3Client.builder()
-                .region(Region.of(s3Properties.getRegion()))
-                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+    private boolean hasEndpoint() {
+        return s3Properties.getEndpoint() != null && !s3Properties.getEndpoint().isBlank();
+    }
+
+    private static S3Configuration pathStyle() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(true)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.han.bloomi.infra.storage;
 
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
 import com.han.bloomi.domain.port.ImageStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,16 +9,26 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.time.Duration;
 
 /**
  * S3 기반 이미지 저장소 어댑터
+ *
+ * 업로드/존재 확인은 apiCallTimeout과 현재 요청의 남은 시간 중 작은 값을 SDK 호출 타임아웃으로 사용합니다.
+ * presigned URL 서명은 로컬 계산이라 타임아웃이 없습니다.
  */
 @Slf4j
 @Component
@@ -24,6 +36,8 @@ import java.io.IOException;
 public class S3ImageStorageAdapter implements ImageStorage {
     private final S3Properties s3Properties;
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final DeadlineHolder deadlineHolder;
 
     @Override
     public String upload(MultipartFile image, String path) {
@@ -34,11 +48,12 @@ public class S3ImageStorageAdapter implements ImageStorage {
                     .bucket(s3Properties.getBucket())
                     .key(path)
                     .contentType(image.getContentType())
+                    .overrideConfiguration(callTimeout("upload"))
                     .build();
 
             s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(image.getInputStream(), image.getSize()));
 
-            String imageUrl = s3Properties.getBaseUrl() + "/" + path;
+            String imageUrl = urlOf(path);
             log.info("Image uploaded successfully: {}", imageUrl);
 
             return imageUrl;
@@ -48,6 +63,49 @@ public class S3ImageStorageAdapter implements ImageStorage {
         }
     }
 
+    @Override
+    public boolean exists(String path) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Properties.getBucket())
+                    .key(path)
+                    .overrideConfiguration(callTimeout("existence check"))
+                    .build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private AwsRequestOverrideConfiguration callTimeout(String stage) {
+        Deadline deadline = deadlineHolder.current();
+        deadline.check(stage);
+        return AwsRequestOverrideConfiguration.builder()
+                .apiCallTimeout(deadline.cap(s3Properties.getApiCallTimeout()))
+                .build();
+    }
+
+    @Override
+    public String urlOf(String path) {
+        return s3Properties.getBaseUrl() + "/" + path;
+    }
+
+    @Override
+    public String presignedUrl(String path, Duration ttl) {
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(request -> request
+                        .bucket(s3Properties.getBucket())
+                        .key(path))
+                .build();
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
     @Override
     public void delete(String imageUrl) {
         try {
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * S3 설정 프로퍼티
  */
@@ -18,4 +20,6 @@ public class S3Properties {
     private String accessKey;
     private String secretKey;
     private String baseUrl;  // CloudFront URL 또는 S3 public URL
+    private String endpoint;  // S3 호환 저장소 주소 (미지정 시 AWS S3)
+    private Duration apiCallTimeout = Duration.ofSeconds(10);  // 요청 마감 시각이 더 이르면 그 값을 사용
 }
\ No newline at end of file
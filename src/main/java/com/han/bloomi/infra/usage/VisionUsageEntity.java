@@ -0,0 +1,65 @@
+package com.han.bloomi.infra.usage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 일간 Vision 사용량 엔티티
+ * 값 변경은 동시성 때문에 {@link VisionUsageJpaRepository}의 원자적 UPSERT로만 수행합니다.
+ */
+@Entity
+@Table(name = "vision_usage")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VisionUsageEntity {
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private Long requests;
+
+    @Column(name = "prompt_tokens", nullable = false)
+    private Long promptTokens;
+
+    @Column(name = "completion_tokens", nullable = false)
+    private Long completionTokens;
+
+    @Column(name = "image_tokens", nullable = false)
+    private Long imageTokens;
+
+    @Column(name = "estimated_cost", nullable = false, precision = 14, scale = 6)
+    private BigDecimal estimatedCost;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private String userId;
+
+        @Column(name = "usage_date", nullable = false)
+        private LocalDate usageDate;
+
+        @Column(nullable = false, length = 32)
+        private String provider;
+
+        @Column(nullable = false, length = 128)
+        private String model;
+    }
+}
@@ -0,0 +1,39 @@
+package com.han.bloomi.infra.usage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일간 Vision 사용량 JPA Repository
+ */
+public interface VisionUsageJpaRepository extends JpaRepository<VisionUsageEntity, VisionUsageEntity.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO vision_usage (user_id, usage_date, provider, model, requests, prompt_tokens,
+                                      completion_tokens, image_tokens, estimated_cost, updated_at)
+            VALUES (:userId, :usageDate, :provider, :model, :requests, :promptTokens,
+                    :completionTokens, :imageTokens, :estimatedCost, now())
+            ON CONFLICT (user_id, usage_date, provider, model)
+            DO UPDATE SET requests = vision_usage.requests + EXCLUDED.requests,
+                          prompt_tokens = vision_usage.prompt_tokens + EXCLUDED.prompt_tokens,
+                          completion_tokens = vision_usage.completion_tokens + EXCLUDED.completion_tokens,
+                          image_tokens = vision_usage.image_tokens + EXCLUDED.image_tokens,
+                          estimated_cost = vision_usage.estimated_cost + EXCLUDED.estimated_cost,
+                          updated_at = now()
+            """, nativeQuery = true)
+    int add(@Param("userId") String userId,
+            @Param("usageDate") LocalDate usageDate,
+            @Param("provider") String provider,
+            @Param("model") String model,
+            @Param("requests") long requests,
+            @Param("promptTokens") long promptTokens,
+            @Param("completionTokens") long completionTokens,
+            @Param("imageTokens") long imageTokens,
+            @Param("estimatedCost") BigDecimal estimatedCost);
+}
@@ -0,0 +1,39 @@
+package com.han.bloomi.infra.usage;
+
+import com.han.bloomi.domain.model.VisionUsage;
+import com.han.bloomi.domain.port.VisionUsageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일간 Vision 사용량 저장소 어댑터
+ * 행 단위 원자적 UPSERT로 더하므로 여러 인스턴스가 동시에 반영해도 합계가 어긋나지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VisionUsageRepositoryAdapter implements VisionUsageRepository {
+    private static final int COST_SCALE = 6;
+
+    private final VisionUsageJpaRepository jpaRepository;
+
+    @Override
+    @Transactional
+    public void add(LocalDate date, VisionUsage usage) {
+        jpaRepository.add(
+                usage.userId(),
+                date,
+                usage.provider(),
+                usage.model(),
+                usage.requests(),
+                usage.promptTokens(),
+                usage.completionTokens(),
+                usage.imageTokens(),
+                BigDecimal.valueOf(usage.estimatedCost()).setScale(COST_SCALE, RoundingMode.HALF_UP)
+        );
+    }
+}
@@ -85,19 +85,6 @@ public class UserEntity {
         this.deletedAt = LocalDateTime.now();
     }
 
-    public void incrementDailyRequestCount() {
-        LocalDateTime now = LocalDateTime.now();
-        boolean isNewDay = this.lastRequestDate == null ||
-                          !this.lastRequestDate.toLocalDate().equals(now.toLocalDate());
-
-        if (isNewDay) {
-            this.dailyRequestCount = 1;
-        } else {
-            this.dailyRequestCount++;
-        }
-        this.lastRequestDate = now;
-    }
-
     public boolean hasExceededDailyLimit() {
         if (this.membership == Membership.FREE) {
             LocalDateTime now = LocalDateTime.now();
@@ -3,9 +3,11 @@ package com.han.bloomi.infra.user;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -21,4 +23,30 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, String> {
     @Transactional
     @Query("UPDATE UserEntity u SET u.dailyRequestCount = 0 WHERE u.dailyRequestCount > 0")
     void resetAllDailyRequestCounts();
+
+    /**
+     * 오늘 사용량 + count가 한도 이하인 경우에만 증가시킵니다. (0행이면 한도 초과 또는 사용자 없음)
+     * 오버플로를 피하려고 "사용량 + count <= 한도"를 "사용량 <= 한도 - count"로 비교합니다.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE users
+            SET daily_request_count = CASE WHEN last_request_date >= :today THEN daily_request_count ELSE 0 END + :count,
+                last_request_date = :now,
+                updated_at = :now
+            WHERE id = :userId
+              AND CASE WHEN last_request_date >= :today THEN daily_request_count ELSE 0 END <= :dailyLimit - :count
+            """, nativeQuery = true)
+    int incrementDailyRequestCount(@Param("userId") String userId, @Param("count") int count,
+                                   @Param("dailyLimit") int dailyLimit, @Param("today") LocalDateTime today,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            UPDATE users
+            SET daily_request_count = GREATEST(daily_request_count - :count, 0), updated_at = :now
+            WHERE id = :userId AND last_request_date >= :today
+            """, nativeQuery = true)
+    int decrementDailyRequestCount(@Param("userId") String userId, @Param("count") int count,
+                                   @Param("today") LocalDateTime today, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -4,7 +4,9 @@ import com.han.bloomi.domain.model.user.User;
 import com.han.bloomi.domain.port.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -68,13 +70,18 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
-    public User incrementDailyRequestCount(String userId) {
-        UserEntity entity = jpaRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+    @Transactional
+    public boolean incrementDailyRequestCount(String userId, int count, int dailyLimit) {
+        LocalDateTime now = LocalDateTime.now();
+        return jpaRepository.incrementDailyRequestCount(userId, count, dailyLimit,
+                now.toLocalDate().atStartOfDay(), now) > 0;
+    }
 
-        entity.incrementDailyRequestCount();
-        UserEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+    @Override
+    @Transactional
+    public void decrementDailyRequestCount(String userId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        jpaRepository.decrementDailyRequestCount(userId, count, now.toLocalDate().atStartOfDay(), now);
     }
 
     @Override
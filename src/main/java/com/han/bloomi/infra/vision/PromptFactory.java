@@ -5,10 +5,14 @@ import org.springframework.stereotype.Component;
 
 /**
  * Vision API에 전달할 프롬프트를 생성하는 팩토리
+ *
+ * 고정 지시문은 상수 하나를 그대로 system 메시지로 보내 프로바이더 프롬프트 캐시의 접두어가 되게 하고,
+ * 사용자 입력은 뒤따르는 작은 user 메시지에만 넣습니다.
+ * user 메시지의 고정 문구는 음식명/중량 입력 여부 조합(4가지)별로 미리 만들어 두고 입력값만 이어 붙입니다.
  */
 @Component
 public class PromptFactory {
-    private static final String BASE_PROMPT = """
+    static final String SYSTEM_PROMPT = """
             당신은 영양 성분 분석 전문가입니다.
 
             목표:
@@ -21,7 +25,7 @@ public class PromptFactory {
             - 브랜드 음식인 경우 해당 브랜드에서 제공하는 정확한 칼로리를 가지고 중량과 함께 계산합니다.
             - 식품 데이터 베이스를 참고해서 정확도를 높입니다.
             - 음식이 아닌경우 json 을 만들지 않고 "no meal" 을 제공합니다.
-            
+
             응답 형식 (JSON만 출력):
             {
               "name": string,
@@ -50,39 +54,65 @@ public class PromptFactory {
             음식명(name) 규칙:
             - 사용자가 음식명을 제공한 경우: 사용자가 제공한 음식명을 그대로 사용
             - 사용자가 음식명을 제공하지 않은 경우: AI가 분석한 주요 음식들을 쉼표로 연결 (예: "닭가슴살, 현미밥, 샐러드")
-            - 최대 3.
-            개 항목까지만 포함
-            """;
+            - 최대 3개 항목까지만 포함
 
-    public String createPrompt(MealAnalysisRequest request) {
-        StringBuilder prompt = new StringBuilder(BASE_PROMPT);
+            사용자 메시지의 추가 정보를 함께 고려하세요.
+            음식 사진이 아닌 경우 빈 값을 응답하세요.
+            """;
 
-        prompt.append("\n\n추가 정보:\n");
+    private static final String HEADER = "추가 정보:\n";
+    private static final String NAME_LINE = "- 사용자 입력 음식명: ";
+    private static final String WEIGHT_LINE = "- 중량/용량: ";
+    private static final String NOTES_LINE = "- 기타: ";
 
-        if (request.hasName()) {
-            prompt.append("- 사용자 입력 음식명: ").append(request.name()).append("\n");
-            prompt.append("  → name 필드에는 이 값을 그대로 사용하세요.\n");
-        } else {
-            prompt.append("- 사용자가 음식명을 입력하지 않았습니다.\n");
-            prompt.append("  → name 필드에 AI가 분석한 주요 음식명을 작성하세요 (최대 3개, 쉼표로 구분).\n");
-        }
+    /**
+     * [hasName ? 2 : 0 | hasWeight ? 1 : 0] 조합별 고정 문구
+     */
+    private static final Variant[] VARIANTS = {
+            Variant.of(false, false),
+            Variant.of(false, true),
+            Variant.of(true, false),
+            Variant.of(true, true)
+    };
 
-        if (request.hasWeight()) {
-            prompt.append("- 중량/용량: ").append(request.weight()).append("g\n");
-        }
+    /**
+     * 사진만 올린 요청은 입력값이 없으므로 만들어 둔 프롬프트를 그대로 사용
+     */
+    private static final VisionPrompt IMAGE_ONLY = new VisionPrompt(SYSTEM_PROMPT,
+            HEADER + VARIANTS[0].nameRule() + VARIANTS[0].servingRule());
 
-        if (request.notes() != null && !request.notes().isBlank()) {
-            prompt.append("- 기타: ").append(request.notes()).append("\n");
+    public VisionPrompt createPrompt(MealAnalysisRequest request) {
+        boolean hasNotes = request.notes() != null && !request.notes().isBlank();
+        if (!request.hasName() && !request.hasWeight() && !hasNotes) {
+            return IMAGE_ONLY;
         }
 
-        if (request.hasWeight()) {
-            prompt.append("\n제공된 중량 정보를 우선적으로 고려하여 분석하세요.");
-        } else {
-            prompt.append("\n일반적인 1인분 기준으로 serving을 추정하세요.");
-        }
+        Variant variant = VARIANTS[(request.hasName() ? 2 : 0) | (request.hasWeight() ? 1 : 0)];
 
-        prompt.append("\n음식 사진이 아닌 경우 빈 값을 응답하세요.\n");
+        String user = HEADER
+                + (request.hasName() ? NAME_LINE + request.name() + "\n" + variant.nameRule() : variant.nameRule())
+                + (request.hasWeight() ? WEIGHT_LINE + request.weight() + "g\n" : "")
+                + (hasNotes ? NOTES_LINE + request.notes() + "\n" : "")
+                + variant.servingRule();
+        return new VisionPrompt(SYSTEM_PROMPT, user);
+    }
 
-        return prompt.toString();
+    /**
+     * 음식명/중량 입력 여부 조합별 고정 문구
+     *
+     * @param nameRule    name 필드 작성 규칙
+     * @param servingRule serving 추정 규칙
+     */
+    private record Variant(String nameRule, String servingRule) {
+        static Variant of(boolean hasName, boolean hasWeight) {
+            String nameRule = hasName
+                    ? "  → name 필드에는 이 값을 그대로 사용하세요.\n"
+                    : "- 사용자가 음식명을 입력하지 않았습니다.\n"
+                    + "  → name 필드에 AI가 분석한 주요 음식명을 작성하세요 (최대 3개, 쉼표로 구분).\n";
+            String servingRule = hasWeight
+                    ? "\n제공된 중량 정보를 우선적으로 고려하여 분석하세요.\n"
+                    : "\n일반적인 1인분 기준으로 serving을 추정하세요.\n";
+            return new Variant(nameRule, servingRule);
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,37 +2,61 @@ package com.han.bloomi.infra.vision;
 
 import com.han.bloomi.domain.model.MealAnalysis;
 import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
 import com.han.bloomi.domain.port.VisionPort;
+import com.han.bloomi.infra.vision.cache.VisionResultCache;
+import com.han.bloomi.infra.vision.routing.VisionClientRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * VisionPort의 구현체
  *
  * 도메인 포트와 인프라 어댑터를 연결하는 역할을 합니다.
- * 실제 Vision API 통신은 VisionClient 구현체에 위임합니다.
+ * 실제 Vision API 통신은 라우터가 고른 VisionClient 구현체에 위임하며,
+ * 거의 같은 사진이 다시 들어오면 결과 캐시에서 바로 응답합니다.
+ * 외부 호출의 적응형 동시성 제한은 라우터가 프로바이더 호출(헤지 포함)마다 적용합니다.
+ * URL 전달 모드에서는 캐시에 없을 때만 이미지를 저장소에 올리고 presigned URL을 붙여 보냅니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class VisionAdapter implements VisionPort {
-    private final VisionClient visionClient;
+    private final VisionClientRouter visionClientRouter;
     private final PromptFactory promptFactory;
+    private final VisionResultCache resultCache;
+    private final VisionImageUrlProvider imageUrlProvider;
 
     @Override
     public MealAnalysis analyze(MealAnalysisRequest request) {
-        log.info("Analyzing meal with provider: {}", visionClient.getProvider());
+        return analyze(request, null);
+    }
+
+    @Override
+    public MealAnalysis analyze(MealAnalysisRequest request, MealAnalysisStreamListener listener) {
+        // 캐시 조회 (지각 해시 + 힌트)
+        Optional<VisionResultCache.Key> cacheKey = resultCache.keyOf(request);
+        Optional<MealAnalysis> cached = cacheKey.flatMap(resultCache::get);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
         // 프롬프트 생성
-        String prompt = promptFactory.createPrompt(request);
+        VisionPrompt prompt = promptFactory.createPrompt(request);
+
+        // 이미지 URL 전달 모드면 presigned URL 첨부
+        MealAnalysisRequest visionRequest = imageUrlProvider.attach(request);
 
-        // Vision API 호출
-        MealAnalysis analysis = visionClient.analyze(request, prompt);
+        // Vision API 호출 (프로바이더 라우팅, 호출마다 동시성 제한)
+        MealAnalysis analysis = visionClientRouter.analyze(visionRequest, prompt, listener);
 
         log.info("Meal analysis completed. Calories: {}, Confidence: {}",
                 analysis.calories(), analysis.confidence());
 
+        cacheKey.ifPresent(key -> resultCache.put(key, analysis));
         return analysis;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.han.bloomi.infra.vision;
 
 import com.han.bloomi.domain.model.MealAnalysis;
 import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
 
 /**
  * Vision API 클라이언트 어댑터의 공통 인터페이스
@@ -24,7 +25,21 @@ public interface VisionClient {
      * @param prompt Vision API에 전달할 프롬프트
      * @return 분석 결과
      */
-    MealAnalysis analyze(MealAnalysisRequest request, String prompt);
+    MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt);
+
+    /**
+     * Vision API를 스트리밍 모드로 호출하여 식사를 분석합니다.
+     * 완성된 필드는 응답 완료 전에 리스너로 전달됩니다.
+     * 스트리밍을 지원하지 않는 프로바이더는 기본 구현(일반 호출)을 사용합니다.
+     *
+     * @param request  분석 요청 정보
+     * @param prompt   Vision API에 전달할 프롬프트
+     * @param listener 완성된 필드를 전달받을 리스너
+     * @return 분석 결과
+     */
+    default MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt, MealAnalysisStreamListener listener) {
+        return analyze(request, prompt);
+    }
 
     /**
      * API 연결 상태를 확인합니다.
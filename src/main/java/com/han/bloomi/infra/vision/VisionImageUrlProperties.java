@@ -0,0 +1,33 @@
+package com.han.bloomi.infra.vision;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 프로바이더에 이미지를 URL로 전달하는 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.image-url")
+public class VisionImageUrlProperties {
+    /**
+     * 사용 여부 (false면 이미지를 base64로 요청 본문에 넣음)
+     */
+    private boolean enabled = false;
+
+    /**
+     * presigned URL 유효 시간 (프로바이더가 이미지를 내려받을 만큼만)
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Vision용 이미지 저장 경로 접두사
+     * 기록에서 참조하지 않는 임시 객체이므로 저장소 수명 주기 규칙으로 만료시키는 것을 전제로 합니다.
+     */
+    private String prefix = "vision";
+}
@@ -0,0 +1,91 @@
+package com.han.bloomi.infra.vision;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.ImageStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Vision 요청에 이미지 대신 보낼 presigned URL을 붙이는 컴포넌트
+ *
+ * Vision용 이미지를 내용 해시 경로({prefix}/sha256/{앞 2자리}/{hash}.jpg)에 저장하고
+ * (같은 내용이 이미 있으면 업로드 생략) 짧게 만료되는 GET URL을 서명합니다.
+ * 요청 본문이 base64 이미지(수백 KB ~ 1MB 이상)에서 URL 한 줄로 줄어듭니다.
+ *
+ * 저장소 오류가 나면 URL 없이 원래 요청(base64 전송)으로 진행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VisionImageUrlProvider {
+    private static final String METRIC_NAME = "bloomi.vision.image_url";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final VisionImageUrlProperties properties;
+    private final ImageStorage imageStorage;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param request 분석 요청
+     * @return presigned URL이 붙은 요청 (비활성화/실패 시 원래 요청)
+     */
+    public MealAnalysisRequest attach(MealAnalysisRequest request) {
+        if (!properties.isEnabled() || request.hasImageUrl()) {
+            return request;
+        }
+        try {
+            String path = pathOf(request.image());
+            String result = "existing";
+            if (!imageStorage.exists(path)) {
+                imageStorage.upload(request.image(), path);
+                result = "uploaded";
+            }
+            String url = imageStorage.presignedUrl(path, properties.getTtl());
+            count(result);
+            log.debug("Vision image URL attached - path: {}, {}", path, result);
+            return request.withImageUrl(url);
+        } catch (RuntimeException e) {
+            log.warn("Failed to attach vision image URL, sending inline image: {}", e.getMessage());
+            count("failed");
+            return request;
+        }
+    }
+
+    private String pathOf(MultipartFile image) {
+        String sha256 = sha256Hex(image);
+        return String.format("%s/sha256/%s/%s.jpg", properties.getPrefix(), sha256.substring(0, 2), sha256);
+    }
+
+    private static String sha256Hex(MultipartFile image) {
+        try (InputStream input = image.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,13 @@
+package com.han.bloomi.infra.vision;
+
+/**
+ * Vision API에 전달할 프롬프트
+ *
+ * 프로바이더의 프롬프트 접두어 캐시가 적중하도록, 요청마다 바뀌지 않는 지시문(system)과
+ * 요청별 사용자 힌트(user)를 나누어 전달합니다. system은 바이트 단위로 항상 같아야 합니다.
+ *
+ * @param system 고정 지시문 (응답 형식, 규칙)
+ * @param user   요청별 힌트 (사용자 입력 음식명, 중량, 메모)
+ */
+public record VisionPrompt(String system, String user) {
+}
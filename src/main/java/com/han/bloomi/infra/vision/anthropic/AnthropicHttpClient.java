@@ -0,0 +1,103 @@
+package com.han.bloomi.infra.vision.anthropic;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.infra.vision.anthropic.dto.AnthropicRequest;
+import com.han.bloomi.infra.vision.anthropic.dto.AnthropicResponse;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Anthropic Messages API HTTP 클라이언트
+ * RestClient는 공유 HTTP 클라이언트({@link VisionHttpClientFactory})로 한 번만 만들어 연결을 재사용합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bloomi.vision.anthropic.enabled", havingValue = "true")
+public class AnthropicHttpClient {
+    private static final String API_KEY_HEADER = "x-api-key";
+    private static final String VERSION_HEADER = "anthropic-version";
+
+    private final VisionHttpClientFactory httpClientFactory;
+    private final Duration readTimeout;
+    private final RestClient restClient;
+
+    public AnthropicHttpClient(AnthropicProperties properties, VisionHttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+        this.readTimeout = Duration.ofMillis(properties.getTimeoutMs());
+        this.restClient = httpClientFactory.create("anthropic", properties.getBaseUrl(), readTimeout, headers -> {
+            headers.set(API_KEY_HEADER, properties.getApiKey());
+            headers.set(VERSION_HEADER, properties.getApiVersion());
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    /**
+     * Anthropic Messages API 호출
+     */
+    public AnthropicResponse callMessages(AnthropicRequest request) {
+        // 요청 마감이 더 이르면 줄어든, 실제로 적용되는 응답 타임아웃
+        Duration timeout = httpClientFactory.readTimeout(readTimeout);
+        try {
+            log.info("Calling Anthropic API: model={}, messages={}",
+                    request.model(), request.messages().size());
+
+            AnthropicResponse response = restClient.post()
+                    .uri("/messages")
+                    .body(request)
+                    .retrieve()
+                    .body(AnthropicResponse.class);
+
+            if (response == null) {
+                throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE, "Empty response from Anthropic");
+            }
+
+            log.info("Anthropic API call successful: id={}, outputTokens={}",
+                    response.id(),
+                    response.usage() != null ? response.usage().outputTokens() : 0);
+
+            return response;
+
+        } catch (BusinessException e) {
+            // VisionException, 요청 마감 초과(DEADLINE_EXCEEDED)는 그대로 전달
+            throw e;
+
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            log.error("Anthropic API rate limited: body={}", e.getResponseBodyAsString());
+            throw VisionException.upstream(ErrorCode.VISION_API_ERROR,
+                    "Anthropic API error: " + e.getStatusCode());
+
+        } catch (HttpClientErrorException e) {
+            log.error("Anthropic API client error: status={}, body={}",
+                    e.getStatusCode(), e.getResponseBodyAsString());
+            throw new VisionException(ErrorCode.VISION_API_ERROR,
+                    "Anthropic API error: " + e.getStatusCode());
+
+        } catch (HttpServerErrorException e) {
+            log.error("Anthropic API server error: status={}, body={}",
+                    e.getStatusCode(), e.getResponseBodyAsString());
+            throw VisionException.upstream(ErrorCode.VISION_API_ERROR,
+                    "Anthropic server error: " + e.getStatusCode());
+
+        } catch (ResourceAccessException e) {
+            log.error("Anthropic API timeout or connection error", e);
+            throw new VisionException(ErrorCode.VISION_TIMEOUT,
+                    "Anthropic API timeout after " + timeout.toMillis() + "ms");
+
+        } catch (Exception e) {
+            log.error("Unexpected error calling Anthropic API", e);
+            throw new VisionException(ErrorCode.VISION_API_ERROR,
+                    "Unexpected error: " + e.getMessage());
+        }
+    }
+}
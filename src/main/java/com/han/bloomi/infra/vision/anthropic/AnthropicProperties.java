@@ -0,0 +1,52 @@
+package com.han.bloomi.infra.vision.anthropic;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.anthropic")
+public class AnthropicProperties {
+    /**
+     * Anthropic 프로바이더 사용 여부
+     */
+    private boolean enabled = false;
+
+    /**
+     * Anthropic API 키
+     */
+    private String apiKey;
+
+    /**
+     * Anthropic API Base URL (기본값: https://api.anthropic.com/v1)
+     */
+    private String baseUrl = "https://api.anthropic.com/v1";
+
+    /**
+     * 사용할 모델
+     */
+    private String model = "claude-3-5-sonnet-20241022";
+
+    /**
+     * API 버전 헤더 (anthropic-version)
+     */
+    private String apiVersion = "2023-06-01";
+
+    /**
+     * 최대 토큰 수
+     */
+    private Integer maxTokens = 2000;
+
+    /**
+     * Temperature (0~1, 기본값: 0.7)
+     */
+    private Double temperature = 0.7;
+
+    /**
+     * HTTP 타임아웃 (밀리초)
+     */
+    private Integer timeoutMs = 30000;
+}
@@ -0,0 +1,128 @@
+package com.han.bloomi.infra.vision.anthropic;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.infra.vision.VisionClient;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.VisionProvider;
+import com.han.bloomi.infra.vision.anthropic.dto.AnthropicRequest;
+import com.han.bloomi.infra.vision.anthropic.dto.AnthropicResponse;
+import com.han.bloomi.infra.vision.openai.ImageEncoder;
+import com.han.bloomi.infra.vision.openai.OpenAiResponseMapper;
+import com.han.bloomi.infra.vision.openai.dto.VisionAnalysisResult;
+import com.han.bloomi.infra.vision.usage.VisionUsageRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Anthropic(Claude) Vision API 클라이언트 구현체
+ *
+ * 프롬프트와 응답 JSON 스키마는 OpenAI와 동일하게 사용하며,
+ * 모델이 JSON을 코드 블록(```json)으로 감싸 반환하는 경우도 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bloomi.vision.anthropic.enabled", havingValue = "true")
+public class AnthropicVisionClient implements VisionClient {
+    private final AnthropicProperties properties;
+    private final ImageEncoder imageEncoder;
+    private final AnthropicHttpClient httpClient;
+    private final OpenAiResponseMapper responseMapper;
+    private final ObjectMapper objectMapper;
+    private final VisionUsageRecorder usageRecorder;
+
+    @Override
+    public VisionProvider getProvider() {
+        return VisionProvider.ANTHROPIC;
+    }
+
+    @Override
+    public MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt) {
+        log.info("Anthropic Vision API call - Image: {}, Name: {}, Weight: {}",
+                request.image().getOriginalFilename(),
+                request.name(),
+                request.weight());
+
+        // 이미지 URL이 있으면 Anthropic이 직접 내려받고, 없으면 base64로 본문에 넣습니다.
+        AnthropicRequest.Content image = request.hasImageUrl()
+                ? AnthropicRequest.Content.imageUrl(request.imageUrl())
+                : AnthropicRequest.Content.image(imageEncoder.encodeToBase64(request.image()));
+        AnthropicResponse response = httpClient.callMessages(buildRequest(prompt, image));
+        if (response.usage() != null) {
+            usageRecorder.record(VisionProvider.ANTHROPIC, properties.getModel(), request, null,
+                    response.usage().totalInputTokens(), response.usage().cachedTokens(),
+                    response.usage().outputTokens());
+        }
+        return toAnalysis(response.getText());
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return properties.getApiKey() != null && !properties.getApiKey().isBlank();
+    }
+
+    private MealAnalysis toAnalysis(String content) {
+        String json = stripCodeFence(content);
+        if (json == null || json.isBlank() || "{}".equals(json)) {
+            log.warn("Empty content from Anthropic API");
+            throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE, "Empty content from Anthropic API");
+        }
+
+        VisionAnalysisResult analysisResult;
+        try {
+            analysisResult = objectMapper.readValue(json, VisionAnalysisResult.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse Anthropic response content", e);
+            throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE,
+                    "Failed to parse JSON response from Anthropic");
+        }
+
+        MealAnalysis result = responseMapper.toDomain(analysisResult);
+        if (result.advice().equals("no meal") || result.advice().isBlank()) {
+            log.warn("No meal");
+            throw new VisionException(ErrorCode.VISION_NO_MEAL, "No meal");
+        }
+
+        log.info("Anthropic analysis completed - Calories: {}, Confidence: {}",
+                result.calories(), result.confidence());
+        return result;
+    }
+
+    private String stripCodeFence(String content) {
+        if (content == null) {
+            return null;
+        }
+        String trimmed = content.strip();
+        if (!trimmed.startsWith("```")) {
+            return trimmed;
+        }
+        int start = trimmed.indexOf('\n');
+        int end = trimmed.lastIndexOf("```");
+        return start < 0 || end <= start ? trimmed : trimmed.substring(start + 1, end).strip();
+    }
+
+    private AnthropicRequest buildRequest(VisionPrompt prompt, AnthropicRequest.Content image) {
+        List<AnthropicRequest.Content> contents = List.of(
+                image,
+                AnthropicRequest.Content.text(prompt.user())
+        );
+
+        // 고정 지시문을 system 블록에 두고 캐시 지점으로 지정합니다. (Anthropic은 cache_control이 있어야 캐시)
+        return AnthropicRequest.builder()
+                .model(properties.getModel())
+                .maxTokens(properties.getMaxTokens())
+                .temperature(properties.getTemperature())
+                .system(List.of(AnthropicRequest.Content.cachedText(prompt.system())))
+                .messages(List.of(AnthropicRequest.Message.user(contents)))
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.han.bloomi.infra.vision.anthropic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record AnthropicRequest(
+    String model,
+    @JsonProperty("max_tokens") Integer maxTokens,
+    Double temperature,
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<Content> system,
+    List<Message> messages
+) {
+    @Builder
+    public record Message(
+        String role,
+        List<Content> content
+    ) {
+        public static Message user(List<Content> content) {
+            return Message.builder()
+                    .role("user")
+                    .content(content)
+                    .build();
+        }
+    }
+
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Content(
+        String type,
+        String text,
+        Source source,
+        @JsonProperty("cache_control") CacheControl cacheControl
+    ) {
+        public static Content text(String text) {
+            return Content.builder()
+                    .type("text")
+                    .text(text)
+                    .build();
+        }
+
+        /**
+         * 이 블록까지를 프롬프트 캐시 접두어로 지정한 텍스트 (Anthropic은 명시한 지점까지만 캐시)
+         */
+        public static Content cachedText(String text) {
+            return Content.builder()
+                    .type("text")
+                    .text(text)
+                    .cacheControl(CacheControl.ephemeral())
+                    .build();
+        }
+
+        public static Content image(String base64Data) {
+            return Content.builder()
+                    .type("image")
+                    .source(Source.jpeg(base64Data))
+                    .build();
+        }
+
+        public static Content imageUrl(String url) {
+            return Content.builder()
+                    .type("image")
+                    .source(Source.url(url))
+                    .build();
+        }
+    }
+
+    public record CacheControl(String type) {
+        public static CacheControl ephemeral() {
+            return new CacheControl("ephemeral");
+        }
+    }
+
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Source(
+        String type,
+        @JsonProperty("media_type") String mediaType,
+        String data,
+        String url
+    ) {
+        public static Source jpeg(String base64Data) {
+            return Source.builder()
+                    .type("base64")
+                    .mediaType("image/jpeg")
+                    .data(base64Data)
+                    .build();
+        }
+
+        public static Source url(String url) {
+            return Source.builder()
+                    .type("url")
+                    .url(url)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.han.bloomi.infra.vision.anthropic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record AnthropicResponse(
+    String id,
+    String type,
+    String model,
+    List<ContentBlock> content,
+    @JsonProperty("stop_reason") String stopReason,
+    Usage usage
+) {
+    @Builder
+    public record ContentBlock(
+        String type,
+        String text
+    ) {}
+
+    @Builder
+    public record Usage(
+        @JsonProperty("input_tokens") Integer inputTokens,
+        @JsonProperty("output_tokens") Integer outputTokens,
+        @JsonProperty("cache_creation_input_tokens") Integer cacheCreationInputTokens,
+        @JsonProperty("cache_read_input_tokens") Integer cacheReadInputTokens
+    ) {
+        /**
+         * 캐시 쓰기/읽기를 포함한 전체 입력 토큰 수 (input_tokens에는 캐시 토큰이 빠져 있음)
+         */
+        public int totalInputTokens() {
+            return orZero(inputTokens) + orZero(cacheCreationInputTokens) + orZero(cacheReadInputTokens);
+        }
+
+        /**
+         * 프롬프트 캐시에서 읽은 입력 토큰 수
+         */
+        public int cachedTokens() {
+            return orZero(cacheReadInputTokens);
+        }
+
+        private static int orZero(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+
+    /**
+     * text 블록들을 이어 붙인 응답 본문
+     */
+    public String getText() {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        for (ContentBlock block : content) {
+            if ("text".equals(block.type()) && block.text() != null) {
+                text.append(block.text());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.han.bloomi.infra.vision.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.OptionalLong;
+
+/**
+ * 이미지의 지각 해시(dHash)를 계산하는 컴포넌트
+ *
+ * 9x8 흑백으로 축소한 뒤 가로로 인접한 픽셀의 밝기 비교 결과를 64비트로 만듭니다.
+ * 재압축, 약간의 크기 변경, 밝기 변화에도 해시가 거의 변하지 않아 같은 사진의 재전송을 찾는 데 사용합니다.
+ */
+@Slf4j
+@Component
+public class ImageHasher {
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+    private static final int SUBSAMPLE_TARGET = 64;
+
+    /**
+     * @param image 해시를 계산할 이미지
+     * @return 64비트 dHash, 이미지를 읽을 수 없으면 empty
+     */
+    public OptionalLong dHash(MultipartFile image) {
+        try (InputStream input = image.getInputStream();
+             ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            if (stream == null) {
+                return OptionalLong.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return OptionalLong.empty();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                // 해시에는 아주 작은 이미지면 충분하므로 디코딩 단계에서 서브샘플링합니다.
+                int step = Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0)) / SUBSAMPLE_TARGET);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return OptionalLong.of(dHash(reader.read(0, param)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to compute image hash: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    long dHash(BufferedImage source) {
+        BufferedImage gray = new BufferedImage(HASH_WIDTH, HASH_HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = gray.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, HASH_WIDTH, HASH_HEIGHT, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        long hash = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH - 1; x++) {
+                int left = gray.getRaster().getSample(x, y, 0);
+                int right = gray.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,178 @@
+package com.han.bloomi.infra.vision.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 64비트 지각 해시를 해밍 거리로 근사 검색하는 크기 제한 인덱스 (multi-index hashing)
+ *
+ * 해시를 (maxDistance + 1)개의 구간으로 나누어 구간별로 정확 일치 테이블을 둡니다.
+ * 비둘기집 원리에 의해 거리가 maxDistance 이하인 해시는 적어도 한 구간이 완전히 같으므로,
+ * 구간 테이블에서 찾은 후보만 비교하면 전체를 훑지 않고도 누락 없이 찾을 수 있습니다.
+ *
+ * 같은 해시라도 파티션 키(힌트)가 다르면 별개 항목으로 취급합니다.
+ * 항목 수는 LRU로 제한되고, TTL이 지난 항목은 조회 시점과 {@link #purgeExpired()}에서 제거됩니다.
+ *
+ * @param <V> 저장할 값 타입
+ */
+public class PerceptualHashIndex<V> {
+    private static final int HASH_BITS = 64;
+    private static final int MAX_SEGMENTS = 8;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final int maxDistance;
+    private final int[] segmentShifts;
+    private final long[] segmentMasks;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<EntryKey, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<SegmentKey, List<Entry<V>>> segmentTables = new HashMap<>();
+
+    public PerceptualHashIndex(int maxEntries, Duration ttl, int maxDistance) {
+        this(maxEntries, ttl, maxDistance, System::nanoTime);
+    }
+
+    PerceptualHashIndex(int maxEntries, Duration ttl, int maxDistance, LongSupplier clock) {
+        if (maxDistance < 0 || maxDistance >= MAX_SEGMENTS) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + (MAX_SEGMENTS - 1));
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.maxDistance = maxDistance;
+        this.clock = clock;
+
+        int segments = maxDistance + 1;
+        this.segmentShifts = new int[segments];
+        this.segmentMasks = new long[segments];
+        int shift = 0;
+        for (int i = 0; i < segments; i++) {
+            int bits = HASH_BITS / segments + (i < HASH_BITS % segments ? 1 : 0);
+            segmentShifts[i] = shift;
+            segmentMasks[i] = bits == HASH_BITS ? -1L : (1L << bits) - 1;
+            shift += bits;
+        }
+    }
+
+    /**
+     * 파티션 안에서 해밍 거리가 가장 가까운 유효 항목을 찾습니다.
+     */
+    public synchronized Optional<Match<V>> findNearest(String partition, long hash) {
+        long now = clock.getAsLong();
+        Entry<V> best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        List<Entry<V>> expired = new ArrayList<>();
+
+        for (int i = 0; i < segmentShifts.length; i++) {
+            List<Entry<V>> candidates = segmentTables.get(new SegmentKey(partition, i, segment(hash, i)));
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry<V> candidate : candidates) {
+                if (candidate.isExpired(now)) {
+                    expired.add(candidate);
+                    continue;
+                }
+                int distance = Long.bitCount(candidate.hash() ^ hash);
+                if (distance <= maxDistance && distance < bestDistance) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+        }
+
+        expired.forEach(this::remove);
+        if (best == null) {
+            return Optional.empty();
+        }
+        entries.get(best.key()); // LRU 순서 갱신
+        return Optional.of(new Match<>(best.value(), bestDistance));
+    }
+
+    /**
+     * 항목을 저장합니다. 같은 파티션/해시가 있으면 덮어쓰고, 최대 크기를 넘으면 가장 오래된 항목을 제거합니다.
+     */
+    public synchronized void put(String partition, long hash, V value) {
+        EntryKey key = new EntryKey(partition, hash);
+        Entry<V> previous = entries.get(key);
+        if (previous != null) {
+            remove(previous);
+        }
+
+        Entry<V> entry = new Entry<>(key, hash, value, clock.getAsLong() + ttlNanos);
+        entries.put(key, entry);
+        for (int i = 0; i < segmentShifts.length; i++) {
+            segmentTables.computeIfAbsent(new SegmentKey(partition, i, segment(hash, i)), k -> new ArrayList<>(1))
+                    .add(entry);
+        }
+
+        while (entries.size() > maxEntries) {
+            remove(entries.values().iterator().next());
+        }
+    }
+
+    /**
+     * 만료된 항목을 모두 제거합니다.
+     *
+     * @return 제거된 항목 수
+     */
+    public synchronized int purgeExpired() {
+        long now = clock.getAsLong();
+        List<Entry<V>> expired = entries.values().stream()
+                .filter(entry -> entry.isExpired(now))
+                .toList();
+        expired.forEach(this::remove);
+        return expired.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(Entry<V> entry) {
+        if (entries.remove(entry.key()) == null) {
+            return;
+        }
+        for (int i = 0; i < segmentShifts.length; i++) {
+            SegmentKey segmentKey = new SegmentKey(entry.key().partition(), i, segment(entry.hash(), i));
+            List<Entry<V>> bucket = segmentTables.get(segmentKey);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    segmentTables.remove(segmentKey);
+                }
+            }
+        }
+    }
+
+    private long segment(long hash, int index) {
+        return (hash >>> segmentShifts[index]) & segmentMasks[index];
+    }
+
+    /**
+     * 검색 결과
+     *
+     * @param value    저장된 값
+     * @param distance 조회한 해시와의 해밍 거리
+     */
+    public record Match<V>(V value, int distance) {
+    }
+
+    private record EntryKey(String partition, long hash) {
+    }
+
+    private record SegmentKey(String partition, int index, long value) {
+    }
+
+    private record Entry<V>(EntryKey key, long hash, V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.han.bloomi.infra.vision.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 분석 결과 캐시 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.cache")
+public class VisionCacheProperties {
+    /**
+     * 캐시 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 최대 보관 항목 수 (초과 시 가장 오래 사용되지 않은 항목부터 제거)
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * 항목 유효 시간
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * 같은 사진으로 판단할 최대 해밍 거리 (64비트 dHash 기준, 0~7)
+     */
+    private int maxDistance = 4;
+}
@@ -0,0 +1,89 @@
+package com.han.bloomi.infra.vision.cache;
+
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * 지각 해시 기반 Vision 분석 결과 캐시
+ *
+ * 재시도, 더블 탭, 같은 음식을 여러 명이 올리는 경우처럼 거의 같은 사진이 다시 들어오면
+ * Vision API를 호출하지 않고 이전 분석 결과를 반환합니다.
+ * 힌트(음식명/중량/메모)가 다르면 결과가 달라지므로 힌트별로 분리해서 저장합니다.
+ */
+@Slf4j
+@Component
+public class VisionResultCache {
+    private static final String METRIC_NAME = "bloomi.vision.cache";
+
+    private final VisionCacheProperties properties;
+    private final ImageHasher imageHasher;
+    private final PerceptualHashIndex<MealAnalysis> index;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VisionResultCache(VisionCacheProperties properties, ImageHasher imageHasher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.imageHasher = imageHasher;
+        this.index = new PerceptualHashIndex<>(properties.getMaxEntries(), properties.getTtl(), properties.getMaxDistance());
+        this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", index, PerceptualHashIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * 요청의 캐시 키를 계산합니다.
+     *
+     * @return 캐시 키, 캐시가 꺼져 있거나 이미지를 해시할 수 없으면 empty
+     */
+    public Optional<Key> keyOf(MealAnalysisRequest request) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        OptionalLong hash = imageHasher.dHash(request.image());
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Key(request.hintKey(), hash.getAsLong()));
+    }
+
+    public Optional<MealAnalysis> get(Key key) {
+        Optional<PerceptualHashIndex.Match<MealAnalysis>> match = index.findNearest(key.hints(), key.hash());
+        if (match.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        log.info("Vision cache hit - distance: {}", match.get().distance());
+        return Optional.of(match.get().value());
+    }
+
+    public void put(Key key, MealAnalysis analysis) {
+        index.put(key.hints(), key.hash(), analysis);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        int purged = index.purgeExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired vision cache entries", purged);
+        }
+    }
+
+    /**
+     * 캐시 키
+     *
+     * @param hints 정규화된 힌트 문자열
+     * @param hash  이미지 dHash
+     */
+    public record Key(String hints, long hash) {
+    }
+}
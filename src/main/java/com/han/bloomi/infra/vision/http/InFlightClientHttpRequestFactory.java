@@ -0,0 +1,91 @@
+package com.han.bloomi.infra.vision.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 진행 중인 요청 수를 세는 ClientHttpRequestFactory 데코레이터
+ *
+ * RestClient 인터셉터를 쓰면 요청이 InterceptingClientHttpRequest로 감싸져 본문 전체가 메모리에 버퍼링되므로,
+ * 요청 객체를 직접 감싸고 StreamingHttpOutputMessage.setBody를 그대로 위임해 스트리밍 본문을 유지합니다.
+ */
+class InFlightClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+    private final AtomicInteger inFlight;
+
+    InFlightClientHttpRequestFactory(ClientHttpRequestFactory delegate, AtomicInteger inFlight) {
+        this.delegate = delegate;
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new InFlightRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private class InFlightRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+        private final ClientHttpRequest request;
+
+        InFlightRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            inFlight.incrementAndGet();
+            try {
+                return request.execute();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+                return;
+            }
+            try {
+                body.writeTo(request.getBody());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to write request body", e);
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+    }
+}
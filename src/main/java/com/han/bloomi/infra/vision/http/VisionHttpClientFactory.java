@@ -0,0 +1,184 @@
+package com.han.bloomi.infra.vision.http;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Vision 프로바이더 HTTP 클라이언트 팩토리
+ *
+ * 모든 프로바이더가 하나의 JDK HttpClient(HTTP/2, 연결 풀/keep-alive)를 공유하고,
+ * 프로바이더별 RestClient는 빈 생성 시 한 번만 만듭니다. (호출마다 새 클라이언트를 만들면 매번 TCP + TLS 연결 비용이 듦)
+ * 애플리케이션이 준비되면 등록된 프로바이더 호스트로 요청을 하나씩 보내 연결을 미리 열어 둡니다.
+ *
+ * 메트릭 (Actuator /actuator/metrics)
+ * - http.client.requests{client.name=호스트}: 요청 지연 시간/상태 (RestClient Observation)
+ * - bloomi.vision.http.in_flight{provider}: 진행 중인 요청 수
+ * - bloomi.vision.http.warmup{provider, result}: 워밍업(연결 수립) 시간
+ *
+ * JDK HttpClient는 연결 풀 상태를 노출하지 않으므로 풀 크기 대신 진행 중 요청 수와 워밍업 시간을 기록합니다.
+ * 요청 인터셉터는 본문을 버퍼링하므로 쓰지 않습니다. (진행 중 요청 수는 요청 팩토리 데코레이터에서 셈)
+ *
+ * 응답 타임아웃은 요청마다 프로바이더 기본값과 현재 스레드의 요청 마감 시각({@link DeadlineHolder}) 중 작은 값을 씁니다.
+ */
+@Slf4j
+@Component
+public class VisionHttpClientFactory {
+    private static final String METRIC_NAME = "bloomi.vision.http";
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String KEEP_ALIVE_H2_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+
+    private final VisionHttpProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final DeadlineHolder deadlineHolder;
+    private final HttpClient httpClient;
+    private final Executor bodyExecutor = new SimpleAsyncTaskExecutor("vision-http-body-");
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+
+    public VisionHttpClientFactory(VisionHttpProperties properties, ObservationRegistry observationRegistry,
+                                   MeterRegistry meterRegistry, DeadlineHolder deadlineHolder) {
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.deadlineHolder = deadlineHolder;
+        this.httpClient = createHttpClient(properties);
+    }
+
+    /**
+     * 프로바이더 RestClient 생성 (공유 HttpClient 사용)
+     *
+     * @param provider       프로바이더 이름 (메트릭 태그)
+     * @param baseUrl        API Base URL (워밍업 대상)
+     * @param readTimeout    응답 타임아웃 (요청 마감 시각이 더 이르면 남은 시간으로 줄어듦)
+     * @param defaultHeaders 인증 등 기본 헤더
+     */
+    public RestClient create(String provider, String baseUrl, Duration readTimeout,
+                             Consumer<HttpHeaders> defaultHeaders) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder(METRIC_NAME + ".in_flight", inFlight, AtomicInteger::get)
+                .tag("provider", provider)
+                .register(meterRegistry);
+        endpoints.add(new Endpoint(provider, URI.create(baseUrl)));
+
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(new InFlightClientHttpRequestFactory(deadlineBoundFactory(readTimeout), inFlight))
+                .observationRegistry(observationRegistry)
+                .defaultHeaders(defaultHeaders)
+                .build();
+    }
+
+    /**
+     * 현재 스레드의 요청에 적용되는 응답 타임아웃 (프로바이더 기본값과 요청 마감까지 남은 시간 중 작은 값)
+     * 타임아웃 오류 메시지에 실제로 기다린 시간을 남길 때 씁니다.
+     *
+     * @param readTimeout 프로바이더 기본 응답 타임아웃
+     */
+    public Duration readTimeout(Duration readTimeout) {
+        return deadlineHolder.current().cap(readTimeout);
+    }
+
+    /**
+     * 요청을 만들 때마다 남은 시간으로 응답 타임아웃을 정하는 요청 팩토리
+     * (JdkClientHttpRequestFactory는 타임아웃을 필드로 들고 있으므로 요청마다 새로 만듭니다. 가벼운 객체)
+     *
+     * @throws com.han.bloomi.common.exception.BusinessException DEADLINE_EXCEEDED - 이미 마감이 지난 경우
+     */
+    private ClientHttpRequestFactory deadlineBoundFactory(Duration readTimeout) {
+        return (uri, httpMethod) -> {
+            Deadline deadline = deadlineHolder.current();
+            deadline.check("vision provider call");
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, bodyExecutor);
+            requestFactory.setReadTimeout(deadline.cap(readTimeout));
+            return requestFactory.createRequest(uri, httpMethod);
+        };
+    }
+
+    /**
+     * 등록된 프로바이더 호스트로 연결을 미리 엽니다.
+     * 응답 상태와 관계없이 연결만 수립되면 되므로 인증 없이 Base URL에 HEAD 요청을 보냅니다.
+     * 시작을 지연시키지 않도록 비동기로 보내고, 실패해도 첫 호출에서 다시 연결하므로 로그만 남깁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.isWarmup()) {
+            endpoints.forEach(this::warmUp);
+        }
+    }
+
+    CompletableFuture<Void> warmUp(Endpoint endpoint) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint.baseUrl())
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(properties.getWarmupTimeout())
+                .build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    String result = error == null ? "success" : "failure";
+                    Timer.builder(METRIC_NAME + ".warmup")
+                            .tag("provider", endpoint.provider())
+                            .tag("result", result)
+                            .register(meterRegistry)
+                            .record(elapsed, TimeUnit.NANOSECONDS);
+                    if (error == null) {
+                        log.info("Vision HTTP connection warmed up: provider={}, {}, {}ms",
+                                endpoint.provider(), response.version(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    } else {
+                        log.warn("Vision HTTP warmup failed: provider={}, error={}",
+                                endpoint.provider(), error.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    private static HttpClient createHttpClient(VisionHttpProperties properties) {
+        // ConnectionPool이 처음 로드될 때 읽으므로 클라이언트 생성 전에 설정 (JVM 옵션이 있으면 유지)
+        String keepAliveSeconds = String.valueOf(properties.getKeepAlive().toSeconds());
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, keepAliveSeconds);
+        }
+        if (System.getProperty(KEEP_ALIVE_H2_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_H2_PROPERTY, keepAliveSeconds);
+        }
+
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    record Endpoint(String provider, URI baseUrl) {
+    }
+}
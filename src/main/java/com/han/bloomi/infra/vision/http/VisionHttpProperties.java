@@ -0,0 +1,45 @@
+package com.han.bloomi.infra.vision.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 프로바이더 공용 HTTP 클라이언트 설정 프로퍼티
+ * 응답(read) 타임아웃은 프로바이더별 timeoutMs를 사용합니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.http")
+public class VisionHttpProperties {
+    /**
+     * TCP/TLS 연결 타임아웃
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * HTTP/2 사용 여부 (TLS ALPN으로 협상하며, 서버가 지원하지 않으면 HTTP/1.1로 동작)
+     */
+    private boolean http2 = true;
+
+    /**
+     * 유휴 연결 유지 시간
+     * JDK HttpClient의 연결 풀 설정(jdk.httpclient.keepalive.timeout)은 JVM 전역이므로,
+     * JVM 옵션으로 이미 지정된 경우에는 그 값을 따릅니다.
+     */
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /**
+     * 애플리케이션 시작 시 프로바이더 호스트로 미리 연결(TCP + TLS + HTTP/2)을 열어 둘지 여부
+     */
+    private boolean warmup = true;
+
+    /**
+     * 워밍업 요청 타임아웃
+     */
+    private Duration warmupTimeout = Duration.ofSeconds(5);
+}
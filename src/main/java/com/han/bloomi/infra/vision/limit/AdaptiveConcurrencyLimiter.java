@@ -0,0 +1,275 @@
+package com.han.bloomi.infra.vision.limit;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 지연 시간 기울기(gradient) 기반 적응형 동시성 제한기
+ *
+ * 관측한 최소 지연(minRtt) 대비 최근 지연(rtt)의 비율로 동시 호출 한도를 조정합니다.
+ * - rtt가 minRtt * tolerance 이내이면 한도를 sqrt(limit)만큼 늘립니다.
+ * - rtt가 커지면 gradient(= minRtt * tolerance / rtt, 0.5~1.0)만큼 한도를 줄입니다.
+ * - 프로바이더 장애(타임아웃, 429, 5xx)로 실패하면(drop) 한도를 10% 줄입니다.
+ * 지연 시간 표본은 성공한 호출만 사용합니다. 빠르게 끝난 실패(4xx, 응답 파싱 실패 등)가 minRtt를 낮추면
+ * 이후 정상 호출이 모두 느린 것으로 보여 한도가 바닥까지 줄어들기 때문입니다.
+ * 한도의 절반도 쓰지 않는 동안에는 한도를 늘리지 않습니다. (부하 없이 한도만 커지는 것 방지)
+ *
+ * 한도가 차면 최대 queueSize개까지 maxWait 동안 대기시키고, 그 이상은 즉시 거절합니다.
+ * 헤지처럼 없어도 되는 호출은 {@link #tryAcquire()}로 빈 자리가 있을 때만 실행합니다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long maxWaitNanos;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long minRttResetNanos;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inflight;
+    private int waiting;
+    private long minRttNanos;
+    private long minRttMeasuredAt;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(VisionLimiterProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(VisionLimiterProperties properties, LongSupplier clock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.queueSize = properties.getQueueSize();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.rttTolerance = properties.getRttTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.minRttResetNanos = properties.getMinRttResetInterval().toNanos();
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.minRttMeasuredAt = clock.getAsLong();
+    }
+
+    /**
+     * 한도 안에서 호출을 실행합니다.
+     *
+     * @throws VisionException VISION_OVERLOADED - 대기열이 찼거나 대기 시간을 넘긴 경우
+     */
+    public <T> T execute(Supplier<T> call) {
+        return acquire().execute(call);
+    }
+
+    /**
+     * 자리가 날 때까지(최대 maxWait) 기다려 호출 권한을 얻습니다.
+     *
+     * @throws VisionException VISION_OVERLOADED - 대기열이 찼거나 대기 시간을 넘긴 경우
+     */
+    public Permit acquire() {
+        return new Permit(this, acquireSlot());
+    }
+
+    /**
+     * 지금 빈 자리가 있을 때만 호출 권한을 얻습니다. (대기하지 않고, 거절 수에도 세지 않음)
+     */
+    public Optional<Permit> tryAcquire() {
+        lock.lock();
+        try {
+            if (inflight >= (int) limit) {
+                return Optional.empty();
+            }
+            return Optional.of(new Permit(this, ++inflight));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int acquireSlot() {
+        lock.lock();
+        try {
+            if (inflight < (int) limit) {
+                return ++inflight;
+            }
+            if (waiting >= queueSize) {
+                throw reject("queue full");
+            }
+
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inflight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw reject("wait timeout");
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return ++inflight;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("interrupted");
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, int inflightAtStart, Outcome outcome) {
+        lock.lock();
+        try {
+            inflight--;
+            if (outcome == Outcome.DROPPED) {
+                onDropped();
+            } else if (outcome == Outcome.SUCCESS) {
+                onSample(rttNanos, inflightAtStart);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 성공한 호출의 지연 시간으로 한도를 조정합니다. (lock 보유 상태에서 호출)
+     */
+    void onSample(long rttNanos, int inflightAtStart) {
+        long now = clock.getAsLong();
+        if (minRttNanos == 0 || rttNanos < minRttNanos || now - minRttMeasuredAt >= minRttResetNanos) {
+            minRttNanos = Math.max(1, rttNanos);
+            minRttMeasuredAt = now;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * minRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        if (inflightAtStart < limit / 2) {
+            target = Math.min(target, limit);
+        }
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /**
+     * 프로바이더 장애로 실패한 호출은 과부하 신호로 보고 한도를 줄입니다. (lock 보유 상태에서 호출)
+     */
+    void onDropped() {
+        limit = Math.max(minLimit, limit * DROP_BACKOFF);
+    }
+
+    private VisionException reject(String reason) {
+        rejected++;
+        return new VisionException(ErrorCode.VISION_OVERLOADED,
+                String.format("Vision concurrency limit %d reached (%s)", (int) limit, reason));
+    }
+
+    /**
+     * 호출 권한 하나
+     * {@link #execute(Supplier)}로 한 번 실행하거나, 실행하지 않게 되면 {@link #cancel()}로 반환합니다.
+     * 한도 제한을 끈 경우에는 아무것도 세지 않는 {@link #UNLIMITED}를 사용합니다.
+     */
+    public static final class Permit {
+        public static final Permit UNLIMITED = new Permit(null, 0);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final int inflightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, int inflightAtStart) {
+            this.limiter = limiter;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        /**
+         * 호출을 실행하고 결과(지연 시간 표본/과부하 신호)를 반영한 뒤 권한을 반환합니다.
+         */
+        public <T> T execute(Supplier<T> call) {
+            if (limiter == null) {
+                return call.get();
+            }
+            long start = limiter.clock.getAsLong();
+            Outcome outcome = Outcome.IGNORED;
+            try {
+                T result = call.get();
+                outcome = Outcome.SUCCESS;
+                return result;
+            } catch (VisionException e) {
+                if (e.isUpstreamFailure()) {
+                    outcome = Outcome.DROPPED;
+                }
+                throw e;
+            } finally {
+                release(limiter.clock.getAsLong() - start, outcome);
+            }
+        }
+
+        /**
+         * 실행하지 않은 권한을 한도에 반영하지 않고 반환합니다.
+         */
+        public void cancel() {
+            release(0, Outcome.IGNORED);
+        }
+
+        private void release(long rttNanos, Outcome outcome) {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(rttNanos, inflightAtStart, outcome);
+            }
+        }
+    }
+
+    /**
+     * 호출 결과가 한도 조정에 쓰이는 방식
+     * SUCCESS: 지연 시간 표본, DROPPED: 과부하 신호, IGNORED: 반영하지 않음 (4xx, 음식 사진 아님, 마감 초과 등)
+     */
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+}
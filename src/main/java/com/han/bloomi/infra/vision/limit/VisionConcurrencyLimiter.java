@@ -0,0 +1,63 @@
+package com.han.bloomi.infra.vision.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Vision API 호출 동시성 제한 컴포넌트
+ *
+ * 급증 시 모든 요청 스레드가 OpenAI 응답을 기다리며 묶이지 않도록 외부 호출 수를 적응형으로 제한합니다.
+ * 라우터가 프로바이더 호출(헤지 포함) 하나마다 권한을 받아 실행하므로, 헤지 요청도 한도 안에서만 나갑니다.
+ * 한도/진행 중/대기/거절 수는 Actuator 메트릭(bloomi.vision.limiter.*)으로 노출합니다.
+ */
+@Component
+public class VisionConcurrencyLimiter {
+    private static final String METRIC_NAME = "bloomi.vision.limiter";
+
+    private final VisionLimiterProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public VisionConcurrencyLimiter(VisionLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        Gauge.builder(METRIC_NAME + ".limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for vision calls")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Vision calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queued", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Vision calls waiting for a permit")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME + ".rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Vision calls rejected by the concurrency limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 자리가 날 때까지 기다려 호출 권한을 얻습니다.
+     *
+     * @throws com.han.bloomi.common.exception.VisionException VISION_OVERLOADED - 대기열이 찼거나 대기 시간을 넘긴 경우
+     */
+    public AdaptiveConcurrencyLimiter.Permit acquire() {
+        if (!properties.isEnabled()) {
+            return AdaptiveConcurrencyLimiter.Permit.UNLIMITED;
+        }
+        return limiter.acquire();
+    }
+
+    /**
+     * 지금 빈 자리가 있을 때만 호출 권한을 얻습니다. (헤지처럼 생략해도 되는 호출용)
+     */
+    public Optional<AdaptiveConcurrencyLimiter.Permit> tryAcquire() {
+        if (!properties.isEnabled()) {
+            return Optional.of(AdaptiveConcurrencyLimiter.Permit.UNLIMITED);
+        }
+        return limiter.tryAcquire();
+    }
+}
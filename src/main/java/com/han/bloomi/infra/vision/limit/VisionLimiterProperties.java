@@ -0,0 +1,62 @@
+package com.han.bloomi.infra.vision.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 호출 적응형 동시성 제한 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.limiter")
+public class VisionLimiterProperties {
+    /**
+     * 제한 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 시작 동시 호출 한도
+     */
+    private int initialLimit = 10;
+
+    /**
+     * 동시 호출 한도 하한
+     */
+    private int minLimit = 2;
+
+    /**
+     * 동시 호출 한도 상한
+     */
+    private int maxLimit = 50;
+
+    /**
+     * 한도가 찼을 때 대기할 수 있는 최대 요청 수 (초과 시 즉시 거절)
+     */
+    private int queueSize = 20;
+
+    /**
+     * 대기 최대 시간 (초과 시 거절)
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * 지연 시간 허용 비율 (최소 지연 대비 이 배수까지는 한도를 줄이지 않음)
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * 한도 변경 평활 계수 (0~1, 클수록 빠르게 반영)
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * 최소 지연 시간 기준을 다시 측정하는 주기
+     */
+    private Duration minRttResetInterval = Duration.ofMinutes(1);
+}
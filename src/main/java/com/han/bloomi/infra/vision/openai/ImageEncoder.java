@@ -11,6 +11,7 @@ import java.util.Base64;
 
 /**
  * 이미지를 Base64로 인코딩하는 유틸리티
+ * OpenAI 요청은 본문을 쓸 때 스트리밍으로 인코딩하므로 검증({@link #validate})만 사용합니다.
  */
 @Slf4j
 @Component
@@ -29,6 +30,10 @@ public class ImageEncoder {
         }
     }
 
+    public void validate(MultipartFile file) {
+        validateImage(file);
+    }
+
     private void validateImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new BusinessException(ErrorCode.MISSING_REQUIRED_FIELD, "Image file is required");
@@ -0,0 +1,39 @@
+package com.han.bloomi.infra.vision.openai;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 모델 캐스케이드 설정 프로퍼티
+ *
+ * 모든 요청은 먼저 {@link OpenAiProperties#getModel()}(빠르고 저렴한 모델)로 분석하고,
+ * 결과를 믿기 어려울 때만 {@link #model}(더 강한 모델)로 다시 보냅니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.openai.cascade")
+public class OpenAiCascadeProperties {
+    /**
+     * 사용 여부 (false면 기본 모델만 사용)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 승격 시 사용할 모델
+     */
+    private String model = "gpt-4.1";
+
+    /**
+     * 이 값보다 confidence가 낮으면 승격
+     */
+    private double minConfidence = 0.6;
+
+    /**
+     * 탄수화물/단백질/지방으로 계산한 열량(4/4/9 kcal/g)과 응답 칼로리의 허용 오차 비율
+     * 이 비율을 넘게 어긋나면 응답 검증 실패로 보고 승격합니다.
+     */
+    private double macroCalorieTolerance = 0.35;
+}
@@ -3,12 +3,14 @@ package com.han.bloomi.infra.vision.openai;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
 import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
 import com.han.bloomi.infra.vision.openai.dto.OpenAiRequest;
 import com.han.bloomi.infra.vision.openai.dto.OpenAiResponse;
-import lombok.RequiredArgsConstructor;
+import com.han.bloomi.infra.vision.openai.dto.OpenAiStreamChunk;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
@@ -16,34 +18,50 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * OpenAI API HTTP 클라이언트
+ * RestClient는 공유 HTTP 클라이언트({@link VisionHttpClientFactory})로 한 번만 만들어 연결을 재사용합니다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bloomi.vision.openai.enabled", havingValue = "true", matchIfMissing = true)
 public class OpenAiHttpClient {
-    private final OpenAiProperties properties;
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE = "[DONE]";
+
     private final ObjectMapper objectMapper;
+    private final VisionHttpClientFactory httpClientFactory;
+    private final Duration readTimeout;
+    private final RestClient restClient;
+
+    public OpenAiHttpClient(OpenAiProperties properties, ObjectMapper objectMapper,
+                            VisionHttpClientFactory httpClientFactory) {
+        this.objectMapper = objectMapper;
+        this.httpClientFactory = httpClientFactory;
+        this.readTimeout = Duration.ofMillis(properties.getTimeoutMs());
+        this.restClient = httpClientFactory.create("openai", properties.getBaseUrl(), readTimeout, headers -> {
+            headers.setBearerAuth(properties.getApiKey());
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        });
+    }
 
     /**
      * OpenAI Chat Completions API 호출
      */
     public OpenAiResponse callChatCompletion(OpenAiRequest request) {
-        String endpoint = properties.getBaseUrl() + "/chat/completions";
-
-        try {
+        return execute(() -> {
             log.info("Calling OpenAI API: model={}, messages={}",
                     request.model(), request.messages().size());
 
-            RestClient restClient = RestClient.builder()
-                    .baseUrl(properties.getBaseUrl())
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + properties.getApiKey())
-                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .build();
-
             OpenAiResponse response = restClient.post()
                     .uri("/chat/completions")
                     .body(request)
@@ -59,6 +77,91 @@ public class OpenAiHttpClient {
                     response.usage() != null ? response.usage().totalTokens() : 0);
 
             return response;
+        });
+    }
+
+    /**
+     * OpenAI Chat Completions API 스트리밍 호출 (stream=true)
+     * SSE로 도착하는 content delta를 순서대로 콜백에 전달합니다.
+     *
+     * @param request      요청 (stream 플래그는 자동으로 설정됩니다)
+     * @param deltaHandler content delta 콜백
+     * @return 마지막 청크의 토큰 사용량 (응답에 없으면 null)
+     */
+    public OpenAiResponse.Usage streamChatCompletion(OpenAiRequest request, Consumer<String> deltaHandler) {
+        return execute(() -> {
+            log.info("Calling OpenAI API (stream): model={}, messages={}",
+                    request.model(), request.messages().size());
+
+            OpenAiResponse.Usage usage = restClient.post()
+                    .uri("/chat/completions")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .body(request.streaming())
+                    .exchange((httpRequest, httpResponse) -> {
+                        if (httpResponse.getStatusCode().isError()) {
+                            byte[] body = httpResponse.getBody().readAllBytes();
+                            if (httpResponse.getStatusCode().is4xxClientError()) {
+                                throw HttpClientErrorException.create(httpResponse.getStatusCode(),
+                                        httpResponse.getStatusText(), httpResponse.getHeaders(), body, StandardCharsets.UTF_8);
+                            }
+                            throw HttpServerErrorException.create(httpResponse.getStatusCode(),
+                                    httpResponse.getStatusText(), httpResponse.getHeaders(), body, StandardCharsets.UTF_8);
+                        }
+                        return readEventStream(httpResponse.getBody(), deltaHandler);
+                    });
+
+            log.info("OpenAI API stream completed: tokens={}", usage != null ? usage.totalTokens() : 0);
+            return usage;
+        });
+    }
+
+    /**
+     * SSE 본문을 한 줄씩 읽어 "data: " 이벤트의 content delta를 전달합니다.
+     *
+     * @return 청크에 담겨 온 토큰 사용량 (없으면 null)
+     */
+    private OpenAiResponse.Usage readEventStream(InputStream body, Consumer<String> deltaHandler) throws IOException {
+        OpenAiResponse.Usage usage = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(SSE_DATA_PREFIX)) {
+                    continue;
+                }
+                String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+                if (SSE_DONE.equals(data)) {
+                    break;
+                }
+                OpenAiStreamChunk chunk = objectMapper.readValue(data, OpenAiStreamChunk.class);
+                if (chunk.usage() != null) {
+                    usage = chunk.usage();
+                }
+                String delta = chunk.getContentDelta();
+                if (delta != null) {
+                    deltaHandler.accept(delta);
+                }
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * OpenAI 호출 공통 예외 변환
+     */
+    private <T> T execute(Supplier<T> call) {
+        // 요청 마감이 더 이르면 줄어든, 실제로 적용되는 응답 타임아웃
+        Duration timeout = httpClientFactory.readTimeout(readTimeout);
+        try {
+            return call.get();
+
+        } catch (BusinessException e) {
+            // VisionException, 요청 마감 초과(DEADLINE_EXCEEDED)는 그대로 전달
+            throw e;
+
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            log.error("OpenAI API rate limited: body={}", e.getResponseBodyAsString());
+            throw VisionException.upstream(ErrorCode.VISION_API_ERROR,
+                    "OpenAI API error: " + e.getStatusCode());
 
         } catch (HttpClientErrorException e) {
             log.error("OpenAI API client error: status={}, body={}",
@@ -69,13 +172,13 @@ public class OpenAiHttpClient {
         } catch (HttpServerErrorException e) {
             log.error("OpenAI API server error: status={}, body={}",
                     e.getStatusCode(), e.getResponseBodyAsString());
-            throw new VisionException(ErrorCode.VISION_API_ERROR,
+            throw VisionException.upstream(ErrorCode.VISION_API_ERROR,
                     "OpenAI server error: " + e.getStatusCode());
 
         } catch (ResourceAccessException e) {
             log.error("OpenAI API timeout or connection error", e);
             throw new VisionException(ErrorCode.VISION_TIMEOUT,
-                    "OpenAI API timeout after " + properties.getTimeoutMs() + "ms");
+                    "OpenAI API timeout after " + timeout.toMillis() + "ms");
 
         } catch (Exception e) {
             log.error("Unexpected error calling OpenAI API", e);
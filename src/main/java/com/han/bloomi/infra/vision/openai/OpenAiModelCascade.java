@@ -0,0 +1,191 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.infra.vision.routing.PrimaryTierLatencyHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 신뢰도 기반 모델 캐스케이드
+ *
+ * 1단계(primary): 기본 모델로 분석합니다. 대부분의 요청은 여기서 끝납니다.
+ * 2단계(escalation): 아래 경우에만 더 강한 모델로 다시 분석합니다.
+ * - low_confidence: confidence가 기준 미만
+ * - invalid_response: 응답 JSON을 파싱할 수 없거나 비어 있음
+ * - implausible: 칼로리/영양소가 음수이거나, 영양소로 계산한 열량과 칼로리가 크게 어긋남
+ *
+ * 프로바이더 장애(타임아웃, 5xx)나 음식 사진이 아닌 경우는 승격하지 않고 그대로 전달합니다. (라우터가 처리)
+ * 신뢰도만 낮았던 경우 승격 호출이 실패하면 1단계 결과를 사용합니다.
+ * 1단계 지연 시간은 라우터의 헤지 기준 분포에 쓰이도록 {@link PrimaryTierLatencyHolder}에 기록합니다.
+ * 요청 마감 시각이 이미 지났으면 승격하지 않습니다. (신뢰도만 낮았으면 1단계 결과, 아니면 DEADLINE_EXCEEDED)
+ *
+ * 메트릭: bloomi.vision.cascade.tier {tier, model, outcome} (단계별 지연 시간/호출 수),
+ * bloomi.vision.cascade.tokens {tier, model} (단계별 토큰 사용량, 비용 추정용),
+ * bloomi.vision.cascade.escalations {reason}, bloomi.vision.cascade.escalations.skipped {reason} (마감 초과로 생략)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenAiModelCascade {
+    private static final String METRIC_NAME = "bloomi.vision.cascade";
+    private static final String TIER_PRIMARY = "primary";
+    private static final String TIER_ESCALATION = "escalation";
+    private static final double MACRO_CHECK_MIN_CALORIES = 100;
+
+    private final OpenAiProperties properties;
+    private final OpenAiCascadeProperties cascadeProperties;
+    private final MeterRegistry meterRegistry;
+    private final DeadlineHolder deadlineHolder;
+    private final PrimaryTierLatencyHolder primaryTierLatency;
+
+    /**
+     * 단계별 모델로 분석을 실행합니다.
+     *
+     * @param call 모델 하나로 분석하는 호출 (primary가 false면 승격 호출)
+     */
+    public MealAnalysis analyze(TierCall call) {
+        String primaryModel = properties.getModel();
+        String escalationModel = cascadeProperties.getModel();
+        if (!cascadeProperties.isEnabled() || escalationModel == null || escalationModel.isBlank()
+                || escalationModel.equals(primaryModel)) {
+            return invoke(TIER_PRIMARY, primaryModel, call, true, false).analysis();
+        }
+
+        MealAnalysis primary = null;
+        String reason;
+        try {
+            primary = invoke(TIER_PRIMARY, primaryModel, call, true, true).analysis();
+            reason = escalationReason(primary);
+            if (reason == null) {
+                return primary;
+            }
+        } catch (VisionException e) {
+            if (e.getErrorCode() != ErrorCode.VISION_INVALID_RESPONSE) {
+                throw e;
+            }
+            reason = "invalid_response";
+        }
+
+        if (deadlineHolder.current().isExpired()) {
+            log.warn("Deadline exceeded, skipping escalation to {} (reason: {})", escalationModel, reason);
+            Counter.builder(METRIC_NAME + ".escalations.skipped")
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            if (primary != null && "low_confidence".equals(reason)) {
+                return primary;
+            }
+            throw Deadline.exceeded("vision escalation");
+        }
+
+        log.info("Escalating vision analysis {} -> {} (reason: {}, confidence: {})", primaryModel, escalationModel,
+                reason, primary != null ? primary.confidence() : null);
+        Counter.builder(METRIC_NAME + ".escalations")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        try {
+            return invoke(TIER_ESCALATION, escalationModel, call, false, false).analysis();
+        } catch (VisionException e) {
+            if (primary != null && "low_confidence".equals(reason)) {
+                log.warn("Escalation failed ({}), using primary result", e.getErrorCode().getCode());
+                return primary;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 1단계 결과를 그대로 쓸 수 없는 이유 (쓸 수 있으면 null)
+     */
+    String escalationReason(MealAnalysis analysis) {
+        if (!isPlausible(analysis)) {
+            return "implausible";
+        }
+        if (analysis.confidence() < cascadeProperties.getMinConfidence()) {
+            return "low_confidence";
+        }
+        return null;
+    }
+
+    private boolean isPlausible(MealAnalysis analysis) {
+        Macros macros = analysis.macros();
+        double calories = analysis.calories();
+        if (!Double.isFinite(calories) || calories < 0 || macros == null
+                || macros.carbs() < 0 || macros.protein() < 0 || macros.fat() < 0) {
+            return false;
+        }
+        if (calories < MACRO_CHECK_MIN_CALORIES) {
+            return true;
+        }
+        double macroCalories = macros.carbs() * 4 + macros.protein() * 4 + macros.fat() * 9;
+        return Math.abs(macroCalories - calories) <= calories * cascadeProperties.getMacroCalorieTolerance();
+    }
+
+    private TierResult invoke(String tier, String model, TierCall call, boolean primary, boolean cascading) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            TierResult result = call.call(model, primary);
+            outcome = !cascading ? "accepted"
+                    : escalationReason(result.analysis()) == null ? "accepted" : "escalated";
+            if (result.totalTokens() != null) {
+                DistributionSummary.builder(METRIC_NAME + ".tokens")
+                        .description("Tokens used per vision call by cascade tier")
+                        .baseUnit("tokens")
+                        .tag("tier", tier)
+                        .tag("model", model)
+                        .register(meterRegistry)
+                        .record(result.totalTokens());
+            }
+            return result;
+        } catch (VisionException e) {
+            if (cascading && e.getErrorCode() == ErrorCode.VISION_INVALID_RESPONSE) {
+                outcome = "escalated";
+            }
+            throw e;
+        } finally {
+            long elapsedNanos = sample.stop(Timer.builder(METRIC_NAME + ".tier")
+                    .description("Vision call latency by cascade tier")
+                    .tag("tier", tier)
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            if (primary) {
+                primaryTierLatency.record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            }
+        }
+    }
+
+    /**
+     * 모델 하나로 분석하는 호출
+     */
+    @FunctionalInterface
+    interface TierCall {
+        /**
+         * @param model   사용할 모델
+         * @param primary 1단계 호출 여부 (승격 호출이면 false)
+         */
+        TierResult call(String model, boolean primary);
+    }
+
+    /**
+     * @param analysis    분석 결과
+     * @param totalTokens 사용한 토큰 수 (응답에 사용량이 없으면 null)
+     */
+    record TierResult(MealAnalysis analysis, Integer totalTokens) {
+    }
+}
@@ -10,6 +10,11 @@ import org.springframework.stereotype.Component;
 @Component
 @ConfigurationProperties(prefix = "bloomi.vision.openai")
 public class OpenAiProperties {
+    /**
+     * OpenAI 프로바이더 사용 여부
+     */
+    private boolean enabled = true;
+
     /**
      * OpenAI API 키
      */
@@ -35,6 +40,12 @@ public class OpenAiProperties {
      */
     private Double temperature = 0.7;
 
+    /**
+     * 이미지 detail 수준 (low, high, auto)
+     * low는 해상도와 관계없이 저해상도 고정 토큰으로 처리되고, high/auto는 해상도에 따라 이미지 토큰이 늘어납니다.
+     */
+    private String imageDetail = "auto";
+
     /**
      * HTTP 타임아웃 (밀리초)
      */
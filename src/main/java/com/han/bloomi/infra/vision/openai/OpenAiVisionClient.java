@@ -1,15 +1,19 @@
 package com.han.bloomi.infra.vision.openai;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.han.bloomi.common.error.ErrorCode;
 import com.han.bloomi.common.exception.BusinessException;
 import com.han.bloomi.common.exception.VisionException;
 import com.han.bloomi.domain.model.MealAnalysis;
 import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
 import com.han.bloomi.infra.vision.VisionClient;
+import com.han.bloomi.infra.vision.VisionPrompt;
 import com.han.bloomi.infra.vision.VisionProvider;
 import com.han.bloomi.infra.vision.openai.dto.OpenAiRequest;
 import com.han.bloomi.infra.vision.openai.dto.OpenAiResponse;
 import com.han.bloomi.infra.vision.openai.dto.VisionAnalysisResult;
+import com.han.bloomi.infra.vision.usage.VisionUsageRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,16 +23,20 @@ import java.util.List;
 
 /**
  * OpenAI Vision API 클라이언트 구현체
+ * 모델 선택은 {@link OpenAiModelCascade}가 담당합니다. (기본 모델 -> 필요할 때만 승격 모델)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-@ConditionalOnProperty(name = "bloomi.vision.provider", havingValue = "openai", matchIfMissing = true)
+@ConditionalOnProperty(name = "bloomi.vision.openai.enabled", havingValue = "true", matchIfMissing = true)
 public class OpenAiVisionClient implements VisionClient {
     private final OpenAiProperties properties;
     private final ImageEncoder imageEncoder;
     private final OpenAiHttpClient httpClient;
     private final OpenAiResponseMapper responseMapper;
+    private final ObjectMapper objectMapper;
+    private final OpenAiModelCascade modelCascade;
+    private final VisionUsageRecorder usageRecorder;
 
     @Override
     public VisionProvider getProvider() {
@@ -36,34 +44,66 @@ public class OpenAiVisionClient implements VisionClient {
     }
 
     @Override
-    public MealAnalysis analyze(MealAnalysisRequest request, String prompt) {
+    public MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt) {
         log.info("OpenAI Vision API call - Image: {}, Name: {}, Weight: {}",
                 request.image().getOriginalFilename(),
                 request.name(),
                 request.weight());
 
-        // 1. 이미지 → base64 인코딩
-        String base64Image = imageEncoder.encodeToBase64(request.image());
-        log.debug("Image encoded to base64, length: {}", base64Image.length());
+        // 1. 이미지 검증 (base64 인코딩은 요청 본문을 쓸 때 스트리밍으로 수행)
+        imageEncoder.validate(request.image());
+        log.debug("Image size: {} bytes, url: {}", request.image().getSize(), request.hasImageUrl());
 
-        // 2. OpenAI API 요청 생성
-        OpenAiRequest apiRequest = buildRequest(prompt, base64Image);
+        // 2~5. 요청 생성, Chat Completions API 호출, 응답 파싱 및 도메인 객체로 변환 (모델 캐스케이드)
+        return modelCascade.analyze((model, primary) -> call(prompt, request, model));
+    }
 
-        // 3. OpenAI Chat Completions API 호출 (vision 모델)
-        OpenAiResponse apiResponse = httpClient.callChatCompletion(apiRequest);
+    @Override
+    public MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt, MealAnalysisStreamListener listener) {
+        log.info("OpenAI Vision API stream call - Image: {}, Name: {}, Weight: {}",
+                request.image().getOriginalFilename(),
+                request.name(),
+                request.weight());
 
-        // 4. 응답 JSON 파싱
-        String content = apiResponse.getContent();
+        imageEncoder.validate(request.image());
+        return modelCascade.analyze((model, primary) -> {
+            // 승격 호출은 스트리밍하지 않습니다. 1단계에서 이미 전달한 필드는 최종 결과로 대체됩니다.
+            if (!primary) {
+                return call(prompt, request, model);
+            }
+            // content delta를 증분 파싱하여 완성된 필드부터 리스너로 전달
+            VisionAnalysisStreamParser parser = new VisionAnalysisStreamParser(objectMapper, listener);
+            OpenAiResponse.Usage usage = httpClient.streamChatCompletion(buildRequest(prompt, request, model), parser::feed);
+            recordUsage(model, request, usage);
+            return new OpenAiModelCascade.TierResult(toAnalysis(parser.getContent()),
+                    usage != null ? usage.totalTokens() : null);
+        });
+    }
 
+    private OpenAiModelCascade.TierResult call(VisionPrompt prompt, MealAnalysisRequest request, String model) {
+        OpenAiResponse apiResponse = httpClient.callChatCompletion(buildRequest(prompt, request, model));
+        // 응답 검증에 실패해도 토큰은 이미 사용했으므로 변환 전에 기록
+        recordUsage(model, request, apiResponse.usage());
+        return new OpenAiModelCascade.TierResult(toAnalysis(apiResponse.getContent()),
+                apiResponse.usage() != null ? apiResponse.usage().totalTokens() : null);
+    }
 
+    private void recordUsage(String model, MealAnalysisRequest request, OpenAiResponse.Usage usage) {
+        if (usage != null) {
+            usageRecorder.record(VisionProvider.OPENAI, model, request, properties.getImageDetail(),
+                    usage.promptTokens(), usage.cachedTokens(), usage.completionTokens());
+        }
+    }
+
+    private MealAnalysis toAnalysis(String content) {
         if (content == null || content.isBlank()|| "{}".equals(content)) {
             log.warn("Empty content from OpenAI API");
-            throw new VisionException(ErrorCode.VISION_API_ERROR, "Empty content from OpenAI API");
+            throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE, "Empty content from OpenAI API");
         }
 
         VisionAnalysisResult analysisResult = httpClient.parseContent(content, VisionAnalysisResult.class);
 
-        // 5. MealAnalysis 도메인 객체로 변환
+        // MealAnalysis 도메인 객체로 변환
         MealAnalysis result = responseMapper.toDomain(analysisResult);
 
         if(result.advice().equals("no meal") || result.advice().isBlank()) {
@@ -82,17 +122,22 @@ public class OpenAiVisionClient implements VisionClient {
         return properties.getApiKey() != null && !properties.getApiKey().isBlank();
     }
 
-    private OpenAiRequest buildRequest(String prompt, String base64Image) {
+    /**
+     * 이미지 URL이 있으면 URL을, 없으면 이미지 바이트(data URL)를 보냅니다.
+     */
+    private OpenAiRequest buildRequest(VisionPrompt prompt, MealAnalysisRequest request, String model) {
+        OpenAiRequest.Content image = request.hasImageUrl()
+                ? OpenAiRequest.Content.image(request.imageUrl(), properties.getImageDetail())
+                : OpenAiRequest.Content.image(request.image(), properties.getImageDetail());
+        // 고정 지시문(system)을 맨 앞에 두어 모든 요청이 같은 접두어를 공유하게 합니다. (OpenAI 자동 프롬프트 캐시)
         List<OpenAiRequest.Content> contents = List.of(
-                OpenAiRequest.Content.text(prompt),
-                OpenAiRequest.Content.image(base64Image)
+                OpenAiRequest.Content.text(prompt.user()),
+                image
         );
 
-        OpenAiRequest.Message message = OpenAiRequest.Message.user(contents);
-
         return OpenAiRequest.builder()
-                .model(properties.getModel())
-                .messages(List.of(message))
+                .model(model)
+                .messages(List.of(OpenAiRequest.Message.system(prompt.system()), OpenAiRequest.Message.user(contents)))
                 .maxTokens(properties.getMaxTokens())
                 .temperature(properties.getTemperature())
                 .responseFormat(OpenAiRequest.ResponseFormat.json())
@@ -0,0 +1,135 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 스트리밍으로 도착하는 분석 결과 JSON을 증분 파싱하는 파서
+ *
+ * Jackson non-blocking 파서에 content delta를 그대로 밀어 넣고, 최상위 필드 값이 완성되는 즉시
+ * 리스너에 전달합니다. items 배열은 항목 하나가 완성될 때마다 "item"으로 먼저 전달합니다.
+ *
+ * 요청 하나당 인스턴스 하나를 사용합니다 (thread-safe 하지 않음).
+ */
+@Slf4j
+public class VisionAnalysisStreamParser {
+    private static final String ITEMS_FIELD = "items";
+    private static final String ITEM_FIELD = "item";
+
+    private final ObjectMapper objectMapper;
+    private final MealAnalysisStreamListener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final StringBuilder content = new StringBuilder();
+
+    private int depth;
+    private String currentField;
+    private TokenBuffer fieldBuffer;
+    private TokenBuffer itemBuffer;
+    private boolean broken;
+
+    public VisionAnalysisStreamParser(ObjectMapper objectMapper, MealAnalysisStreamListener listener) {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * content delta를 파서에 공급하고, 완성된 필드를 리스너로 전달합니다.
+     * JSON이 아닌 응답(예: "no meal")이면 부분 전달만 중단하고, 최종 판단은 전체 content로 합니다.
+     */
+    public void feed(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        content.append(delta);
+        if (broken) {
+            return;
+        }
+
+        try {
+            byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException e) {
+            log.debug("Streaming content is not a JSON object, partial fields disabled: {}", e.getMessage());
+            broken = true;
+        }
+    }
+
+    /**
+     * 지금까지 수신한 전체 content
+     */
+    public String getContent() {
+        return content.toString();
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (depth == 1 && token == JsonToken.FIELD_NAME) {
+            currentField = parser.currentName();
+            fieldBuffer = new TokenBuffer(parser);
+            return;
+        }
+
+        if (fieldBuffer != null) {
+            fieldBuffer.copyCurrentEvent(parser);
+        }
+        boolean inItemsArray = ITEMS_FIELD.equals(currentField) && depth >= 2;
+        if (inItemsArray && depth == 2 && token == JsonToken.START_OBJECT) {
+            itemBuffer = new TokenBuffer(parser);
+        }
+        if (itemBuffer != null) {
+            itemBuffer.copyCurrentEvent(parser);
+        }
+
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+
+        // items 배열 항목 하나 완성
+        if (itemBuffer != null && depth == 2 && token == JsonToken.END_OBJECT) {
+            emit(ITEM_FIELD, itemBuffer);
+            itemBuffer = null;
+        }
+
+        // 최상위 필드 값 완성
+        if (fieldBuffer != null && depth == 1 && (token.isScalarValue() || token.isStructEnd())) {
+            emit(currentField, fieldBuffer);
+            fieldBuffer = null;
+            currentField = null;
+        }
+    }
+
+    private void emit(String field, TokenBuffer buffer) throws IOException {
+        JsonNode value;
+        try (JsonParser bufferParser = buffer.asParser(objectMapper)) {
+            value = objectMapper.readTree(bufferParser);
+        }
+        try {
+            listener.onField(field, value);
+        } catch (RuntimeException e) {
+            // 리스너(클라이언트 전송) 실패가 분석 자체를 중단시키지 않도록 합니다.
+            log.debug("Stream listener failed for field {}: {}", field, e.getMessage());
+        }
+    }
+}
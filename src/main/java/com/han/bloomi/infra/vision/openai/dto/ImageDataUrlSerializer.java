@@ -0,0 +1,84 @@
+package com.han.bloomi.infra.vision.openai.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지를 "data:image/jpeg;base64,..." 문자열 값으로 직렬화하는 스트리밍 Serializer
+ *
+ * 이미지 바이트를 청크 단위로 읽어 즉석에서 Base64로 인코딩하고 JSON 출력에 바로 씁니다.
+ * 인코딩된 전체 문자열(원본의 약 1.33배)이나 data URL 문자열을 메모리에 만들지 않으며,
+ * 청크 버퍼는 풀에서 재사용합니다.
+ *
+ * Base64 문자는 JSON 이스케이프가 필요 없으므로 raw 출력으로 씁니다.
+ */
+public class ImageDataUrlSerializer extends StdSerializer<InputStreamSource> {
+    private static final String PREFIX = "\"data:image/jpeg;base64,";
+    // 3의 배수여야 청크 경계에서 패딩(=)이 생기지 않습니다.
+    private static final int RAW_CHUNK_SIZE = 3 * 4096;
+    private static final int ENCODED_CHUNK_SIZE = 4 * 4096;
+    private static final int MAX_POOLED_CHUNKS = 64;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Queue<Chunk> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    public ImageDataUrlSerializer() {
+        super(InputStreamSource.class);
+    }
+
+    @Override
+    public void serialize(InputStreamSource image, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        Chunk chunk = acquire();
+        try (InputStream input = image.getInputStream()) {
+            generator.writeRawValue(PREFIX);
+            int read;
+            while ((read = input.readNBytes(chunk.raw, 0, RAW_CHUNK_SIZE)) > 0) {
+                // 마지막 청크만 길이가 달라 복사본을 만듭니다 (최대 12KB)
+                byte[] source = read == RAW_CHUNK_SIZE ? chunk.raw : Arrays.copyOf(chunk.raw, read);
+                int encoded = ENCODER.encode(source, chunk.encoded);
+                for (int i = 0; i < encoded; i++) {
+                    chunk.chars[i] = (char) chunk.encoded[i];
+                }
+                generator.writeRaw(chunk.chars, 0, encoded);
+            }
+            generator.writeRaw('"');
+        } finally {
+            release(chunk);
+        }
+    }
+
+    private static Chunk acquire() {
+        Chunk chunk = POOL.poll();
+        if (chunk == null) {
+            return new Chunk();
+        }
+        POOLED.decrementAndGet();
+        return chunk;
+    }
+
+    private static void release(Chunk chunk) {
+        if (POOLED.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+            POOL.offer(chunk);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] raw = new byte[RAW_CHUNK_SIZE];
+        private final byte[] encoded = new byte[ENCODED_CHUNK_SIZE];
+        private final char[] chars = new char[ENCODED_CHUNK_SIZE];
+    }
+}
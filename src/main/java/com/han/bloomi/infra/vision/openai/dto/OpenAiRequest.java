@@ -2,23 +2,49 @@ package com.han.bloomi.infra.vision.openai.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
+import org.springframework.core.io.InputStreamSource;
 
 import java.util.List;
 
-@Builder
+@Builder(toBuilder = true)
 public record OpenAiRequest(
     String model,
     List<Message> messages,
     @JsonProperty("max_tokens") Integer maxTokens,
     Double temperature,
-    @JsonProperty("response_format") ResponseFormat responseFormat
+    @JsonProperty("response_format") ResponseFormat responseFormat,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Boolean stream,
+    @JsonProperty("stream_options") @JsonInclude(JsonInclude.Include.NON_NULL) StreamOptions streamOptions
 ) {
+    /**
+     * 같은 요청을 SSE 스트리밍(stream=true) 모드로 변환
+     * 마지막 청크로 토큰 사용량(usage)을 받도록 요청합니다.
+     */
+    public OpenAiRequest streaming() {
+        return toBuilder().stream(true).streamOptions(new StreamOptions(true)).build();
+    }
+
+    public record StreamOptions(
+        @JsonProperty("include_usage") Boolean includeUsage
+    ) {}
+
     @Builder
     public record Message(
         String role,
         List<Content> content
     ) {
+        /**
+         * 고정 지시문. 요청마다 같은 내용이어야 프롬프트 캐시 접두어로 재사용됩니다.
+         */
+        public static Message system(String text) {
+            return Message.builder()
+                    .role("system")
+                    .content(List.of(Content.text(text)))
+                    .build();
+        }
+
         public static Message user(List<Content> content) {
             return Message.builder()
                     .role("user")
@@ -41,23 +67,56 @@ public record OpenAiRequest(
                     .build();
         }
 
-        public static Content image(String base64Data) {
+        public static Content image(InputStreamSource image, String detail) {
             return Content.builder()
                     .type("image_url")
-                    .imageUrl(ImageUrl.of(base64Data))
+                    .imageUrl(ImageUrl.of(image, detail))
                     .build();
         }
-    }
 
-    @Builder
-    public record ImageUrl(String url) {
-        public static ImageUrl of(String base64Data) {
-            return ImageUrl.builder()
-                    .url("data:image/jpeg;base64," + base64Data)
+        public static Content image(String url, String detail) {
+            return Content.builder()
+                    .type("image_url")
+                    .imageUrl(ImageUrl.of(url, detail))
                     .build();
         }
     }
 
+    /**
+     * image_url 값: 이미지를 본문에 넣는 data URL 또는 OpenAI가 직접 내려받는 URL
+     */
+    public sealed interface ImageUrl permits InlineImageUrl, RemoteImageUrl {
+        static ImageUrl of(InputStreamSource image, String detail) {
+            return new InlineImageUrl(image, detail);
+        }
+
+        static ImageUrl of(String url, String detail) {
+            return new RemoteImageUrl(url, detail);
+        }
+    }
+
+    /**
+     * 이미지 data URL
+     * 요청 본문을 쓸 때 이미지 바이트를 스트리밍으로 Base64 인코딩합니다. ({@link ImageDataUrlSerializer})
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record InlineImageUrl(
+        @JsonSerialize(using = ImageDataUrlSerializer.class) InputStreamSource url,
+        String detail
+    ) implements ImageUrl {
+    }
+
+    /**
+     * 외부 이미지 URL (예: 만료되는 S3 presigned URL)
+     * 요청 본문에는 URL만 들어가므로 이미지 크기와 관계없이 본문이 수 KB로 유지됩니다.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RemoteImageUrl(
+        String url,
+        String detail
+    ) implements ImageUrl {
+    }
+
     @Builder
     public record ResponseFormat(String type) {
         public static ResponseFormat json() {
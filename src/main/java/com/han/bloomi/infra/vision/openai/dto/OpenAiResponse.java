@@ -31,7 +31,20 @@ public record OpenAiResponse(
     public record Usage(
         @JsonProperty("prompt_tokens") Integer promptTokens,
         @JsonProperty("completion_tokens") Integer completionTokens,
-        @JsonProperty("total_tokens") Integer totalTokens
+        @JsonProperty("total_tokens") Integer totalTokens,
+        @JsonProperty("prompt_tokens_details") PromptTokensDetails promptTokensDetails
+    ) {
+        /**
+         * 입력 토큰 중 프롬프트 캐시에서 읽은 토큰 수 (캐시 미적중이거나 정보가 없으면 0)
+         */
+        public int cachedTokens() {
+            return promptTokensDetails != null && promptTokensDetails.cachedTokens() != null
+                    ? promptTokensDetails.cachedTokens() : 0;
+        }
+    }
+
+    public record PromptTokensDetails(
+        @JsonProperty("cached_tokens") Integer cachedTokens
     ) {}
 
     public String getContent() {
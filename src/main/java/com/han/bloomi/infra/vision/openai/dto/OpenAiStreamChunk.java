@@ -0,0 +1,38 @@
+package com.han.bloomi.infra.vision.openai.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * OpenAI Chat Completions 스트리밍(stream=true) 응답의 SSE 청크
+ * stream_options.include_usage를 요청하면 마지막 청크는 choices가 비어 있고 usage만 담겨 옵니다.
+ */
+@Builder
+public record OpenAiStreamChunk(
+    String id,
+    String model,
+    List<Choice> choices,
+    OpenAiResponse.Usage usage
+) {
+    @Builder
+    public record Choice(
+        Integer index,
+        Delta delta,
+        @JsonProperty("finish_reason") String finishReason
+    ) {}
+
+    @Builder
+    public record Delta(
+        String role,
+        String content
+    ) {}
+
+    public String getContentDelta() {
+        if (choices == null || choices.isEmpty() || choices.get(0).delta() == null) {
+            return null;
+        }
+        return choices.get(0).delta().content();
+    }
+}
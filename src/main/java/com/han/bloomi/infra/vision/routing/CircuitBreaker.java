@@ -0,0 +1,91 @@
+package com.han.bloomi.infra.vision.routing;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 연속 장애 횟수 기반 회로 차단기
+ *
+ * CLOSED: 정상 호출. 연속 장애가 임계치에 도달하면 OPEN
+ * OPEN: 호출 차단. openDuration이 지나면 시험 호출 1건을 허용(HALF_OPEN)
+ * HALF_OPEN: 시험 호출이 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openNanos, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * 호출 가능 여부 (상태를 바꾸지 않음)
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (currentState()) {
+            case CLOSED -> true;
+            case HALF_OPEN -> !trialInFlight;
+            case OPEN -> false;
+        };
+    }
+
+    /**
+     * 호출 권한을 얻습니다. HALF_OPEN에서는 시험 호출 1건만 허용합니다.
+     */
+    public synchronized boolean tryAcquire() {
+        State current = currentState();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.HALF_OPEN && !trialInFlight) {
+            state = State.HALF_OPEN;
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * 프로바이더 장애와 무관한 결과(요청 오류 등)로 끝난 호출의 권한 반환
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return currentState();
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,35 @@
+package com.han.bloomi.infra.vision.routing;
+
+/**
+ * 헤지 요청 예산 (토큰 버킷)
+ *
+ * 요청마다 ratio 만큼 토큰이 쌓이고, 헤지 한 번에 토큰 1개를 씁니다.
+ * 따라서 장기적으로 추가 호출은 전체 요청의 ratio 비율을 넘지 않으며,
+ * 프로바이더 전체가 느려진 상황에서도 헤지가 부하를 두 배로 만들지 않습니다.
+ */
+public class HedgeBudget {
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public HedgeBudget(double ratio, int maxBurst) {
+        this.ratio = ratio;
+        this.maxTokens = maxBurst;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
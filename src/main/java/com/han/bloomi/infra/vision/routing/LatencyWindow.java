@@ -0,0 +1,49 @@
+package com.han.bloomi.infra.vision.routing;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * 최근 N개 지연 시간 샘플의 원형 버퍼
+ *
+ * 백분위는 조회 시점에 샘플 복사본을 정렬해 계산합니다. 창 크기가 수백 개 수준이라
+ * Vision 호출(수 초) 대비 비용이 무시할 만합니다.
+ */
+public class LatencyWindow {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyWindow(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * 백분위 지연 시간 (nearest-rank)
+     *
+     * @param percentile 0~1
+     * @return 샘플이 없으면 empty
+     */
+    public synchronized OptionalLong percentile(double percentile) {
+        if (count == 0) {
+            return OptionalLong.empty();
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count);
+        return OptionalLong.of(sorted[Math.min(count, Math.max(1, rank)) - 1]);
+    }
+}
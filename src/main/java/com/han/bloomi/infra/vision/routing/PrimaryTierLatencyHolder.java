@@ -0,0 +1,30 @@
+package com.han.bloomi.infra.vision.routing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * 현재 스레드에서 진행 중인 프로바이더 호출의 1단계(캐스케이드 primary) 지연 시간 보관소
+ *
+ * 캐스케이드가 더 강한 모델로 승격하면 클라이언트 호출 시간에 API 호출 두 번이 섞이므로,
+ * 라우터는 헤지 기준 지연 분포에 1단계 시간만 넣습니다. 라우터가 호출 전후로 비우고,
+ * 캐스케이드가 1단계 호출을 마치면 기록합니다. 기록이 없으면 클라이언트 호출 전체가 API 호출 한 번입니다.
+ */
+@Component
+public class PrimaryTierLatencyHolder {
+    private static final ThreadLocal<Long> LATENCY_MS = new ThreadLocal<>();
+
+    public OptionalLong current() {
+        Long latencyMs = LATENCY_MS.get();
+        return latencyMs != null ? OptionalLong.of(latencyMs) : OptionalLong.empty();
+    }
+
+    public void record(long latencyMs) {
+        LATENCY_MS.set(latencyMs);
+    }
+
+    public void clear() {
+        LATENCY_MS.remove();
+    }
+}
@@ -0,0 +1,101 @@
+package com.han.bloomi.infra.vision.routing;
+
+import com.han.bloomi.infra.vision.VisionProvider;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로바이더별 지연 시간/오류율 EWMA와 회로 차단기
+ * 헤지 시점 계산을 위해 성공한 API 호출 1회의 지연 시간 분포도 함께 보관합니다.
+ */
+public class ProviderHealth {
+    private static final double MIN_SUCCESS_RATE = 0.05;
+
+    private final VisionProvider provider;
+    private final double latencyAlpha;
+    private final double errorAlpha;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyWindow latencyWindow;
+
+    private double ewmaLatencyMs;
+    private double ewmaErrorRate;
+    private boolean measured;
+
+    public ProviderHealth(VisionProvider provider, VisionRoutingProperties properties, int latencyWindowSize,
+                          LongSupplier clock) {
+        this.provider = provider;
+        this.latencyAlpha = properties.getLatencyAlpha();
+        this.errorAlpha = properties.getErrorAlpha();
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(),
+                properties.getOpenDuration().toNanos(), clock);
+        this.latencyWindow = new LatencyWindow(latencyWindowSize);
+    }
+
+    public VisionProvider getProvider() {
+        return provider;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 응답을 받은 호출 (프로바이더는 정상 동작)
+     *
+     * @param latencyMs     클라이언트 호출 전체 지연 시간 (라우팅 점수)
+     * @param callLatencyMs API 호출 1회(캐스케이드 1단계) 지연 시간 (헤지 기준 분포)
+     */
+    public synchronized void recordSuccess(long latencyMs, long callLatencyMs) {
+        ewmaLatencyMs = measured ? ewma(ewmaLatencyMs, latencyMs, latencyAlpha) : latencyMs;
+        ewmaErrorRate = ewma(ewmaErrorRate, 0, errorAlpha);
+        measured = true;
+        latencyWindow.record(callLatencyMs);
+    }
+
+    /**
+     * 타임아웃/5xx 등 프로바이더 장애
+     * 타임아웃까지 걸린 시간도 지연 시간에 반영합니다.
+     */
+    public synchronized void recordFailure(long latencyMs) {
+        ewmaLatencyMs = measured ? ewma(ewmaLatencyMs, latencyMs, latencyAlpha) : latencyMs;
+        ewmaErrorRate = ewma(ewmaErrorRate, 1, errorAlpha);
+        measured = true;
+    }
+
+    public synchronized double getLatencyMs() {
+        return ewmaLatencyMs;
+    }
+
+    public synchronized double getErrorRate() {
+        return ewmaErrorRate;
+    }
+
+    /**
+     * 성공한 API 호출 1회의 백분위 지연 시간
+     *
+     * @return 샘플이 minSamples보다 적으면 empty
+     */
+    public OptionalLong latencyPercentile(double percentile, int minSamples) {
+        if (latencyWindow.size() < minSamples) {
+            return OptionalLong.empty();
+        }
+        return latencyWindow.percentile(percentile);
+    }
+
+    /**
+     * 라우팅 점수 (낮을수록 우선)
+     * 기대 지연 시간을 성공률로 나눈 값으로, 느리거나 자주 실패하는 프로바이더일수록 커집니다.
+     * 아직 측정값이 없는 프로바이더는 0으로 두어 먼저 시도되게 합니다.
+     */
+    public synchronized double score() {
+        if (!measured) {
+            return 0;
+        }
+        return ewmaLatencyMs / Math.max(MIN_SUCCESS_RATE, 1 - ewmaErrorRate);
+    }
+
+    private static double ewma(double current, double sample, double alpha) {
+        return alpha * sample + (1 - alpha) * current;
+    }
+}
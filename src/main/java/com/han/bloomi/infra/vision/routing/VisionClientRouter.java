@@ -0,0 +1,483 @@
+package com.han.bloomi.infra.vision.routing;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
+import com.han.bloomi.infra.vision.VisionClient;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.VisionProvider;
+import com.han.bloomi.infra.vision.limit.AdaptiveConcurrencyLimiter;
+import com.han.bloomi.infra.vision.limit.VisionConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 Vision 프로바이더 중 가장 빠르고 건강한 프로바이더로 요청을 보내는 라우터
+ *
+ * 프로바이더별로 지연 시간/오류율 EWMA를 추적하고, 타임아웃·5xx가 연속되면 회로를 열어 제외합니다.
+ * 선택한 프로바이더가 장애로 실패하면 다음 후보로 한 번씩 재시도합니다.
+ * 단, 스트리밍 중 이미 부분 필드를 전달했다면 결과가 섞이지 않도록 재시도하지 않습니다.
+ *
+ * 스트리밍이 아닌 요청은 헤지합니다. 첫 호출이 해당 프로바이더의 p90(설정값) 지연 시간 안에 끝나지 않으면
+ * 다른 프로바이더(없으면 같은 프로바이더)로 같은 요청을 한 번 더 보내고, 먼저 도착한 응답을 쓰고 나머지는 취소합니다.
+ * 추가 호출은 {@link HedgeBudget}으로 전체 요청 대비 일정 비율 이하로 제한합니다.
+ * 요청 마감 시각({@link DeadlineHolder})이 지났으면 헤지와 다음 프로바이더 재시도를 하지 않습니다.
+ *
+ * 프로바이더 호출은 하나마다 동시성 제한({@link VisionConcurrencyLimiter}) 권한을 받아 실행합니다.
+ * 1차 호출과 재시도는 자리가 날 때까지 기다리고, 헤지는 빈 자리가 없으면 보내지 않습니다.
+ * 헤지 기준 지연 분포에는 캐스케이드 1단계(API 호출 1회) 지연 시간만 넣습니다. ({@link PrimaryTierLatencyHolder})
+ *
+ * 메트릭: bloomi.vision.provider.latency / error_rate / circuit_state {provider}, bloomi.vision.provider.failover,
+ * bloomi.vision.hedge.eligible, bloomi.vision.hedge.wins {winner},
+ * bloomi.vision.hedge.requests {result: fired, budget_exhausted, deadline_exceeded, limiter_saturated}
+ */
+@Slf4j
+@Component
+public class VisionClientRouter {
+    private static final String METRIC_NAME = "bloomi.vision.provider";
+    private static final String HEDGE_METRIC_NAME = "bloomi.vision.hedge";
+
+    private final List<Route> routes;
+    private final VisionRoutingProperties properties;
+    private final VisionHedgingProperties hedgingProperties;
+    private final ExecutorService executor;
+    private final VisionConcurrencyLimiter concurrencyLimiter;
+    private final TraceIdHolder traceIdHolder;
+    private final DeadlineHolder deadlineHolder;
+    private final PrimaryTierLatencyHolder primaryTierLatency;
+    private final LongSupplier clock;
+    private final HedgeBudget hedgeBudget;
+    private final Counter failovers;
+    private final Counter hedgeEligible;
+    private final Counter hedgesFired;
+    private final Counter hedgesSkipped;
+    private final Counter hedgesPastDeadline;
+    private final Counter hedgesLimited;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    @Autowired
+    public VisionClientRouter(List<VisionClient> clients, VisionRoutingProperties properties,
+                              VisionHedgingProperties hedgingProperties, ExecutorService analyzeTaskExecutor,
+                              VisionConcurrencyLimiter concurrencyLimiter, TraceIdHolder traceIdHolder,
+                              DeadlineHolder deadlineHolder, PrimaryTierLatencyHolder primaryTierLatency,
+                              MeterRegistry meterRegistry) {
+        this(clients, properties, hedgingProperties, analyzeTaskExecutor, concurrencyLimiter, traceIdHolder,
+                deadlineHolder, primaryTierLatency, meterRegistry, System::nanoTime);
+    }
+
+    VisionClientRouter(List<VisionClient> clients, VisionRoutingProperties properties,
+                       VisionHedgingProperties hedgingProperties, ExecutorService executor,
+                       VisionConcurrencyLimiter concurrencyLimiter, TraceIdHolder traceIdHolder,
+                       DeadlineHolder deadlineHolder, PrimaryTierLatencyHolder primaryTierLatency,
+                       MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.hedgingProperties = hedgingProperties;
+        this.executor = executor;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.traceIdHolder = traceIdHolder;
+        this.deadlineHolder = deadlineHolder;
+        this.primaryTierLatency = primaryTierLatency;
+        this.clock = clock;
+        this.routes = clients.stream()
+                .map(client -> new Route(client, new ProviderHealth(client.getProvider(), properties,
+                        hedgingProperties.getWindowSize(), clock)))
+                .toList();
+        this.hedgeBudget = new HedgeBudget(hedgingProperties.getBudgetRatio(), hedgingProperties.getMaxBurst());
+
+        this.failovers = Counter.builder(METRIC_NAME + ".failover").register(meterRegistry);
+        this.hedgeEligible = Counter.builder(HEDGE_METRIC_NAME + ".eligible").register(meterRegistry);
+        this.hedgesFired = Counter.builder(HEDGE_METRIC_NAME + ".requests").tag("result", "fired").register(meterRegistry);
+        this.hedgesSkipped = Counter.builder(HEDGE_METRIC_NAME + ".requests").tag("result", "budget_exhausted")
+                .register(meterRegistry);
+        this.hedgesPastDeadline = Counter.builder(HEDGE_METRIC_NAME + ".requests").tag("result", "deadline_exceeded")
+                .register(meterRegistry);
+        this.hedgesLimited = Counter.builder(HEDGE_METRIC_NAME + ".requests").tag("result", "limiter_saturated")
+                .register(meterRegistry);
+        this.primaryWins = Counter.builder(HEDGE_METRIC_NAME + ".wins").tag("winner", "primary").register(meterRegistry);
+        this.hedgeWins = Counter.builder(HEDGE_METRIC_NAME + ".wins").tag("winner", "hedge").register(meterRegistry);
+
+        for (Route route : routes) {
+            String provider = route.client().getProvider().name().toLowerCase();
+            ProviderHealth health = route.health();
+            Gauge.builder(METRIC_NAME + ".latency", health, ProviderHealth::getLatencyMs)
+                    .tag("provider", provider).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".error_rate", health, ProviderHealth::getErrorRate)
+                    .tag("provider", provider).register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".circuit_state", health, h -> h.getCircuitBreaker().getState().ordinal())
+                    .tag("provider", provider).description("0=closed, 1=open, 2=half_open").register(meterRegistry);
+        }
+        log.info("Vision providers registered: {}", routes.stream().map(r -> r.client().getProvider()).toList());
+    }
+
+    /**
+     * 가장 점수가 좋은 프로바이더로 분석을 요청합니다.
+     *
+     * @param listener 스트리밍 리스너 (없으면 null, 스트리밍 요청은 헤지하지 않음)
+     * @throws VisionException VISION_UNAVAILABLE - 호출 가능한 프로바이더가 없는 경우
+     */
+    public MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt, MealAnalysisStreamListener listener) {
+        if (listener != null || !hedgingProperties.isEnabled()) {
+            return analyzeSequentially(request, prompt, listener);
+        }
+        return analyzeHedged(request, prompt);
+    }
+
+    private MealAnalysis analyzeSequentially(MealAnalysisRequest request, VisionPrompt prompt,
+                                             MealAnalysisStreamListener listener) {
+        VisionException lastFailure = null;
+        Deadline deadline = deadlineHolder.current();
+
+        for (Route route : candidates()) {
+            if (lastFailure != null && deadline.isExpired()) {
+                log.warn("Deadline exceeded, not failing over to {}", route.client().getProvider());
+                break;
+            }
+            if (!route.health().getCircuitBreaker().tryAcquire()) {
+                continue;
+            }
+
+            TrackingListener tracking = listener != null ? new TrackingListener(listener) : null;
+            log.info("Analyzing meal with provider: {}", route.client().getProvider());
+            try {
+                return acquirePermit(route).execute(() -> invoke(route, request, prompt, tracking, () -> false));
+            } catch (VisionException e) {
+                if (!e.isUpstreamFailure() || !properties.isFailover() || (tracking != null && tracking.emitted)) {
+                    throw e;
+                }
+                lastFailure = e;
+                failovers.increment();
+                log.warn("Vision provider {} failed ({}), trying next provider",
+                        route.client().getProvider(), e.getErrorCode().getCode());
+            }
+        }
+
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        throw new VisionException(ErrorCode.VISION_UNAVAILABLE, "No healthy vision provider available");
+    }
+
+    private MealAnalysis analyzeHedged(MealAnalysisRequest request, VisionPrompt prompt) {
+        hedgeBudget.onRequest();
+        hedgeEligible.increment();
+
+        Deque<Route> remaining = new ArrayDeque<>(candidates());
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<Attempt> running = new ArrayList<>();
+        String traceId = traceIdHolder.current();
+        Deadline deadline = deadlineHolder.current();
+
+        Attempt primary = startNext(remaining, request, prompt, completed, traceId, deadline, null);
+        if (primary == null) {
+            throw new VisionException(ErrorCode.VISION_UNAVAILABLE, "No healthy vision provider available");
+        }
+        running.add(primary);
+
+        OptionalLong hedgeDelayMs = hedgeDelayMs(primary.route);
+        long hedgeAt = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs.orElse(0));
+        boolean hedgePending = hedgeDelayMs.isPresent();
+        boolean hedged = false;
+        VisionException lastFailure = null;
+
+        try {
+            while (!running.isEmpty()) {
+                Attempt done;
+                if (hedgePending) {
+                    done = completed.poll(Math.max(0, hedgeAt - clock.getAsLong()), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        hedgePending = false;
+                        Attempt hedge = startHedge(remaining, primary.route, request, prompt, completed, traceId,
+                                deadline);
+                        if (hedge != null) {
+                            hedged = true;
+                            running.add(hedge);
+                        }
+                        continue;
+                    }
+                } else {
+                    done = completed.take();
+                }
+                running.remove(done);
+
+                if (done.error == null) {
+                    if (hedged) {
+                        (done == primary ? primaryWins : hedgeWins).increment();
+                    }
+                    return done.result;
+                }
+                if (!(done.error instanceof VisionException failure) || !failure.isUpstreamFailure()) {
+                    throw done.error;
+                }
+
+                lastFailure = failure;
+                if (properties.isFailover() && running.isEmpty() && !deadline.isExpired()) {
+                    Attempt next = startNext(remaining, request, prompt, completed, traceId, deadline, null);
+                    if (next != null) {
+                        failovers.increment();
+                        log.warn("Vision provider {} failed ({}), trying next provider",
+                                done.route.client().getProvider(), failure.getErrorCode().getCode());
+                        running.add(next);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VisionException(ErrorCode.VISION_API_ERROR, "Interrupted while waiting for vision response", e);
+        } finally {
+            running.forEach(Attempt::cancel);
+        }
+
+        throw lastFailure;
+    }
+
+    /**
+     * 예산이 남아 있으면 헤지 요청을 시작합니다. 다른 프로바이더를 우선하고, 없으면 같은 프로바이더로 보냅니다.
+     * 요청 마감 시각이 이미 지났으면 응답을 받아도 쓸 수 없으므로 보내지 않습니다.
+     */
+    private Attempt startHedge(Deque<Route> remaining, Route primary, MealAnalysisRequest request, VisionPrompt prompt,
+                               BlockingQueue<Attempt> completed, String traceId, Deadline deadline) {
+        if (deadline.isExpired()) {
+            hedgesPastDeadline.increment();
+            return null;
+        }
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = concurrencyLimiter.tryAcquire();
+        if (permit.isEmpty()) {
+            hedgesLimited.increment();
+            return null;
+        }
+        if (!hedgeBudget.tryAcquire()) {
+            permit.get().cancel();
+            hedgesSkipped.increment();
+            return null;
+        }
+        Attempt hedge = startNext(remaining, request, prompt, completed, traceId, deadline, permit.get());
+        if (hedge == null && primary.health().getCircuitBreaker().tryAcquire()) {
+            hedge = submit(primary, request, prompt, completed, traceId, deadline, permit.get());
+        }
+        if (hedge != null) {
+            hedgesFired.increment();
+        } else {
+            permit.get().cancel();
+        }
+        return hedge;
+    }
+
+    /**
+     * @param hedgePermit 헤지 요청이면 미리 받은 동시성 제한 권한, 아니면 null (실행 스레드에서 기다려 받음)
+     */
+    private Attempt startNext(Deque<Route> remaining, MealAnalysisRequest request, VisionPrompt prompt,
+                              BlockingQueue<Attempt> completed, String traceId, Deadline deadline,
+                              AdaptiveConcurrencyLimiter.Permit hedgePermit) {
+        while (!remaining.isEmpty()) {
+            Route route = remaining.poll();
+            if (route.health().getCircuitBreaker().tryAcquire()) {
+                return submit(route, request, prompt, completed, traceId, deadline, hedgePermit);
+            }
+        }
+        return null;
+    }
+
+    private Attempt submit(Route route, MealAnalysisRequest request, VisionPrompt prompt,
+                           BlockingQueue<Attempt> completed, String traceId, Deadline deadline,
+                           AdaptiveConcurrencyLimiter.Permit hedgePermit) {
+        Attempt attempt = new Attempt(route, hedgePermit);
+        log.info("Analyzing meal with provider: {}{}", route.client().getProvider(),
+                hedgePermit != null ? " (hedge)" : "");
+        attempt.future = executor.submit(() -> {
+            if (!attempt.started.compareAndSet(false, true)) {
+                return;
+            }
+            traceIdHolder.set(traceId);
+            deadlineHolder.set(deadline);
+            try {
+                AdaptiveConcurrencyLimiter.Permit permit = hedgePermit != null ? hedgePermit : acquirePermit(route);
+                attempt.result = permit.execute(() -> invoke(route, request, prompt, null, () -> attempt.cancelled));
+            } catch (RuntimeException e) {
+                attempt.error = e;
+            } finally {
+                deadlineHolder.clear();
+                traceIdHolder.clear();
+                completed.offer(attempt);
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * 프로바이더를 한 번 호출하고 결과를 상태/회로 차단기에 반영합니다.
+     * 헤지 경쟁에서 져서 취소된 호출의 실패는 프로바이더 장애로 보지 않습니다.
+     */
+    private MealAnalysis invoke(Route route, MealAnalysisRequest request, VisionPrompt prompt,
+                                MealAnalysisStreamListener listener, BooleanSupplier cancelled) {
+        CircuitBreaker circuitBreaker = route.health().getCircuitBreaker();
+        primaryTierLatency.clear();
+        long start = clock.getAsLong();
+        try {
+            MealAnalysis analysis = listener != null
+                    ? route.client().analyze(request, prompt, listener)
+                    : route.client().analyze(request, prompt);
+            recordSuccess(route, start);
+            circuitBreaker.onSuccess();
+            return analysis;
+
+        } catch (VisionException e) {
+            if (cancelled.getAsBoolean()) {
+                circuitBreaker.onIgnored();
+            } else if (e.isUpstreamFailure()) {
+                route.health().recordFailure(elapsedMs(start));
+                circuitBreaker.onFailure();
+            } else {
+                // 프로바이더는 응답했지만 요청 자체가 문제인 경우 (음식 사진 아님, 4xx 등)
+                recordSuccess(route, start);
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+
+        } catch (RuntimeException e) {
+            circuitBreaker.onIgnored();
+            throw e;
+
+        } finally {
+            primaryTierLatency.clear();
+        }
+    }
+
+    /**
+     * 전체 지연 시간은 라우팅 점수에, 캐스케이드 1단계 지연 시간(없으면 전체)은 헤지 기준 분포에 반영합니다.
+     */
+    private void recordSuccess(Route route, long start) {
+        long elapsedMs = elapsedMs(start);
+        route.health().recordSuccess(elapsedMs, primaryTierLatency.current().orElse(elapsedMs));
+    }
+
+    /**
+     * 동시성 제한 권한을 기다려 받습니다. 거절되면 이미 받은 회로 차단기 권한을 반환합니다.
+     *
+     * @throws VisionException VISION_OVERLOADED
+     */
+    private AdaptiveConcurrencyLimiter.Permit acquirePermit(Route route) {
+        try {
+            return concurrencyLimiter.acquire();
+        } catch (VisionException e) {
+            route.health().getCircuitBreaker().onIgnored();
+            throw e;
+        }
+    }
+
+    /**
+     * 헤지까지 기다릴 시간 (프로바이더의 백분위 지연 시간, 하한 minDelay)
+     *
+     * @return 샘플이 부족하면 empty (헤지하지 않음)
+     */
+    private OptionalLong hedgeDelayMs(Route route) {
+        OptionalLong percentile = route.health().latencyPercentile(
+                hedgingProperties.getPercentile(), hedgingProperties.getMinSamples());
+        if (percentile.isEmpty()) {
+            return percentile;
+        }
+        return OptionalLong.of(Math.max(hedgingProperties.getMinDelay().toMillis(), percentile.getAsLong()));
+    }
+
+    /**
+     * 호출 가능한 프로바이더를 점수 순으로 정렬합니다.
+     */
+    List<Route> candidates() {
+        return routes.stream()
+                .filter(route -> route.client().isAvailable())
+                .filter(route -> route.health().getCircuitBreaker().isCallPermitted())
+                .sorted(Comparator.comparingDouble(route -> route.health().score()))
+                .toList();
+    }
+
+    ProviderHealth health(VisionProvider provider) {
+        return routes.stream()
+                .filter(route -> route.client().getProvider() == provider)
+                .map(Route::health)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - start);
+    }
+
+    record Route(VisionClient client, ProviderHealth health) {
+    }
+
+    /**
+     * 헤지 경쟁 중인 호출 하나
+     */
+    private static final class Attempt {
+        private final Route route;
+        private final AdaptiveConcurrencyLimiter.Permit hedgePermit;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<?> future;
+        private volatile MealAnalysis result;
+        private volatile RuntimeException error;
+        private volatile boolean cancelled;
+
+        private Attempt(Route route, AdaptiveConcurrencyLimiter.Permit hedgePermit) {
+            this.route = route;
+            this.hedgePermit = hedgePermit;
+        }
+
+        /**
+         * 진행 중이면 인터럽트로 HTTP 호출을 끊고, 아직 시작 전이면 회로 차단기/동시성 제한 권한만 반환합니다.
+         */
+        private void cancel() {
+            cancelled = true;
+            if (started.compareAndSet(false, true)) {
+                route.health().getCircuitBreaker().onIgnored();
+                if (hedgePermit != null) {
+                    hedgePermit.cancel();
+                }
+            } else if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 부분 필드를 이미 전달했는지 추적하는 리스너
+     */
+    private static final class TrackingListener implements MealAnalysisStreamListener {
+        private final MealAnalysisStreamListener delegate;
+        private volatile boolean emitted;
+
+        private TrackingListener(MealAnalysisStreamListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onField(String field, Object value) {
+            emitted = true;
+            delegate.onField(field, value);
+        }
+    }
+}
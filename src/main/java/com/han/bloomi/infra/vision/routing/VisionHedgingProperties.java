@@ -0,0 +1,52 @@
+package com.han.bloomi.infra.vision.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 헤지 요청 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.hedging")
+public class VisionHedgingProperties {
+    /**
+     * 헤지 요청 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 이 백분위 지연 시간이 지나도 응답이 없으면 헤지 요청을 보냅니다 (0~1)
+     */
+    private double percentile = 0.9;
+
+    /**
+     * 백분위 계산에 사용할 최근 지연 시간 샘플 수
+     */
+    private int windowSize = 200;
+
+    /**
+     * 헤지를 시작하기 위한 최소 샘플 수 (샘플이 부족하면 헤지하지 않음)
+     */
+    private int minSamples = 20;
+
+    /**
+     * 헤지 지연 하한 (백분위 값이 이보다 작아도 이만큼은 기다림)
+     */
+    private Duration minDelay = Duration.ofMillis(200);
+
+    /**
+     * 추가 호출 예산 (전체 요청 대비 비율, 0.1 = 최대 10% 추가 호출)
+     */
+    private double budgetRatio = 0.1;
+
+    /**
+     * 예산 최대 적립량 (순간적으로 몰릴 수 있는 헤지 수)
+     */
+    private int maxBurst = 10;
+}
@@ -0,0 +1,42 @@
+package com.han.bloomi.infra.vision.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Vision 프로바이더 라우팅 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.routing")
+public class VisionRoutingProperties {
+    /**
+     * 지연 시간 EWMA 가중치 (0~1, 클수록 최근 값 반영이 빠름)
+     */
+    private double latencyAlpha = 0.3;
+
+    /**
+     * 오류율 EWMA 가중치 (0~1)
+     */
+    private double errorAlpha = 0.2;
+
+    /**
+     * 회로를 여는 연속 장애(타임아웃/5xx) 횟수
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * 회로가 열린 뒤 시험 호출을 허용하기까지의 시간
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * 프로바이더 장애 시 다음 프로바이더로 재시도할지 여부
+     */
+    private boolean failover = true;
+}
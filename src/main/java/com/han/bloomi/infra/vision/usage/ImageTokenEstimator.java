@@ -0,0 +1,91 @@
+package com.han.bloomi.infra.vision.usage;
+
+import com.han.bloomi.infra.vision.VisionProvider;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 입력 토큰 중 이미지 토큰 추정
+ *
+ * 프로바이더 응답의 usage에는 이미지 토큰이 따로 나오지 않으므로, 각 프로바이더가 공개한 계산식으로 추정합니다.
+ * - OpenAI: detail=low는 85 고정, 그 외에는 2048 박스 -> 짧은 변 768로 축소 후 512px 타일당 170 + 기본 85
+ * - Anthropic: 긴 변 1568 이하로 축소 후 (가로 x 세로) / 750
+ *
+ * 크기는 이미지 헤더만 읽어 구하며(픽셀 디코딩 없음), 읽을 수 없으면 0을 반환합니다.
+ */
+final class ImageTokenEstimator {
+    private static final int OPENAI_LOW_DETAIL_TOKENS = 85;
+    private static final int OPENAI_TILE_TOKENS = 170;
+    private static final int OPENAI_TILE_SIZE = 512;
+    private static final int OPENAI_MAX_DIMENSION = 2048;
+    private static final int OPENAI_SHORT_SIDE = 768;
+    private static final int ANTHROPIC_MAX_DIMENSION = 1568;
+    private static final int ANTHROPIC_PIXELS_PER_TOKEN = 750;
+
+    private ImageTokenEstimator() {
+    }
+
+    static long estimate(VisionProvider provider, String detail, MultipartFile image) {
+        int[] size = readSize(image);
+        if (size == null) {
+            return 0;
+        }
+        return estimate(provider, detail, size[0], size[1]);
+    }
+
+    static long estimate(VisionProvider provider, String detail, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return 0;
+        }
+        return switch (provider) {
+            case OPENAI -> openAi(detail, width, height);
+            case ANTHROPIC -> anthropic(width, height);
+            default -> 0;
+        };
+    }
+
+    private static long openAi(String detail, double width, double height) {
+        if ("low".equalsIgnoreCase(detail)) {
+            return OPENAI_LOW_DETAIL_TOKENS;
+        }
+        double fit = Math.min(1, OPENAI_MAX_DIMENSION / Math.max(width, height));
+        width *= fit;
+        height *= fit;
+        double shortSide = Math.min(1, OPENAI_SHORT_SIDE / Math.min(width, height));
+        width *= shortSide;
+        height *= shortSide;
+        long tiles = (long) Math.ceil(width / OPENAI_TILE_SIZE) * (long) Math.ceil(height / OPENAI_TILE_SIZE);
+        return OPENAI_LOW_DETAIL_TOKENS + OPENAI_TILE_TOKENS * tiles;
+    }
+
+    private static long anthropic(double width, double height) {
+        double fit = Math.min(1, ANTHROPIC_MAX_DIMENSION / Math.max(width, height));
+        return Math.round(width * fit * height * fit / ANTHROPIC_PIXELS_PER_TOKEN);
+    }
+
+    private static int[] readSize(MultipartFile image) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.getInputStream())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.han.bloomi.infra.vision.usage;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Vision 토큰/비용 집계 설정 프로퍼티
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bloomi.vision.usage")
+public class VisionUsageProperties {
+    /**
+     * 사용자별 사용량 저장 여부 (false면 메트릭만 기록)
+     */
+    private boolean persist = true;
+
+    /**
+     * 모델별 가격표 (USD / 100만 토큰)
+     * 모델명에 '.'이 있으므로 대괄호로 지정합니다. 예: bloomi.vision.usage.prices[gpt-4.1-mini].input=0.40
+     * 가격표에 없는 모델은 비용을 0으로 집계합니다.
+     */
+    private Map<String, Price> prices = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Price {
+        /**
+         * 입력 토큰 가격 (이미지 토큰 포함)
+         */
+        private double input;
+
+        /**
+         * 프롬프트 캐시에서 읽은 입력 토큰 가격 (없으면 입력 토큰 가격 적용)
+         */
+        private Double cachedInput;
+
+        /**
+         * 출력 토큰 가격
+         */
+        private double output;
+    }
+}
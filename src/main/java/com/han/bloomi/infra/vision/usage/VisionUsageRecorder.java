@@ -0,0 +1,168 @@
+package com.han.bloomi.infra.vision.usage;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.VisionUsage;
+import com.han.bloomi.domain.port.VisionUsageRepository;
+import com.han.bloomi.infra.vision.VisionProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vision 호출의 토큰/비용 사용량 기록
+ *
+ * 호출마다 프로바이더/모델별 토큰 분포(입력, 출력, 이미지 추정치)와 가격표 기준 추정 비용을 메트릭으로 기록하고,
+ * 사용자별 사용량은 메모리에서 (사용자, 날짜, 프로바이더, 모델) 단위로 모았다가 주기적으로 한 번에 UPSERT합니다.
+ * 호출마다 DB에 쓰지 않으므로 분석 응답 시간에 영향을 주지 않으며, 저장에 실패한 증분은 다음 주기에 다시 시도합니다.
+ *
+ * 메트릭: bloomi.vision.usage.prompt_tokens / cached_tokens / completion_tokens / image_tokens {provider, model},
+ * bloomi.vision.usage.prompt_cache {provider, model, result=hit|miss}, bloomi.vision.usage.cost {provider, model} (USD)
+ */
+@Slf4j
+@Component
+public class VisionUsageRecorder {
+    private static final String METRIC_NAME = "bloomi.vision.usage";
+    private static final double TOKENS_PER_PRICE_UNIT = 1_000_000.0;
+
+    private final VisionUsageProperties properties;
+    private final VisionUsageRepository usageRepository;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<PendingKey, VisionUsage> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VisionUsageRecorder(VisionUsageProperties properties, VisionUsageRepository usageRepository,
+                               MeterRegistry meterRegistry) {
+        this(properties, usageRepository, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    VisionUsageRecorder(VisionUsageProperties properties, VisionUsageRepository usageRepository,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.usageRepository = usageRepository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Vision 호출 한 번의 사용량을 기록합니다.
+     *
+     * @param provider         프로바이더
+     * @param model            호출한 모델
+     * @param request          분석 요청 (사용자 ID, 이미지 크기 추정에 사용)
+     * @param imageDetail      OpenAI 이미지 detail 설정 (Anthropic이면 null)
+     * @param promptTokens     응답 usage의 입력 토큰 수, 캐시 토큰 포함 (없으면 null)
+     * @param cachedTokens     입력 토큰 중 프롬프트 캐시에서 읽은 토큰 수
+     * @param completionTokens 응답 usage의 출력 토큰 수 (없으면 null)
+     */
+    public void record(VisionProvider provider, String model, MealAnalysisRequest request, String imageDetail,
+                       Integer promptTokens, int cachedTokens, Integer completionTokens) {
+        if (promptTokens == null && completionTokens == null) {
+            return;
+        }
+        String providerName = provider.name().toLowerCase(Locale.ROOT);
+        long prompt = promptTokens != null ? promptTokens : 0;
+        long completion = completionTokens != null ? completionTokens : 0;
+        long image = Math.min(prompt, ImageTokenEstimator.estimate(provider, imageDetail, request.image()));
+        long cached = Math.min(prompt, cachedTokens);
+        double cost = estimateCost(model, prompt, cached, completion);
+
+        summary("prompt_tokens", providerName, model).record(prompt);
+        summary("cached_tokens", providerName, model).record(cached);
+        Counter.builder(METRIC_NAME + ".prompt_cache")
+                .tag("provider", providerName)
+                .tag("model", model)
+                .tag("result", cached > 0 ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+        summary("completion_tokens", providerName, model).record(completion);
+        summary("image_tokens", providerName, model).record(image);
+        Counter.builder(METRIC_NAME + ".cost")
+                .description("Estimated vision cost from the configured price table")
+                .baseUnit("usd")
+                .tag("provider", providerName)
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment(cost);
+
+        if (properties.isPersist() && request.userId() != null) {
+            VisionUsage usage = VisionUsage.builder()
+                    .userId(request.userId())
+                    .provider(providerName)
+                    .model(model)
+                    .requests(1)
+                    .promptTokens(prompt)
+                    .completionTokens(completion)
+                    .imageTokens(image)
+                    .estimatedCost(cost)
+                    .build();
+            pending.merge(new PendingKey(LocalDate.now(clock), request.userId(), providerName, model),
+                    usage, VisionUsage::plus);
+        }
+    }
+
+    /**
+     * 가격표 기준 추정 비용 (USD). 가격표에 없는 모델은 0
+     * 캐시에서 읽은 입력 토큰은 캐시 가격으로 계산합니다.
+     */
+    double estimateCost(String model, long promptTokens, long cachedTokens, long completionTokens) {
+        VisionUsageProperties.Price price = properties.getPrices().get(model);
+        if (price == null) {
+            return 0;
+        }
+        double cachedInput = price.getCachedInput() != null ? price.getCachedInput() : price.getInput();
+        return ((promptTokens - cachedTokens) * price.getInput()
+                + cachedTokens * cachedInput
+                + completionTokens * price.getOutput()) / TOKENS_PER_PRICE_UNIT;
+    }
+
+    /**
+     * 모아 둔 사용자별 사용량을 저장소에 더합니다.
+     * 저장에 실패하면 해당 증분을 다시 모아 두고 이번 주기를 멈춥니다. (다음 주기에 재시도)
+     */
+    @Scheduled(fixedDelay = 10000)
+    @PreDestroy
+    public void flush() {
+        int flushed = 0;
+        for (PendingKey key : pending.keySet()) {
+            VisionUsage usage = pending.remove(key);
+            if (usage == null) {
+                continue;
+            }
+            try {
+                usageRepository.add(key.date(), usage);
+                flushed++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to save vision usage, will retry - userId: {}, model: {}: {}",
+                        usage.userId(), usage.model(), e.getMessage());
+                pending.merge(key, usage, VisionUsage::plus);
+                break;
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Vision usage flushed - rows: {}", flushed);
+        }
+    }
+
+    private DistributionSummary summary(String name, String provider, String model) {
+        return DistributionSummary.builder(METRIC_NAME + "." + name)
+                .baseUnit("tokens")
+                .tag("provider", provider)
+                .tag("model", model)
+                .register(meterRegistry);
+    }
+
+    private record PendingKey(LocalDate date, String userId, String provider, String model) {
+    }
+}
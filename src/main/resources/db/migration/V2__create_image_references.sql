@@ -0,0 +1,15 @@
+-- 콘텐츠 주소 저장 이미지의 참조 카운트
+-- 여러 식단 기록이 같은 이미지를 공유할 수 있으므로, 마지막 참조가 사라질 때만 이미지를 삭제합니다.
+CREATE TABLE IF NOT EXISTS image_references (
+    image_url  VARCHAR(1024) PRIMARY KEY,
+    ref_count  INTEGER      NOT NULL DEFAULT 0,
+    created_at TIMESTAMP    NOT NULL,
+    updated_at TIMESTAMP    NOT NULL
+);
+
+-- 기존 식단 기록 이미지의 참조 수 채우기
+INSERT INTO image_references (image_url, ref_count, created_at, updated_at)
+SELECT image_url, COUNT(*), now(), now()
+FROM meal_records
+GROUP BY image_url
+ON CONFLICT (image_url) DO NOTHING;
@@ -0,0 +1,4 @@
+-- 식단 목록용 썸네일 URL과 BlurHash 플레이스홀더
+-- 기록 저장 후 비동기로 채워지므로 NULL을 허용합니다. (NULL이면 목록은 원본 이미지 URL을 사용)
+ALTER TABLE meal_records ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(1024);
+ALTER TABLE meal_records ADD COLUMN IF NOT EXISTS placeholder VARCHAR(64);
@@ -0,0 +1,15 @@
+-- 사용자별 일간 Vision 호출 사용량 (토큰/추정 비용)
+-- 애플리케이션이 메모리에서 모은 증분을 주기적으로 UPSERT로 더합니다.
+CREATE TABLE IF NOT EXISTS vision_usage (
+    user_id           VARCHAR(255)   NOT NULL,
+    usage_date        DATE           NOT NULL,
+    provider          VARCHAR(32)    NOT NULL,
+    model             VARCHAR(128)   NOT NULL,
+    requests          BIGINT         NOT NULL DEFAULT 0,
+    prompt_tokens     BIGINT         NOT NULL DEFAULT 0,
+    completion_tokens BIGINT         NOT NULL DEFAULT 0,
+    image_tokens      BIGINT         NOT NULL DEFAULT 0,
+    estimated_cost    NUMERIC(14, 6) NOT NULL DEFAULT 0,
+    updated_at        TIMESTAMP      NOT NULL,
+    PRIMARY KEY (user_id, usage_date, provider, model)
+);
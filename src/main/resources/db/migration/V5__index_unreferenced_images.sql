@@ -0,0 +1,5 @@
+-- 참조가 0이 된 이미지는 행을 남겨 두고 GC가 일정 시간 뒤 객체와 함께 삭제합니다.
+-- GC 후보 조회(ref_count = 0, 오래된 순)용 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_image_references_unreferenced
+    ON image_references (updated_at)
+    WHERE ref_count = 0;
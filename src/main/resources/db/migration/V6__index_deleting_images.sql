@@ -0,0 +1,7 @@
+-- GC는 삭제할 행을 ref_count = -1로 표시한 뒤 트랜잭션 밖에서 객체를 지우고 행을 삭제합니다.
+-- 객체 삭제 도중 중단된 표시 행도 다음 GC 후보가 되도록 부분 인덱스 조건을 넓힙니다.
+DROP INDEX IF EXISTS idx_image_references_unreferenced;
+
+CREATE INDEX idx_image_references_unreferenced
+    ON image_references (updated_at)
+    WHERE ref_count <= 0;
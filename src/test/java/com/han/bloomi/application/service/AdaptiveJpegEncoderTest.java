@@ -0,0 +1,97 @@
+package com.han.bloomi.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveJpegEncoderTest {
+    private static final long KB = 1024;
+
+    @Test
+    void usesStartQualityWhenItFitsTheBudget() throws IOException {
+        AdaptiveJpegEncoder encoder = new AdaptiveJpegEncoder(new ImageEncodingProperties());
+
+        AdaptiveJpegEncoder.Result result = encoder.encode(flat(1440, 1080), 1024 * KB, 0.85);
+
+        assertThat(result.fits()).isTrue();
+        assertThat(result.attempts()).isEqualTo(1);
+        assertThat(result.quality()).isEqualTo(0.85);
+        assertThat(result.width()).isEqualTo(1440);
+    }
+
+    @Test
+    void lowersQualityUntilOutputFitsTheBudget() throws IOException {
+        ImageEncodingProperties properties = new ImageEncodingProperties();
+        properties.setMinQuality(0.1);
+        AdaptiveJpegEncoder encoder = new AdaptiveJpegEncoder(properties);
+        BufferedImage image = noisy(768, 576);
+        long atStartQuality = encoder.encode(image, Long.MAX_VALUE, 0.85).output().size();
+        long budget = atStartQuality / 2;
+
+        AdaptiveJpegEncoder.Result result = encoder.encode(image, budget, 0.85);
+
+        assertThat(result.fits()).isTrue();
+        assertThat(result.output().size()).isLessThanOrEqualTo((int) budget);
+        assertThat(result.quality()).isBetween(0.1, 0.85);
+        assertThat(result.width()).isEqualTo(768);
+        assertThat(result.attempts()).isLessThanOrEqualTo(properties.getMaxAttempts());
+        assertThat(decode(result).getWidth()).isEqualTo(768);
+    }
+
+    @Test
+    void stepsDownScaleWhenMinimumQualityStillOverflows() throws IOException {
+        ImageEncodingProperties properties = new ImageEncodingProperties();
+        properties.setMinQuality(0.5);
+        properties.setScaleStep(0.5);
+        properties.setMaxScaleSteps(2);
+        AdaptiveJpegEncoder encoder = new AdaptiveJpegEncoder(properties);
+        BufferedImage image = noisy(768, 576);
+        long atMinQuality = encoder.encode(image, Long.MAX_VALUE, 0.5).output().size();
+
+        AdaptiveJpegEncoder.Result result = encoder.encode(image, atMinQuality / 2, 0.85);
+
+        assertThat(result.fits()).isTrue();
+        assertThat(result.width()).isLessThan(768);
+        assertThat(decode(result).getWidth()).isEqualTo(result.width());
+    }
+
+    @Test
+    void returnsSmallestAttemptWhenNothingFits() throws IOException {
+        ImageEncodingProperties properties = new ImageEncodingProperties();
+        properties.setMaxScaleSteps(1);
+        AdaptiveJpegEncoder encoder = new AdaptiveJpegEncoder(properties);
+
+        AdaptiveJpegEncoder.Result result = encoder.encode(noisy(768, 576), 1, 0.85);
+
+        assertThat(result.fits()).isFalse();
+        assertThat(result.quality()).isEqualTo(properties.getMinQuality());
+        assertThat(result.width()).isEqualTo((int) (768 * properties.getScaleStep()));
+        // 배율 단계마다 시작/최저 품질 두 번씩만 시도한다
+        assertThat(result.attempts()).isEqualTo(4);
+    }
+
+    private static BufferedImage flat(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static BufferedImage noisy(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage decode(AdaptiveJpegEncoder.Result result) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(result.output().toByteArray()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalysisJobResponse;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.api.dto.AnalyzeMealResponse;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.AnalysisJobStatus;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.infra.job.InMemoryAnalysisJobStore;
+import com.han.bloomi.infra.security.CurrentUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisJobServiceTest {
+    private static final String USER_ID = "user-1";
+    private static final long AWAIT_TIMEOUT_MS = 5000;
+
+    private final MealAnalyzeService mealAnalyzeService = mock(MealAnalyzeService.class);
+    private final DailyQuotaService dailyQuotaService = mock(DailyQuotaService.class);
+    private final InMemoryAnalysisJobStore jobStore = new InMemoryAnalysisJobStore();
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+    private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+    private final TraceIdHolder traceIdHolder = new TraceIdHolder();
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUserService.getCurrentUserId()).thenReturn(USER_ID);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        traceIdHolder.clear();
+    }
+
+    @Test
+    void rejectedSubmitFailsWithQueueFull() {
+        ThreadPoolTaskExecutor fullExecutor = mock(ThreadPoolTaskExecutor.class);
+        doThrow(new TaskRejectedException("queue full")).when(fullExecutor).execute(any(Runnable.class));
+        AnalysisJobService service = createService(fullExecutor);
+
+        assertThatThrownBy(() -> service.submit(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.ANALYSIS_QUEUE_FULL);
+
+        verify(mealAnalyzeService, never()).analyzeMeal(anyString(), any(), any());
+    }
+
+    @Test
+    void completedJobIsPollableUntilPurged() throws InterruptedException {
+        MealAnalysis analysis = MealAnalysis.of("닭가슴살", 500.0, Macros.of(10, 40, 5), Serving.of("g", 150),
+                List.of(), 0.9, "좋아요");
+        when(mealAnalyzeService.analyzeMeal(eq(USER_ID), any(), any())).thenReturn(analysis);
+        when(mealAnalyzeService.toResponse(eq(analysis), any()))
+                .thenReturn(AnalyzeMealResponse.builder().name("닭가슴살").calories(500.0).build());
+        AnalysisJobService service = createService(executor);
+
+        AnalysisJobResponse queued = service.submit(request());
+        assertThat(queued.status()).isEqualTo(AnalysisJobStatus.QUEUED);
+
+        AnalysisJobResponse done = awaitFinished(service, queued.jobId());
+        assertThat(done.status()).isEqualTo(AnalysisJobStatus.DONE);
+        assertThat(done.result().calories()).isEqualTo(500.0);
+        // 종료 직후에는 보관 시간 안이므로 정리되지 않는다
+        assertThat(service.purgeFinishedJobs()).isZero();
+
+        properties.setRetentionMinutes(0);
+        Thread.sleep(10);
+        assertThat(service.purgeFinishedJobs()).isEqualTo(1);
+        assertThatThrownBy(() -> service.getJob(queued.jobId()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.ANALYSIS_JOB_NOT_FOUND);
+    }
+
+    private AnalysisJobResponse awaitFinished(AnalysisJobService service, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+        AnalysisJobResponse job = service.getJob(jobId);
+        while (!job.status().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = service.getJob(jobId);
+        }
+        return job;
+    }
+
+    private AnalysisJobService createService(ThreadPoolTaskExecutor analysisJobExecutor) {
+        return new AnalysisJobService(mealAnalyzeService, dailyQuotaService, jobStore, analysisJobExecutor,
+                properties, currentUserService, traceIdHolder);
+    }
+
+    private AnalyzeMealRequest request() {
+        MultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return new AnalyzeMealRequest(image, "닭가슴살", 150.0, null);
+    }
+}
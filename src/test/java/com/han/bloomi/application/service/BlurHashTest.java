@@ -0,0 +1,56 @@
+package com.han.bloomi.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlurHashTest {
+
+    @Test
+    void blackImageHasZeroDcAndNeutralAcComponents() {
+        String hash = BlurHash.encode(solid(32, 24, Color.BLACK), 4, 3);
+
+        assertThat(hash).isEqualTo("L00000fQfQfQfQfQfQfQfQfQfQfQ");
+    }
+
+    @Test
+    void lengthDependsOnlyOnComponentCount() {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 64, 48, Color.BLUE));
+        graphics.fillRect(0, 0, 64, 48);
+        graphics.dispose();
+
+        assertThat(BlurHash.encode(image, 4, 3)).hasSize(28);
+        assertThat(BlurHash.encode(image, 1, 1)).hasSize(6);
+    }
+
+    @Test
+    void averageColorIsEncodedInDcComponent() {
+        String hash = BlurHash.encode(solid(16, 16, new Color(255, 0, 0)), 4, 3);
+
+        // 크기 플래그(1자) + AC 최대값(1자) 다음 4자리가 평균 색 0xFF0000
+        assertThat(hash.substring(2, 6)).isEqualTo("TI:j");
+    }
+
+    @Test
+    void rejectsOutOfRangeComponents() {
+        assertThatThrownBy(() -> BlurHash.encode(solid(4, 4, Color.WHITE), 10, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,104 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("try") // Permit은 블록 동안 예산을 잡아 두는 용도로만 사용
+class DecodeAdmissionControllerTest {
+    private static final long MB = 1024 * 1024;
+
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        deadlineHolder.clear();
+    }
+
+    @Test
+    void admitsDecodesWithinBudgetAndReleasesOnClose() {
+        DecodeAdmissionController controller = controller(DataSize.ofMegabytes(64), Duration.ofMillis(50));
+
+        try (DecodeAdmissionController.Permit first = controller.acquire(24 * MB);
+             DecodeAdmissionController.Permit second = controller.acquire(24 * MB)) {
+            assertThat(controller.usedBytes()).isEqualTo(48 * MB);
+        }
+        assertThat(controller.usedBytes()).isZero();
+        assertThat(meterRegistry.get("bloomi.image.decode.budget.used").gauge().value()).isZero();
+    }
+
+    @Test
+    void rejectsWhenBudgetIsNotFreedWithinMaxWait() {
+        DecodeAdmissionController controller = controller(DataSize.ofMegabytes(64), Duration.ofMillis(50));
+
+        try (DecodeAdmissionController.Permit held = controller.acquire(48 * MB)) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> controller.acquire(24 * MB))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.IMAGE_PROCESSING_BUSY);
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        assertThat(meterRegistry.get("bloomi.image.decode.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingDecodeProceedsOnceBudgetIsReleased() throws Exception {
+        DecodeAdmissionController controller = controller(DataSize.ofMegabytes(64), Duration.ofSeconds(2));
+        DecodeAdmissionController.Permit held = controller.acquire(48 * MB);
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try (DecodeAdmissionController.Permit permit = controller.acquire(24 * MB)) {
+                return controller.usedBytes();
+            }
+        });
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        held.close();
+        held.close(); // 중복 반납은 무시
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isEqualTo(24 * MB);
+        assertThat(controller.usedBytes()).isZero();
+    }
+
+    @Test
+    void oversizedDecodeTakesWholeBudgetInsteadOfWaitingForever() {
+        DecodeAdmissionController controller = controller(DataSize.ofMegabytes(64), Duration.ofMillis(50));
+
+        try (DecodeAdmissionController.Permit permit = controller.acquire(200 * MB)) {
+            assertThat(controller.usedBytes()).isEqualTo(64 * MB);
+        }
+    }
+
+    @Test
+    void waitIsCappedByRequestDeadline() {
+        DecodeAdmissionController controller = controller(DataSize.ofMegabytes(64), Duration.ofSeconds(5));
+        deadlineHolder.set(Deadline.after(Duration.ofMillis(100)));
+
+        try (DecodeAdmissionController.Permit held = controller.acquire(64 * MB)) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> controller.acquire(MB))
+                    .isInstanceOf(BusinessException.class);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private DecodeAdmissionController controller(DataSize budget, Duration maxWait) {
+        ImageDecodeProperties properties = new ImageDecodeProperties();
+        properties.setHeapBudget(budget);
+        properties.setMaxWait(maxWait);
+        return new DecodeAdmissionController(properties, deadlineHolder, meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessorTest {
+    private final ImageProcessor imageProcessor = processor(new VisionImageProperties());
+
+    @Test
+    void returnsOriginalWithoutDecodingWhenAlreadySmall() throws IOException {
+        MultipartFile original = jpeg(800, 600);
+
+        assertThat(imageProcessor.optimize(original)).isSameAs(original);
+    }
+
+    @Test
+    void resizesLargePhotoWithinBoundsKeepingAspectRatio() throws IOException {
+        MultipartFile original = jpeg(4032, 3024);
+
+        MultipartFile optimized = imageProcessor.optimize(original);
+
+        BufferedImage result = ImageIO.read(optimized.getInputStream());
+        assertThat(optimized.getContentType()).isEqualTo("image/jpeg");
+        assertThat(result.getWidth()).isEqualTo(1440);
+        assertThat(result.getHeight()).isEqualTo(1080);
+    }
+
+    @Test
+    void producesArchivalAndVisionDerivativesFromOneDecode() throws IOException {
+        MultipartFile original = jpeg(4032, 3024);
+
+        ImageDerivatives images = imageProcessor.process(original);
+
+        BufferedImage archival = ImageIO.read(images.archival().getInputStream());
+        BufferedImage vision = ImageIO.read(images.vision().getInputStream());
+        assertThat(archival.getWidth()).isEqualTo(1440);
+        assertThat(archival.getHeight()).isEqualTo(1080);
+        assertThat(vision.getWidth()).isEqualTo(768);
+        assertThat(vision.getHeight()).isEqualTo(576);
+        assertThat(images.vision().getContentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    void keepsOriginalAsArchivalWhenOnlyVisionNeedsResize() throws IOException {
+        MultipartFile original = jpeg(810, 1080);
+
+        ImageDerivatives images = imageProcessor.process(original);
+
+        assertThat(images.archival()).isSameAs(original);
+        BufferedImage vision = ImageIO.read(images.vision().getInputStream());
+        assertThat(vision.getWidth()).isEqualTo(576);
+        assertThat(vision.getHeight()).isEqualTo(768);
+    }
+
+    @Test
+    void usesConfiguredVisionResolution() throws IOException {
+        VisionImageProperties properties = new VisionImageProperties();
+        properties.setMaxDimension(512);
+        MultipartFile original = jpeg(640, 480);
+
+        ImageDerivatives images = processor(properties).process(original);
+
+        assertThat(images.archival()).isSameAs(original);
+        assertThat(ImageIO.read(images.vision().getInputStream()).getWidth()).isEqualTo(512);
+        // 목표 크기 이하의 이미지는 두 파생본 모두 원본
+        ImageDerivatives small = processor(properties).process(jpeg(400, 300));
+        assertThat(small.archival()).isSameAs(small.vision());
+    }
+
+    @Test
+    void returnsOriginalForUnreadableImage() throws IOException {
+        MultipartFile original = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        assertThat(imageProcessor.optimize(original)).isSameAs(original);
+    }
+
+    @Test
+    void estimatesDecodeMemoryFromSubsampledRaster() {
+        // 4032x3024, 1/2 서브샘플링 → 2016x1512 래스터 x 4바이트 x (래스터 + 리사이즈 작업본)
+        assertThat(ImageProcessor.estimateDecodeBytes(4032, 3024, 2)).isEqualTo(2016L * 1512 * 4 * 2);
+        assertThat(ImageProcessor.estimateDecodeBytes(4033, 3025, 2)).isEqualTo(2017L * 1513 * 4 * 2);
+    }
+
+    @Test
+    void subsamplingNeverDropsBelowTargetSize() {
+        assertThat(ImageProcessor.subsamplingFactor(1920, 1080)).isEqualTo(1);
+        assertThat(ImageProcessor.subsamplingFactor(4032, 3024)).isEqualTo(2);
+        assertThat(ImageProcessor.subsamplingFactor(8000, 6000)).isEqualTo(5);
+        assertThat(ImageProcessor.subsamplingFactor(4032, 3024, 768, 768)).isEqualTo(5);
+        // 세로 사진: 1080 / 4032 → 목표 높이 1080 이상 유지
+        assertThat(4032 / ImageProcessor.subsamplingFactor(3024, 4032)).isGreaterThanOrEqualTo(1080);
+    }
+
+    private static ImageProcessor processor(VisionImageProperties visionProperties) {
+        return new ImageProcessor(visionProperties, new ImageEncodingProperties(),
+                new DecodeAdmissionController(new ImageDecodeProperties(), new DeadlineHolder(), new SimpleMeterRegistry()));
+    }
+
+    private static MultipartFile jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return new MockMultipartFile("image", "meal.jpg", "image/jpeg", output.toByteArray());
+    }
+}
@@ -0,0 +1,248 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import com.han.bloomi.domain.port.ImageStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageUploadServiceTest {
+    private final InMemoryImageStorage imageStorage = new InMemoryImageStorage();
+    private final InMemoryReferenceRepository references = new InMemoryReferenceRepository();
+    private final ImageUploadService service = new ImageUploadService(
+            imageStorage, references, new ImageContentHasher(), new ImageUploadProperties());
+
+    @Test
+    void identicalBytesAreStoredOnce() {
+        String first = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+        String second = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-2");
+        String other = service.uploadMealImage(image(new byte[]{4, 5, 6}), "user-1");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(first).matches("https://images\\.test/meals/sha256/[0-9a-f]{2}/[0-9a-f]{64}\\.jpg");
+        assertThat(imageStorage.puts).isEqualTo(2);
+    }
+
+    @Test
+    void uploadHoldsReferenceUntilReleased() {
+        String first = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+        String second = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-2");
+
+        assertThat(references.counts.get(first).count).isEqualTo(2);
+        service.releaseImage(second);
+        assertThat(references.counts.get(first).count).isEqualTo(1);
+    }
+
+    @Test
+    void unreferencedImageIsDeletedOnlyAfterRetention() {
+        String url = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+        service.releaseImage(url);
+
+        assertThat(service.collectUnreferencedImages()).isZero();
+        assertThat(imageStorage.objects).hasSize(1);
+
+        references.age(Duration.ofHours(7));
+        assertThat(service.collectUnreferencedImages()).isEqualTo(1);
+        assertThat(imageStorage.objects).isEmpty();
+        assertThat(references.counts).isEmpty();
+    }
+
+    @Test
+    void reuploadOfReleasedImageIsNotCollected() {
+        // B의 기록이 사용하던 이미지를 A가 같은 내용으로 올려 PUT을 생략한 뒤, B가 마지막 참조를 해제
+        String recordB = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-b");
+        String uploadA = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-a");
+        service.releaseImage(recordB);
+        references.age(Duration.ofHours(7));
+
+        assertThat(service.collectUnreferencedImages()).isZero();
+        assertThat(imageStorage.exists(uploadA.substring(InMemoryImageStorage.BASE_URL.length()))).isTrue();
+        assertThat(imageStorage.puts).isEqualTo(1);
+    }
+
+    @Test
+    void discardedUploadIsCollected() {
+        String url = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+
+        service.discardImage(url);
+        assertThat(imageStorage.objects).hasSize(1);
+
+        references.age(Duration.ofHours(7));
+        service.collectUnreferencedImages();
+        assertThat(imageStorage.objects).isEmpty();
+    }
+
+    @Test
+    void failedUploadReturnsReference() {
+        imageStorage.failUploads = true;
+
+        assertThatThrownBy(() -> service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(references.counts.values()).allSatisfy(row -> assertThat(row.count).isZero());
+    }
+
+    @Test
+    void failedObjectDeleteKeepsReferenceRowForRetry() {
+        String url = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+        service.releaseImage(url);
+        references.age(Duration.ofHours(7));
+        imageStorage.failDeletes = true;
+
+        assertThat(service.collectUnreferencedImages()).isZero();
+        assertThat(references.counts).containsKey(url);
+
+        imageStorage.failDeletes = false;
+        assertThat(service.collectUnreferencedImages()).isEqualTo(1);
+    }
+
+    @Test
+    void uploadDuringCollectionDoesNotReuseObjectBeingDeleted() {
+        String url = service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-1");
+        service.releaseImage(url);
+        references.age(Duration.ofHours(7));
+        List<String> uploadedDuringDelete = new ArrayList<>();
+        // GC가 행을 삭제 중으로 표시하고 객체를 지우는 사이에 같은 내용이 다시 올라온다
+        imageStorage.onDelete = () -> uploadedDuringDelete.add(service.uploadMealImage(image(new byte[]{1, 2, 3}), "user-2"));
+
+        assertThat(service.collectUnreferencedImages()).isEqualTo(1);
+
+        assertThat(uploadedDuringDelete).singleElement().isNotEqualTo(url);
+        String reuploaded = uploadedDuringDelete.get(0);
+        assertThat(imageStorage.exists(reuploaded.substring(InMemoryImageStorage.BASE_URL.length()))).isTrue();
+        assertThat(references.counts).containsOnlyKeys(reuploaded);
+        assertThat(references.counts.get(reuploaded).count).isEqualTo(1);
+    }
+
+    private MultipartFile image(byte[] bytes) {
+        return new MockMultipartFile("image", "meal.jpg", "image/jpeg", bytes);
+    }
+
+    private static class InMemoryImageStorage implements ImageStorage {
+        private static final String BASE_URL = "https://images.test/";
+
+        private final Map<String, Long> objects = new LinkedHashMap<>();
+        private int puts;
+        private boolean failUploads;
+        private boolean failDeletes;
+        private Runnable onDelete = () -> {
+        };
+
+        @Override
+        public String upload(MultipartFile image, String path) {
+            if (failUploads) {
+                throw new IllegalStateException("upload failed");
+            }
+            puts++;
+            objects.put(path, image.getSize());
+            return urlOf(path);
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return objects.containsKey(path);
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return BASE_URL + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return BASE_URL + path + "?expires=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+            if (failDeletes) {
+                throw new IllegalStateException("delete failed");
+            }
+            onDelete.run();
+            objects.remove(imageUrl.substring(BASE_URL.length()));
+        }
+    }
+
+    private static class InMemoryReferenceRepository implements ImageReferenceRepository {
+        private final Map<String, Row> counts = new HashMap<>();
+
+        @Override
+        public int acquire(String imageUrl) {
+            Row row = counts.computeIfAbsent(imageUrl, url -> new Row());
+            if (row.count < 0) {
+                return 0;
+            }
+            row.count++;
+            row.updatedAt = LocalDateTime.now();
+            return row.count;
+        }
+
+        @Override
+        public int release(String imageUrl) {
+            Row row = counts.get(imageUrl);
+            if (row == null || row.count <= 0) {
+                return 0;
+            }
+            row.count--;
+            row.updatedAt = LocalDateTime.now();
+            return row.count;
+        }
+
+        @Override
+        public List<String> findUnreferenced(Duration retention, int limit) {
+            return counts.entrySet().stream()
+                    .filter(entry -> isCollectable(entry.getValue(), retention))
+                    .map(Map.Entry::getKey)
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public boolean markDeleting(String imageUrl, Duration retention) {
+            Row row = counts.get(imageUrl);
+            if (row == null || !isCollectable(row, retention)) {
+                return false;
+            }
+            row.count = -1;
+            return true;
+        }
+
+        @Override
+        public void unmarkDeleting(String imageUrl) {
+            Row row = counts.get(imageUrl);
+            if (row != null && row.count < 0) {
+                row.count = 0;
+            }
+        }
+
+        @Override
+        public void removeDeleting(String imageUrl) {
+            counts.computeIfPresent(imageUrl, (url, row) -> row.count < 0 ? null : row);
+        }
+
+        private boolean isCollectable(Row row, Duration retention) {
+            return row.count <= 0 && row.updatedAt.isBefore(LocalDateTime.now().minus(retention));
+        }
+
+        void age(Duration duration) {
+            counts.values().forEach(row -> row.updatedAt = row.updatedAt.minus(duration));
+        }
+
+        private static class Row {
+            private int count;
+            private LocalDateTime updatedAt;
+        }
+    }
+}
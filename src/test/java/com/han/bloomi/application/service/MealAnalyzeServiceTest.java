@@ -0,0 +1,399 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.api.dto.AnalyzeMealResponse;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.deadline.DeadlineProperties;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.MealRecord;
+import com.han.bloomi.domain.model.NutritionFacts;
+import com.han.bloomi.domain.model.NutritionMatch;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.domain.model.user.Membership;
+import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import com.han.bloomi.domain.port.ImageStorage;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import com.han.bloomi.domain.port.NutritionIndex;
+import com.han.bloomi.domain.port.UserRepository;
+import com.han.bloomi.domain.port.VisionPort;
+import com.han.bloomi.infra.security.CurrentUserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealAnalyzeServiceTest {
+    private static final String USER_ID = "user-1";
+    private static final long STEP_DELAY_MS = 400;
+
+    private final SlowImageStorage imageStorage = new SlowImageStorage();
+    private final MealRecordRepository mealRecordRepository = mock(MealRecordRepository.class);
+    private final ImageReferenceRepository imageReferences = mock(ImageReferenceRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final DeadlineProperties deadlineProperties = new DeadlineProperties();
+    private NutritionIndex nutritionIndex = name -> Optional.empty();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(currentUserService.getCurrentUserId()).thenReturn(USER_ID);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(
+                User.of(USER_ID, "user@example.com", "user", null, "google", "sub", Membership.FREE)));
+        when(userRepository.incrementDailyRequestCount(anyString(), anyInt(), anyInt())).thenReturn(true);
+        when(mealRecordRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        deadlineHolder.clear();
+    }
+
+    @Test
+    void uploadAndVisionRunConcurrently() {
+        MealAnalyzeService service = createService(new SlowVisionPort(false));
+
+        long start = System.nanoTime();
+        AnalyzeMealResponse response = service.analyze(request());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(response.calories()).isEqualTo(500.0);
+        assertThat(imageStorage.uploaded).hasSize(1);
+        // 순차 실행이면 최소 2 * STEP_DELAY_MS 가 걸린다
+        assertThat(elapsedMs).isLessThan(STEP_DELAY_MS * 2 - 100);
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 1, Membership.FREE.getDailyLimit());
+        assertThat(meterRegistry.get("bloomi.analyze.phase").tag("phase", "external").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nutritionIndexHitSkipsVision() {
+        nutritionIndex = name -> Optional.of(
+                new NutritionMatch(NutritionFacts.of("닭가슴살", "g", 165, 0, 31, 3.6), 1.0));
+        VisionPort visionPort = mock(VisionPort.class);
+        MealAnalyzeService service = createService(visionPort);
+
+        AnalyzeMealResponse response = service.analyze(request());
+
+        // 100g 기준 성분표 값을 150g으로 환산
+        assertThat(response.name()).isEqualTo("닭가슴살");
+        assertThat(response.calories()).isEqualTo(247.5);
+        assertThat(response.macros().protein()).isEqualTo(46.5);
+        assertThat(response.macros().fat()).isEqualTo(5.4);
+        assertThat(response.serving().amount()).isEqualTo(150.0);
+        assertThat(response.confidence()).isEqualTo(1.0);
+        verify(visionPort, never()).analyze(any());
+        // 이미지는 Vision 분석과 관계없이 보관하고 기록도 저장한다
+        assertThat(imageStorage.uploaded).hasSize(1);
+        verify(mealRecordRepository).save(any());
+        assertThat(meterRegistry.get("bloomi.analyze.nutrition_index").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void nutritionIndexIsNotConsultedWithoutWeight() {
+        NutritionIndex index = mock(NutritionIndex.class);
+        nutritionIndex = index;
+        MealAnalyzeService service = createService(new SlowVisionPort(false));
+        MultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        AnalyzeMealResponse response = service.analyze(new AnalyzeMealRequest(image, "닭가슴살", null, null));
+
+        assertThat(response.calories()).isEqualTo(500.0);
+        verify(index, never()).lookup(any());
+    }
+
+    @Test
+    void persistFailureReturnsImageReference() {
+        when(mealRecordRepository.save(any())).thenThrow(new IllegalStateException("db down"));
+        MealAnalyzeService service = createService(new SlowVisionPort(false));
+
+        assertThatThrownBy(() -> service.analyze(request())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(imageStorage.uploaded).singleElement().satisfies(url -> {
+            verify(imageReferences).acquire(url);
+            verify(imageReferences).release(url);
+        });
+        verify(userRepository).decrementDailyRequestCount(USER_ID, 1);
+    }
+
+    @Test
+    void visionFailureCleansUpUploadAndPropagates() {
+        MealAnalyzeService service = createService(new SlowVisionPort(true));
+
+        assertThatThrownBy(() -> service.analyze(request()))
+                .isInstanceOf(VisionException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.VISION_TIMEOUT);
+
+        // 업로드가 완료되었더라도 참조를 돌려줘서 GC가 정리할 수 있어야 한다
+        assertThat(imageStorage.uploaded).singleElement().satisfies(url -> {
+            verify(imageReferences).acquire(url);
+            verify(imageReferences).release(url);
+        });
+        verify(mealRecordRepository, never()).save(any());
+        // 선차감한 한도는 실패 시 되돌린다
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 1, Membership.FREE.getDailyLimit());
+        verify(userRepository).decrementDailyRequestCount(USER_ID, 1);
+    }
+
+    @Test
+    void abortsWhenRequestDeadlineExpires() {
+        deadlineProperties.setMinOptimizeBudget(Duration.ZERO);
+        MealAnalyzeService service = createService(new SlowVisionPort(false));
+        deadlineHolder.set(Deadline.after(Duration.ofMillis(STEP_DELAY_MS / 2)));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.analyze(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DEADLINE_EXCEEDED);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Vision 응답을 끝까지 기다리지 않고 마감 시각에 맞춰 실패한다
+        assertThat(elapsedMs).isLessThan(STEP_DELAY_MS - 50);
+        verify(mealRecordRepository, never()).save(any());
+        verify(userRepository).decrementDailyRequestCount(USER_ID, 1);
+    }
+
+    @Test
+    void uploadFinishingAtDeadlineReturnsImageReference() {
+        nutritionIndex = name -> Optional.of(
+                new NutritionMatch(NutritionFacts.of("닭가슴살", "g", 165, 0, 31, 3.6), 1.0));
+        executor = new LateCompletionExecutor(executor);
+        MealAnalyzeService service = createService(mock(VisionPort.class));
+
+        assertThatThrownBy(() -> service.analyze(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DEADLINE_EXCEEDED);
+
+        // 마감 대기 직후 완료된 업로드는 취소할 수 없으므로 참조를 돌려줘야 GC가 정리할 수 있다
+        assertThat(imageStorage.uploaded).singleElement().satisfies(url -> {
+            verify(imageReferences).acquire(url);
+            verify(imageReferences).release(url);
+        });
+        verify(mealRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void failsFastWhenBudgetIsTooLowForAnalysis() {
+        VisionPort visionPort = mock(VisionPort.class);
+        MealAnalyzeService service = createService(visionPort);
+        deadlineHolder.set(Deadline.after(deadlineProperties.getMinOptimizeBudget().dividedBy(2)));
+
+        assertThatThrownBy(() -> service.analyze(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DEADLINE_EXCEEDED);
+
+        // 원본 그대로 업로드/Vision 호출을 보내지 않는다
+        assertThat(imageStorage.uploaded).isEmpty();
+        verify(visionPort, never()).analyze(any());
+        verify(userRepository).decrementDailyRequestCount(USER_ID, 1);
+    }
+
+    @Test
+    void visionCallRunsUnderRequestDeadline() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+        deadlineHolder.set(deadline);
+        AtomicReference<Duration> seen = new AtomicReference<>();
+        MealAnalyzeService service = createService(request -> {
+            seen.set(deadlineHolder.current().cap(Duration.ofMinutes(1)));
+            return new SlowVisionPort(false).analyze(request);
+        });
+
+        service.analyze(request());
+
+        // Vision은 워커 스레드에서 호출되므로 마감 시각을 넘겨받아야 프로바이더 타임아웃을 줄일 수 있다
+        assertThat(seen.get()).isLessThanOrEqualTo(deadline.remaining().plusSeconds(1))
+                .isGreaterThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void deleteMealReleasesThumbnailAttachedAfterLookup() {
+        MealRecord found = MealRecord.builder()
+                .id("meal-1").userId(USER_ID).imageUrl("https://images.test/meal.jpg").build();
+        MealRecord deleted = MealRecord.builder()
+                .id("meal-1").userId(USER_ID).imageUrl("https://images.test/meal.jpg")
+                .thumbnailUrl("https://images.test/thumbnail.jpg").build();
+        when(mealRecordRepository.findById("meal-1")).thenReturn(Optional.of(found));
+        when(mealRecordRepository.deleteById("meal-1")).thenReturn(Optional.of(deleted));
+        MealAnalyzeService service = createService(mock(VisionPort.class));
+
+        service.deleteMeal("meal-1");
+
+        // 조회 이후 붙은 썸네일도 삭제 시점의 기록으로 해제해야 참조가 남지 않는다
+        verify(imageReferences).release("https://images.test/meal.jpg");
+        verify(imageReferences).release("https://images.test/thumbnail.jpg");
+    }
+
+    private MealAnalyzeService createService(VisionPort visionPort) {
+        TraceIdHolder traceIdHolder = new TraceIdHolder();
+        return new MealAnalyzeService(
+                new VisionRequestCoalescer(visionPort, new ImageContentHasher(), traceIdHolder, deadlineHolder, executor, meterRegistry),
+                nutritionIndex,
+                mealRecordRepository,
+                new DailyQuotaService(userRepository),
+                currentUserService,
+                traceIdHolder,
+                deadlineHolder,
+                deadlineProperties,
+                imageUploadService(),
+                new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+                        new DecodeAdmissionController(new ImageDecodeProperties(), deadlineHolder, meterRegistry)),
+                mock(MealThumbnailService.class),
+                executor,
+                meterRegistry
+        );
+    }
+
+    private ImageUploadService imageUploadService() {
+        ImageUploadProperties properties = new ImageUploadProperties();
+        properties.setContentAddressed(false);
+        return new ImageUploadService(imageStorage, imageReferences, new ImageContentHasher(), properties);
+    }
+
+    private AnalyzeMealRequest request() {
+        MultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return new AnalyzeMealRequest(image, "닭가슴살", 150.0, null);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class SlowImageStorage implements ImageStorage {
+        private final List<String> uploaded = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String upload(MultipartFile image, String path) {
+            sleep(STEP_DELAY_MS);
+            String url = "https://images.test/" + path;
+            uploaded.add(url);
+            return url;
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return false;
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return "https://images.test/" + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return "https://images.test/" + path + "?expires=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+        }
+    }
+
+    /**
+     * 작업이 끝난 직후에 시간 제한 대기가 TimeoutException으로 끝나는 경합을 재현하는 실행기
+     */
+    private static class LateCompletionExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        LateCompletionExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+            return new FutureTask<>(callable) {
+                @Override
+                public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+                        TimeoutException {
+                    get();
+                    throw new TimeoutException();
+                }
+            };
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private record SlowVisionPort(boolean fail) implements VisionPort {
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request) {
+            sleep(fail ? STEP_DELAY_MS * 2 : STEP_DELAY_MS);
+            if (fail) {
+                throw new VisionException(ErrorCode.VISION_TIMEOUT, "stub timeout");
+            }
+            return MealAnalysis.of("닭가슴살", 500.0, Macros.of(10, 40, 5), Serving.of("g", 150),
+                    List.of(), 0.9, "좋아요");
+        }
+    }
+}
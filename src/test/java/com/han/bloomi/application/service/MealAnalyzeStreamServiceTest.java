@@ -0,0 +1,240 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.deadline.DeadlineProperties;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.user.Membership;
+import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import com.han.bloomi.domain.port.ImageStorage;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import com.han.bloomi.domain.port.UserRepository;
+import com.han.bloomi.domain.port.VisionPort;
+import com.han.bloomi.infra.security.CurrentUserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealAnalyzeStreamServiceTest {
+    private static final String USER_ID = "user-1";
+    private static final long AWAIT_TIMEOUT_MS = 5000;
+
+    private final MealRecordRepository mealRecordRepository = mock(MealRecordRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+    private final MealStreamProperties properties = new MealStreamProperties();
+    private final TraceIdHolder traceIdHolder = new TraceIdHolder();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService analyzeTaskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        analyzeTaskExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        when(currentUserService.getCurrentUserId()).thenReturn(USER_ID);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(
+                User.of(USER_ID, "user@example.com", "user", null, "google", "sub", Membership.FREE)));
+        when(userRepository.incrementDailyRequestCount(anyString(), anyInt(), anyInt())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyzeTaskExecutor.close();
+        traceIdHolder.clear();
+        deadlineHolder.clear();
+    }
+
+    @Test
+    void rejectsStreamsBeyondConcurrentLimit() throws Exception {
+        properties.setMaxConcurrentStreams(1);
+        BlockingVisionPort visionPort = new BlockingVisionPort();
+        MealAnalyzeStreamService service = createService(visionPort);
+
+        service.analyze(request());
+        assertThat(visionPort.started.await(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.analyze(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.ANALYSIS_QUEUE_FULL);
+        // 거절된 스트림은 한도를 차감하지 않는다
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 1, Membership.FREE.getDailyLimit());
+    }
+
+    @Test
+    void emitterTimeoutCancelsAnalysisAndReleasesQuota() throws Exception {
+        properties.setMaxConcurrentStreams(1);
+        BlockingVisionPort visionPort = new BlockingVisionPort();
+        MealAnalyzeStreamService service = createService(visionPort);
+
+        SseEmitter emitter = service.analyze(request());
+        MockAsyncContext asyncContext = connect(emitter);
+        assertThat(visionPort.started.await(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Vision 호출까지 인터럽트되고, 선차감한 한도는 되돌린다
+        assertThat(visionPort.interrupted.await(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 1, Membership.FREE.getDailyLimit());
+        verify(userRepository, timeout(AWAIT_TIMEOUT_MS)).decrementDailyRequestCount(USER_ID, 1);
+        verify(mealRecordRepository, never()).save(any());
+        // 취소된 스트림의 자리는 반납되어 다음 스트림을 받을 수 있다
+        assertThat(openStream(service)).isNotNull();
+    }
+
+    private SseEmitter openStream(MealAnalyzeStreamService service) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+        while (true) {
+            try {
+                return service.analyze(request());
+            } catch (BusinessException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * 컨트롤러가 SseEmitter를 반환했을 때처럼 비동기 요청에 연결합니다.
+     */
+    private MockAsyncContext connect(SseEmitter emitter) throws Exception {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.setAsyncSupported(true);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(servletRequest, servletResponse);
+        WebAsyncUtils.getAsyncManager(webRequest)
+                .setAsyncWebRequest(new StandardServletAsyncWebRequest(servletRequest, servletResponse));
+
+        ResponseBodyEmitterReturnValueHandler handler = new ResponseBodyEmitterReturnValueHandler(
+                List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+        MethodParameter returnType = new MethodParameter(
+                MealAnalyzeStreamService.class.getMethod("analyze", AnalyzeMealRequest.class), -1);
+        handler.handleReturnValue(emitter, returnType, new ModelAndViewContainer(), webRequest);
+        return (MockAsyncContext) servletRequest.getAsyncContext();
+    }
+
+    private MealAnalyzeStreamService createService(VisionPort visionPort) {
+        DailyQuotaService dailyQuotaService = new DailyQuotaService(userRepository);
+        MealAnalyzeService mealAnalyzeService = new MealAnalyzeService(
+                new VisionRequestCoalescer(visionPort, new ImageContentHasher(), traceIdHolder, deadlineHolder,
+                        analyzeTaskExecutor, meterRegistry),
+                name -> Optional.empty(),
+                mealRecordRepository,
+                dailyQuotaService,
+                currentUserService,
+                traceIdHolder,
+                deadlineHolder,
+                new DeadlineProperties(),
+                imageUploadService(),
+                new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+                        new DecodeAdmissionController(new ImageDecodeProperties(), deadlineHolder, meterRegistry)),
+                mock(MealThumbnailService.class),
+                analyzeTaskExecutor,
+                meterRegistry
+        );
+        return new MealAnalyzeStreamService(mealAnalyzeService, dailyQuotaService, analyzeTaskExecutor, properties,
+                currentUserService, traceIdHolder, deadlineHolder);
+    }
+
+    private ImageUploadService imageUploadService() {
+        ImageUploadProperties uploadProperties = new ImageUploadProperties();
+        uploadProperties.setContentAddressed(false);
+        return new ImageUploadService(new NoopImageStorage(), mock(ImageReferenceRepository.class),
+                new ImageContentHasher(), uploadProperties);
+    }
+
+    private AnalyzeMealRequest request() {
+        MultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return new AnalyzeMealRequest(image, null, null, null);
+    }
+
+    /**
+     * 인터럽트될 때까지 응답하지 않는 Vision 포트
+     */
+    private static class BlockingVisionPort implements VisionPort {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request) {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("vision call cancelled");
+        }
+    }
+
+    private static class NoopImageStorage implements ImageStorage {
+        @Override
+        public String upload(MultipartFile image, String path) {
+            return "https://images.test/" + path;
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return false;
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return "https://images.test/" + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return "https://images.test/" + path + "?expires=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+        }
+    }
+}
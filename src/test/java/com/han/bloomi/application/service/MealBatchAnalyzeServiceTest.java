@@ -0,0 +1,185 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.api.dto.AnalyzeMealBatchRequest;
+import com.han.bloomi.api.dto.AnalyzeMealBatchResponse;
+import com.han.bloomi.api.dto.AnalyzeMealRequest;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.deadline.DeadlineProperties;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.domain.model.user.Membership;
+import com.han.bloomi.domain.model.user.User;
+import com.han.bloomi.domain.port.ImageReferenceRepository;
+import com.han.bloomi.domain.port.ImageStorage;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import com.han.bloomi.domain.port.UserRepository;
+import com.han.bloomi.domain.port.VisionPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealBatchAnalyzeServiceTest {
+    private static final String USER_ID = "user-1";
+    private static final String FAILING_NAME = "fail";
+
+    private final MealRecordRepository mealRecordRepository = mock(MealRecordRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ConcurrencyTrackingVisionPort visionPort = new ConcurrencyTrackingVisionPort();
+    private final MealBatchProperties properties = new MealBatchProperties();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(
+                User.of(USER_ID, "user@example.com", "user", null, "google", "sub", Membership.TIER3)));
+        when(userRepository.incrementDailyRequestCount(USER_ID, 5, Integer.MAX_VALUE)).thenReturn(true);
+        when(mealRecordRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        properties.setParallelism(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void chargesQuotaOnceAndReleasesFailedItems() {
+        AnalyzeMealBatchRequest request = new AnalyzeMealBatchRequest(List.of(
+                item("닭가슴살"), item(FAILING_NAME), item("샐러드"), item("현미밥"), item(FAILING_NAME)));
+
+        AnalyzeMealBatchResponse response = createService().analyze(USER_ID, "trace", request);
+
+        assertThat(response.succeeded()).isEqualTo(3);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.items()).extracting("index").containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.items().get(1).errorCode()).isEqualTo(ErrorCode.VISION_TIMEOUT.getCode());
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 5, Integer.MAX_VALUE);
+        verify(userRepository).decrementDailyRequestCount(USER_ID, 2);
+        verify(userRepository, never()).incrementDailyRequestCount(eq(USER_ID), eq(1), anyInt());
+        // 동시 분석 수는 parallelism을 넘지 않는다
+        assertThat(visionPort.maxConcurrent.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void rejectsWholeBatchWhenQuotaIsInsufficient() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(
+                User.of(USER_ID, "user@example.com", "user", null, "google", "sub", Membership.FREE)));
+        AnalyzeMealBatchRequest request = new AnalyzeMealBatchRequest(
+                IntStream.range(0, 4).mapToObj(i -> item("닭가슴살")).toList());
+
+        assertThatThrownBy(() -> createService().analyze(USER_ID, "trace", request))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DAILY_LIMIT_EXCEEDED);
+        // 한도 확인과 차감은 조건부 UPDATE 한 번으로 처리되고, 0행이면 전체를 거절한다
+        verify(userRepository).incrementDailyRequestCount(USER_ID, 4, Membership.FREE.getDailyLimit());
+        verify(userRepository, never()).decrementDailyRequestCount(anyString(), anyInt());
+        assertThat(visionPort.calls.get()).isZero();
+    }
+
+    private MealBatchAnalyzeService createService() {
+        ImageUploadProperties uploadProperties = new ImageUploadProperties();
+        uploadProperties.setContentAddressed(false);
+        ImageUploadService imageUploadService = new ImageUploadService(new NoopImageStorage(),
+                mock(ImageReferenceRepository.class), new ImageContentHasher(), uploadProperties);
+        DailyQuotaService dailyQuotaService = new DailyQuotaService(userRepository);
+        TraceIdHolder traceIdHolder = new TraceIdHolder();
+        DeadlineHolder deadlineHolder = new DeadlineHolder();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VisionRequestCoalescer coalescer = new VisionRequestCoalescer(visionPort, new ImageContentHasher(),
+                traceIdHolder, deadlineHolder, executor, meterRegistry);
+
+        MealAnalyzeService mealAnalyzeService = new MealAnalyzeService(coalescer, name -> Optional.empty(), mealRecordRepository,
+                dailyQuotaService, null, traceIdHolder, deadlineHolder, new DeadlineProperties(), imageUploadService,
+                new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+                        new DecodeAdmissionController(new ImageDecodeProperties(), deadlineHolder, meterRegistry)),
+                mock(MealThumbnailService.class),
+                executor, meterRegistry);
+        return new MealBatchAnalyzeService(mealAnalyzeService, dailyQuotaService, null, traceIdHolder,
+                deadlineHolder, executor, properties);
+    }
+
+    private AnalyzeMealRequest item(String name) {
+        MultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return new AnalyzeMealRequest(image, name, null, null);
+    }
+
+    private static class ConcurrencyTrackingVisionPort implements VisionPort {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request) {
+            calls.incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            if (FAILING_NAME.equals(request.name())) {
+                throw new VisionException(ErrorCode.VISION_TIMEOUT, "stub timeout");
+            }
+            return MealAnalysis.of(request.name(), 300.0, Macros.of(30, 20, 10), Serving.of("g", 200),
+                    List.of(), 0.9, "좋아요");
+        }
+    }
+
+    private static class NoopImageStorage implements ImageStorage {
+        @Override
+        public String upload(MultipartFile image, String path) {
+            return urlOf(path);
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return false;
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return "https://images.test/" + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return "https://images.test/" + path + "?expires=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+        }
+    }
+}
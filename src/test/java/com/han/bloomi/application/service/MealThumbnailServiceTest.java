@@ -0,0 +1,106 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.port.MealRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MealThumbnailServiceTest {
+    private static final String THUMBNAIL_URL = "https://images.test/thumbnails/1.jpg";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ImageUploadService imageUploadService = mock(ImageUploadService.class);
+    private final MealRecordRepository mealRecordRepository = mock(MealRecordRepository.class);
+    private final ThumbnailProperties properties = new ThumbnailProperties();
+    private final MealThumbnailService service = new MealThumbnailService(
+            new ImageProcessor(new VisionImageProperties(), new ImageEncodingProperties(),
+                    new DecodeAdmissionController(new ImageDecodeProperties(), new DeadlineHolder(), meterRegistry)),
+            imageUploadService, mealRecordRepository, properties, new TraceIdHolder(), null, meterRegistry);
+
+    @Test
+    void uploadsThumbnailAndAttachesPlaceholder() throws IOException {
+        when(imageUploadService.uploadImage(any(), eq("user-1"), eq("thumbnails"))).thenReturn(THUMBNAIL_URL);
+        when(mealRecordRepository.updateThumbnail(eq("meal-1"), eq(THUMBNAIL_URL), anyString())).thenReturn(true);
+
+        service.generate("meal-1", "user-1", jpeg(1440, 1080));
+
+        ArgumentCaptor<MultipartFile> uploaded = ArgumentCaptor.forClass(MultipartFile.class);
+        verify(imageUploadService).uploadImage(uploaded.capture(), eq("user-1"), eq("thumbnails"));
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(uploaded.getValue().getBytes()));
+        assertThat(thumbnail.getWidth()).isEqualTo(properties.getMaxDimension());
+        assertThat(thumbnail.getHeight()).isEqualTo(192);
+
+        ArgumentCaptor<String> placeholder = ArgumentCaptor.forClass(String.class);
+        verify(mealRecordRepository).updateThumbnail(eq("meal-1"), eq(THUMBNAIL_URL), placeholder.capture());
+        assertThat(placeholder.getValue()).hasSize(28);
+        verify(imageUploadService, never()).releaseImage(anyString());
+        assertThat(count("generated")).isEqualTo(1);
+    }
+
+    @Test
+    void releasesThumbnailWhenRecordWasDeletedMeanwhile() throws IOException {
+        when(imageUploadService.uploadImage(any(), anyString(), anyString())).thenReturn(THUMBNAIL_URL);
+        when(mealRecordRepository.updateThumbnail(anyString(), anyString(), anyString())).thenReturn(false);
+
+        service.generate("meal-1", "user-1", jpeg(640, 480));
+
+        verify(imageUploadService).releaseImage(THUMBNAIL_URL);
+        assertThat(count("generated")).isZero();
+    }
+
+    @Test
+    void skipsUnreadableImage() throws IOException {
+        service.generate("meal-1", "user-1",
+                new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+
+        verifyNoInteractions(imageUploadService, mealRecordRepository);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        service.generateAsync("meal-1", "user-1", new MockMultipartFile("image", new byte[]{1}));
+
+        verifyNoInteractions(imageUploadService, mealRecordRepository);
+    }
+
+    private double count(String result) {
+        var counter = meterRegistry.find("bloomi.image.thumbnail.requests").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static MultipartFile jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(200, 120, 40));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return new MockMultipartFile("image", "meal.jpg", "image/jpeg", output.toByteArray());
+    }
+}
@@ -0,0 +1,172 @@
+package com.han.bloomi.application.service;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.domain.port.MealAnalysisStreamListener;
+import com.han.bloomi.domain.port.VisionPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VisionRequestCoalescerTest {
+    private static final String USER_ID = "user-1";
+    private static final MealAnalysis RESULT = MealAnalysis.of("닭가슴살", 500.0, Macros.of(10, 40, 5),
+            Serving.of("g", 150), List.of(), 0.9, "좋아요");
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final GatedVisionPort visionPort = new GatedVisionPort();
+    private final VisionRequestCoalescer coalescer = new VisionRequestCoalescer(visionPort, new ImageContentHasher(),
+            new TraceIdHolder(), deadlineHolder, executor, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        visionPort.release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void failingStreamListenerDoesNotFailOtherWaiters() throws Exception {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        Future<MealAnalysis> first = analyzeAsync(Deadline.none(), (field, value) -> {
+            throw new IllegalStateException("SSE client disconnected");
+        });
+        awaitCalls(1);
+        Future<MealAnalysis> second = analyzeAsync(Deadline.none(), (field, value) -> received.add(value));
+        awaitJoined();
+
+        visionPort.release.countDown();
+
+        // 첫 요청의 클라이언트가 끊겨도 공유 호출은 끝까지 진행되고, 필드 이벤트는 남은 요청에 전달된다
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(RESULT);
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(RESULT);
+        assertThat(received).containsExactly("닭가슴살");
+        assertThat(visionPort.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void streamingAndPlainRequestsAreNotCoalesced() throws Exception {
+        Future<MealAnalysis> streaming = analyzeAsync(Deadline.none(), (field, value) -> {
+        });
+        Future<MealAnalysis> plain = analyzeAsync(Deadline.none(), null);
+        awaitCalls(2);
+
+        visionPort.release.countDown();
+
+        assertThat(streaming.get(1, TimeUnit.SECONDS)).isEqualTo(RESULT);
+        assertThat(plain.get(1, TimeUnit.SECONDS)).isEqualTo(RESULT);
+    }
+
+    @Test
+    void sharedCallRunsUntilLatestWaiterDeadline() throws Exception {
+        Future<MealAnalysis> first = analyzeAsync(Deadline.after(Duration.ofMillis(200)), null);
+        awaitCalls(1);
+        Future<MealAnalysis> second = analyzeAsync(Deadline.after(Duration.ofSeconds(5)), null);
+        awaitJoined();
+
+        // 첫 요청은 자신의 마감 시각에 빠지지만, 공유 호출은 늦게 합류한 요청의 마감 시각을 따른다
+        assertThat(first).failsWithin(Duration.ofSeconds(1)).withThrowableOfType(Exception.class)
+                .havingCause().isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DEADLINE_EXCEEDED);
+        assertThat(visionPort.deadline.isExpired()).isFalse();
+        assertThat(visionPort.deadline.remaining()).isGreaterThan(Duration.ofSeconds(3));
+
+        visionPort.release.countDown();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(RESULT);
+        assertThat(visionPort.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterDeadlineIsEnforcedWhileWaiting() {
+        Future<MealAnalysis> only = analyzeAsync(Deadline.after(Duration.ofMillis(100)), null);
+
+        assertThatThrownBy(() -> only.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BusinessException.class);
+        assertThat(visionPort.interrupted).succeedsWithin(Duration.ofSeconds(1));
+    }
+
+    private Future<MealAnalysis> analyzeAsync(Deadline deadline, MealAnalysisStreamListener listener) {
+        return executor.submit(() -> {
+            deadlineHolder.set(deadline);
+            try {
+                return coalescer.analyze(USER_ID, "trace", request(), listener);
+            } finally {
+                deadlineHolder.clear();
+            }
+        });
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (visionPort.calls.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(visionPort.calls.get()).isEqualTo(expected);
+    }
+
+    private void awaitJoined() throws InterruptedException {
+        // 합류한 요청은 Vision을 호출하지 않으므로 잠시 기다려 합류가 끝나게 한다
+        Thread.sleep(50);
+    }
+
+    private MealAnalysisRequest request() {
+        return MealAnalysisRequest.builder()
+                .image(new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3}))
+                .name("닭가슴살")
+                .userId(USER_ID)
+                .build();
+    }
+
+    /**
+     * release가 열릴 때까지 응답하지 않는 Vision 포트 (스트리밍이면 응답 직전에 name 필드를 보냄)
+     */
+    private class GatedVisionPort implements VisionPort {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CompletableFuture<Void> interrupted = new CompletableFuture<>();
+        private volatile Deadline deadline;
+
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request) {
+            calls.incrementAndGet();
+            deadline = deadlineHolder.current();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.complete(null);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("cancelled");
+            }
+            return RESULT;
+        }
+
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request, MealAnalysisStreamListener listener) {
+            MealAnalysis result = analyze(request);
+            listener.onField("name", result.name());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.han.bloomi.common.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        SingleFlight.Joined<String> first = singleFlight.join("key", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "result";
+        });
+        SingleFlight.Joined<String> second = singleFlight.join("key", () -> {
+            calls.incrementAndGet();
+            return "other";
+        });
+        release.countDown();
+
+        assertThat(first.leader()).isTrue();
+        assertThat(second.leader()).isFalse();
+        assertThat(first.future().get(1, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(second.future().get(1, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void cancellingOneWaiterKeepsSharedCallForOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        SingleFlight.Joined<String> first = singleFlight.join("key", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw new IllegalStateException(e);
+            }
+            return "result";
+        });
+        SingleFlight.Joined<String> second = singleFlight.join("key", () -> "other");
+
+        first.future().cancel(true);
+        release.countDown();
+
+        assertThat(second.future().get(1, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    void cancellingLastWaiterCancelsSharedCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        SingleFlight.Joined<String> first = singleFlight.join("key", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "result";
+        });
+        SingleFlight.Joined<String> second = singleFlight.join("key", () -> "other");
+        started.await(1, TimeUnit.SECONDS);
+
+        first.future().cancel(true);
+        second.future().cancel(true);
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.han.bloomi.infra.nutrition;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodNameTrieTest {
+
+    @Test
+    void searchReturnsKeysWithinEditDistance() {
+        FoodNameTrie<String> trie = new FoodNameTrie<>();
+        trie.put("kitten", "kitten");
+        trie.put("sitting", "sitting");
+        trie.put("mitten", "mitten");
+
+        assertThat(trie.search("sitten", 1))
+                .extracting(FoodNameTrie.Match::value)
+                .containsExactlyInAnyOrder("kitten", "mitten");
+        assertThat(trie.search("sitten", 2))
+                .extracting(FoodNameTrie.Match::value)
+                .containsExactlyInAnyOrder("kitten", "mitten", "sitting");
+        assertThat(trie.search("kitten", 0))
+                .singleElement()
+                .satisfies(match -> assertThat(match.distance()).isZero());
+        assertThat(trie.search("sit", 1)).isEmpty();
+    }
+
+    @Test
+    void withPrefixReturnsShortestKeysFirst() {
+        FoodNameTrie<String> trie = new FoodNameTrie<>();
+        trie.put("abcde", "long");
+        trie.put("abc", "short");
+        trie.put("abd", "other");
+
+        assertThat(trie.withPrefix("abc", 10))
+                .extracting(FoodNameTrie.Match::value)
+                .containsExactly("short", "long");
+        assertThat(trie.withPrefix("ab", 1)).hasSize(1);
+        assertThat(trie.withPrefix("x", 10)).isEmpty();
+    }
+
+    @Test
+    void keepsFirstValueForDuplicateKey() {
+        FoodNameTrie<String> trie = new FoodNameTrie<>();
+
+        assertThat(trie.put("rice", "first")).isTrue();
+        assertThat(trie.put("rice", "second")).isFalse();
+        assertThat(trie.get("rice")).isEqualTo("first");
+        assertThat(trie.get("ric")).isNull();
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    void normalizerDecomposesHangulAndStripsNoise() {
+        assertThat(FoodNameNormalizer.normalize("김치 찌개 (1인분)"))
+                .isEqualTo(FoodNameNormalizer.normalize("김치찌개"));
+        // 호환용 자모 "ㅅ"은 초성 자모로 정규화되어 "살"의 분해 결과의 접두어가 된다
+        assertThat(FoodNameNormalizer.normalize("살")).startsWith(FoodNameNormalizer.normalize("ㅅ"));
+        assertThat(FoodNameNormalizer.normalize("살")).hasSize(3);
+    }
+}
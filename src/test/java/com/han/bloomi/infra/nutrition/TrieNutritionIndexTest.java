@@ -0,0 +1,115 @@
+package com.han.bloomi.infra.nutrition;
+
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.NutritionMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrieNutritionIndexTest {
+    private final TrieNutritionIndex index = new TrieNutritionIndex(new NutritionIndexProperties());
+
+    @Test
+    void exactAndAliasMatchesHaveFullConfidence() {
+        assertThat(index.lookup("닭가슴살")).get()
+                .satisfies(match -> assertThat(match.confidence()).isEqualTo(1.0))
+                .extracting(match -> match.facts().name()).isEqualTo("닭가슴살");
+        assertThat(index.lookup("공기밥")).get()
+                .extracting(match -> match.facts().name()).isEqualTo("쌀밥");
+    }
+
+    @Test
+    void normalizesSpacingQuantityAndParentheses() {
+        assertThat(name(index.lookup(" 김치 찌개 "))).isEqualTo("김치찌개");
+        assertThat(name(index.lookup("닭가슴살 150g"))).isEqualTo("닭가슴살");
+        assertThat(name(index.lookup("닭가슴살(수비드)"))).isEqualTo("닭가슴살");
+        assertThat(name(index.lookup("Chicken Breast"))).isEqualTo("닭가슴살");
+    }
+
+    @Test
+    void toleratesSingleJamoTypoInLongNames() {
+        // "살" -> "쌀": 자모 하나(ㅅ -> ㅆ) 차이, 11자모 중 1개
+        Optional<NutritionMatch> match = index.lookup("닭가슴쌀");
+
+        assertThat(name(match)).isEqualTo("닭가슴살");
+        assertThat(match.get().confidence()).isLessThan(1.0).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void rejectsLowConfidenceAndUnknownNames() {
+        // 짧은 이름의 한 글자 차이는 다른 음식일 가능성이 커서 Vision에 맡긴다
+        assertThat(index.lookup("사가")).isEmpty();
+        assertThat(index.lookup("닭가슴살샐러드")).isEmpty();
+        assertThat(index.lookup("마라탕")).isEmpty();
+        assertThat(index.lookup("")).isEmpty();
+        assertThat(index.lookup("150g")).isEmpty();
+    }
+
+    @Test
+    void rejectsMultipleItems() {
+        assertThat(index.lookup("닭가슴살, 현미밥")).isEmpty();
+        assertThat(index.lookup("닭가슴살+고구마")).isEmpty();
+        assertThat(index.lookup("닭가슴살 과 고구마")).isEmpty();
+    }
+
+    @Test
+    void scalesPer100gValuesToWeight() {
+        MealAnalysis analysis = index.lookup("닭가슴살").orElseThrow().toAnalysis(150);
+
+        assertThat(analysis.calories()).isEqualTo(247.5);
+        assertThat(analysis.macros().protein()).isEqualTo(46.5);
+        assertThat(analysis.serving().unit()).isEqualTo("g");
+        assertThat(analysis.serving().amount()).isEqualTo(150);
+        assertThat(analysis.items()).singleElement()
+                .satisfies(item -> assertThat(item.calories()).isEqualTo(247.5));
+    }
+
+    @Test
+    void prefixMatchUsesUniqueCompletionWhenThresholdAllows() {
+        NutritionIndexProperties properties = new NutritionIndexProperties();
+        properties.setMaxEditDistance(0);
+        properties.setMinConfidence(0.5);
+        properties.setDataset(csv("""
+                name,aliases,unit,calories,carbs,protein,fat
+                그릭요거트,,g,97,3.9,9,5
+                현미밥,,g,150,32.5,3.2,0.9
+                현미죽,,g,60,13,1.3,0.4
+                """));
+        TrieNutritionIndex prefixIndex = new TrieNutritionIndex(properties);
+
+        assertThat(name(prefixIndex.lookup("그릭요"))).isEqualTo("그릭요거트");
+        // 두 식품이 같은 신뢰도로 매칭되면 모호하므로 찾지 않음
+        assertThat(prefixIndex.lookup("현미")).isEmpty();
+    }
+
+    @Test
+    void disabledIndexMatchesNothing() {
+        NutritionIndexProperties properties = new NutritionIndexProperties();
+        properties.setEnabled(false);
+
+        assertThat(new TrieNutritionIndex(properties).lookup("닭가슴살")).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedDataset() {
+        NutritionIndexProperties properties = new NutritionIndexProperties();
+        properties.setDataset(csv("닭가슴살,g,165\n"));
+
+        assertThatThrownBy(() -> new TrieNutritionIndex(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    private static String name(Optional<NutritionMatch> match) {
+        return match.map(found -> found.facts().name()).orElse(null);
+    }
+
+    private static ByteArrayResource csv(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.han.bloomi.infra.storage;
+
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class S3ImageStorageAdapterTest {
+    private static final String PATH = "vision/sha256/ab/abc.jpg";
+
+    private StubS3Server s3;
+    private S3Presigner presigner;
+    private S3ImageStorageAdapter storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new StubS3Server();
+
+        S3Properties properties = new S3Properties();
+        properties.setBucket("bloomi-images");
+        properties.setRegion("us-east-1");
+        properties.setAccessKey("test");
+        properties.setSecretKey("test");
+        properties.setBaseUrl(s3.endpoint() + "/bloomi-images");
+        properties.setEndpoint(s3.endpoint());
+        S3Config config = new S3Config(properties);
+        presigner = config.s3Presigner();
+        storage = new S3ImageStorageAdapter(properties, config.s3Client(), presigner, new DeadlineHolder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+        s3.close();
+    }
+
+    @Test
+    void presignedUrlDownloadsUploadedImage() throws Exception {
+        byte[] bytes = {1, 2, 3, 4};
+        storage.upload(new MockMultipartFile("image", "meal.jpg", "image/jpeg", bytes), PATH);
+
+        String url = storage.presignedUrl(PATH, Duration.ofMinutes(5));
+
+        assertThat(url).startsWith(s3.endpoint() + "/bloomi-images/" + PATH + "?")
+                .contains("X-Amz-Expires=300")
+                .contains("X-Amz-Signature=");
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(bytes);
+    }
+
+    @Test
+    void existsReflectsStoredObjects() {
+        assertThat(storage.exists(PATH)).isFalse();
+
+        storage.upload(new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1}), PATH);
+
+        assertThat(storage.exists(PATH)).isTrue();
+    }
+}
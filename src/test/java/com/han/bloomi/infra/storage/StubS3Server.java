@@ -0,0 +1,121 @@
+package com.han.bloomi.infra.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * 테스트용 로컬 S3 호환 스텁 서버 (path-style: /{bucket}/{key})
+ *
+ * PUT/GET/HEAD/DELETE만 지원하고 서명은 검증하지 않습니다. 객체는 메모리에 보관합니다.
+ * SDK의 업로드 무결성 검증을 통과하도록 aws-chunked 본문을 풀고 ETag에 MD5를 돌려줍니다.
+ */
+public class StubS3Server implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    public StubS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public Map<String, byte[]> objects() {
+        return objects;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (exchange.getRequestHeaders().containsKey("x-amz-decoded-content-length")) {
+            body = decodeAwsChunked(body);
+        }
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                objects.put(path, body);
+                exchange.getResponseHeaders().add("ETag", "\"" + md5Hex(body) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                byte[] object = objects.get(path);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Type", "image/jpeg");
+                    exchange.sendResponseHeaders(200, object.length);
+                    exchange.getResponseBody().write(object);
+                }
+            }
+            case "HEAD" -> {
+                byte[] object = objects.get(path);
+                if (object != null) {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                }
+                exchange.sendResponseHeaders(object == null ? 404 : 200, -1);
+            }
+            case "DELETE" -> {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    /**
+     * 평문 HTTP 업로드에서 SDK가 쓰는 aws-chunked 본문 디코딩
+     * 형식: {16진수 길이};chunk-signature={서명}\r\n{데이터}\r\n ... 0;chunk-signature={서명}\r\n\r\n
+     */
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < body.length) {
+            int lineEnd = indexOfCrlf(body, position);
+            String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0], 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(body, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Malformed aws-chunked body");
+    }
+
+    private static String md5Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
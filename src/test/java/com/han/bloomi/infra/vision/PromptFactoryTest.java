@@ -0,0 +1,58 @@
+package com.han.bloomi.infra.vision;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptFactoryTest {
+    private final PromptFactory promptFactory = new PromptFactory();
+    private final MockMultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1});
+
+    @Test
+    void systemPromptIsIdenticalForEveryRequest() {
+        VisionPrompt imageOnly = promptFactory.createPrompt(MealAnalysisRequest.of(image, null, null, null));
+        VisionPrompt withDetails = promptFactory.createPrompt(MealAnalysisRequest.of(image, "비빔밥", 450.0, "고추장 적게"));
+
+        assertThat(imageOnly.system()).isSameAs(withDetails.system()).isSameAs(PromptFactory.SYSTEM_PROMPT);
+        assertThat(imageOnly.system()).doesNotContain("비빔밥", "450", "고추장");
+    }
+
+    @Test
+    void imageOnlyRequestReusesPrecomputedPrompt() {
+        VisionPrompt first = promptFactory.createPrompt(MealAnalysisRequest.of(image, null, null, null));
+        VisionPrompt second = promptFactory.createPrompt(MealAnalysisRequest.of(image, " ", null, ""));
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.user())
+                .contains("사용자가 음식명을 입력하지 않았습니다.")
+                .contains("일반적인 1인분 기준으로 serving을 추정하세요.");
+    }
+
+    @Test
+    void userHintsCarryRequestValues() {
+        VisionPrompt prompt = promptFactory.createPrompt(MealAnalysisRequest.of(image, "비빔밥", 450.0, "고추장 적게"));
+
+        assertThat(prompt.user()).isEqualTo("""
+                추가 정보:
+                - 사용자 입력 음식명: 비빔밥
+                  → name 필드에는 이 값을 그대로 사용하세요.
+                - 중량/용량: 450.0g
+                - 기타: 고추장 적게
+
+                제공된 중량 정보를 우선적으로 고려하여 분석하세요.
+                """);
+    }
+
+    @Test
+    void notesOnlyUsesNoNameNoWeightVariant() {
+        VisionPrompt prompt = promptFactory.createPrompt(MealAnalysisRequest.of(image, null, null, "점심"));
+
+        assertThat(prompt.user())
+                .contains("- 기타: 점심")
+                .contains("→ name 필드에 AI가 분석한 주요 음식명을 작성하세요")
+                .contains("일반적인 1인분 기준으로 serving을 추정하세요.")
+                .doesNotContain("중량/용량");
+    }
+}
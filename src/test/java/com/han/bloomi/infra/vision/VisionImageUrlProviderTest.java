@@ -0,0 +1,101 @@
+package com.han.bloomi.infra.vision;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.port.ImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisionImageUrlProviderTest {
+    private final InMemoryImageStorage storage = new InMemoryImageStorage();
+    private final VisionImageUrlProperties properties = new VisionImageUrlProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VisionImageUrlProvider provider = new VisionImageUrlProvider(properties, storage, meterRegistry);
+
+    @Test
+    void attachesPresignedUrlAndUploadsSameContentOnce() {
+        properties.setEnabled(true);
+
+        MealAnalysisRequest first = provider.attach(request(new byte[]{1, 2, 3}));
+        MealAnalysisRequest second = provider.attach(request(new byte[]{1, 2, 3}));
+
+        assertThat(first.imageUrl())
+                .matches("https://images\\.test/vision/sha256/[0-9a-f]{2}/[0-9a-f]{64}\\.jpg\\?ttl=300");
+        assertThat(second.imageUrl()).isEqualTo(first.imageUrl());
+        assertThat(first.image()).isNotNull();
+        assertThat(storage.puts).isEqualTo(1);
+        assertThat(meterRegistry.counter("bloomi.vision.image_url", "result", "existing").count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsInlineImageWhenDisabled() {
+        MealAnalysisRequest request = request(new byte[]{1});
+
+        assertThat(provider.attach(request)).isSameAs(request);
+        assertThat(storage.puts).isZero();
+    }
+
+    @Test
+    void fallsBackToInlineImageWhenStorageFails() {
+        properties.setEnabled(true);
+        storage.failing = true;
+
+        MealAnalysisRequest attached = provider.attach(request(new byte[]{1}));
+
+        assertThat(attached.hasImageUrl()).isFalse();
+        assertThat(meterRegistry.counter("bloomi.vision.image_url", "result", "failed").count()).isEqualTo(1);
+    }
+
+    private static MealAnalysisRequest request(byte[] bytes) {
+        return MealAnalysisRequest.of(new MockMultipartFile("image", "meal.jpg", "image/jpeg", bytes),
+                "비빔밥", null, null);
+    }
+
+    private static class InMemoryImageStorage implements ImageStorage {
+        private final Map<String, byte[]> objects = new HashMap<>();
+        private int puts;
+        private boolean failing;
+
+        @Override
+        public String upload(MultipartFile image, String path) {
+            if (failing) {
+                throw new IllegalStateException("storage unavailable");
+            }
+            try {
+                objects.put(path, image.getBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            puts++;
+            return urlOf(path);
+        }
+
+        @Override
+        public boolean exists(String path) {
+            return objects.containsKey(path);
+        }
+
+        @Override
+        public String urlOf(String path) {
+            return "https://images.test/" + path;
+        }
+
+        @Override
+        public String presignedUrl(String path, Duration ttl) {
+            return urlOf(path) + "?ttl=" + ttl.toSeconds();
+        }
+
+        @Override
+        public void delete(String imageUrl) {
+            objects.remove(imageUrl);
+        }
+    }
+}
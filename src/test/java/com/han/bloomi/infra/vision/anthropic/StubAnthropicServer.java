@@ -0,0 +1,93 @@
+package com.han.bloomi.infra.vision.anthropic;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 로컬 Anthropic Messages API 스텁 서버
+ *
+ * 응답 지연과 상태 코드를 바꿔 가며 프로바이더별 지연/장애 상황을 흉내 냅니다.
+ */
+public class StubAnthropicServer implements AutoCloseable {
+    private final HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile String content = "{}";
+    private volatile long responseDelayMs;
+    private volatile int status = 200;
+
+    public StubAnthropicServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/messages", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public StubAnthropicServer respondWith(String content) {
+        this.content = content;
+        return this;
+    }
+
+    public StubAnthropicServer responseDelay(long responseDelayMs) {
+        this.responseDelayMs = responseDelayMs;
+        return this;
+    }
+
+    public StubAnthropicServer status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requestCount.incrementAndGet();
+        sleep(responseDelayMs);
+
+        byte[] response = status == 200
+                ? ("{\"id\":\"msg_stub\",\"type\":\"message\",\"model\":\"stub\","
+                + "\"content\":[{\"type\":\"text\",\"text\":" + quote(content) + "}],"
+                + "\"stop_reason\":\"end_turn\",\"usage\":{\"input_tokens\":100,\"output_tokens\":50}}")
+                .getBytes(StandardCharsets.UTF_8)
+                : "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"stub error\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.han.bloomi.infra.vision.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashIndexTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void findsNearDuplicateWithinDistance() {
+        PerceptualHashIndex<String> index = new PerceptualHashIndex<>(100, Duration.ofMinutes(1), 4, clock::get);
+        long hash = 0x9F3A_5C21_7E44_B10DL;
+        index.put("닭가슴살|150.0|", hash, "cached");
+
+        // 서로 다른 구간에 흩어진 4비트 차이
+        long nearDuplicate = hash ^ (1L << 1) ^ (1L << 20) ^ (1L << 40) ^ (1L << 63);
+        assertThat(index.findNearest("닭가슴살|150.0|", nearDuplicate))
+                .hasValueSatisfying(match -> {
+                    assertThat(match.value()).isEqualTo("cached");
+                    assertThat(match.distance()).isEqualTo(4);
+                });
+
+        long tooFar = nearDuplicate ^ (1L << 30);
+        assertThat(index.findNearest("닭가슴살|150.0|", tooFar)).isEmpty();
+    }
+
+    @Test
+    void separatesEntriesByHints() {
+        PerceptualHashIndex<String> index = new PerceptualHashIndex<>(100, Duration.ofMinutes(1), 4, clock::get);
+        index.put("||", 42L, "no hints");
+
+        assertThat(index.findNearest("김밥||", 42L)).isEmpty();
+        assertThat(index.findNearest("||", 42L)).isPresent();
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        PerceptualHashIndex<String> index = new PerceptualHashIndex<>(100, Duration.ofSeconds(10), 2, clock::get);
+        index.put("||", 42L, "value");
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(index.findNearest("||", 42L)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        PerceptualHashIndex<String> index = new PerceptualHashIndex<>(2, Duration.ofMinutes(1), 2, clock::get);
+        index.put("||", 1L, "first");
+        index.put("||", 0xFF00L, "second");
+        index.findNearest("||", 1L); // first를 최근 사용으로 갱신
+        index.put("||", 0xFF_0000_0000L, "third");
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findNearest("||", 1L)).isPresent();
+        assertThat(index.findNearest("||", 0xFF00L)).isEmpty();
+    }
+}
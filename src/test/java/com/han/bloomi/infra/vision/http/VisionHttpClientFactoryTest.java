@@ -0,0 +1,202 @@
+package com.han.bloomi.infra.vision.http;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VisionHttpClientFactoryTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicLong received = new AtomicLong();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final VisionHttpClientFactory factory = new VisionHttpClientFactory(
+            new VisionHttpProperties(), ObservationRegistry.NOOP, meterRegistry, deadlineHolder);
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath()
+                    + " " + exchange.getRequestHeaders().getFirst("Authorization"));
+            if (exchange.getRequestURI().getPath().endsWith("/slow")) {
+                sleep(500);
+            }
+            if (exchange.getRequestURI().getPath().endsWith("/upload")) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = exchange.getRequestBody().read(buffer)) != -1) {
+                    received.addAndGet(read);
+                }
+            }
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        deadlineHolder.clear();
+    }
+
+    @Test
+    void appliesDefaultHeadersAndBaseUrl() {
+        RestClient client = factory.create("openai", baseUrl(), Duration.ofSeconds(5),
+                headers -> headers.setBearerAuth("test-key"));
+
+        client.get().uri("/models").retrieve().toBodilessEntity();
+
+        assertThat(requests).containsExactly("GET /v1/models Bearer test-key");
+    }
+
+    @Test
+    void appliesReadTimeout() {
+        RestClient client = factory.create("openai", baseUrl(), Duration.ofMillis(100), headers -> {
+        });
+
+        assertThatThrownBy(() -> client.get().uri("/slow").retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    void capsReadTimeoutAtRequestDeadline() {
+        RestClient client = factory.create("openai", baseUrl(), Duration.ofSeconds(5), headers -> {
+        });
+        deadlineHolder.set(Deadline.after(Duration.ofMillis(100)));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.get().uri("/slow").retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class);
+
+        // 기본 타임아웃(5초) 대신 남은 시간만큼만 기다린다
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(450));
+    }
+
+    @Test
+    void reportsReadTimeoutCappedAtRequestDeadline() {
+        assertThat(factory.readTimeout(Duration.ofSeconds(5))).isEqualTo(Duration.ofSeconds(5));
+
+        deadlineHolder.set(Deadline.after(Duration.ofMillis(100)));
+
+        assertThat(factory.readTimeout(Duration.ofSeconds(5))).isPositive().isLessThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void rejectsRequestOncePastDeadline() {
+        RestClient client = factory.create("openai", baseUrl(), Duration.ofSeconds(5), headers -> {
+        });
+        deadlineHolder.set(Deadline.after(Duration.ZERO));
+
+        assertThatThrownBy(() -> client.get().uri("/models").retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.DEADLINE_EXCEEDED));
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void streamsRequestBodyWithoutBuffering() {
+        RestClient client = factory.create("openai", baseUrl(), Duration.ofSeconds(5), headers -> {
+        });
+        int chunk = 1024 * 1024;
+        AtomicBoolean sentBeforeBodyCompleted = new AtomicBoolean();
+        AtomicInteger inFlightWhileWriting = new AtomicInteger();
+
+        client.post().uri("/upload")
+                .body((StreamingHttpOutputMessage.Body) body -> {
+                    inFlightWhileWriting.set((int) meterRegistry.get("bloomi.vision.http.in_flight").gauge().value());
+                    body.write(new byte[chunk]);
+                    body.flush();
+                    // 본문을 메모리에 모았다가 보내면 작성이 끝나기 전에는 서버가 아무것도 받지 못한다
+                    sentBeforeBodyCompleted.set(awaitReceived(1, Duration.ofSeconds(5)));
+                    body.write(new byte[chunk]);
+                })
+                .retrieve()
+                .toBodilessEntity();
+
+        assertThat(sentBeforeBodyCompleted).isTrue();
+        assertThat(received).hasValue(2L * chunk);
+        assertThat(inFlightWhileWriting).hasValue(1);
+        assertThat(meterRegistry.get("bloomi.vision.http.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void warmsUpRegisteredEndpoints() throws Exception {
+        factory.create("openai", baseUrl(), Duration.ofSeconds(5), headers -> {
+        });
+
+        factory.warmUp(factory.endpoints().getFirst()).get(5, TimeUnit.SECONDS);
+
+        assertThat(requests).containsExactly("HEAD /v1 null");
+        Timer warmup = meterRegistry.find("bloomi.vision.http.warmup")
+                .tags("provider", "openai", "result", "success").timer();
+        assertThat(warmup).isNotNull();
+        assertThat(warmup.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsWarmupFailureWithoutThrowing() throws Exception {
+        factory.create("anthropic", "http://127.0.0.1:1/v1", Duration.ofSeconds(5), headers -> {
+        });
+
+        factory.warmUp(factory.endpoints().getFirst()).get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.find("bloomi.vision.http.warmup")
+                .tags("provider", "anthropic", "result", "failure").timer()).isNotNull();
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    private boolean awaitReceived(long bytes, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (received.get() < bytes) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            sleep(10);
+        }
+        return true;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.han.bloomi.infra.vision.limit;
+
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void limitGrowsUnderLoadWhileLatencyStaysLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10, 0), clock::get);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(100 * MS, 10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void limitDoesNotGrowWithoutLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10, 0), clock::get);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(100 * MS, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(20, 0), clock::get);
+        limiter.onSample(100 * MS, 20);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(1000 * MS, 20);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+    }
+
+    @Test
+    void fastFailuresAreNotLatencySamples() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10, 0), clock::get);
+
+        // 1ms 만에 끝난 4xx가 minRtt가 되면 이후 100ms 정상 호출이 모두 과부하로 보인다
+        for (int i = 0; i < 20; i++) {
+            assertThatThrownBy(() -> limiter.execute(() -> {
+                clock.addAndGet(MS);
+                throw new VisionException(ErrorCode.VISION_API_ERROR, "OpenAI API error: 400");
+            })).isInstanceOf(VisionException.class);
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(() -> clock.addAndGet(100 * MS));
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void upstreamFailuresShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10, 0), clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> limiter.execute(() -> {
+                clock.addAndGet(MS);
+                throw VisionException.upstream(ErrorCode.VISION_API_ERROR, "OpenAI API error: 429 TOO_MANY_REQUESTS");
+            })).isInstanceOf(VisionException.class);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    void tryAcquireDoesNotWaitOrCountRejections() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(2, 5), clock::get);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire().orElseThrow();
+
+        assertThat(limiter.tryAcquire()).isEmpty();
+        assertThat(limiter.getRejected()).isZero();
+
+        // 실행하지 않은 권한은 한 번만 반환되고 지연 시간 표본도 남기지 않는다
+        first.cancel();
+        first.cancel();
+        assertThat(limiter.getInflight()).isEqualTo(1);
+        second.execute(() -> clock.addAndGet(100 * MS));
+        assertThat(limiter.getInflight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsFastWhenQueueIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(2, 0));
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> limiter.execute(() -> {
+                    running.countDown();
+                    await(release);
+                    return "ok";
+                }));
+            }
+            assertThat(running.await(1, TimeUnit.SECONDS)).isTrue();
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> limiter.execute(() -> "rejected"))
+                    .isInstanceOf(VisionException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.VISION_OVERLOADED);
+            assertThat(System.nanoTime() - start).isLessThan(100 * MS);
+            assertThat(limiter.getRejected()).isEqualTo(1);
+            assertThat(limiter.getInflight()).isEqualTo(2);
+
+            release.countDown();
+        }
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    private VisionLimiterProperties properties(int initialLimit, int queueSize) {
+        VisionLimiterProperties properties = new VisionLimiterProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(50);
+        properties.setQueueSize(queueSize);
+        properties.setMaxWait(Duration.ofMillis(500));
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
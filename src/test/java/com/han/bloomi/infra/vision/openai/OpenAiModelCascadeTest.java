@@ -0,0 +1,213 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.infra.vision.routing.PrimaryTierLatencyHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenAiModelCascadeTest {
+    private static final String PRIMARY = "small-model";
+    private static final String ESCALATION = "large-model";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OpenAiCascadeProperties cascadeProperties = new OpenAiCascadeProperties();
+    private final List<String> calledModels = new ArrayList<>();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final PrimaryTierLatencyHolder primaryTierLatency = new PrimaryTierLatencyHolder();
+    private OpenAiModelCascade cascade;
+
+    @BeforeEach
+    void setUp() {
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setModel(PRIMARY);
+        cascadeProperties.setEnabled(true);
+        cascadeProperties.setModel(ESCALATION);
+        cascadeProperties.setMinConfidence(0.6);
+        cascade = new OpenAiModelCascade(properties, cascadeProperties, meterRegistry, deadlineHolder,
+                primaryTierLatency);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlineHolder.clear();
+        primaryTierLatency.clear();
+    }
+
+    @Test
+    void confidentPrimaryResultIsNotEscalated() {
+        MealAnalysis result = cascade.analyze(respond(Map.of(PRIMARY, analysis(0.9))));
+
+        assertThat(result.confidence()).isEqualTo(0.9);
+        assertThat(calledModels).containsExactly(PRIMARY);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.tier")
+                .tags("tier", "primary", "model", PRIMARY, "outcome", "accepted").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.tokens").tag("tier", "primary").summary().totalAmount())
+                .isEqualTo(1000);
+        assertThat(meterRegistry.find("bloomi.vision.cascade.escalations").counter()).isNull();
+    }
+
+    @Test
+    void lowConfidenceEscalatesToStrongerModel() {
+        MealAnalysis result = cascade.analyze(respond(Map.of(PRIMARY, analysis(0.4), ESCALATION, analysis(0.85))));
+
+        assertThat(result.confidence()).isEqualTo(0.85);
+        assertThat(calledModels).containsExactly(PRIMARY, ESCALATION);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.escalations").tag("reason", "low_confidence")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.tier")
+                .tags("tier", "primary", "outcome", "escalated").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.tier")
+                .tags("tier", "escalation", "model", ESCALATION, "outcome", "accepted").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsPrimaryTierLatencyForHedging() {
+        cascade.analyze((model, primary) -> {
+            calledModels.add(model);
+            if (!primary) {
+                sleep(100);
+            }
+            return new OpenAiModelCascade.TierResult(analysis(primary ? 0.4 : 0.85), null);
+        });
+
+        // 라우터의 헤지 기준 분포에는 승격 호출을 뺀 1단계 시간만 들어가야 한다
+        assertThat(calledModels).containsExactly(PRIMARY, ESCALATION);
+        assertThat(primaryTierLatency.current()).isPresent();
+        assertThat(primaryTierLatency.current().getAsLong()).isLessThan(100);
+    }
+
+    @Test
+    void invalidResponseEscalates() {
+        MealAnalysis result = cascade.analyze((model, primary) -> {
+            calledModels.add(model);
+            if (primary) {
+                throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE, "broken json");
+            }
+            return new OpenAiModelCascade.TierResult(analysis(0.8), null);
+        });
+
+        assertThat(result.confidence()).isEqualTo(0.8);
+        assertThat(calledModels).containsExactly(PRIMARY, ESCALATION);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.escalations").tag("reason", "invalid_response")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void implausibleMacrosEscalate() {
+        // 600kcal인데 영양소 합계는 (10 + 10) * 4 + 1 * 9 = 89kcal
+        MealAnalysis implausible = MealAnalysis.of("비빔밥", 600, Macros.of(10, 10, 1), Serving.of("g", 400),
+                List.of(), 0.95, "좋아요");
+
+        cascade.analyze(respond(Map.of(PRIMARY, implausible, ESCALATION, analysis(0.8))));
+
+        assertThat(calledModels).containsExactly(PRIMARY, ESCALATION);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.escalations").tag("reason", "implausible")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void upstreamFailureAndNoMealAreNotEscalated() {
+        assertThatThrownBy(() -> cascade.analyze(fail(VisionException.upstream(ErrorCode.VISION_API_ERROR, "503"))))
+                .isInstanceOf(VisionException.class);
+        assertThatThrownBy(() -> cascade.analyze(fail(new VisionException(ErrorCode.VISION_NO_MEAL, "No meal"))))
+                .extracting("errorCode").isEqualTo(ErrorCode.VISION_NO_MEAL);
+
+        assertThat(calledModels).containsExactly(PRIMARY, PRIMARY);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenEscalationFails() {
+        MealAnalysis result = cascade.analyze((model, primary) -> {
+            calledModels.add(model);
+            if (!primary) {
+                throw new VisionException(ErrorCode.VISION_TIMEOUT, "timeout");
+            }
+            return new OpenAiModelCascade.TierResult(analysis(0.4), null);
+        });
+
+        assertThat(result.confidence()).isEqualTo(0.4);
+        assertThat(calledModels).containsExactly(PRIMARY, ESCALATION);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.tier")
+                .tags("tier", "escalation", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsEscalationOncePastDeadline() {
+        deadlineHolder.set(Deadline.after(Duration.ZERO));
+
+        MealAnalysis result = cascade.analyze(respond(Map.of(PRIMARY, analysis(0.4), ESCALATION, analysis(0.85))));
+
+        // 신뢰도만 낮았으면 1단계 결과를 쓰고 승격 호출은 보내지 않는다
+        assertThat(result.confidence()).isEqualTo(0.4);
+        assertThat(calledModels).containsExactly(PRIMARY);
+        assertThat(meterRegistry.get("bloomi.vision.cascade.escalations.skipped").tag("reason", "low_confidence")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("bloomi.vision.cascade.escalations").counter()).isNull();
+    }
+
+    @Test
+    void unusablePrimaryResultFailsWithDeadlineExceededOncePastDeadline() {
+        deadlineHolder.set(Deadline.after(Duration.ZERO));
+
+        assertThatThrownBy(() -> cascade.analyze((model, primary) -> {
+            calledModels.add(model);
+            throw new VisionException(ErrorCode.VISION_INVALID_RESPONSE, "broken json");
+        })).extracting("errorCode").isEqualTo(ErrorCode.DEADLINE_EXCEEDED);
+
+        assertThat(calledModels).containsExactly(PRIMARY);
+    }
+
+    @Test
+    void disabledCascadeUsesPrimaryModelOnly() {
+        cascadeProperties.setEnabled(false);
+
+        MealAnalysis result = cascade.analyze(respond(Map.of(PRIMARY, analysis(0.1))));
+
+        assertThat(result.confidence()).isEqualTo(0.1);
+        assertThat(calledModels).containsExactly(PRIMARY);
+    }
+
+    private OpenAiModelCascade.TierCall respond(Map<String, MealAnalysis> byModel) {
+        return (model, primary) -> {
+            calledModels.add(model);
+            return new OpenAiModelCascade.TierResult(byModel.get(model), 1000);
+        };
+    }
+
+    private OpenAiModelCascade.TierCall fail(VisionException exception) {
+        return (model, primary) -> {
+            calledModels.add(model);
+            throw exception;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MealAnalysis analysis(double confidence) {
+        // (60 + 30) * 4 + 20 * 9 = 540kcal
+        return MealAnalysis.of("비빔밥", 540, Macros.of(60, 30, 20), Serving.of("g", 400),
+                List.of(), confidence, "좋아요");
+    }
+}
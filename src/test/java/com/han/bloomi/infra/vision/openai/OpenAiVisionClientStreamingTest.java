@@ -0,0 +1,155 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.OptimizedMultipartFile;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
+import com.han.bloomi.infra.vision.http.VisionHttpProperties;
+import com.han.bloomi.infra.vision.routing.PrimaryTierLatencyHolder;
+import com.han.bloomi.infra.vision.usage.VisionUsageProperties;
+import com.han.bloomi.infra.vision.usage.VisionUsageRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiVisionClientStreamingTest {
+    private static final String CONTENT = """
+            {"name":"닭가슴살, 현미밥","calories":520.5,"macros":{"carbs":60.0,"protein":45.0,"fat":8.5},\
+            "serving":{"unit":"g","amount":350},\
+            "items":[{"name":"닭가슴살","amount":150,"unit":"g","calories":250},{"name":"현미밥","amount":200,"unit":"g","calories":270.5}],\
+            "confidence":0.82,"advice":"단백질이 충분해요."}""";
+    private static final long CHUNK_DELAY_MS = 20;
+    private static final VisionPrompt PROMPT = new VisionPrompt("system", "prompt");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubOpenAiServer server;
+    private OpenAiVisionClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubOpenAiServer().respondWith(split(CONTENT, 7), CHUNK_DELAY_MS);
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setApiKey("test-key");
+        properties.setBaseUrl(server.baseUrl());
+
+        client = new OpenAiVisionClient(
+                properties,
+                new ImageEncoder(),
+                new OpenAiHttpClient(properties, objectMapper, new VisionHttpClientFactory(
+                        new VisionHttpProperties(), ObservationRegistry.NOOP, new SimpleMeterRegistry(), new DeadlineHolder())),
+                new OpenAiResponseMapper(),
+                objectMapper,
+                new OpenAiModelCascade(properties, new OpenAiCascadeProperties(), new SimpleMeterRegistry(),
+                        new DeadlineHolder(), new PrimaryTierLatencyHolder()),
+                new VisionUsageRecorder(new VisionUsageProperties(), (date, usage) -> {}, meterRegistry)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void streamsCompletedFieldsBeforeResponseFinishes() {
+        List<String> fields = new CopyOnWriteArrayList<>();
+        List<Long> receivedAt = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+
+        MealAnalysis analysis = client.analyze(request(), PROMPT, (field, value) -> {
+            fields.add(field);
+            receivedAt.add(System.nanoTime());
+        });
+        long finishedAt = System.nanoTime();
+
+        assertThat(fields).containsExactly(
+                "name", "calories", "macros", "serving", "item", "item", "items", "confidence", "advice");
+        // 첫 필드는 전체 스트림 완료보다 훨씬 먼저 도착해야 한다
+        assertThat(receivedAt.get(0) - start).isLessThan((finishedAt - start) / 2);
+
+        assertThat(analysis.name()).isEqualTo("닭가슴살, 현미밥");
+        assertThat(analysis.calories()).isEqualTo(520.5);
+        assertThat(analysis.macros().protein()).isEqualTo(45.0);
+        assertThat(analysis.items()).hasSize(2);
+        assertThat(server.requestBodies()).singleElement().asString().contains("\"stream\":true");
+    }
+
+    @Test
+    void fieldValuesMatchFinalResult() {
+        Map<String, Object> values = new java.util.concurrent.ConcurrentHashMap<>();
+
+        client.analyze(request(), PROMPT, values::put);
+
+        assertThat(values.get("calories")).hasToString("520.5");
+        assertThat(values.get("macros")).hasToString("{\"carbs\":60.0,\"protein\":45.0,\"fat\":8.5}");
+        assertThat(values.get("item")).hasToString("{\"name\":\"현미밥\",\"amount\":200,\"unit\":\"g\",\"calories\":270.5}");
+    }
+
+    @Test
+    void recordsUsageFromFinalStreamChunk() {
+        client.analyze(request(), PROMPT, (field, value) -> {
+        });
+
+        assertThat(server.requestBodies()).singleElement().asString().contains("\"include_usage\":true");
+        assertThat(meterRegistry.get("bloomi.vision.usage.prompt_tokens").tag("provider", "openai")
+                .summary().totalAmount()).isEqualTo(100);
+        assertThat(meterRegistry.get("bloomi.vision.usage.completion_tokens").tag("provider", "openai")
+                .summary().totalAmount()).isEqualTo(50);
+        assertThat(meterRegistry.get("bloomi.vision.usage.cached_tokens").tag("provider", "openai")
+                .summary().totalAmount()).isEqualTo(64);
+        assertThat(meterRegistry.get("bloomi.vision.usage.prompt_cache").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void sendsStaticInstructionsAsLeadingSystemMessage() throws IOException {
+        client.analyze(request(), PROMPT);
+
+        JsonNode messages = objectMapper.readTree(server.requestBodies().getFirst()).get("messages");
+        assertThat(messages.at("/0/role").asText()).isEqualTo("system");
+        assertThat(messages.at("/0/content/0/text").asText()).isEqualTo("system");
+        assertThat(messages.at("/1/role").asText()).isEqualTo("user");
+        assertThat(messages.at("/1/content/0/text").asText()).isEqualTo("prompt");
+        assertThat(messages.at("/1/content/1/type").asText()).isEqualTo("image_url");
+    }
+
+    @Test
+    void sendsImageUrlInsteadOfInlineImageWhenAttached() {
+        String url = "https://bloomi-images.s3.test/vision/sha256/ab/abc.jpg?X-Amz-Signature=sig";
+
+        client.analyze(request().withImageUrl(url), PROMPT);
+
+        String body = server.requestBodies().getFirst();
+        assertThat(body).contains("\"image_url\":{\"url\":\"" + url + "\"").doesNotContain("data:image");
+    }
+
+    private MealAnalysisRequest request() {
+        OptimizedMultipartFile image = new OptimizedMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return MealAnalysisRequest.of(image, null, null, null);
+    }
+
+    private static List<String> split(String value, int size) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < value.length(); i += size) {
+            chunks.add(value.substring(i, Math.min(value.length(), i + size)));
+        }
+        return chunks;
+    }
+}
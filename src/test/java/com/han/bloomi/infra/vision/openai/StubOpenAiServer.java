@@ -0,0 +1,141 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * 테스트용 로컬 OpenAI Chat Completions 스텁 서버
+ *
+ * stream=true 요청에는 미리 준비한 content 조각을 SSE 청크로 지연을 두고 흘려보내고,
+ * 일반 요청에는 전체 content를 한 번에 응답합니다.
+ */
+public class StubOpenAiServer implements AutoCloseable {
+    private final HttpServer server;
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private volatile List<String> contentChunks = List.of();
+    private volatile long chunkDelayMs;
+    private volatile long responseDelayMs;
+    private volatile int status = 200;
+
+    public StubOpenAiServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/chat/completions", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 응답할 content를 조각 단위로 설정합니다. 일반 응답에서는 조각을 이어 붙여 반환합니다.
+     */
+    public StubOpenAiServer respondWith(List<String> chunks, long chunkDelayMs) {
+        this.contentChunks = List.copyOf(chunks);
+        this.chunkDelayMs = chunkDelayMs;
+        return this;
+    }
+
+    public StubOpenAiServer responseDelay(long responseDelayMs) {
+        this.responseDelayMs = responseDelayMs;
+        return this;
+    }
+
+    public StubOpenAiServer status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public List<String> requestBodies() {
+        return requestBodies;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requestBodies.add(body);
+        sleep(responseDelayMs);
+
+        if (status != 200) {
+            byte[] error = "{\"error\":{\"message\":\"stub error\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, error.length);
+            exchange.getResponseBody().write(error);
+            exchange.close();
+            return;
+        }
+
+        if (body.contains("\"stream\":true")) {
+            streamChunks(exchange, body.contains("\"include_usage\":true"));
+        } else {
+            respondAtOnce(exchange);
+        }
+    }
+
+    private void streamChunks(HttpExchange exchange, boolean includeUsage) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            writeEvent(out, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"\"}}]}");
+            for (String chunk : contentChunks) {
+                sleep(chunkDelayMs);
+                writeEvent(out, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{\"content\":"
+                        + quote(chunk) + "}}]}");
+            }
+            writeEvent(out, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{},\"finish_reason\":\"stop\"}]}");
+            if (includeUsage) {
+                // stream_options.include_usage 요청 시 마지막에 choices 없이 usage만 담긴 청크가 온다
+                writeEvent(out, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[],"
+                        + "\"usage\":{\"prompt_tokens\":100,\"completion_tokens\":50,\"total_tokens\":150,"
+                        + "\"prompt_tokens_details\":{\"cached_tokens\":64}}}");
+            }
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private void respondAtOnce(HttpExchange exchange) throws IOException {
+        String content = String.join("", contentChunks);
+        byte[] response = ("{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"model\":\"stub\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":" + quote(content) + "},\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":100,\"completion_tokens\":50,\"total_tokens\":150}}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.han.bloomi.infra.vision.openai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.DecodeAdmissionController;
+import com.han.bloomi.application.service.ImageDecodeProperties;
+import com.han.bloomi.application.service.ImageDerivatives;
+import com.han.bloomi.application.service.ImageEncodingProperties;
+import com.han.bloomi.application.service.ImageProcessor;
+import com.han.bloomi.application.service.VisionImageProperties;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.infra.vision.PromptFactory;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
+import com.han.bloomi.infra.vision.http.VisionHttpProperties;
+import com.han.bloomi.infra.vision.routing.PrimaryTierLatencyHolder;
+import com.han.bloomi.infra.vision.usage.VisionUsageProperties;
+import com.han.bloomi.infra.vision.usage.VisionUsageRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보관용(최대 1920x1080) 이미지 vs Vision용 저해상도 파생본 오프라인 평가
+ *
+ * 라벨이 있는 로컬 사진 세트를 두 해상도로 OpenAI에 보내 지연 시간, 프롬프트 토큰 수, 칼로리 차이를 비교합니다.
+ * 실제 API를 호출하므로 아래 환경 변수가 있을 때만 실행됩니다.
+ * - BLOOMI_EVAL_SET: 사진과 labels.csv(파일명,칼로리)가 있는 디렉터리
+ * - OPENAI_API_KEY: OpenAI API 키
+ * - BLOOMI_EVAL_MODEL / BLOOMI_EVAL_MAX_DIMENSION / BLOOMI_EVAL_QUALITY / BLOOMI_EVAL_DETAIL (선택)
+ *
+ * 실행: BLOOMI_EVAL_SET=... OPENAI_API_KEY=... ./gradlew test --tests '*VisionDerivativeEvaluationTest' -i
+ */
+@EnabledIfEnvironmentVariable(named = "BLOOMI_EVAL_SET", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "OPENAI_API_KEY", matches = ".+")
+class VisionDerivativeEvaluationTest {
+    private static final Logger log = LoggerFactory.getLogger(VisionDerivativeEvaluationTest.class);
+    private static final String LABELS_FILE = "labels.csv";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void compareArchivalAndVisionDerivatives() throws IOException {
+        Path dir = Path.of(System.getenv("BLOOMI_EVAL_SET"));
+
+        VisionImageProperties imageProperties = new VisionImageProperties();
+        imageProperties.setMaxDimension(Integer.parseInt(env("BLOOMI_EVAL_MAX_DIMENSION",
+                String.valueOf(imageProperties.getMaxDimension()))));
+        imageProperties.setQuality(Double.parseDouble(env("BLOOMI_EVAL_QUALITY",
+                String.valueOf(imageProperties.getQuality()))));
+        ImageProcessor imageProcessor = new ImageProcessor(imageProperties, new ImageEncodingProperties(),
+                new DecodeAdmissionController(new ImageDecodeProperties(), new DeadlineHolder(), new SimpleMeterRegistry()));
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setApiKey(System.getenv("OPENAI_API_KEY"));
+        properties.setModel(env("BLOOMI_EVAL_MODEL", "gpt-4.1-mini"));
+        properties.setImageDetail(env("BLOOMI_EVAL_DETAIL", properties.getImageDetail()));
+        OpenAiHttpClient httpClient = new OpenAiHttpClient(properties, objectMapper,
+                new VisionHttpClientFactory(new VisionHttpProperties(), ObservationRegistry.NOOP, new SimpleMeterRegistry(),
+                        new DeadlineHolder()));
+        // 프롬프트 토큰 수는 클라이언트가 기록하는 사용량 메트릭에서 읽습니다.
+        SimpleMeterRegistry usageMetrics = new SimpleMeterRegistry();
+        OpenAiVisionClient client = new OpenAiVisionClient(
+                properties, new ImageEncoder(), httpClient, new OpenAiResponseMapper(), objectMapper,
+                new OpenAiModelCascade(properties, new OpenAiCascadeProperties(), new SimpleMeterRegistry(),
+                        new DeadlineHolder(), new PrimaryTierLatencyHolder()),
+                new VisionUsageRecorder(new VisionUsageProperties(), (date, usage) -> {}, usageMetrics));
+        PromptFactory promptFactory = new PromptFactory();
+
+        List<Sample> archival = new ArrayList<>();
+        List<Sample> vision = new ArrayList<>();
+        for (Map.Entry<String, Double> label : readLabels(dir).entrySet()) {
+            Path photo = dir.resolve(label.getKey());
+            MultipartFile original = new MockMultipartFile("image", label.getKey(), "image/jpeg",
+                    Files.readAllBytes(photo));
+            ImageDerivatives images = imageProcessor.process(original);
+            VisionPrompt prompt = promptFactory.createPrompt(MealAnalysisRequest.of(images.vision(), null, null, null));
+
+            archival.add(run(client, usageMetrics, prompt, images.archival(), label.getValue()));
+            vision.add(run(client, usageMetrics, prompt, images.vision(), label.getValue()));
+            log.info("{}: label {} kcal, archival {} kcal ({} tokens), vision {} kcal ({} tokens)",
+                    label.getKey(), label.getValue(),
+                    archival.getLast().calories(), archival.getLast().promptTokens(),
+                    vision.getLast().calories(), vision.getLast().promptTokens());
+        }
+
+        double calorieDelta = 0;
+        for (int i = 0; i < archival.size(); i++) {
+            calorieDelta += Math.abs(archival.get(i).calories() - vision.get(i).calories());
+        }
+
+        log.info("model={}, detail={}, vision maxDimension={}, quality={}, samples={}",
+                properties.getModel(), properties.getImageDetail(),
+                imageProperties.getMaxDimension(), imageProperties.getQuality(), archival.size());
+        log.info(String.format("%-9s %10s %10s %10s %12s %14s", "variant", "avg KB", "p50 ms", "p90 ms",
+                "avg tokens", "label MAE kcal"));
+        log.info(summary("archival", archival));
+        log.info(summary("vision", vision));
+        log.info(String.format("mean |archival - vision| calories: %.1f kcal", calorieDelta / archival.size()));
+
+        assertThat(archival).isNotEmpty();
+    }
+
+    private Sample run(OpenAiVisionClient client, SimpleMeterRegistry usageMetrics, VisionPrompt prompt,
+                       MultipartFile image, double labelCalories) {
+        double promptTokensBefore = promptTokens(usageMetrics);
+        long start = System.nanoTime();
+        MealAnalysis analysis = client.analyze(MealAnalysisRequest.of(image, null, null, null), prompt);
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+        int promptTokens = (int) (promptTokens(usageMetrics) - promptTokensBefore);
+        return new Sample(image.getSize(), latencyMs, promptTokens, analysis.calories(), labelCalories);
+    }
+
+    private static double promptTokens(SimpleMeterRegistry usageMetrics) {
+        DistributionSummary summary = usageMetrics.find("bloomi.vision.usage.prompt_tokens").summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private static Map<String, Double> readLabels(Path dir) throws IOException {
+        Map<String, Double> labels = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(dir.resolve(LABELS_FILE))) {
+            String[] columns = line.split(",");
+            if (line.isBlank() || line.startsWith("#") || columns.length < 2) {
+                continue;
+            }
+            try {
+                labels.put(columns[0].strip(), Double.parseDouble(columns[1].strip()));
+            } catch (NumberFormatException e) {
+                // 헤더 행
+            }
+        }
+        return labels;
+    }
+
+    private static String summary(String variant, List<Sample> samples) {
+        List<Long> latencies = samples.stream().map(Sample::latencyMs).sorted().toList();
+        return String.format("%-9s %10.1f %10d %10d %12.1f %14.1f", variant,
+                average(samples, sample -> sample.bytes() / 1024.0),
+                percentile(latencies, 0.5), percentile(latencies, 0.9),
+                average(samples, Sample::promptTokens),
+                average(samples, sample -> Math.abs(sample.calories() - sample.labelCalories())));
+    }
+
+    private static double average(List<Sample> samples, ToDoubleFunction<Sample> value) {
+        return samples.stream().mapToDouble(value).average().orElse(0);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private record Sample(long bytes, long latencyMs, int promptTokens, double calories, double labelCalories) {
+    }
+}
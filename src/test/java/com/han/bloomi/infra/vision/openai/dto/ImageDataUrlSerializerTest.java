@@ -0,0 +1,59 @@
+package com.han.bloomi.infra.vision.openai.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.OptimizedMultipartFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDataUrlSerializerTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writesSameDataUrlAsEagerEncoding() throws Exception {
+        // 청크 경계(12KB)에 맞지 않는 길이로 마지막 청크와 패딩까지 확인
+        for (int size : new int[]{0, 1, 2, 3 * 4096, 3 * 4096 + 1, 100_003}) {
+            byte[] image = new byte[size];
+            new Random(size).nextBytes(image);
+
+            JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(request(image)));
+
+            String url = json.at("/messages/0/content/1/image_url/url").asText();
+            assertThat(url).isEqualTo("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image));
+            assertThat(json.at("/messages/0/content/0/text").asText()).isEqualTo("prompt");
+            assertThat(json.at("/max_tokens").asInt()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    void readsImageAgainForEachSerialization() throws Exception {
+        byte[] image = {1, 2, 3};
+        OpenAiRequest request = request(image);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        objectMapper.writeValue(first, request);
+        String second = objectMapper.writeValueAsString(request.streaming());
+
+        assertThat(first.toString()).contains("\"url\":\"data:image/jpeg;base64,AQID\"");
+        assertThat(second).contains("\"url\":\"data:image/jpeg;base64,AQID\"");
+    }
+
+    private OpenAiRequest request(byte[] image) {
+        OptimizedMultipartFile file = new OptimizedMultipartFile("image", "meal.jpg", "image/jpeg", image);
+        return OpenAiRequest.builder()
+                .model("gpt-4o")
+                .messages(List.of(OpenAiRequest.Message.user(List.of(
+                        OpenAiRequest.Content.text("prompt"),
+                        OpenAiRequest.Content.image(file, "auto")))))
+                .maxTokens(1000)
+                .temperature(0.3)
+                .build();
+    }
+}
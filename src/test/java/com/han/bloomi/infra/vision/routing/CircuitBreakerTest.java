@@ -0,0 +1,61 @@
+package com.han.bloomi.infra.vision.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, OPEN_NANOS, clock::get);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void allowsSingleTrialAfterOpenDuration() {
+        tripOpen();
+        clock.addAndGet(OPEN_NANOS);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopens() {
+        tripOpen();
+        clock.addAndGet(OPEN_NANOS);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        clock.addAndGet(OPEN_NANOS - 1);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.han.bloomi.infra.vision.routing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    void limitsHedgesToRatioOfRequests() {
+        HedgeBudget budget = new HedgeBudget(0.1, 10);
+
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isBetween(9, 10);
+    }
+
+    @Test
+    void capsAccumulatedTokens() {
+        HedgeBudget budget = new HedgeBudget(0.5, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void latencyWindowReportsNearestRankPercentile() {
+        LatencyWindow window = new LatencyWindow(10);
+        for (long latency = 1; latency <= 20; latency++) {
+            window.record(latency * 10);
+        }
+
+        // 최근 10개(110~200)만 남는다
+        assertThat(window.size()).isEqualTo(10);
+        assertThat(window.percentile(0.9)).hasValue(190);
+        assertThat(window.percentile(0.5)).hasValue(150);
+    }
+}
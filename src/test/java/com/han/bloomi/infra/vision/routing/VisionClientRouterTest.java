@@ -0,0 +1,342 @@
+package com.han.bloomi.infra.vision.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.han.bloomi.application.service.OptimizedMultipartFile;
+import com.han.bloomi.common.deadline.Deadline;
+import com.han.bloomi.common.deadline.DeadlineHolder;
+import com.han.bloomi.common.error.ErrorCode;
+import com.han.bloomi.common.exception.BusinessException;
+import com.han.bloomi.common.exception.VisionException;
+import com.han.bloomi.common.trace.TraceIdHolder;
+import com.han.bloomi.domain.model.Macros;
+import com.han.bloomi.domain.model.MealAnalysis;
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.Serving;
+import com.han.bloomi.infra.vision.VisionClient;
+import com.han.bloomi.infra.vision.VisionPrompt;
+import com.han.bloomi.infra.vision.VisionProvider;
+import com.han.bloomi.infra.vision.anthropic.AnthropicHttpClient;
+import com.han.bloomi.infra.vision.anthropic.AnthropicProperties;
+import com.han.bloomi.infra.vision.anthropic.AnthropicVisionClient;
+import com.han.bloomi.infra.vision.anthropic.StubAnthropicServer;
+import com.han.bloomi.infra.vision.http.VisionHttpClientFactory;
+import com.han.bloomi.infra.vision.http.VisionHttpProperties;
+import com.han.bloomi.infra.vision.limit.VisionConcurrencyLimiter;
+import com.han.bloomi.infra.vision.limit.VisionLimiterProperties;
+import com.han.bloomi.infra.vision.openai.ImageEncoder;
+import com.han.bloomi.infra.vision.openai.OpenAiCascadeProperties;
+import com.han.bloomi.infra.vision.openai.OpenAiHttpClient;
+import com.han.bloomi.infra.vision.openai.OpenAiModelCascade;
+import com.han.bloomi.infra.vision.openai.OpenAiProperties;
+import com.han.bloomi.infra.vision.openai.OpenAiResponseMapper;
+import com.han.bloomi.infra.vision.openai.OpenAiVisionClient;
+import com.han.bloomi.infra.vision.openai.StubOpenAiServer;
+import com.han.bloomi.infra.vision.usage.VisionUsageProperties;
+import com.han.bloomi.infra.vision.usage.VisionUsageRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VisionClientRouterTest {
+    private static final VisionPrompt PROMPT = new VisionPrompt("system", "prompt");
+    private static final String CONTENT = """
+            {"name":"비빔밥","calories":560,"macros":{"carbs":80.0,"protein":20.0,"fat":15.0},\
+            "serving":{"unit":"g","amount":400},"items":[],"confidence":0.8,"advice":"채소가 풍부해요."}""";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineHolder deadlineHolder = new DeadlineHolder();
+    private final PrimaryTierLatencyHolder primaryTierLatency = new PrimaryTierLatencyHolder();
+    private final VisionLimiterProperties limiterProperties = new VisionLimiterProperties();
+    private final VisionHttpClientFactory httpClientFactory = new VisionHttpClientFactory(
+            new VisionHttpProperties(), ObservationRegistry.NOOP, meterRegistry, deadlineHolder);
+    private final VisionHedgingProperties hedgingProperties = new VisionHedgingProperties();
+    private StubOpenAiServer openAiServer;
+    private StubAnthropicServer anthropicServer;
+    private OpenAiVisionClient openAi;
+    private AnthropicVisionClient anthropic;
+    private VisionClientRouter router;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        openAiServer = new StubOpenAiServer().respondWith(List.of(CONTENT), 0).responseDelay(150);
+        anthropicServer = new StubAnthropicServer().respondWith(CONTENT).responseDelay(10);
+
+        OpenAiProperties openAiProperties = new OpenAiProperties();
+        openAiProperties.setApiKey("test-key");
+        openAiProperties.setBaseUrl(openAiServer.baseUrl());
+        openAi = new OpenAiVisionClient(openAiProperties, new ImageEncoder(),
+                new OpenAiHttpClient(openAiProperties, objectMapper, httpClientFactory), new OpenAiResponseMapper(), objectMapper,
+                new OpenAiModelCascade(openAiProperties, new OpenAiCascadeProperties(), meterRegistry, deadlineHolder,
+                        primaryTierLatency),
+                new VisionUsageRecorder(new VisionUsageProperties(), (date, usage) -> {}, meterRegistry));
+
+        AnthropicProperties anthropicProperties = new AnthropicProperties();
+        anthropicProperties.setApiKey("test-key");
+        anthropicProperties.setBaseUrl(anthropicServer.baseUrl());
+        anthropic = new AnthropicVisionClient(anthropicProperties, new ImageEncoder(),
+                new AnthropicHttpClient(anthropicProperties, httpClientFactory), new OpenAiResponseMapper(), objectMapper,
+                new VisionUsageRecorder(new VisionUsageProperties(), (date, usage) -> {}, meterRegistry));
+
+        VisionRoutingProperties properties = new VisionRoutingProperties();
+        properties.setFailureThreshold(2);
+        hedgingProperties.setMinSamples(3);
+        hedgingProperties.setMinDelay(Duration.ofMillis(50));
+        hedgingProperties.setBudgetRatio(1.0);
+        router = new VisionClientRouter(List.of(openAi, anthropic), properties, hedgingProperties,
+                executor, limiter(), new TraceIdHolder(), deadlineHolder, primaryTierLatency, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openAiServer.close();
+        anthropicServer.close();
+        executor.close();
+        deadlineHolder.clear();
+    }
+
+    @Test
+    void prefersFasterProviderAfterWarmUp() {
+        // 측정 전인 프로바이더부터 한 번씩 호출된다
+        router.analyze(request(), PROMPT, null);
+        router.analyze(request(), PROMPT, null);
+        int openAiCalls = openAiServer.requestBodies().size();
+
+        for (int i = 0; i < 5; i++) {
+            MealAnalysis analysis = router.analyze(request(), PROMPT, null);
+            assertThat(analysis.name()).isEqualTo("비빔밥");
+        }
+
+        assertThat(openAiServer.requestBodies()).hasSize(openAiCalls);
+        assertThat(router.health(VisionProvider.ANTHROPIC).getLatencyMs())
+                .isLessThan(router.health(VisionProvider.OPENAI).getLatencyMs());
+    }
+
+    @Test
+    void failsOverAndOpensCircuitOnServerErrors() {
+        router.analyze(request(), PROMPT, null);
+        router.analyze(request(), PROMPT, null);
+        anthropicServer.status(503);
+        int openAiCalls = openAiServer.requestBodies().size();
+
+        // 빠른 프로바이더가 5xx를 내면 같은 요청 안에서 다음 프로바이더로 넘어간다
+        assertThat(router.analyze(request(), PROMPT, null).name()).isEqualTo("비빔밥");
+        assertThat(router.analyze(request(), PROMPT, null).name()).isEqualTo("비빔밥");
+        assertThat(openAiServer.requestBodies()).hasSize(openAiCalls + 2);
+
+        // 임계치에 도달하면 회로가 열려 더 이상 호출하지 않는다
+        assertThat(router.health(VisionProvider.ANTHROPIC).getCircuitBreaker().getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        int anthropicCalls = anthropicServer.requestCount();
+        router.analyze(request(), PROMPT, null);
+        assertThat(anthropicServer.requestCount()).isEqualTo(anthropicCalls);
+    }
+
+    @Test
+    void throwsUnavailableWhenAllCircuitsAreOpen() {
+        anthropicServer.status(500);
+        openAiServer.status(500);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> router.analyze(request(), PROMPT, null))
+                    .isInstanceOf(VisionException.class);
+        }
+
+        assertThatThrownBy(() -> router.analyze(request(), PROMPT, null))
+                .isInstanceOfSatisfying(VisionException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.VISION_UNAVAILABLE));
+    }
+
+    @Test
+    void emptyContentIsInvalidResponseForEveryProvider() {
+        openAiServer.respondWith(List.of("{}"), 0);
+        anthropicServer.respondWith("{}");
+
+        // 빈 응답은 프로바이더와 관계없이 같은 오류 코드로 보고한다
+        for (VisionClient client : List.of(openAi, anthropic)) {
+            assertThatThrownBy(() -> client.analyze(request(), PROMPT))
+                    .isInstanceOfSatisfying(VisionException.class,
+                            e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.VISION_INVALID_RESPONSE));
+        }
+    }
+
+    @Test
+    void hedgesToAnotherProviderWhenPrimaryIsSlowerThanUsual() {
+        warmUpAnthropic();
+        anthropicServer.responseDelay(1000);
+
+        long start = System.nanoTime();
+        MealAnalysis analysis = router.analyze(request(), PROMPT, null);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(analysis.name()).isEqualTo("비빔밥");
+        assertThat(elapsedMs).isLessThan(800);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "fired").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.wins", "winner", "hedge").count()).isEqualTo(1);
+        // 취소된 호출은 프로바이더 장애로 집계하지 않는다
+        assertThat(router.health(VisionProvider.ANTHROPIC).getErrorRate()).isZero();
+    }
+
+    @Test
+    void doesNotHedgeWhenBudgetIsExhausted() {
+        hedgingProperties.setBudgetRatio(0);
+        router = new VisionClientRouter(List.of(openAi, anthropic), new VisionRoutingProperties(), hedgingProperties,
+                executor, limiter(), new TraceIdHolder(), deadlineHolder, primaryTierLatency, meterRegistry);
+        warmUpAnthropic();
+        anthropicServer.responseDelay(300);
+        int openAiCalls = openAiServer.requestBodies().size();
+
+        router.analyze(request(), PROMPT, null);
+
+        assertThat(openAiServer.requestBodies()).hasSize(openAiCalls);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "budget_exhausted").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCallProvidersOncePastDeadline() {
+        deadlineHolder.set(Deadline.after(Duration.ZERO));
+
+        assertThatThrownBy(() -> router.analyze(request(), PROMPT, null))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.DEADLINE_EXCEEDED));
+
+        // 마감이 지난 요청은 보내지도, 다음 프로바이더로 넘기지도 않고, 프로바이더 장애로 집계하지도 않는다
+        assertThat(openAiServer.requestBodies()).isEmpty();
+        assertThat(anthropicServer.requestCount()).isZero();
+        assertThat(router.health(VisionProvider.ANTHROPIC).getErrorRate()).isZero();
+        assertThat(router.health(VisionProvider.OPENAI).getErrorRate()).isZero();
+    }
+
+    @Test
+    void doesNotHedgeOncePastDeadline() {
+        DelayedClient client = new DelayedClient(5);
+        router = new VisionClientRouter(List.of(client), new VisionRoutingProperties(), hedgingProperties,
+                executor, limiter(), new TraceIdHolder(), deadlineHolder, primaryTierLatency, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            router.analyze(request(), PROMPT, null);
+        }
+        client.delayMs = 300;
+        deadlineHolder.set(Deadline.after(Duration.ofMillis(20)));
+
+        router.analyze(request(), PROMPT, null);
+
+        // 헤지 시점(최소 50ms)에는 이미 마감이 지났으므로 추가 호출을 보내지 않는다
+        assertThat(client.calls).hasValue(4);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "deadline_exceeded").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "fired").count()).isZero();
+    }
+
+    @Test
+    void doesNotHedgeWhenLimiterIsSaturated() {
+        limiterProperties.setMinLimit(1);
+        limiterProperties.setInitialLimit(1);
+        limiterProperties.setMaxLimit(1);
+        DelayedClient client = new DelayedClient(5);
+        router = new VisionClientRouter(List.of(client), new VisionRoutingProperties(), hedgingProperties,
+                executor, limiter(), new TraceIdHolder(), deadlineHolder, primaryTierLatency, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            router.analyze(request(), PROMPT, null);
+        }
+        client.delayMs = 300;
+
+        router.analyze(request(), PROMPT, null);
+
+        // 헤지도 동시성 한도 안에서만 나가므로, 1차 호출이 자리를 차지하고 있으면 보내지 않는다
+        assertThat(client.calls).hasValue(4);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "limiter_saturated").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("bloomi.vision.hedge.requests", "result", "fired").count()).isZero();
+        assertThat(meterRegistry.get("bloomi.vision.limiter.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void hedgeDelayUsesPrimaryTierLatencyOnly() {
+        DelayedClient client = new DelayedClient(100);
+        client.primaryTierMs = 5;
+        router = new VisionClientRouter(List.of(client), new VisionRoutingProperties(), hedgingProperties,
+                executor, limiter(), new TraceIdHolder(), deadlineHolder, primaryTierLatency, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            router.analyze(request(), PROMPT, null);
+        }
+
+        // 승격까지 포함한 호출 시간(100ms)은 라우팅 점수에만, 헤지 기준 분포에는 1단계 시간(5ms)만 들어간다
+        ProviderHealth health = router.health(VisionProvider.OPENAI);
+        assertThat(health.getLatencyMs()).isGreaterThanOrEqualTo(100);
+        assertThat(health.latencyPercentile(0.9, 3)).hasValue(5);
+    }
+
+    /**
+     * OpenAI 1회 + Anthropic 3회 호출로 Anthropic의 지연 시간 분포를 채운다
+     */
+    private void warmUpAnthropic() {
+        for (int i = 0; i < 4; i++) {
+            router.analyze(request(), PROMPT, null);
+        }
+        assertThat(anthropicServer.requestCount()).isEqualTo(3);
+    }
+
+    private VisionConcurrencyLimiter limiter() {
+        return new VisionConcurrencyLimiter(limiterProperties, meterRegistry);
+    }
+
+    private MealAnalysisRequest request() {
+        OptimizedMultipartFile image = new OptimizedMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        return MealAnalysisRequest.of(image, null, null, null);
+    }
+
+    /**
+     * 지정한 시간만큼 기다렸다가 응답하는 HTTP 없는 클라이언트 (HTTP 타임아웃과 무관하게 헤지 시점만 검증)
+     * primaryTierMs를 지정하면 캐스케이드처럼 1단계 지연 시간을 기록한다.
+     */
+    private final class DelayedClient implements VisionClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long delayMs;
+        private volatile long primaryTierMs = -1;
+
+        private DelayedClient(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public VisionProvider getProvider() {
+            return VisionProvider.OPENAI;
+        }
+
+        @Override
+        public MealAnalysis analyze(MealAnalysisRequest request, VisionPrompt prompt) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new VisionException(ErrorCode.VISION_TIMEOUT, "interrupted");
+            }
+            if (primaryTierMs >= 0) {
+                primaryTierLatency.record(primaryTierMs);
+            }
+            return MealAnalysis.of("비빔밥", 560.0, Macros.of(80, 20, 15), Serving.of("g", 400), List.of(), 0.8, "좋아요");
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+}
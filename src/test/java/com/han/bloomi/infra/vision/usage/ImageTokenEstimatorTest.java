@@ -0,0 +1,53 @@
+package com.han.bloomi.infra.vision.usage;
+
+import com.han.bloomi.infra.vision.VisionProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageTokenEstimatorTest {
+
+    @Test
+    void openAiHighDetailCountsTilesAfterScaling() {
+        // 1024x1024 -> 768x768 -> 2x2 타일
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "high", 1024, 1024)).isEqualTo(765);
+        // 4032x3024 -> 2048x1536 -> 1024x768 -> 2x2 타일
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "auto", 4032, 3024)).isEqualTo(765);
+        // 512x512는 축소 없이 타일 1개
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "high", 512, 512)).isEqualTo(255);
+    }
+
+    @Test
+    void openAiLowDetailIsFixed() {
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "low", 4032, 3024)).isEqualTo(85);
+    }
+
+    @Test
+    void anthropicUsesPixelArea() {
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.ANTHROPIC, null, 1000, 750)).isEqualTo(1000);
+        // 긴 변 1568로 축소: 3136x1568 -> 1568x784
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.ANTHROPIC, null, 3136, 1568)).isEqualTo(1639);
+    }
+
+    @Test
+    void readsSizeFromImageHeader() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_RGB), "png", output);
+        MockMultipartFile image = new MockMultipartFile("image", "meal.png", "image/png", output.toByteArray());
+
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "high", image)).isEqualTo(765);
+    }
+
+    @Test
+    void unreadableImageEstimatesZero() {
+        MockMultipartFile image = new MockMultipartFile("image", "meal.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        assertThat(ImageTokenEstimator.estimate(VisionProvider.OPENAI, "high", image)).isZero();
+    }
+}
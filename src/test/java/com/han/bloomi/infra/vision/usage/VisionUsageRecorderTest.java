@@ -0,0 +1,154 @@
+package com.han.bloomi.infra.vision.usage;
+
+import com.han.bloomi.domain.model.MealAnalysisRequest;
+import com.han.bloomi.domain.model.VisionUsage;
+import com.han.bloomi.domain.port.VisionUsageRepository;
+import com.han.bloomi.infra.vision.VisionProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VisionUsageRecorderTest {
+    private static final String MODEL = "gpt-4.1-mini";
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VisionUsageProperties properties = new VisionUsageProperties();
+    private final List<VisionUsage> saved = new ArrayList<>();
+    private boolean failing;
+    private VisionUsageRecorder recorder;
+    private MockMultipartFile image;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        VisionUsageProperties.Price price = new VisionUsageProperties.Price();
+        price.setInput(0.40);
+        price.setOutput(1.60);
+        properties.getPrices().put(MODEL, price);
+
+        VisionUsageRepository repository = (date, usage) -> {
+            if (failing) {
+                throw new IllegalStateException("db down");
+            }
+            assertThat(date).isEqualTo(TODAY);
+            saved.add(usage);
+        };
+        Clock clock = Clock.fixed(Instant.parse("2025-03-01T03:00:00Z"), ZoneOffset.UTC);
+        recorder = new VisionUsageRecorder(properties, repository, meterRegistry, clock);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_RGB), "png", output);
+        image = new MockMultipartFile("image", "meal.png", "image/png", output.toByteArray());
+    }
+
+    @Test
+    void recordsTokenSummariesAndCost() {
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 0, 200);
+
+        assertThat(summaryTotal("prompt_tokens")).isEqualTo(1000);
+        assertThat(summaryTotal("completion_tokens")).isEqualTo(200);
+        assertThat(summaryTotal("image_tokens")).isEqualTo(765);
+        // (1000 * 0.40 + 200 * 1.60) / 1M
+        assertThat(meterRegistry.get("bloomi.vision.usage.cost").tags("provider", "openai", "model", MODEL)
+                .counter().count()).isCloseTo(0.00072, within(1e-9));
+    }
+
+    @Test
+    void cachedPromptTokensArePricedSeparately() {
+        properties.getPrices().get(MODEL).setCachedInput(0.10);
+
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 800, 200);
+
+        assertThat(summaryTotal("cached_tokens")).isEqualTo(800);
+        assertThat(meterRegistry.get("bloomi.vision.usage.prompt_cache").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+        // (200 * 0.40 + 800 * 0.10 + 200 * 1.60) / 1M
+        assertThat(meterRegistry.get("bloomi.vision.usage.cost").counter().count()).isCloseTo(0.00048, within(1e-9));
+    }
+
+    @Test
+    void unknownModelCostsNothing() {
+        assertThat(recorder.estimateCost("unknown-model", 1000, 0, 1000)).isZero();
+    }
+
+    @Test
+    void flushAggregatesPerUserAndModel() {
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 0, 200);
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1100, 0, 300);
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-2"), "high", 900, 0, 100);
+
+        recorder.flush();
+
+        assertThat(saved).hasSize(2);
+        VisionUsage user1 = saved.stream().filter(usage -> usage.userId().equals("user-1")).findFirst().orElseThrow();
+        assertThat(user1.requests()).isEqualTo(2);
+        assertThat(user1.promptTokens()).isEqualTo(2100);
+        assertThat(user1.completionTokens()).isEqualTo(500);
+        assertThat(user1.imageTokens()).isEqualTo(1530);
+        assertThat(user1.provider()).isEqualTo("openai");
+
+        saved.clear();
+        recorder.flush();
+        assertThat(saved).isEmpty();
+    }
+
+    @Test
+    void failedFlushIsRetriedOnNextCycle() {
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 0, 200);
+        failing = true;
+        recorder.flush();
+        assertThat(saved).isEmpty();
+
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 0, 200);
+        failing = false;
+        recorder.flush();
+
+        assertThat(saved).singleElement().satisfies(usage -> {
+            assertThat(usage.requests()).isEqualTo(2);
+            assertThat(usage.promptTokens()).isEqualTo(2000);
+        });
+    }
+
+    @Test
+    void anonymousOrDisabledUsageIsNotPersisted() {
+        recorder.record(VisionProvider.OPENAI, MODEL, request(null), "high", 1000, 0, 200);
+        properties.setPersist(false);
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", 1000, 0, 200);
+
+        recorder.flush();
+
+        assertThat(saved).isEmpty();
+        assertThat(meterRegistry.get("bloomi.vision.usage.prompt_tokens").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void missingUsageIsIgnored() {
+        recorder.record(VisionProvider.OPENAI, MODEL, request("user-1"), "high", null, 0, null);
+
+        assertThat(meterRegistry.find("bloomi.vision.usage.prompt_tokens").summary()).isNull();
+    }
+
+    private MealAnalysisRequest request(String userId) {
+        return MealAnalysisRequest.builder().image(image).userId(userId).build();
+    }
+
+    private double summaryTotal(String name) {
+        return meterRegistry.get("bloomi.vision.usage." + name)
+                .tags("provider", "openai", "model", MODEL).summary().totalAmount();
+    }
+}